@@ -0,0 +1,109 @@
+package com.fintech.pezesha_core_ledger.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline. A benchmark regresses when its
+ * average time or its normalized allocation ({@code gc.alloc.rate.norm}, bytes per operation)
+ * grows by more than the threshold percentage. Exits with status 1 on any regression so the
+ * comparison can gate a build.
+ *
+ * <p>Usage: {@code BaselineComparison <baseline.json> <result.json> <threshold-percent>}
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Allocation differences below this many bytes per op are measurement noise, not a regression
+    private static final double ALLOCATION_NOISE_BYTES = 8;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> <threshold-percent>");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+        double threshold = Double.parseDouble(args[2]);
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "base ns/op", "ns/op", "+%", "base B/op", "B/op", "+%");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.1f %8s %12s %12.1f %8s%n",
+                        entry.getKey(), "-", now.time, "new", "-", now.allocated, "new");
+                continue;
+            }
+            double timeChange = change(before.time, now.time);
+            double allocationChange = Math.abs(now.allocated - before.allocated) < ALLOCATION_NOISE_BYTES
+                    ? 0
+                    : change(before.allocated, now.allocated);
+            boolean regressed = timeChange > threshold || allocationChange > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.1f %14.1f %+8.1f %12.1f %12.1f %+8.1f%s%n",
+                    entry.getKey(), before.time, now.time, timeChange,
+                    before.allocated, now.allocated, allocationChange, regressed ? "  REGRESSED" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.1f%% against %s%n", regressions, threshold, args[0]);
+            System.exit(1);
+        }
+    }
+
+    private static double change(double before, double now) {
+        if (before == 0) {
+            return now == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return (now - before) / before * 100;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        JsonNode runs = new ObjectMapper().readTree(Files.readAllBytes(file));
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : runs) {
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            scores.put(key(run), new Score(
+                    run.path("primaryMetric").path("score").asDouble(),
+                    allocation.isMissingNode() ? 0 : allocation.path("score").asDouble()));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode run) {
+        String benchmark = run.path("benchmark").asText();
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        Map<String, String> params = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        return params.isEmpty() ? name : name + params;
+    }
+
+    private static final class Score {
+        private final double time;
+        private final double allocated;
+
+        private Score(double time, double allocated) {
+            this.time = time;
+            this.allocated = allocated;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.fintech.pezesha_core_ledger.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.models.Account;
+import com.fintech.pezesha_core_ledger.service.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a posting costs to read off the wire and its result to write back, as JSON through Jackson
+ * (with the application's settings) against {@link PostingWireFormat}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostingWireFormatBenchmark {
+
+    @Param({"2", "10"})
+    int legs;
+
+    private ObjectMapper objectMapper;
+    private TransactionResponse response;
+    private byte[] jsonRequest;
+    private byte[] binaryRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        List<Account> accounts = BenchmarkFixtures.accounts(32);
+        TransactionRequest request = BenchmarkFixtures.balancedRequest(accounts, legs);
+        response = response(request);
+
+        jsonRequest = objectMapper.writeValueAsBytes(request);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PostingWireFormat.writeRequest(new DataOutputStream(bytes), request);
+        binaryRequest = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public TransactionRequest jsonReadRequest() throws IOException {
+        return objectMapper.readValue(jsonRequest, TransactionRequest.class);
+    }
+
+    @Benchmark
+    public TransactionRequest binaryReadRequest() throws IOException {
+        return PostingWireFormat.readRequest(new DataInputStream(new ByteArrayInputStream(binaryRequest)));
+    }
+
+    @Benchmark
+    public byte[] jsonWriteResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] binaryWriteResponse() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        PostingWireFormat.writePosted(new DataOutputStream(bytes), 201, response);
+        return bytes.toByteArray();
+    }
+
+    private static TransactionResponse response(TransactionRequest request) {
+        LocalDateTime postedAt = LocalDateTime.of(2026, 9, 30, 12, 0);
+        return TransactionResponse.builder()
+                .id("8f14e45f-ceea-467f-a0e6-000000000042")
+                .ledgerSequence(42L)
+                .idempotencyKey(request.getIdempotencyKey())
+                .description(request.getDescription())
+                .status("POSTED")
+                .postedAt(postedAt)
+                .createdAt(postedAt)
+                .entries(request.getEntries().stream()
+                        .map(entry -> TransactionEntryResponse.builder()
+                                .accountId(entry.getAccountId())
+                                .accountCode("WALLET")
+                                .debit(entry.getDebit())
+                                .credit(entry.getCredit())
+                                .currency(entry.getCurrency())
+                                .runningBalance(new BigDecimal("98500.00"))
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with the same Jackson settings as the application
+ * ({@code spring.jackson.serialization.write-dates-as-timestamps: false}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final LocalDateTime POSTED_AT = LocalDateTime.of(2026, 9, 30, 12, 0);
+
+    @Param({"100"})
+    int balanceSheetAccounts;
+
+    private ObjectMapper objectMapper;
+    private TransactionResponse transaction;
+    private BalanceSheetResponse balanceSheet;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<TransactionEntryResponse> entries = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            entries.add(TransactionEntryResponse.builder()
+                    .accountId("acc-" + i)
+                    .accountCode("ACC_" + i)
+                    .debit(i == 0 ? new BigDecimal("1250.00") : BigDecimal.ZERO)
+                    .credit(i == 0 ? BigDecimal.ZERO : new BigDecimal("1250.00"))
+                    .currency(Currency.KES)
+                    .build());
+        }
+        transaction = TransactionResponse.builder()
+                .id("trans-bench")
+                .ledgerSequence(42L)
+                .idempotencyKey("bench-2")
+                .description("Benchmark posting")
+                .status("POSTED")
+                .postedAt(POSTED_AT)
+                .entries(entries)
+                .createdAt(POSTED_AT)
+                .build();
+
+        balanceSheet = BalanceSheetResponse.builder()
+                .asOfDate(POSTED_AT)
+                .assets(summary(AccountType.ASSET, balanceSheetAccounts / 2))
+                .liabilities(summary(AccountType.LIABILITY, balanceSheetAccounts / 4))
+                .equity(summary(AccountType.EQUITY, balanceSheetAccounts - balanceSheetAccounts / 2 - balanceSheetAccounts / 4))
+                .totalAssets(new BigDecimal("1000000.00"))
+                .totalLiabilities(new BigDecimal("600000.00"))
+                .totalEquity(new BigDecimal("400000.00"))
+                .isBalanced(true)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] transactionResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] balanceSheetResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(balanceSheet);
+    }
+
+    private static BalanceSheetResponse.AccountTypeSummary summary(AccountType type, int count) {
+        List<BalanceSheetResponse.AccountBalance> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(BalanceSheetResponse.AccountBalance.builder()
+                    .accountId(type.name().toLowerCase() + "-" + i)
+                    .accountCode(type.name() + "_" + i)
+                    .accountName(type.name() + " account " + i)
+                    .accountType(type)
+                    .balance(new BigDecimal("10000.00"))
+                    .build());
+        }
+        return BalanceSheetResponse.AccountTypeSummary.builder().accounts(accounts).build();
+    }
+}
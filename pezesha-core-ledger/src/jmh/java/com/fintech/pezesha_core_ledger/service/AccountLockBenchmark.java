@@ -0,0 +1,51 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.models.Account;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock and unlock of the accounts of a two-leg posting from several threads. A small account
+ * set means most postings share an account, as with a busy settlement or fee account.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AccountLockBenchmark {
+
+    @Param({"2", "1024"})
+    int accountCount;
+
+    private TransactionService transactionService;
+    private List<String> accountIds;
+
+    @Setup
+    public void setUp() {
+        List<Account> accounts = BenchmarkFixtures.accounts(accountCount);
+        transactionService = BenchmarkFixtures.transactionService(accounts);
+        accountIds = accounts.stream().map(Account::getId).toList();
+    }
+
+    @Benchmark
+    public int lockTwoAccounts() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int debit = random.nextInt(accountCount);
+        int credit = (debit + 1 + random.nextInt(accountCount - 1)) % accountCount;
+        List<ReentrantLock> locks = transactionService.acquireAccountLocks(
+                Set.of(accountIds.get(debit), accountIds.get(credit)));
+        try {
+            return locks.size();
+        } finally {
+            transactionService.releaseLocks(locks);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.config.CacheConfig;
+import com.fintech.pezesha_core_ledger.config.CachePolicies;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.enums.TransactionStatus;
+import com.fintech.pezesha_core_ledger.metrics.PostingMetrics;
+import com.fintech.pezesha_core_ledger.models.Account;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import com.fintech.pezesha_core_ledger.models.TransactionEntry;
+import com.fintech.pezesha_core_ledger.repository.AccountRepository;
+import com.fintech.pezesha_core_ledger.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.CacheManager;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory stand-ins for the database side of {@link TransactionService}, so benchmarks measure
+ * the service code rather than JDBC or Mockito.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(Account.builder()
+                    .id("acc-" + i)
+                    .code("ACC_" + i)
+                    .name("Account " + i)
+                    .type(i % 2 == 0 ? AccountType.ASSET : AccountType.LIABILITY)
+                    .currency(Currency.KES)
+                    .isActive(true)
+                    .build());
+        }
+        return accounts;
+    }
+
+    /**
+     * A transaction service whose account lookups are served from {@code accounts}. Only the
+     * in-memory paths (validation, mapping, locks, idempotency) may be exercised.
+     */
+    public static TransactionService transactionService(List<Account> accounts) {
+        return new TransactionService(unsupported(TransactionRepository.class), accountRepository(accounts),
+                new IdempotencyService(cacheManager()), null, null,
+                new PostingMetrics(new SimpleMeterRegistry(), 10, 1.0), null);
+    }
+
+    /**
+     * The application's caches with their default policies.
+     */
+    public static CacheManager cacheManager() {
+        return cacheManager(new CachePolicies());
+    }
+
+    public static CacheManager cacheManager(CachePolicies policies) {
+        return CacheConfig.createCacheManager(policies, new SimpleMeterRegistry(), List.of());
+    }
+
+    public static TransactionRequest balancedRequest(List<Account> accounts, int legs) {
+        List<TransactionEntryRequest> entries = new ArrayList<>(legs);
+        BigDecimal amount = new BigDecimal("1250.00");
+        for (int i = 0; i < legs; i++) {
+            boolean debit = i % 2 == 0;
+            entries.add(TransactionEntryRequest.builder()
+                    .accountId(accounts.get(i % accounts.size()).getId())
+                    .debit(debit ? amount : BigDecimal.ZERO)
+                    .credit(debit ? BigDecimal.ZERO : amount)
+                    .currency(Currency.KES)
+                    .build());
+        }
+        return TransactionRequest.builder()
+                .idempotencyKey("bench-" + legs)
+                .description("Benchmark posting")
+                .entries(entries)
+                .build();
+    }
+
+    public static Transaction postedTransaction(List<Account> accounts, int legs) {
+        Transaction transaction = Transaction.builder()
+                .id("trans-bench")
+                .ledgerSequence(42L)
+                .idempotencyKey("bench-" + legs)
+                .description("Benchmark posting")
+                .status(TransactionStatus.POSTED)
+                .postedAt(LocalDateTime.of(2026, 9, 30, 12, 0))
+                .createdAt(LocalDateTime.of(2026, 9, 30, 12, 0))
+                .build();
+        BigDecimal amount = new BigDecimal("1250.00");
+        for (int i = 0; i < legs; i++) {
+            boolean debit = i % 2 == 0;
+            transaction.addEntry(TransactionEntry.builder()
+                    .id("entry-" + i)
+                    .account(accounts.get(i % accounts.size()))
+                    .debit(debit ? amount : BigDecimal.ZERO)
+                    .credit(debit ? BigDecimal.ZERO : amount)
+                    .currency(Currency.KES)
+                    .postedAt(transaction.getPostedAt())
+                    .build());
+        }
+        return transaction;
+    }
+
+    private static AccountRepository accountRepository(List<Account> accounts) {
+        Map<String, Account> byId = new HashMap<>();
+        accounts.forEach(account -> byId.put(account.getId(), account));
+        return (AccountRepository) Proxy.newProxyInstance(AccountRepository.class.getClassLoader(),
+                new Class<?>[]{AccountRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(byId.get((String) args[0]));
+                    case "getReferenceById" -> byId.get((String) args[0]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static <T> T unsupported(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+}
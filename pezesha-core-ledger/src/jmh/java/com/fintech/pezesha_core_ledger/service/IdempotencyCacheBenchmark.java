@@ -0,0 +1,93 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.config.CachePolicies;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The idempotency lookups every posting makes before it takes locks: a miss for a new key and
+ * the duplicate check plus result fetch for a retried one. With compact, stored responses are
+ * packed bytes and a retried key pays for decoding them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdempotencyCacheBenchmark {
+
+    private static final int KEYS = 8192;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private IdempotencyService idempotencyService;
+    private String[] storedKeys;
+    private String[] newKeys;
+
+    @Setup
+    public void setUp() {
+        CachePolicies policies = new CachePolicies();
+        CachePolicies.Policy idempotency = new CachePolicies.Policy();
+        idempotency.setCompact(compact);
+        policies.getCaches().put("idempotency", idempotency);
+        idempotencyService = new IdempotencyService(BenchmarkFixtures.cacheManager(policies));
+        storedKeys = new String[KEYS];
+        newKeys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            storedKeys[i] = "stored-" + i;
+            newKeys[i] = "new-" + i;
+            idempotencyService.storeIdempotencyKey(storedKeys[i], response(storedKeys[i]));
+        }
+    }
+
+    @Benchmark
+    public boolean newKey() {
+        return idempotencyService.isDuplicate(newKeys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public TransactionResponse retriedKey() {
+        String key = storedKeys[ThreadLocalRandom.current().nextInt(KEYS)];
+        return idempotencyService.isDuplicate(key)
+                ? idempotencyService.getIdempotentResult(key, TransactionResponse.class)
+                : null;
+    }
+
+    private static TransactionResponse response(String idempotencyKey) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionEntryResponse> entries = List.of(
+                entry("WALLET_" + idempotencyKey.hashCode() % 1000, new BigDecimal("1250.00"), BigDecimal.ZERO),
+                entry("LOANS_RECEIVABLE", BigDecimal.ZERO, new BigDecimal("1250.00")));
+        return TransactionResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .idempotencyKey(idempotencyKey)
+                .description("Loan disbursement")
+                .status("POSTED")
+                .postedAt(now)
+                .createdAt(now)
+                .entries(entries)
+                .build();
+    }
+
+    private static TransactionEntryResponse entry(String accountCode, BigDecimal debit, BigDecimal credit) {
+        return TransactionEntryResponse.builder()
+                .accountId(UUID.nameUUIDFromBytes(accountCode.getBytes()).toString())
+                .accountCode(accountCode)
+                .debit(debit)
+                .credit(credit)
+                .currency(Currency.KES)
+                .runningBalance(new BigDecimal("98500.00"))
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.models.Account;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-posting CPU work in {@link TransactionService} that does not touch the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    @Param({"2", "10"})
+    int legs;
+
+    private TransactionService transactionService;
+    private TransactionRequest request;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        List<Account> accounts = BenchmarkFixtures.accounts(32);
+        transactionService = BenchmarkFixtures.transactionService(accounts);
+        request = BenchmarkFixtures.balancedRequest(accounts, legs);
+        transaction = BenchmarkFixtures.postedTransaction(accounts, legs);
+    }
+
+    @Benchmark
+    public void validateTransaction(Blackhole blackhole) {
+        transactionService.validateTransaction(request);
+        blackhole.consume(request);
+    }
+
+    @Benchmark
+    public TransactionResponse mapToResponse() {
+        return transactionService.mapToResponse(transaction);
+    }
+}
@@ -0,0 +1,132 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Rows in PostgreSQL's COPY text format, built as ASCII bytes and sent in one {@code COPY ... FROM
+ * STDIN}. Values are written unescaped: the generator never produces tabs, newlines or
+ * backslashes.
+ */
+final class CopyBuffer {
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000};
+
+    private final String copySql;
+    private byte[] bytes = new byte[1 << 20];
+    private int length;
+    private boolean rowStarted;
+    private int rows;
+
+    CopyBuffer(String table, String columns) {
+        this.copySql = "COPY " + table + " (" + columns + ") FROM STDIN";
+    }
+
+    CopyBuffer text(String value) {
+        separator();
+        for (int i = 0; i < value.length(); i++) {
+            put((byte) value.charAt(i));
+        }
+        return this;
+    }
+
+    CopyBuffer number(long value) {
+        return text(Long.toString(value));
+    }
+
+    /**
+     * A NUMERIC(38, 2) amount held as cents.
+     */
+    CopyBuffer cents(long value) {
+        separator();
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        String whole = Long.toString(value / 100);
+        for (int i = 0; i < whole.length(); i++) {
+            put((byte) whole.charAt(i));
+        }
+        int fraction = (int) (value % 100);
+        put((byte) '.');
+        put((byte) ('0' + fraction / 10));
+        put((byte) ('0' + fraction % 10));
+        return this;
+    }
+
+    /**
+     * A TIMESTAMP(6) to the millisecond, as {@code yyyy-MM-dd HH:mm:ss.SSS}.
+     */
+    CopyBuffer timestamp(LocalDateTime value) {
+        separator();
+        digits(value.getYear(), 4);
+        put((byte) '-');
+        digits(value.getMonthValue(), 2);
+        put((byte) '-');
+        digits(value.getDayOfMonth(), 2);
+        put((byte) ' ');
+        digits(value.getHour(), 2);
+        put((byte) ':');
+        digits(value.getMinute(), 2);
+        put((byte) ':');
+        digits(value.getSecond(), 2);
+        put((byte) '.');
+        digits(value.getNano() / 1_000_000, 3);
+        return this;
+    }
+
+    CopyBuffer nullValue() {
+        separator();
+        put((byte) '\\');
+        put((byte) 'N');
+        return this;
+    }
+
+    void endRow() {
+        put((byte) '\n');
+        rowStarted = false;
+        rows++;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    /**
+     * Sends the buffered rows and empties the buffer. Returns the number of rows copied.
+     */
+    long copy(CopyManager copyManager) throws SQLException, IOException {
+        if (rows == 0) {
+            return 0;
+        }
+        long copied = copyManager.copyIn(copySql, new ByteArrayInputStream(bytes, 0, length));
+        length = 0;
+        rows = 0;
+        return copied;
+    }
+
+    private void separator() {
+        if (rowStarted) {
+            put((byte) '\t');
+        }
+        rowStarted = true;
+    }
+
+    private void digits(int value, int width) {
+        for (int divisor = POWERS_OF_TEN[width - 1]; divisor > 0; divisor /= 10) {
+            put((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private void put(byte b) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        bytes[length++] = b;
+    }
+}
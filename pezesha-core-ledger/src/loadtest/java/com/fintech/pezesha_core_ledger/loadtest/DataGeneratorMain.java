@@ -0,0 +1,18 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+/**
+ * Fills an existing, empty database with synthetic history for benchmarks and report testing.
+ * Run it before starting the application against that database. See {@link DataGeneratorOptions}.
+ */
+public final class DataGeneratorMain {
+
+    private DataGeneratorMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataGeneratorOptions options = DataGeneratorOptions.parse(args);
+        System.out.printf("Generating %d months of history: %d wallets, %d loans, %d customer postings (seed %d)%n",
+                options.months, options.wallets, options.loans, options.transactions, options.seed);
+        new LedgerDataGenerator(options).generate();
+    }
+}
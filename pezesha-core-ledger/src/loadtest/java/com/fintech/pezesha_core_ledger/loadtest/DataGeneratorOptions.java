@@ -0,0 +1,79 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import com.fintech.pezesha_core_ledger.enums.Currency;
+
+/**
+ * Synthetic ledger settings, given as {@code key=value} arguments like {@link LoadTestOptions}.
+ * The load test accepts the same keys prefixed with {@code data.}.
+ *
+ * <ul>
+ *     <li>{@code wallets} (100000) customer wallets and {@code loans} (20000) loans</li>
+ *     <li>{@code months} (24): complete months of history, ending before the current month</li>
+ *     <li>{@code transactions} (5000000): customer postings over the whole history, growing
+ *     from month to month; loan postings come on top</li>
+ *     <li>{@code skew} (1.1): Zipf exponent of wallet activity; 0 is uniform</li>
+ *     <li>{@code chunk} (50000): postings per COPY round trip</li>
+ *     <li>{@code currency} (KES) and {@code seed} (42); the same seed gives the same ledger</li>
+ *     <li>{@code db-url}, {@code db-user}, {@code db-password}: the database to fill</li>
+ * </ul>
+ */
+public final class DataGeneratorOptions {
+
+    int wallets = 100_000;
+    int loans = 20_000;
+    int months = 24;
+    long transactions = 5_000_000;
+    double skew = 1.1;
+    int chunk = 50_000;
+    Currency currency = Currency.KES;
+    long seed = 42;
+    String dbUrl = "jdbc:postgresql://localhost:5432/ledger_db";
+    String dbUser = "postgres";
+    String dbPassword = "pass";
+
+    public static DataGeneratorOptions parse(String... args) {
+        DataGeneratorOptions options = new DataGeneratorOptions();
+        for (String arg : args) {
+            for (String token : arg.trim().split("\\s+")) {
+                if (!token.isEmpty()) {
+                    int eq = token.indexOf('=');
+                    if (eq < 1) {
+                        throw new IllegalArgumentException("Expected key=value: " + token);
+                    }
+                    options.set(token.substring(0, eq), token.substring(eq + 1));
+                }
+            }
+        }
+        return options.validated();
+    }
+
+    void set(String key, String value) {
+        switch (key) {
+            case "wallets" -> wallets = Integer.parseInt(value);
+            case "loans" -> loans = Integer.parseInt(value);
+            case "months" -> months = Integer.parseInt(value);
+            case "transactions" -> transactions = Long.parseLong(value);
+            case "skew" -> skew = Double.parseDouble(value);
+            case "chunk" -> chunk = Integer.parseInt(value);
+            case "currency" -> currency = Currency.valueOf(value.toUpperCase());
+            case "seed" -> seed = Long.parseLong(value);
+            case "db-url" -> dbUrl = value;
+            case "db-user" -> dbUser = value;
+            case "db-password" -> dbPassword = value;
+            default -> throw new IllegalArgumentException("Unknown data generator option: " + key);
+        }
+    }
+
+    DataGeneratorOptions validated() {
+        if (wallets < 2) {
+            throw new IllegalArgumentException("wallets must be at least 2");
+        }
+        if (months < 1) {
+            throw new IllegalArgumentException("months must be at least 1");
+        }
+        if (loans < 0 || transactions < 0 || chunk < 1) {
+            throw new IllegalArgumentException("loans and transactions must not be negative, chunk must be positive");
+        }
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds) and response status counts for one operation. Status 0
+ * counts requests that failed without a response (connection errors, timeouts).
+ */
+final class EndpointStats {
+
+    private final Recorder latency = new Recorder(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    void record(int status, long latencyNanos) {
+        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Everything recorded so far; call once, after the run.
+     */
+    Histogram histogram() {
+        return latency.getIntervalHistogram();
+    }
+
+    Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
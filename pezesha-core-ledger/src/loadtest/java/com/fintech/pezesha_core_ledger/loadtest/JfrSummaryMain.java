@@ -0,0 +1,153 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import com.fintech.pezesha_core_ledger.jfr.AccountLockEvent;
+import com.fintech.pezesha_core_ledger.jfr.CacheMissEvent;
+import com.fintech.pezesha_core_ledger.jfr.PostingEvent;
+import com.fintech.pezesha_core_ledger.jfr.ReportEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the ledger events in a {@code .jfr} file: where posting time went stage by stage,
+ * which account locks were waited on, how long each report took and which caches missed.
+ * Latencies are in milliseconds.
+ *
+ * <pre>mvn -Ploadtest test-compile exec:exec@jfr-summary -Djfr.file=recordings/ledger-....jfr</pre>
+ */
+public final class JfrSummaryMain {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final int TOP_ACCOUNTS = 10;
+
+    private final Map<String, Long> outcomes = new TreeMap<>();
+    private final Map<String, Histogram> stages = new LinkedHashMap<>();
+    private final Histogram lockWaits = histogram();
+    private final Map<String, Long> lockWaitByAccount = new TreeMap<>();
+    private long lockTimeouts;
+    private final Map<String, Histogram> reports = new TreeMap<>();
+    private final Map<String, Long> reportRows = new TreeMap<>();
+    private final Map<String, Long> cacheMisses = new TreeMap<>();
+    private final Map<String, Histogram> cacheLoads = new TreeMap<>();
+
+    private JfrSummaryMain() {
+        for (String stage : List.of("idempotency", "validation", "lock_wait", "insert", "total")) {
+            stages.put(stage, histogram());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrSummaryMain <recording.jfr>");
+            System.exit(2);
+        }
+        JfrSummaryMain summary = new JfrSummaryMain();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                summary.accept(recording.readEvent());
+            }
+        }
+        summary.print(System.out);
+    }
+
+    private void accept(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case PostingEvent.NAME -> posting(event);
+            case AccountLockEvent.NAME -> {
+                lockWaits.recordValue(micros(event.getDuration()));
+                lockWaitByAccount.merge(event.getString("accountId"), micros(event.getDuration()), Long::sum);
+                if (!event.getBoolean("acquired")) {
+                    lockTimeouts++;
+                }
+            }
+            case ReportEvent.NAME -> {
+                String report = event.getString("report");
+                reports.computeIfAbsent(report, r -> histogram()).recordValue(micros(event.getDuration()));
+                reportRows.merge(report, (long) event.getInt("rows"), Long::sum);
+            }
+            case CacheMissEvent.NAME -> {
+                String cache = event.getString("cache");
+                cacheMisses.merge(cache, 1L, Long::sum);
+                if (!event.getDuration().isZero()) {
+                    cacheLoads.computeIfAbsent(cache, c -> histogram()).recordValue(micros(event.getDuration()));
+                }
+            }
+            default -> {
+                // JDK events; the recording carries them for JMC, this summary ignores them
+            }
+        }
+    }
+
+    private void posting(RecordedEvent event) {
+        String outcome = event.getString("outcome");
+        outcomes.merge(outcome, 1L, Long::sum);
+        // Replays and rejections stop early; only completed postings show the full breakdown
+        if (PostingEvent.POSTED.equals(outcome)) {
+            stages.get("idempotency").recordValue(micros(event.getDuration("idempotency")));
+            stages.get("validation").recordValue(micros(event.getDuration("validation")));
+            stages.get("lock_wait").recordValue(micros(event.getDuration("lockWait")));
+            stages.get("insert").recordValue(micros(event.getDuration("insert")));
+            stages.get("total").recordValue(micros(event.getDuration()));
+        }
+    }
+
+    private void print(PrintStream out) {
+        out.printf("Postings: %s%n", outcomes.isEmpty() ? "none" : outcomes);
+        header(out, "posted stage");
+        stages.forEach((stage, histogram) -> row(out, stage, histogram));
+
+        out.printf("%nAccount lock waits: %d, timed out %d%n", lockWaits.getTotalCount(), lockTimeouts);
+        if (lockWaits.getTotalCount() > 0) {
+            header(out, "");
+            row(out, "wait", lockWaits);
+            out.printf("%nMost waited-on accounts (total ms):%n");
+            lockWaitByAccount.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(TOP_ACCOUNTS)
+                    .forEach(e -> out.printf("  %-40s %12.1f%n", e.getKey(), e.getValue() / MICROS_PER_MILLI));
+        }
+
+        out.printf("%nReports:%n");
+        header(out, "report");
+        reports.forEach((report, histogram) -> row(out, report, histogram));
+        reportRows.forEach((report, rows) -> out.printf("  %s: %.0f rows per run%n",
+                report, (double) rows / reports.get(report).getTotalCount()));
+
+        out.printf("%nCache misses: %s%n", cacheMisses.isEmpty() ? "none" : cacheMisses);
+        if (!cacheLoads.isEmpty()) {
+            header(out, "cache load");
+            cacheLoads.forEach((cache, histogram) -> row(out, cache, histogram));
+        }
+    }
+
+    private static void header(PrintStream out, String label) {
+        out.printf("%-20s %10s %9s %9s %9s %9s %9s%n", label, "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    }
+
+    private static void row(PrintStream out, String label, Histogram histogram) {
+        out.printf("%-20s %10d %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, histogram.getTotalCount(),
+                histogram.getMean() / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static Histogram histogram() {
+        // Auto-resizing, so a stuck lock or report does not overflow the range
+        return new Histogram(3);
+    }
+
+    private static long micros(Duration duration) {
+        return Math.max(0, duration.toNanos() / 1000);
+    }
+}
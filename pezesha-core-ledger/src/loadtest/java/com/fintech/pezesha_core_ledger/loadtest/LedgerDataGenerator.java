@@ -0,0 +1,497 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.LoanStatus;
+import com.fintech.pezesha_core_ledger.enums.TransactionStatus;
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills an empty ledger with production-shaped history: a chart of accounts, customer wallets,
+ * loans through disbursement, monthly repayment and write-off, and months of balanced customer
+ * postings whose volume grows over time. Wallets are picked by a {@link ZipfSampler}, so a few
+ * carry most of the entries, as merchant and agent wallets do in production.
+ *
+ * Rows go in through COPY in chunks, one database transaction per chunk, while the next chunk is
+ * generated. As a superuser (the embedded database) triggers and foreign key checks are skipped
+ * for the load and the idempotency key index is copied directly; otherwise the trigger fills it.
+ * Postings are numbered in posted_at order and ledger_seq_blocks is moved past them, so the
+ * application carries on from the generated history. Everything random comes from the seed, so
+ * a seed always gives the same ledger, ids included; only the dates move, as the history always
+ * ends with the month before the current one.
+ */
+final class LedgerDataGenerator {
+
+    private static final String ACCOUNT_COLUMNS =
+            "id, code, name, type, currency, parent_id, is_active, version, created_at, updated_at";
+    private static final String LOAN_COLUMNS = "id, account_id, principal_amount, currency, interest_rate, "
+            + "disbursement_date, due_date, status, outstanding_balance, last_payment_date, version, created_at, updated_at";
+    private static final String TRANSACTION_COLUMNS =
+            "id, idempotency_key, description, status, posted_at, version, created_at, updated_at, ledger_seq";
+    private static final String ENTRY_COLUMNS = "id, transaction_id, account_id, debit, credit, currency, posted_at";
+    private static final String IDEMPOTENCY_KEY_COLUMNS = "idempotency_key, transaction_id, posted_at";
+
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    // Sort key of a posting within its month: millisecond offset above, payload below
+    private static final int PAYLOAD_BITS = 31;
+    private static final int CUSTOMER_POSTING = (1 << PAYLOAD_BITS) - 1;
+    private static final long SHARE_CAPITAL_PER_WALLET = 50_000_00L;
+
+    private final DataGeneratorOptions options;
+    private final SplittableRandom random;
+    private final ZipfSampler walletSampler;
+    private final YearMonth firstMonth;
+    private final String[] walletIds;
+    private final List<List<LoanEvent>> eventsByMonth = new ArrayList<>();
+    private final List<LoanPlan> loans = new ArrayList<>();
+
+    private String cashAccountId;
+    private String loansReceivableAccountId;
+    private String feeReceivableAccountId;
+    private String feeIncomeAccountId;
+    private String interestIncomeAccountId;
+    private String badDebtExpenseAccountId;
+    private String shareCapitalAccountId;
+    private long nextLedgerSequence = 1;
+    private boolean bulkLoad;
+
+    LedgerDataGenerator(DataGeneratorOptions options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.seed);
+        this.walletSampler = new ZipfSampler(options.wallets, options.skew, options.seed);
+        this.firstMonth = YearMonth.from(LocalDate.now()).minusMonths(options.months);
+        this.walletIds = new String[options.wallets];
+        for (int month = 0; month < options.months; month++) {
+            eventsByMonth.add(new ArrayList<>());
+        }
+    }
+
+    void generate() throws SQLException, IOException, InterruptedException {
+        Flyway.configure()
+                .dataSource(options.dbUrl, options.dbUser, options.dbPassword)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        long started = System.nanoTime();
+        long rows;
+        try (Connection connection = DriverManager.getConnection(options.dbUrl, options.dbUser, options.dbPassword)) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            prepare(connection);
+
+            rows = copyAccounts(copyManager);
+            connection.commit();
+            planLoans();
+            rows += copyPostings(connection, copyManager);
+            rows += copyLoans(copyManager);
+            finish(connection);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Generated %d rows (%d postings) in %.1fs, %.0f rows/s%n",
+                rows, nextLedgerSequence - 1, seconds, rows / seconds);
+    }
+
+    private void prepare(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet existing = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM transactions)")) {
+                existing.next();
+                if (existing.getBoolean(1)) {
+                    throw new IllegalStateException("The ledger already has postings; the generator only fills an empty one");
+                }
+            }
+            try (ResultSet superuser = statement.executeQuery("SELECT rolsuper FROM pg_roles WHERE rolname = current_user")) {
+                bulkLoad = superuser.next() && superuser.getBoolean(1);
+            }
+            if (bulkLoad) {
+                statement.execute("SET session_replication_role = replica");
+            }
+        }
+        // Generated rows must never land in the default partition, or the month could not be attached later
+        try (PreparedStatement partition = connection.prepareStatement("SELECT ledger_create_monthly_partition(?, ?)")) {
+            for (int month = 0; month < options.months; month++) {
+                for (String table : List.of("transactions", "transaction_entries")) {
+                    partition.setString(1, table);
+                    partition.setObject(2, firstMonth.plusMonths(month).atDay(1));
+                    partition.execute();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void finish(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (bulkLoad) {
+                statement.execute("RESET session_replication_role");
+            }
+            statement.execute("SELECT setval('ledger_seq_blocks', " + nextLedgerSequence + ", false)");
+        }
+        connection.commit();
+        // Fresh statistics, or the first report plans against empty tables
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE accounts, loans, transactions, transaction_entries, transaction_idempotency_keys");
+        }
+    }
+
+    private long copyAccounts(CopyManager copyManager) throws SQLException, IOException {
+        CopyBuffer accounts = new CopyBuffer("accounts", ACCOUNT_COLUMNS);
+        LocalDateTime openedAt = firstMonth.atDay(1).atStartOfDay().minusDays(1);
+        String assets = account(accounts, "1000", "Assets", AccountType.ASSET, null, openedAt);
+        String liabilities = account(accounts, "2000", "Liabilities", AccountType.LIABILITY, null, openedAt);
+        String equity = account(accounts, "3000", "Equity", AccountType.EQUITY, null, openedAt);
+        String income = account(accounts, "4000", "Income", AccountType.INCOME, null, openedAt);
+        String expenses = account(accounts, "5000", "Expenses", AccountType.EXPENSE, null, openedAt);
+        cashAccountId = account(accounts, "1100", "Cash and bank", AccountType.ASSET, assets, openedAt);
+        loansReceivableAccountId = account(accounts, "1200", "Loans receivable", AccountType.ASSET, assets, openedAt);
+        feeReceivableAccountId = account(accounts, "1300", "Origination fees receivable", AccountType.ASSET, assets, openedAt);
+        String customerWallets = account(accounts, "2100", "Customer wallets", AccountType.LIABILITY, liabilities, openedAt);
+        shareCapitalAccountId = account(accounts, "3100", "Share capital", AccountType.EQUITY, equity, openedAt);
+        feeIncomeAccountId = account(accounts, "4100", "Origination fee income", AccountType.INCOME, income, openedAt);
+        interestIncomeAccountId = account(accounts, "4200", "Interest income", AccountType.INCOME, income, openedAt);
+        badDebtExpenseAccountId = account(accounts, "5100", "Bad debt expense", AccountType.EXPENSE, expenses, openedAt);
+        for (int i = 0; i < walletIds.length; i++) {
+            walletIds[i] = account(accounts, "W" + (10_000_000 + i), "Customer wallet " + i,
+                    AccountType.LIABILITY, customerWallets, openedAt);
+        }
+        return accounts.copy(copyManager);
+    }
+
+    private String account(CopyBuffer accounts, String code, String name, AccountType type, String parentId,
+                           LocalDateTime createdAt) {
+        String id = nextId();
+        accounts.text(id).text(code).text(name).text(type.name()).text(options.currency.name());
+        if (parentId == null) {
+            accounts.nullValue();
+        } else {
+            accounts.text(parentId);
+        }
+        accounts.text("t").number(0).timestamp(createdAt).timestamp(createdAt).endRow();
+        return id;
+    }
+
+    /**
+     * Decides every loan's life up front and files its postings under the months they fall in.
+     * Loans still running when the history ends stay disbursed with their outstanding balance.
+     */
+    private void planLoans() {
+        LocalDateTime historyEnd = firstMonth.plusMonths(options.months).atDay(1).atStartOfDay();
+        for (int i = 0; i < options.loans; i++) {
+            LoanPlan loan = new LoanPlan();
+            loan.id = nextId();
+            loan.walletId = walletIds[walletSampler.next(random)];
+            loan.principal = (5_000 + 100L * random.nextInt(1_000)) * 100;
+            loan.ratePercent = 12 + random.nextInt(25);
+            int term = 1 + random.nextInt(12);
+            double fate = random.nextDouble();
+            loans.add(loan);
+
+            if (fate < 0.08) {
+                // Applied for in the last days of the history and not disbursed yet
+                loan.status = fate < 0.05 ? LoanStatus.PENDING : LoanStatus.APPROVED;
+                loan.createdAt = historyEnd.minus(Duration.ofMillis(1 + random.nextLong(14 * DAY_MILLIS)));
+                loan.dueDate = loan.createdAt.plusMonths(term);
+                continue;
+            }
+            int month = random.nextInt(options.months);
+            // Within the first 28 days, so each repayment falls on the same day of a later month
+            long offset = random.nextLong(28 * DAY_MILLIS);
+            int writeOffAfter = fate < 0.14 ? random.nextInt(term) : -1;
+
+            loan.disbursedAt = monthStart(month).plus(Duration.ofMillis(offset));
+            loan.createdAt = loan.disbursedAt.minusDays(1);
+            loan.dueDate = loan.disbursedAt.plusMonths(term);
+            loan.status = LoanStatus.DISBURSED;
+            loan.outstanding = loan.principal;
+            eventsByMonth.get(month).add(new LoanEvent(loan, LoanEventType.DISBURSE, offset, loan.principal, 0));
+
+            for (int installment = 1; installment <= term && month + installment < options.months; installment++) {
+                if (installment - 1 == writeOffAfter) {
+                    eventsByMonth.get(month + installment).add(
+                            new LoanEvent(loan, LoanEventType.WRITE_OFF, offset, loan.outstanding, 0));
+                    loan.outstanding = 0;
+                    loan.status = LoanStatus.WRITTEN_OFF;
+                    break;
+                }
+                long principal = installment == term ? loan.outstanding : loan.principal / term;
+                long interest = loan.outstanding * loan.ratePercent / 1200;
+                eventsByMonth.get(month + installment).add(
+                        new LoanEvent(loan, LoanEventType.REPAY, offset, principal, interest));
+                loan.outstanding -= principal;
+                loan.lastPaymentAt = monthStart(month + installment).plus(Duration.ofMillis(offset));
+                if (loan.outstanding == 0) {
+                    loan.status = LoanStatus.CLOSED;
+                }
+            }
+        }
+    }
+
+    private long copyLoans(CopyManager copyManager) throws SQLException, IOException {
+        CopyBuffer rows = new CopyBuffer("loans", LOAN_COLUMNS);
+        for (LoanPlan loan : loans) {
+            rows.text(loan.id).text(loan.walletId).cents(loan.principal).text(options.currency.name())
+                    .cents(loan.ratePercent);
+            timestampOrNull(rows, loan.disbursedAt);
+            rows.timestamp(loan.dueDate).text(loan.status.name());
+            if (loan.disbursedAt == null) {
+                rows.nullValue();
+            } else {
+                rows.cents(loan.outstanding);
+            }
+            timestampOrNull(rows, loan.lastPaymentAt);
+            LocalDateTime updatedAt = loan.lastPaymentAt != null ? loan.lastPaymentAt
+                    : loan.disbursedAt != null ? loan.disbursedAt : loan.createdAt;
+            rows.number(0).timestamp(loan.createdAt).timestamp(updatedAt).endRow();
+        }
+        return rows.copy(copyManager);
+    }
+
+    /**
+     * Generates month by month in posted_at order. A writer thread copies and commits one chunk
+     * while the next is being built.
+     */
+    private long copyPostings(Connection connection, CopyManager copyManager)
+            throws SQLException, IOException, InterruptedException {
+        ExecutorService writer = Executors.newSingleThreadExecutor(r -> new Thread(r, "ledger-data-writer"));
+        PostingChunk chunk = new PostingChunk();
+        Future<Long> pending = null;
+        long rows = 0;
+        try {
+            // Opening capital, so the cash account starts funded
+            LocalDateTime openedAt = monthStart(0);
+            String capital = beginPosting(chunk, "Opening share capital", openedAt);
+            long amount = SHARE_CAPITAL_PER_WALLET * options.wallets;
+            entry(chunk, capital, cashAccountId, amount, 0, openedAt);
+            entry(chunk, capital, shareCapitalAccountId, 0, amount, openedAt);
+
+            for (int month = 0; month < options.months; month++) {
+                long startedAt = System.nanoTime();
+                long firstSequence = nextLedgerSequence;
+                for (long key : sortedPostings(month)) {
+                    LocalDateTime postedAt = monthStart(month).plus(Duration.ofMillis(key >>> PAYLOAD_BITS));
+                    int payload = (int) (key & CUSTOMER_POSTING);
+                    if (payload == CUSTOMER_POSTING) {
+                        customerPosting(chunk, postedAt);
+                    } else {
+                        loanPosting(chunk, eventsByMonth.get(month).get(payload), postedAt);
+                    }
+                    if (chunk.postings >= options.chunk) {
+                        rows += await(pending);
+                        pending = writer.submit(write(connection, copyManager, chunk));
+                        chunk = new PostingChunk();
+                    }
+                }
+                System.out.printf("%s: %d postings generated in %.1fs%n", firstMonth.plusMonths(month),
+                        nextLedgerSequence - firstSequence, (System.nanoTime() - startedAt) / 1e9);
+            }
+            rows += await(pending);
+            rows += await(writer.submit(write(connection, copyManager, chunk)));
+        } finally {
+            writer.shutdownNow();
+        }
+        return rows;
+    }
+
+    /**
+     * The month's customer postings at random instants and its loan postings at their planned
+     * ones, as sort keys in posted_at order.
+     */
+    private long[] sortedPostings(int month) {
+        List<LoanEvent> events = eventsByMonth.get(month);
+        int customerPostings = (int) (customerPostingsBefore(month + 1) - customerPostingsBefore(month));
+        long monthMillis = firstMonth.plusMonths(month).lengthOfMonth() * DAY_MILLIS;
+        long[] keys = new long[customerPostings + events.size()];
+        for (int i = 0; i < customerPostings; i++) {
+            keys[i] = random.nextLong(monthMillis) << PAYLOAD_BITS | CUSTOMER_POSTING;
+        }
+        for (int i = 0; i < events.size(); i++) {
+            keys[customerPostings + i] = events.get(i).offsetMillis << PAYLOAD_BITS | i;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Month m weighs {@code months + m}, so the last month carries about twice the first.
+     */
+    private long customerPostingsBefore(int month) {
+        long months = options.months;
+        long weightBefore = month * months + (long) month * (month - 1) / 2;
+        long totalWeight = months * months + months * (months - 1) / 2;
+        return (long) ((double) options.transactions * weightBefore / totalWeight);
+    }
+
+    private void customerPosting(PostingChunk chunk, LocalDateTime postedAt) {
+        // Amounts from 10 to 50,000, log-uniform: many small payments, few large ones
+        long amount = Math.round(Math.exp(Math.log(10_00) + random.nextDouble() * Math.log(5_000)));
+        String wallet = walletIds[walletSampler.next(random)];
+        int kind = random.nextInt(10);
+        if (kind < 7) {
+            String counterparty = wallet;
+            while (counterparty.equals(wallet)) {
+                counterparty = walletIds[walletSampler.next(random)];
+            }
+            String transaction = beginPosting(chunk, "Wallet transfer", postedAt);
+            entry(chunk, transaction, wallet, amount, 0, postedAt);
+            entry(chunk, transaction, counterparty, 0, amount, postedAt);
+        } else if (kind < 9) {
+            String transaction = beginPosting(chunk, "Cash deposit", postedAt);
+            entry(chunk, transaction, cashAccountId, amount, 0, postedAt);
+            entry(chunk, transaction, wallet, 0, amount, postedAt);
+        } else {
+            String transaction = beginPosting(chunk, "Cash withdrawal", postedAt);
+            entry(chunk, transaction, wallet, amount, 0, postedAt);
+            entry(chunk, transaction, cashAccountId, 0, amount, postedAt);
+        }
+    }
+
+    /**
+     * The same postings LoanService makes for each step.
+     */
+    private void loanPosting(PostingChunk chunk, LoanEvent event, LocalDateTime postedAt) {
+        LoanPlan loan = event.loan;
+        switch (event.type) {
+            case DISBURSE -> {
+                String disbursement = beginPosting(chunk, "Loan disbursement " + loan.id, postedAt);
+                entry(chunk, disbursement, loan.walletId, event.principal, 0, postedAt);
+                entry(chunk, disbursement, loansReceivableAccountId, 0, event.principal, postedAt);
+                long fee = event.principal / 50;
+                String origination = beginPosting(chunk, "Loan origination fee " + loan.id, postedAt);
+                entry(chunk, origination, feeReceivableAccountId, fee, 0, postedAt);
+                entry(chunk, origination, feeIncomeAccountId, 0, fee, postedAt);
+            }
+            case REPAY -> {
+                String repayment = beginPosting(chunk, "Loan repayment " + loan.id, postedAt);
+                entry(chunk, repayment, cashAccountId, event.principal + event.interest, 0, postedAt);
+                entry(chunk, repayment, loan.walletId, 0, event.principal, postedAt);
+                entry(chunk, repayment, interestIncomeAccountId, 0, event.interest, postedAt);
+            }
+            case WRITE_OFF -> {
+                String writeOff = beginPosting(chunk, "Loan write-off " + loan.id, postedAt);
+                entry(chunk, writeOff, badDebtExpenseAccountId, event.principal, 0, postedAt);
+                entry(chunk, writeOff, loansReceivableAccountId, 0, event.principal, postedAt);
+            }
+        }
+    }
+
+    private String beginPosting(PostingChunk chunk, String description, LocalDateTime postedAt) {
+        String id = nextId();
+        long sequence = nextLedgerSequence++;
+        String idempotencyKey = "seed-" + options.seed + "-" + sequence;
+        chunk.transactions.text(id).text(idempotencyKey).text(description).text(TransactionStatus.POSTED.name())
+                .timestamp(postedAt).number(0).timestamp(postedAt).timestamp(postedAt).number(sequence).endRow();
+        if (bulkLoad) {
+            chunk.idempotencyKeys.text(idempotencyKey).text(id).timestamp(postedAt).endRow();
+        }
+        chunk.postings++;
+        return id;
+    }
+
+    private void entry(PostingChunk chunk, String transactionId, String accountId, long debit, long credit,
+                       LocalDateTime postedAt) {
+        chunk.entries.text(nextId()).text(transactionId).text(accountId).cents(debit).cents(credit)
+                .text(options.currency.name()).timestamp(postedAt).endRow();
+    }
+
+    private Callable<Long> write(Connection connection, CopyManager copyManager, PostingChunk chunk) {
+        return () -> {
+            // Parents before children, for when foreign keys are checked
+            long copied = chunk.transactions.copy(copyManager);
+            copied += chunk.entries.copy(copyManager);
+            copied += chunk.idempotencyKeys.copy(copyManager);
+            connection.commit();
+            return copied;
+        };
+    }
+
+    private static long await(Future<Long> pending) throws InterruptedException, SQLException, IOException {
+        if (pending == null) {
+            return 0;
+        }
+        try {
+            return pending.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sql) {
+                throw sql;
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private LocalDateTime monthStart(int month) {
+        return firstMonth.plusMonths(month).atDay(1).atStartOfDay();
+    }
+
+    private static void timestampOrNull(CopyBuffer rows, LocalDateTime value) {
+        if (value == null) {
+            rows.nullValue();
+        } else {
+            rows.timestamp(value);
+        }
+    }
+
+    /**
+     * A version 4 UUID drawn from the seeded generator, so ids repeat with the seed.
+     */
+    private String nextId() {
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(high, low).toString();
+    }
+
+    private enum LoanEventType {
+        DISBURSE, REPAY, WRITE_OFF
+    }
+
+    private record LoanEvent(LoanPlan loan, LoanEventType type, long offsetMillis, long principal, long interest) {
+    }
+
+    private static final class LoanPlan {
+        String id;
+        String walletId;
+        long principal;
+        long ratePercent;
+        long outstanding;
+        LoanStatus status;
+        LocalDateTime createdAt;
+        LocalDateTime disbursedAt;
+        LocalDateTime dueDate;
+        LocalDateTime lastPaymentAt;
+    }
+
+    private static final class PostingChunk {
+        final CopyBuffer transactions = new CopyBuffer("transactions", TRANSACTION_COLUMNS);
+        final CopyBuffer entries = new CopyBuffer("transaction_entries", ENTRY_COLUMNS);
+        final CopyBuffer idempotencyKeys = new CopyBuffer("transaction_idempotency_keys", IDEMPOTENCY_KEY_COLUMNS);
+        int postings;
+    }
+}
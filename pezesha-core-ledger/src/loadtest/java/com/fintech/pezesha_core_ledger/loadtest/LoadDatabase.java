@@ -0,0 +1,43 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+
+/**
+ * The database under test: an embedded PostgreSQL started for the run and removed afterwards,
+ * or an existing one when {@code db-url} is given.
+ */
+final class LoadDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    final String url;
+    final String user;
+    final String password;
+
+    private LoadDatabase(EmbeddedPostgres embedded, String url, String user, String password) {
+        this.embedded = embedded;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    static LoadDatabase start(LoadTestOptions options) throws IOException {
+        if (options.dbUrl != null) {
+            return new LoadDatabase(null, options.dbUrl, options.dbUser, options.dbPassword);
+        }
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                // Room for every bulkhead pool plus psql while a run is in progress
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("shared_buffers", "512MB")
+                .start();
+        return new LoadDatabase(embedded, embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import com.fintech.pezesha_core_ledger.dto.CreateAccountRequest;
+import com.fintech.pezesha_core_ledger.dto.LoanApplicationRequest;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Accounts and loans the load runs against, created through the API before measuring starts.
+ * Account codes carry a per-run prefix so a run against an existing database does not collide
+ * with an earlier one.
+ */
+final class LoadFixture {
+
+    static final Currency CURRENCY = Currency.KES;
+    static final BigDecimal LOAN_PRINCIPAL = new BigDecimal("10000.00");
+
+    final String cashAccountId;
+    final String loansReceivableAccountId;
+    final String feeReceivableAccountId;
+    final String feeIncomeAccountId;
+    final String interestIncomeAccountId;
+    final String[] walletIds;
+    final ZipfSampler walletSampler;
+    final Queue<String> approvedLoans = new ConcurrentLinkedQueue<>();
+    final Queue<String> disbursedLoans = new ConcurrentLinkedQueue<>();
+
+    private final LedgerClient client;
+    private final String prefix;
+
+    private LoadFixture(LedgerClient client, LoadTestOptions options) throws IOException, InterruptedException {
+        this.client = client;
+        this.prefix = "LT" + Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+        this.cashAccountId = createAccount("CASH", "Cash", AccountType.ASSET);
+        this.loansReceivableAccountId = createAccount("LOANS_RECEIVABLE", "Loans receivable", AccountType.ASSET);
+        this.feeReceivableAccountId = createAccount("FEE_RECEIVABLE", "Origination fees receivable", AccountType.ASSET);
+        this.feeIncomeAccountId = createAccount("FEE_INCOME", "Fee income", AccountType.INCOME);
+        this.interestIncomeAccountId = createAccount("INTEREST_INCOME", "Interest income", AccountType.INCOME);
+        this.walletIds = new String[options.accounts];
+        this.walletSampler = new ZipfSampler(options.accounts, options.skew, options.seed);
+    }
+
+    static LoadFixture create(LedgerClient client, LoadTestOptions options) throws Exception {
+        LoadFixture fixture = new LoadFixture(client, options);
+        ExecutorService setup = Executors.newFixedThreadPool(Math.min(options.concurrency, 16));
+        try {
+            Future<?>[] wallets = new Future<?>[options.accounts];
+            for (int i = 0; i < options.accounts; i++) {
+                int index = i;
+                wallets[i] = setup.submit(() -> fixture.walletIds[index] =
+                        fixture.createAccount("WALLET_" + index, "Customer wallet " + index, AccountType.LIABILITY));
+            }
+            for (Future<?> wallet : wallets) {
+                wallet.get();
+            }
+            Future<?>[] loans = new Future<?>[options.loans];
+            for (int i = 0; i < options.loans; i++) {
+                String walletId = fixture.walletIds[i % options.accounts];
+                loans[i] = setup.submit(() -> fixture.approvedLoans.add(fixture.applyAndApprove(walletId)));
+            }
+            for (Future<?> loan : loans) {
+                loan.get();
+            }
+        } finally {
+            setup.shutdownNow();
+        }
+        return fixture;
+    }
+
+    static LoanApplicationRequest loanApplication(String walletId) {
+        return LoanApplicationRequest.builder()
+                .accountId(walletId)
+                .principalAmount(LOAN_PRINCIPAL)
+                .interestRate(new BigDecimal("0.12"))
+                .termInDays(90)
+                .currency(CURRENCY)
+                .dueDate(LocalDateTime.now().plusDays(90))
+                .build();
+    }
+
+    private String applyAndApprove(String walletId) throws IOException, InterruptedException {
+        String loanId = client.sendForJson(client.post("/api/v1/loans", loanApplication(walletId)))
+                .path("loanId").asText();
+        client.sendForJson(client.put("/api/v1/loans/" + loanId + "/approve"));
+        return loanId;
+    }
+
+    private String createAccount(String code, String name, AccountType type) throws IOException, InterruptedException {
+        CreateAccountRequest request = CreateAccountRequest.builder()
+                .code(prefix + "_" + code)
+                .name(name)
+                .type(type)
+                .currency(CURRENCY)
+                .build();
+        return client.sendForJson(client.post("/api/v1/accounts", request)).path("id").asText();
+    }
+}
@@ -0,0 +1,233 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import com.fintech.pezesha_core_ledger.dto.DisbursementRequest;
+import com.fintech.pezesha_core_ledger.dto.RepaymentRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs {@code concurrency} callers, each sending operations picked by the mix weights until the
+ * run ends. Accounts are picked by the fixture's Zipf sampler, so a few wallets take most of
+ * the postings and balance reads, as settlement and merchant accounts do in production.
+ */
+final class LoadGenerator {
+
+    private static final BigDecimal ORIGINATION_FEE = new BigDecimal("100.00");
+    private static final BigDecimal REPAY_PRINCIPAL = new BigDecimal("10.00");
+    private static final BigDecimal REPAY_INTEREST = new BigDecimal("1.20");
+
+    private final LedgerClient client;
+    private final LoadFixture fixture;
+    private final LoadTestOptions options;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<LoadOperation, EndpointStats> stats = new EnumMap<>(LoadOperation.class);
+    private long recordFrom;
+
+    LoadGenerator(LedgerClient client, LoadFixture fixture, LoadTestOptions options) {
+        this.client = client;
+        this.fixture = fixture;
+        this.options = options;
+        this.operations = options.mix.keySet().toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (LoadOperation operation : LoadOperation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    LoadReport run() throws InterruptedException {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(options.concurrency,
+                r -> new Thread(r, "load-caller-" + threads.incrementAndGet()));
+        long start = System.nanoTime();
+        recordFrom = start + options.warmup.toNanos();
+        long end = recordFrom + options.duration.toNanos();
+        // With a target rate each caller sends every interval, staggered so requests spread evenly
+        long interval = options.rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(options.concurrency) / options.rate) : 0;
+
+        for (int i = 0; i < options.concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(options.seed + i);
+            long firstDue = start + (interval * i) / options.concurrency;
+            callers.execute(() -> callerLoop(random, firstDue, interval, end));
+        }
+        callers.shutdown();
+        if (!callers.awaitTermination(options.warmup.plus(options.duration).toSeconds() + 60, TimeUnit.SECONDS)) {
+            callers.shutdownNow();
+        }
+        return new LoadReport(stats, options, options.duration.toNanos());
+    }
+
+    private void callerLoop(SplittableRandom random, long firstDue, long interval, long end) {
+        long due = firstDue;
+        try {
+            while (true) {
+                if (interval > 0) {
+                    LockSupport.parkNanos(due - System.nanoTime());
+                } else {
+                    due = System.nanoTime();
+                }
+                if (due >= end || Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                execute(pick(random), random, due);
+                due += interval;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private LoadOperation pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(LoadOperation operation, SplittableRandom random, long due) throws InterruptedException {
+        switch (operation) {
+            case TRANSACTION -> call(operation, client.post("/api/v1/transactions", transfer(random)), due);
+            case BALANCE -> call(operation,
+                    client.get("/api/v1/accounts/" + fixture.walletIds[fixture.walletSampler.next(random)] + "/balance"), due);
+            case DISBURSE -> disburse(random, due);
+            case REPAY -> repay(random, due);
+            case TRIAL_BALANCE -> call(operation, client.get("/api/v1/reports/trial-balance"), due);
+            case BALANCE_SHEET -> call(operation, client.get("/api/v1/reports/balance-sheet"), due);
+            default -> throw new IllegalStateException("Not a mix operation: " + operation);
+        }
+    }
+
+    private TransactionRequest transfer(SplittableRandom random) {
+        int from = fixture.walletSampler.next(random);
+        int to = fixture.walletSampler.next(random);
+        while (to == from) {
+            to = fixture.walletSampler.next(random);
+        }
+        BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(50_000), 2);
+        return TransactionRequest.builder()
+                .idempotencyKey(UUID.randomUUID().toString())
+                .description("Load test transfer")
+                .entries(List.of(
+                        TransactionEntryRequest.builder()
+                                .accountId(fixture.walletIds[from])
+                                .debit(amount)
+                                .credit(BigDecimal.ZERO)
+                                .currency(LoadFixture.CURRENCY)
+                                .build(),
+                        TransactionEntryRequest.builder()
+                                .accountId(fixture.walletIds[to])
+                                .debit(BigDecimal.ZERO)
+                                .credit(amount)
+                                .currency(LoadFixture.CURRENCY)
+                                .build()))
+                .build();
+    }
+
+    private void disburse(SplittableRandom random, long due) throws InterruptedException {
+        String loanId = fixture.approvedLoans.poll();
+        if (loanId == null) {
+            loanId = applyAndApprove(random);
+            if (loanId == null) {
+                return;
+            }
+            due = System.nanoTime();
+        }
+        DisbursementRequest request = DisbursementRequest.builder()
+                .idempotencyKey(UUID.randomUUID().toString())
+                .amount(LoadFixture.LOAN_PRINCIPAL)
+                .originationFee(ORIGINATION_FEE)
+                .currency(LoadFixture.CURRENCY)
+                .loansReceivableAccountId(fixture.loansReceivableAccountId)
+                .cashAccountId(fixture.cashAccountId)
+                .origFeeReceivableAccountId(fixture.feeReceivableAccountId)
+                .feeIncomeAccountId(fixture.feeIncomeAccountId)
+                .build();
+        if (call(LoadOperation.DISBURSE, client.post("/api/v1/loans/" + loanId + "/disburse", request), due) / 100 == 2) {
+            fixture.disbursedLoans.add(loanId);
+        }
+    }
+
+    private void repay(SplittableRandom random, long due) throws InterruptedException {
+        String loanId = fixture.disbursedLoans.poll();
+        if (loanId == null) {
+            disburse(random, due);
+            return;
+        }
+        RepaymentRequest request = RepaymentRequest.builder()
+                .idempotencyKey(UUID.randomUUID().toString())
+                .amount(REPAY_PRINCIPAL.add(REPAY_INTEREST))
+                .principalPortion(REPAY_PRINCIPAL)
+                .interestPortion(REPAY_INTEREST)
+                .currency(LoadFixture.CURRENCY)
+                .cashAccountId(fixture.cashAccountId)
+                .loansReceivableAccountId(fixture.loansReceivableAccountId)
+                .interestIncomeAccountId(fixture.interestIncomeAccountId)
+                .build();
+        try {
+            call(LoadOperation.REPAY, client.post("/api/v1/loans/" + loanId + "/repay", request), due);
+        } finally {
+            fixture.disbursedLoans.add(loanId);
+        }
+    }
+
+    /**
+     * Tops up the approved loans when disbursements have used them all. Both calls are recorded.
+     */
+    private String applyAndApprove(SplittableRandom random) throws InterruptedException {
+        String walletId = fixture.walletIds[fixture.walletSampler.next(random)];
+        long start = System.nanoTime();
+        String loanId;
+        try {
+            HttpRequest apply = client.post("/api/v1/loans", LoadFixture.loanApplication(walletId));
+            loanId = client.sendForJson(apply).path("loanId").asText();
+            record(LoadOperation.APPLY_LOAN, 200, start);
+        } catch (LedgerClient.UnexpectedStatusException e) {
+            record(LoadOperation.APPLY_LOAN, e.status(), start);
+            return null;
+        } catch (IOException e) {
+            record(LoadOperation.APPLY_LOAN, 0, start);
+            return null;
+        }
+        int status = call(LoadOperation.APPROVE_LOAN, client.put("/api/v1/loans/" + loanId + "/approve"), System.nanoTime());
+        return status / 100 == 2 ? loanId : null;
+    }
+
+    private int call(LoadOperation operation, HttpRequest request, long due) throws InterruptedException {
+        int status;
+        try {
+            status = client.send(request);
+        } catch (IOException e) {
+            status = 0;
+        }
+        record(operation, status, due);
+        return status;
+    }
+
+    private void record(LoadOperation operation, int status, long start) {
+        if (start >= recordFrom) {
+            stats.get(operation).record(status, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The requests the load generator sends. Operations without a mix key only run as a side
+ * effect of another one (a disbursement applies for a loan when none is waiting).
+ */
+public enum LoadOperation {
+    TRANSACTION("transaction", "POST /transactions"),
+    BALANCE("balance", "GET /accounts/{id}/balance"),
+    APPLY_LOAN(null, "POST /loans"),
+    APPROVE_LOAN(null, "PUT /loans/{id}/approve"),
+    DISBURSE("disburse", "POST /loans/{id}/disburse"),
+    REPAY("repay", "POST /loans/{id}/repay"),
+    TRIAL_BALANCE("trial-balance", "GET /reports/trial-balance"),
+    BALANCE_SHEET("balance-sheet", "GET /reports/balance-sheet");
+
+    private final String key;
+    private final String endpoint;
+
+    LoadOperation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public String fileName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    static LoadOperation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> key.equals(operation.key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                        + Arrays.stream(values()).filter(o -> o.key != null).map(o -> o.key).collect(Collectors.joining(", "))));
+    }
+}
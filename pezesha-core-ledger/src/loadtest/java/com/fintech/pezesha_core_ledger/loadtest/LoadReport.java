@@ -0,0 +1,92 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and latency percentiles per endpoint for the measured part of a run. Writes a
+ * summary plus one HdrHistogram percentile distribution ({@code .hgrm}, milliseconds) per
+ * endpoint, which the HdrHistogram plotter can chart and compare across runs.
+ */
+final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, Map<Integer, Long>> statuses = new EnumMap<>(LoadOperation.class);
+    private final LoadTestOptions options;
+    private final double seconds;
+
+    LoadReport(Map<LoadOperation, EndpointStats> stats, LoadTestOptions options, long measuredNanos) {
+        this.options = options;
+        this.seconds = measuredNanos / 1e9;
+        stats.forEach((operation, endpoint) -> {
+            Histogram histogram = endpoint.histogram();
+            if (histogram.getTotalCount() > 0) {
+                histograms.put(operation, histogram);
+                statuses.put(operation, endpoint.statusCounts());
+            }
+        });
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%d callers%s, %d wallets, skew %.2f, %s measured after %s warm-up%n",
+                options.concurrency, options.rate > 0 ? String.format(" at %.0f req/s", options.rate) : " (closed loop)",
+                options.accounts, options.skew, options.duration, options.warmup);
+        out.printf("%-30s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        long totalFailed = 0;
+        for (Map.Entry<LoadOperation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long failed = failed(statuses.get(entry.getKey()));
+            total += histogram.getTotalCount();
+            totalFailed += failed;
+            out.printf("%-30s %10d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().endpoint(), histogram.getTotalCount(), histogram.getTotalCount() / seconds, failed,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+        out.printf("%-30s %10d %10.1f %8d%n", "total", total, total / seconds, totalFailed);
+        out.println();
+        statuses.forEach((operation, counts) -> out.printf("%-30s %s%n", operation.endpoint(),
+                counts.entrySet().stream()
+                        .map(e -> (e.getKey() == 0 ? "no response" : e.getKey()) + "=" + e.getValue())
+                        .collect(Collectors.joining(", "))));
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(summary, true, StandardCharsets.UTF_8)) {
+            print(out);
+        }
+        Files.write(directory.resolve("summary.txt"), summary.toByteArray());
+        for (Map.Entry<LoadOperation, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(entry.getKey().fileName() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static long failed(Map<Integer, Long> counts) {
+        return counts.entrySet().stream()
+                .filter(e -> e.getKey() / 100 != 2 && e.getKey() != 304)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,77 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import com.fintech.pezesha_core_ledger.PezeshaCoreLedgerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts the database, fills it with synthetic history when asked to, starts the application on
+ * a random port, creates the accounts and loans, then runs the load and reports per-endpoint
+ * throughput and latency. See {@link LoadTestOptions}.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (LoadDatabase database = LoadDatabase.start(options)) {
+            if (options.history != null) {
+                generateHistory(options.history, database);
+            }
+            runLoad(options, database);
+        }
+    }
+
+    private static void runLoad(LoadTestOptions options, LoadDatabase database) throws Exception {
+        try (ConfigurableApplicationContext application = startApplication(options, database)) {
+            LedgerClient client = new LedgerClient(
+                    URI.create("http://localhost:" + application.getEnvironment().getProperty("local.server.port")));
+
+            System.out.printf("Creating %d wallets and %d loans%n", options.accounts, options.loans);
+            LoadFixture fixture = LoadFixture.create(client, options);
+
+            System.out.printf("Running %s (+%s warm-up) with %d callers%n", options.duration, options.warmup, options.concurrency);
+            LoadReport report = new LoadGenerator(client, fixture, options).run();
+            report.print(System.out);
+            report.write(options.output);
+            System.out.println("Histograms written to " + options.output.toAbsolutePath());
+        }
+    }
+
+    private static void generateHistory(DataGeneratorOptions history, LoadDatabase database) throws Exception {
+        history.dbUrl = database.url;
+        history.dbUser = database.user;
+        history.dbPassword = database.password;
+        System.out.printf("Generating %d months of history with %d wallets and %d loans%n",
+                history.months, history.wallets, history.loans);
+        new LedgerDataGenerator(history).generate();
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, LoadDatabase database) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", database.url);
+        properties.put("spring.datasource.username", database.user);
+        properties.put("spring.datasource.password", database.password);
+        properties.put("spring.main.banner-mode", "off");
+        // Events still go through the outbox table; only the relay's sink is in memory
+        properties.put("ledger.outbox.sink", "in-process");
+        // Per-statement and per-posting logging would cost more than the work being measured
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("logging.level.com.fintech.pezesha_core_ledger", "WARN");
+        properties.putAll(options.applicationProperties);
+
+        // As command-line arguments, so they take precedence over application.yaml
+        String[] arguments = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(PezeshaCoreLedgerApplication.class).run(arguments);
+    }
+}
@@ -0,0 +1,128 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, given as {@code key=value} arguments (several may share one argument,
+ * separated by spaces). Keys prefixed with {@code app.} are passed to the application as
+ * properties, e.g. {@code app.ledger.admission.enabled=false}. Keys prefixed with {@code data.}
+ * fill the database with synthetic history before the application starts, e.g.
+ * {@code data.months=12 data.transactions=2000000}; see {@link DataGeneratorOptions}.
+ *
+ * <ul>
+ *     <li>{@code duration} (60s) and {@code warmup} (10s, not recorded)</li>
+ *     <li>{@code concurrency} (32): concurrent callers</li>
+ *     <li>{@code rate} (0): total requests per second; 0 runs closed-loop, each caller sending
+ *     its next request as soon as the last one returns. With a rate, latency is measured from
+ *     when a request was due, so a stalled server shows up in the percentiles</li>
+ *     <li>{@code accounts} (1000) customer wallets and {@code loans} (200) approved loans created
+ *     before the run</li>
+ *     <li>{@code skew} (1.1): Zipf exponent of account activity; 0 is uniform</li>
+ *     <li>{@code mix}: operation weights, e.g. {@code transaction:60,balance:20,repay:10}</li>
+ *     <li>{@code db-url}, {@code db-user}, {@code db-password}: an existing database instead of
+ *     the embedded one</li>
+ *     <li>{@code output} (target/loadtest) and {@code seed} (42)</li>
+ * </ul>
+ */
+public final class LoadTestOptions {
+
+    private static final String DEFAULT_MIX =
+            "transaction:60,balance:20,disburse:4,repay:10,trial-balance:3,balance-sheet:3";
+
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    int concurrency = 32;
+    double rate;
+    int accounts = 1000;
+    int loans = 200;
+    double skew = 1.1;
+    Map<LoadOperation, Integer> mix = parseMix(DEFAULT_MIX);
+    String dbUrl;
+    String dbUser = "postgres";
+    String dbPassword = "postgres";
+    Path output = Path.of("target", "loadtest");
+    long seed = 42;
+    final Map<String, Object> applicationProperties = new LinkedHashMap<>();
+    DataGeneratorOptions history;
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            for (String token : arg.trim().split("\\s+")) {
+                if (!token.isEmpty()) {
+                    options.set(token);
+                }
+            }
+        }
+        if (options.accounts < 2) {
+            throw new IllegalArgumentException("accounts must be at least 2");
+        }
+        if (options.concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        if (options.history != null) {
+            options.history.validated();
+        }
+        return options;
+    }
+
+    private void set(String token) {
+        int eq = token.indexOf('=');
+        if (eq < 1) {
+            throw new IllegalArgumentException("Expected key=value: " + token);
+        }
+        String key = token.substring(0, eq);
+        String value = token.substring(eq + 1);
+        if (key.startsWith("app.")) {
+            applicationProperties.put(key.substring(4), value);
+            return;
+        }
+        if (key.startsWith("data.")) {
+            if (history == null) {
+                history = new DataGeneratorOptions();
+            }
+            history.set(key.substring(5), value);
+            return;
+        }
+        switch (key) {
+            case "duration" -> duration = DurationStyle.detectAndParse(value);
+            case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+            case "concurrency" -> concurrency = Integer.parseInt(value);
+            case "rate" -> rate = Double.parseDouble(value);
+            case "accounts" -> accounts = Integer.parseInt(value);
+            case "loans" -> loans = Integer.parseInt(value);
+            case "skew" -> skew = Double.parseDouble(value);
+            case "mix" -> mix = parseMix(value);
+            case "db-url" -> dbUrl = value;
+            case "db-user" -> dbUser = value;
+            case "db-password" -> dbPassword = value;
+            case "output" -> output = Path.of(value);
+            case "seed" -> seed = Long.parseLong(value);
+            default -> throw new IllegalArgumentException("Unknown load test option: " + key);
+        }
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String value) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
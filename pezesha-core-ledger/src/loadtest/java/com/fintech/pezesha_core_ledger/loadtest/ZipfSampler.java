@@ -0,0 +1,50 @@
+package com.fintech.pezesha_core_ledger.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks indexes in {@code [0, n)} with Zipf-distributed frequency: the k-th most active index is
+ * chosen in proportion to {@code 1 / k^exponent}. Ranks are shuffled over the indexes with the
+ * seed, so the hot indexes are spread out rather than being the first ones created. An exponent
+ * of 0 is uniform.
+ */
+public final class ZipfSampler {
+
+    private final double[] cumulative;
+    private final int[] indexByRank;
+
+    public ZipfSampler(int n, double exponent, long seed) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+        indexByRank = new int[n];
+        Arrays.setAll(indexByRank, i -> i);
+        Random shuffle = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            int swap = indexByRank[i];
+            indexByRank[i] = indexByRank[j];
+            indexByRank[j] = swap;
+        }
+    }
+
+    public int next(RandomGenerator random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return indexByRank[Math.min(rank, indexByRank.length - 1)];
+    }
+
+    public int size() {
+        return indexByRank.length;
+    }
+}
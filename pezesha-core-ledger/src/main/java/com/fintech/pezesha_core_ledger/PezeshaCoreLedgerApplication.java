@@ -3,9 +3,13 @@ package com.fintech.pezesha_core_ledger;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableCaching
+// Cache advice runs outside the transaction: hits never open one, and evictions happen after commit
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableScheduling
 public class PezeshaCoreLedgerApplication {
 
 	public static void main(String[] args) {
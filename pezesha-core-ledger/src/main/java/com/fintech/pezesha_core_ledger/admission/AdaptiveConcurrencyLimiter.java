@@ -0,0 +1,153 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows observed latency, with a bounded queue in front of it.
+ *
+ * Each successful call compares its latency with a long-run average. While latency stays within
+ * {@code tolerance} of the average the limit grows by about sqrt(limit); as latency climbs, the
+ * gradient (average / sample) pulls the limit down proportionally. A call that failed because the
+ * database or a lock was saturated cuts the limit multiplicatively. Callers over the limit wait up
+ * to {@code maxWaitNanos} in a queue of at most {@code maxQueue}; beyond that they are rejected.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome {
+        /** Completed; the latency sample feeds the gradient. */
+        SUCCESS,
+        /** Failed from overload (lock or query timeout); the limit backs off. */
+        DROPPED,
+        /** Failed for reasons unrelated to load; no sample taken. */
+        IGNORED
+    }
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    // Roughly a 600-sample moving average, so a sustained slowdown is not mistaken for the new normal
+    private static final double LONG_RTT_WEIGHT = 2.0 / 601;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    // Written under the lock; volatile so gauges can read them without it
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, int maxQueue, long maxWaitNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWaitNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return true when a permit was granted; the caller must then call {@link #release}
+     */
+    public boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= maxQueue) {
+                return false;
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            int before = currentLimit();
+            boolean saturated = inFlight * 2 >= before;
+            inFlight--;
+
+            if (outcome == Outcome.DROPPED) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (outcome == Outcome.SUCCESS && latencyNanos > 0) {
+                adjust(latencyNanos, saturated);
+            }
+
+            if (currentLimit() > before) {
+                permitReleased.signalAll();
+            } else {
+                permitReleased.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long latencyNanos, boolean saturated) {
+        if (longRttNanos == 0) {
+            longRttNanos = latencyNanos;
+            return;
+        }
+        longRttNanos = (1 - LONG_RTT_WEIGHT) * longRttNanos + LONG_RTT_WEIGHT * latencyNanos;
+
+        // An under-used limit says nothing about capacity; only let it shrink
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / latencyNanos));
+        double target = limit * gradient + (saturated ? Math.sqrt(limit) : 0);
+        if (!saturated && target > limit) {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, (1 - SMOOTHING) * limit + SMOOTHING * target));
+    }
+
+    /**
+     * Rough time until a newly queued caller would be admitted: the queue ahead of it, drained
+     * {@code limit} at a time at the average latency.
+     */
+    public long estimatedWaitSeconds() {
+        lock.lock();
+        try {
+            double rounds = (double) (waiting + 1) / currentLimit();
+            return Math.max(1, (long) Math.ceil(rounds * longRttNanos / TimeUnit.SECONDS.toNanos(1)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int currentLimit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight;
+    }
+
+    public int waiting() {
+        return waiting;
+    }
+}
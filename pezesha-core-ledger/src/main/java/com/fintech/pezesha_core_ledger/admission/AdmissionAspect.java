@@ -0,0 +1,81 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import com.fintech.pezesha_core_ledger.admission.AdaptiveConcurrencyLimiter.Outcome;
+import com.fintech.pezesha_core_ledger.exception.ConcurrencyException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Wraps {@link AdmissionControlled} methods in a {@link PostingAdmission} permit. Ordered outside the
+ * transaction advice so queued callers do not hold a pooled connection while they wait.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AdmissionAspect {
+
+    public static final String CLIENT_HEADER = "X-Api-Key";
+    static final String ANONYMOUS_CLIENT = "anonymous";
+    private static final int MAX_CLIENT_KEY_LENGTH = 64;
+
+    private static final ThreadLocal<Boolean> ADMITTED = new ThreadLocal<>();
+
+    private final PostingAdmission postingAdmission;
+
+    @Around("@annotation(com.fintech.pezesha_core_ledger.admission.AdmissionControlled)")
+    public Object admit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ADMITTED.get() != null) {
+            // e.g. a loan disbursement posting its transactions: already counted once
+            return joinPoint.proceed();
+        }
+
+        PostingAdmission.Permit permit = postingAdmission.admit(currentClient());
+        ADMITTED.set(Boolean.TRUE);
+        Outcome outcome = Outcome.IGNORED;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (Throwable t) {
+            outcome = classify(t);
+            throw t;
+        } finally {
+            ADMITTED.remove();
+            permit.release(outcome);
+        }
+    }
+
+    static Outcome classify(Throwable failure) {
+        if (failure instanceof ConcurrencyException
+                || failure instanceof PessimisticLockingFailureException
+                || failure instanceof QueryTimeoutException
+                || failure instanceof CannotCreateTransactionException) {
+            return Outcome.DROPPED;
+        }
+        return Outcome.IGNORED;
+    }
+
+    private static String currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return ANONYMOUS_CLIENT;
+        }
+        String key = servletAttributes.getRequest().getHeader(CLIENT_HEADER);
+        if (key == null || key.isBlank()) {
+            return ANONYMOUS_CLIENT;
+        }
+        return key.length() > MAX_CLIENT_KEY_LENGTH ? key.substring(0, MAX_CLIENT_KEY_LENGTH) : key;
+    }
+}
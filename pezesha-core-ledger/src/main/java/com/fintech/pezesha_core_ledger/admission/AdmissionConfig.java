@@ -0,0 +1,15 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionConfig {
+
+    @Bean
+    @ConfigurationProperties("ledger.admission")
+    public AdmissionProperties admissionProperties() {
+        return new AdmissionProperties();
+    }
+}
@@ -0,0 +1,15 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a mutating service method that must obtain a {@link PostingAdmission} permit before it runs.
+ * Nested calls on the same thread reuse the outer permit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+}
@@ -0,0 +1,28 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+
+    // Latency may drift this far above its long-run average before the limit starts shrinking
+    private double tolerance = 1.5;
+
+    private int maxQueue = 100;
+    private Duration maxWait = Duration.ofSeconds(1);
+
+    // Share of the current limit one API key may hold (in flight plus queued)
+    private double defaultClientShare = 0.5;
+    private Map<String, Double> clientShares = new HashMap<>();
+    private int maxTrackedClients = 10000;
+}
@@ -0,0 +1,115 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import com.fintech.pezesha_core_ledger.admission.AdaptiveConcurrencyLimiter.Outcome;
+import com.fintech.pezesha_core_ledger.exception.RateLimitException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for ledger mutations: one adaptive limit shared by all callers, and a quota per
+ * client API key expressed as a share of that limit, so a single noisy client cannot fill the queue.
+ */
+@Component
+public class PostingAdmission {
+
+    private final AdmissionProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Cache<String, AtomicInteger> clientInFlight;
+
+    private final Counter clientQuotaRejections;
+    private final Counter overloadRejections;
+
+    public PostingAdmission(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getTolerance(), properties.getMaxQueue(),
+                properties.getMaxWait().toNanos());
+        this.clientInFlight = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedClients())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+
+        Gauge.builder("ledger.admission.limit", limiter, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Current adaptive concurrency limit for ledger mutations")
+                .register(meterRegistry);
+        Gauge.builder("ledger.admission.in_flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .register(meterRegistry);
+        Gauge.builder("ledger.admission.queued", limiter, AdaptiveConcurrencyLimiter::waiting)
+                .register(meterRegistry);
+        this.clientQuotaRejections = Counter.builder("ledger.admission.rejected")
+                .tag("reason", "client_quota")
+                .register(meterRegistry);
+        this.overloadRejections = Counter.builder("ledger.admission.rejected")
+                .tag("reason", "overloaded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocks for at most the configured max wait.
+     *
+     * @throws RateLimitException when the client is over its quota or the shared queue is full
+     */
+    public Permit admit(String clientKey) {
+        if (!properties.isEnabled()) {
+            return new Permit(null, null);
+        }
+
+        AtomicInteger clientCount = clientInFlight.get(clientKey, k -> new AtomicInteger());
+        int quota = Math.max(1, (int) Math.ceil(limiter.currentLimit() * shareOf(clientKey)));
+        if (clientCount.incrementAndGet() > quota) {
+            clientCount.decrementAndGet();
+            clientQuotaRejections.increment();
+            throw new RateLimitException("Too many concurrent ledger requests for this client", limiter.estimatedWaitSeconds());
+        }
+
+        boolean admitted;
+        try {
+            admitted = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            clientCount.decrementAndGet();
+            overloadRejections.increment();
+            throw new RateLimitException("Ledger is overloaded, retry later", limiter.estimatedWaitSeconds());
+        }
+        return new Permit(limiter, clientCount);
+    }
+
+    public int currentLimit() {
+        return limiter.currentLimit();
+    }
+
+    private double shareOf(String clientKey) {
+        return properties.getClientShares().getOrDefault(clientKey, properties.getDefaultClientShare());
+    }
+
+    public static final class Permit {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final AtomicInteger clientCount;
+        private final long startNanos = System.nanoTime();
+        private boolean released;
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, AtomicInteger clientCount) {
+            this.limiter = limiter;
+            this.clientCount = clientCount;
+        }
+
+        public void release(Outcome outcome) {
+            if (released || limiter == null) {
+                return;
+            }
+            released = true;
+            clientCount.decrementAndGet();
+            limiter.release(System.nanoTime() - startNanos, outcome);
+        }
+    }
+}
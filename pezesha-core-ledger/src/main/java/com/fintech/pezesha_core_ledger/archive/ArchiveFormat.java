@@ -0,0 +1,51 @@
+package com.fintech.pezesha_core_ledger.archive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Layout constants and value encodings shared by {@link ArchiveSegmentWriter} and {@link ArchiveSegment}.
+ *
+ * <pre>
+ * segment  := header block* index footer
+ * header   := MAGIC:int VERSION:int yearMonth:int
+ * block    := deflate(rowCount:int entryId:utf* transactionId:utf* postedAt:long* debit:long*
+ *                     credit:long* currency:byte* posted:byte* runningBalance:long*)
+ * index    := accountCount:int recordOffset:int* record*     (records sorted by accountId)
+ * record   := accountId:utf blockOffset:long blockLength:int rowCount:int
+ *             minPostedAt:long maxPostedAt:long postedNet:long debitTotal:long creditTotal:long
+ * footer   := indexOffset:long rowCount:long crc32:int MAGIC:int
+ * </pre>
+ *
+ * Amounts are stored as minor units (scale 2) and timestamps as microseconds since the epoch.
+ */
+final class ArchiveFormat {
+
+    static final int MAGIC = 0x505a4c41; // "PZLA"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 12;
+    static final int FOOTER_BYTES = 24;
+    static final int AMOUNT_SCALE = 2;
+    static final long NULL_AMOUNT = Long.MIN_VALUE;
+
+    private ArchiveFormat() {
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, AMOUNT_SCALE);
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,232 @@
+package com.fintech.pezesha_core_ledger.archive;
+
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import lombok.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only, memory-mapped view of a segment written by {@link ArchiveSegmentWriter}.
+ * The account index is binary-searched in place, and only the requested account's block is inflated.
+ */
+public class ArchiveSegment {
+
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final YearMonth month;
+    private final long rowCount;
+    private final int accountCount;
+    private final int recordOffsetsStart;
+    private final int recordsStart;
+
+    private ArchiveSegment(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+
+        int size = buffer.capacity();
+        if (size < ArchiveFormat.HEADER_BYTES + ArchiveFormat.FOOTER_BYTES
+                || buffer.getInt(0) != ArchiveFormat.MAGIC
+                || buffer.getInt(size - 4) != ArchiveFormat.MAGIC) {
+            throw new IllegalStateException("Not an archive segment: " + file);
+        }
+        if (buffer.getInt(4) != ArchiveFormat.VERSION) {
+            throw new IllegalStateException("Unsupported segment version in " + file);
+        }
+
+        int yearMonth = buffer.getInt(8);
+        this.month = YearMonth.of(yearMonth / 100, yearMonth % 100);
+
+        int footer = size - ArchiveFormat.FOOTER_BYTES;
+        int indexOffset = Math.toIntExact(buffer.getLong(footer));
+        this.rowCount = buffer.getLong(footer + 8);
+        this.accountCount = buffer.getInt(indexOffset);
+        this.recordOffsetsStart = indexOffset + 4;
+        this.recordsStart = recordOffsetsStart + accountCount * 4;
+    }
+
+    public static ArchiveSegment open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new ArchiveSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map archive segment " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    public boolean verifyChecksum() {
+        int checked = buffer.capacity() - 8;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, checked));
+        return (int) crc.getValue() == buffer.getInt(checked);
+    }
+
+    /**
+     * Per-account summary from the index, or null when the account has no rows in this segment.
+     */
+    public AccountSummary summary(String accountId) {
+        int low = 0;
+        int high = accountCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = recordsStart + buffer.getInt(recordOffsetsStart + mid * 4);
+            int cmp = readUtf(position).compareTo(accountId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return readSummary(position);
+            }
+        }
+        return null;
+    }
+
+    public List<AccountSummary> summaries() {
+        List<AccountSummary> result = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            result.add(readSummary(recordsStart + buffer.getInt(recordOffsetsStart + i * 4)));
+        }
+        return result;
+    }
+
+    /**
+     * All rows of one account, in (postedAt, id) ascending order.
+     */
+    public List<ArchivedEntry> read(AccountSummary summary) {
+        byte[] compressed = new byte[summary.getBlockLength()];
+        buffer.get(Math.toIntExact(summary.getBlockOffset()), compressed);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[Math.max(64, summary.getBlockLength() * 4)];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == raw.length) {
+                    raw = Arrays.copyOf(raw, raw.length * 2);
+                }
+                int n = inflater.inflate(raw, length, raw.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated block for account " + summary.getAccountId() + " in " + file);
+                }
+                length += n;
+            }
+            return decodeBlock(summary.getAccountId(), new DataInputStream(new ByteArrayInputStream(raw, 0, length)));
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("Corrupt block for account " + summary.getAccountId() + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private List<ArchivedEntry> decodeBlock(String accountId, DataInputStream in) throws IOException {
+        int rows = in.readInt();
+        String[] entryIds = new String[rows];
+        String[] transactionIds = new String[rows];
+        long[] postedAt = new long[rows];
+        long[] debits = new long[rows];
+        long[] credits = new long[rows];
+        byte[] currencies = new byte[rows];
+        byte[] posted = new byte[rows];
+
+        for (int i = 0; i < rows; i++) entryIds[i] = in.readUTF();
+        for (int i = 0; i < rows; i++) transactionIds[i] = in.readUTF();
+        for (int i = 0; i < rows; i++) postedAt[i] = in.readLong();
+        for (int i = 0; i < rows; i++) debits[i] = in.readLong();
+        for (int i = 0; i < rows; i++) credits[i] = in.readLong();
+        in.readFully(currencies);
+        in.readFully(posted);
+
+        List<ArchivedEntry> entries = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long running = in.readLong();
+            entries.add(ArchivedEntry.builder()
+                    .entryId(entryIds[i])
+                    .transactionId(transactionIds[i])
+                    .accountId(accountId)
+                    .postedAt(ArchiveFormat.fromMicros(postedAt[i]))
+                    .debit(ArchiveFormat.fromMinorUnits(debits[i]))
+                    .credit(ArchiveFormat.fromMinorUnits(credits[i]))
+                    .currency(CURRENCIES[currencies[i]])
+                    .posted(posted[i] == 1)
+                    .runningBalance(running == ArchiveFormat.NULL_AMOUNT ? null : ArchiveFormat.fromMinorUnits(running))
+                    .build());
+        }
+        return entries;
+    }
+
+    private AccountSummary readSummary(int position) {
+        int idLength = Short.toUnsignedInt(buffer.getShort(position));
+        int p = position + 2 + idLength;
+        return new AccountSummary(
+                readUtf(position),
+                buffer.getLong(p),
+                buffer.getInt(p + 8),
+                buffer.getInt(p + 12),
+                ArchiveFormat.fromMicros(buffer.getLong(p + 16)),
+                ArchiveFormat.fromMicros(buffer.getLong(p + 24)),
+                ArchiveFormat.fromMinorUnits(buffer.getLong(p + 32)),
+                ArchiveFormat.fromMinorUnits(buffer.getLong(p + 40)),
+                ArchiveFormat.fromMinorUnits(buffer.getLong(p + 48)));
+    }
+
+    // Account ids are ASCII, where modified UTF-8 and UTF-8 agree
+    private String readUtf(int position) {
+        int length = Short.toUnsignedInt(buffer.getShort(position));
+        byte[] bytes = new byte[length];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Index record of one account: block location, row count, posted_at range and totals.
+     * postedNet is debit minus credit over rows whose transaction was POSTED.
+     */
+    @Value
+    public static class AccountSummary {
+        String accountId;
+        long blockOffset;
+        int blockLength;
+        int rowCount;
+        LocalDateTime minPostedAt;
+        LocalDateTime maxPostedAt;
+        BigDecimal postedNet;
+        BigDecimal debitTotal;
+        BigDecimal creditTotal;
+    }
+}
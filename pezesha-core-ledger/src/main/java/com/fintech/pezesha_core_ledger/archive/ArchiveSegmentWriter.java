@@ -0,0 +1,195 @@
+package com.fintech.pezesha_core_ledger.archive;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes one month of entries into a segment file. Rows must arrive grouped by account in
+ * ascending accountId order; only the current account's rows are held in memory.
+ */
+public class ArchiveSegmentWriter implements Closeable {
+
+    private final CountingOutputStream counter;
+    private final CRC32 crc = new CRC32();
+    private final DataOutputStream out;
+    private final List<IndexRecord> index = new ArrayList<>();
+    private final List<ArchivedEntry> block = new ArrayList<>();
+    private String currentAccount;
+    private long rowCount;
+    private boolean closed;
+
+    public ArchiveSegmentWriter(Path file, YearMonth month) throws IOException {
+        this.counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        this.out = new DataOutputStream(new CheckedOutputStream(counter, crc));
+        out.writeInt(ArchiveFormat.MAGIC);
+        out.writeInt(ArchiveFormat.VERSION);
+        out.writeInt(month.getYear() * 100 + month.getMonthValue());
+    }
+
+    /**
+     * Bytes written so far, excluding the account block still being buffered.
+     */
+    public long size() {
+        return counter.count;
+    }
+
+    public void append(ArchivedEntry entry) throws IOException {
+        if (currentAccount != null && !currentAccount.equals(entry.getAccountId())) {
+            if (currentAccount.compareTo(entry.getAccountId()) > 0) {
+                throw new IllegalStateException("Entries must be ordered by account id");
+            }
+            flushBlock();
+        }
+        currentAccount = entry.getAccountId();
+        block.add(entry);
+        rowCount++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flushBlock();
+
+        long indexOffset = counter.count;
+        out.writeInt(index.size());
+        // Record offsets are relative to the start of the records section
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordOut = new DataOutputStream(records);
+        for (IndexRecord record : index) {
+            out.writeInt(recordOut.size());
+            record.writeTo(recordOut);
+        }
+        recordOut.flush();
+        records.writeTo(out);
+
+        out.writeLong(indexOffset);
+        out.writeLong(rowCount);
+        out.flush();
+        // The checksum covers everything before it
+        out.writeInt((int) crc.getValue());
+        out.writeInt(ArchiveFormat.MAGIC);
+        out.close();
+    }
+
+    private void flushBlock() throws IOException {
+        if (block.isEmpty()) {
+            return;
+        }
+
+        IndexRecord record = new IndexRecord();
+        record.accountId = currentAccount;
+        record.rowCount = block.size();
+        record.minPostedAt = Long.MAX_VALUE;
+        record.maxPostedAt = Long.MIN_VALUE;
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream column = new DataOutputStream(new DeflaterOutputStream(compressed, deflater))) {
+            column.writeInt(block.size());
+            for (ArchivedEntry e : block) {
+                column.writeUTF(e.getEntryId());
+            }
+            for (ArchivedEntry e : block) {
+                column.writeUTF(e.getTransactionId());
+            }
+            for (ArchivedEntry e : block) {
+                long micros = ArchiveFormat.toMicros(e.getPostedAt());
+                record.minPostedAt = Math.min(record.minPostedAt, micros);
+                record.maxPostedAt = Math.max(record.maxPostedAt, micros);
+                column.writeLong(micros);
+            }
+            for (ArchivedEntry e : block) {
+                long debit = ArchiveFormat.toMinorUnits(e.getDebit());
+                record.debitTotal = Math.addExact(record.debitTotal, debit);
+                if (e.isPosted()) {
+                    record.postedNet = Math.addExact(record.postedNet, debit);
+                }
+                column.writeLong(debit);
+            }
+            for (ArchivedEntry e : block) {
+                long credit = ArchiveFormat.toMinorUnits(e.getCredit());
+                record.creditTotal = Math.addExact(record.creditTotal, credit);
+                if (e.isPosted()) {
+                    record.postedNet = Math.subtractExact(record.postedNet, credit);
+                }
+                column.writeLong(credit);
+            }
+            for (ArchivedEntry e : block) {
+                column.writeByte(e.getCurrency().ordinal());
+            }
+            for (ArchivedEntry e : block) {
+                column.writeByte(e.isPosted() ? 1 : 0);
+            }
+            for (ArchivedEntry e : block) {
+                column.writeLong(e.getRunningBalance() != null
+                        ? ArchiveFormat.toMinorUnits(e.getRunningBalance())
+                        : ArchiveFormat.NULL_AMOUNT);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        record.blockOffset = counter.count;
+        record.blockLength = compressed.size();
+        compressed.writeTo(out);
+        out.flush();
+
+        index.add(record);
+        block.clear();
+    }
+
+    private static final class IndexRecord {
+        String accountId;
+        long blockOffset;
+        int blockLength;
+        int rowCount;
+        long minPostedAt;
+        long maxPostedAt;
+        long postedNet;
+        long debitTotal;
+        long creditTotal;
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeUTF(accountId);
+            out.writeLong(blockOffset);
+            out.writeInt(blockLength);
+            out.writeInt(rowCount);
+            out.writeLong(minPostedAt);
+            out.writeLong(maxPostedAt);
+            out.writeLong(postedNet);
+            out.writeLong(debitTotal);
+            out.writeLong(creditTotal);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
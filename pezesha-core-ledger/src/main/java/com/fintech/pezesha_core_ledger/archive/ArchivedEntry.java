@@ -0,0 +1,26 @@
+package com.fintech.pezesha_core_ledger.archive;
+
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction entry read back from a cold-storage segment.
+ */
+@Value
+@Builder
+public class ArchivedEntry {
+    String entryId;
+    String transactionId;
+    String accountId;
+    LocalDateTime postedAt;
+    BigDecimal debit;
+    BigDecimal credit;
+    Currency currency;
+    BigDecimal runningBalance;
+    // Whether the parent transaction was POSTED when the period was archived
+    boolean posted;
+}
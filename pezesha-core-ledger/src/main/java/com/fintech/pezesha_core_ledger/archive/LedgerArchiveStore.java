@@ -0,0 +1,232 @@
+package com.fintech.pezesha_core_ledger.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of archived periods. Balance and history lookups consult it for the part of a
+ * requested range that no longer lives in the database.
+ */
+@Component
+@Slf4j
+public class LedgerArchiveStore {
+
+    static final String MANIFEST = "segments.manifest";
+
+    private final Path directory;
+    private final NavigableMap<YearMonth, List<ArchiveSegment>> segments = new ConcurrentSkipListMap<>();
+
+    public LedgerArchiveStore(@Value("${ledger.archive.directory:./archive}") String directory) {
+        this.directory = Paths.get(directory);
+        loadManifest();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public boolean contains(YearMonth month) {
+        return segments.containsKey(month);
+    }
+
+    /**
+     * Start of the first month still held in the database, or null when nothing is archived.
+     */
+    public LocalDateTime horizon() {
+        return segments.isEmpty() ? null : segments.lastKey().plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Net debit minus credit of POSTED archived entries up to and including asOfDate.
+     */
+    public BigDecimal balanceAsOf(String accountId, LocalDateTime asOfDate) {
+        if (segments.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal balance = BigDecimal.ZERO;
+        for (List<ArchiveSegment> parts : segments.headMap(YearMonth.from(asOfDate), true).values()) {
+            for (ArchiveSegment segment : parts) {
+                ArchiveSegment.AccountSummary summary = segment.summary(accountId);
+                if (summary == null || summary.getMinPostedAt().isAfter(asOfDate)) {
+                    continue;
+                }
+                if (!summary.getMaxPostedAt().isAfter(asOfDate)) {
+                    // Whole block is inside the range: the index total is enough
+                    balance = balance.add(summary.getPostedNet());
+                    continue;
+                }
+                for (ArchivedEntry entry : segment.read(summary)) {
+                    if (entry.isPosted() && !entry.getPostedAt().isAfter(asOfDate)) {
+                        balance = balance.add(entry.getDebit()).subtract(entry.getCredit());
+                    }
+                }
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Archived entries of an account inside [startDate, endDate] that sort after the cursor in
+     * (postedAt DESC, id DESC) order, newest first. A null cursor starts from the newest row.
+     */
+    public List<ArchivedEntry> history(String accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                       LocalDateTime cursorPostedAt, String cursorId, int limit) {
+        List<ArchivedEntry> result = new ArrayList<>();
+        if (segments.isEmpty() || limit <= 0 || startDate.isAfter(endDate)) {
+            return result;
+        }
+
+        Comparator<ArchivedEntry> newestFirst = Comparator.comparing(ArchivedEntry::getPostedAt)
+                .thenComparing(ArchivedEntry::getEntryId)
+                .reversed();
+
+        NavigableMap<YearMonth, List<ArchiveSegment>> range =
+                segments.subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).descendingMap();
+        for (List<ArchiveSegment> parts : range.values()) {
+            List<ArchivedEntry> month = new ArrayList<>();
+            for (ArchiveSegment segment : parts) {
+                ArchiveSegment.AccountSummary summary = segment.summary(accountId);
+                if (summary == null
+                        || summary.getMaxPostedAt().isBefore(startDate)
+                        || summary.getMinPostedAt().isAfter(endDate)) {
+                    continue;
+                }
+                for (ArchivedEntry entry : segment.read(summary)) {
+                    if (entry.getPostedAt().isBefore(startDate) || entry.getPostedAt().isAfter(endDate)) {
+                        continue;
+                    }
+                    if (cursorPostedAt != null && !isAfterCursor(entry, cursorPostedAt, cursorId)) {
+                        continue;
+                    }
+                    month.add(entry);
+                }
+            }
+            month.sort(newestFirst);
+            for (ArchivedEntry entry : month) {
+                result.add(entry);
+                if (result.size() == limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes the archived entries of an account inside [startDate, endDate] to the action, oldest
+     * first. Only one month of the account's entries is held at a time.
+     */
+    public void forEachEntry(String accountId, LocalDateTime startDate, LocalDateTime endDate,
+                             Consumer<ArchivedEntry> action) {
+        if (segments.isEmpty() || startDate.isAfter(endDate)) {
+            return;
+        }
+
+        Comparator<ArchivedEntry> oldestFirst = Comparator.comparing(ArchivedEntry::getPostedAt)
+                .thenComparing(ArchivedEntry::getEntryId);
+
+        for (List<ArchiveSegment> parts : segments.subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).values()) {
+            List<ArchivedEntry> month = new ArrayList<>();
+            for (ArchiveSegment segment : parts) {
+                ArchiveSegment.AccountSummary summary = segment.summary(accountId);
+                if (summary == null
+                        || summary.getMaxPostedAt().isBefore(startDate)
+                        || summary.getMinPostedAt().isAfter(endDate)) {
+                    continue;
+                }
+                for (ArchivedEntry entry : segment.read(summary)) {
+                    if (!entry.getPostedAt().isBefore(startDate) && !entry.getPostedAt().isAfter(endDate)) {
+                        month.add(entry);
+                    }
+                }
+            }
+            month.sort(oldestFirst);
+            month.forEach(action);
+        }
+    }
+
+    /**
+     * Archived entries of one transaction, read from the blocks of the given accounts only.
+     */
+    public List<ArchivedEntry> transactionEntries(String transactionId, LocalDateTime postedAt,
+                                                  Collection<String> accountIds) {
+        List<ArchivedEntry> result = new ArrayList<>();
+        for (String accountId : accountIds) {
+            forEachEntry(accountId, postedAt, postedAt, entry -> {
+                if (entry.getTransactionId().equals(transactionId)) {
+                    result.add(entry);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Makes verified segments visible to queries and records them in the manifest.
+     */
+    public synchronized void register(YearMonth month, List<ArchiveSegment> parts) {
+        segments.put(month, new CopyOnWriteArrayList<>(parts));
+        writeManifest();
+        log.info("Registered {} archive segment(s) for {}", parts.size(), month);
+    }
+
+    private static boolean isAfterCursor(ArchivedEntry entry, LocalDateTime cursorPostedAt, String cursorId) {
+        int cmp = entry.getPostedAt().compareTo(cursorPostedAt);
+        return cmp < 0 || (cmp == 0 && entry.getEntryId().compareTo(cursorId) < 0);
+    }
+
+    private void loadManifest() {
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(manifest)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ArchiveSegment segment = ArchiveSegment.open(directory.resolve(line.trim()));
+                segments.computeIfAbsent(segment.getMonth(), m -> new CopyOnWriteArrayList<>()).add(segment);
+            }
+            log.info("Loaded archive segments for {} month(s) from {}", segments.size(), directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive manifest " + manifest, e);
+        }
+    }
+
+    private void writeManifest() {
+        List<String> lines = segments.values().stream()
+                .flatMap(List::stream)
+                .map(segment -> directory.relativize(segment.getFile()).toString())
+                .collect(Collectors.toList());
+        try {
+            Files.createDirectories(directory);
+            Path tmp = directory.resolve(MANIFEST + ".tmp");
+            Files.write(tmp, lines);
+            Files.move(tmp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive manifest", e);
+        }
+    }
+}
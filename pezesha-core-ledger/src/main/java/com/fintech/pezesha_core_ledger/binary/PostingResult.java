@@ -0,0 +1,26 @@
+package com.fintech.pezesha_core_ledger.binary;
+
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+
+/**
+ * One result read back from a binary posting stream: the posting, or the error the JSON API
+ * would have answered with.
+ */
+public record PostingResult(int status, TransactionResponse posting, String errorCode, String message) {
+
+    static PostingResult posted(int status, TransactionResponse posting) {
+        return new PostingResult(status, posting, null, null);
+    }
+
+    static PostingResult failed(int status, String errorCode, String message) {
+        return new PostingResult(status, null, errorCode, message);
+    }
+
+    static boolean isPosted(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    public boolean isPosted() {
+        return isPosted(status);
+    }
+}
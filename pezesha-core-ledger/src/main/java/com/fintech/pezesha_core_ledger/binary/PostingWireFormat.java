@@ -0,0 +1,228 @@
+package com.fintech.pezesha_core_ledger.binary;
+
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The fixed-schema binary form of postings and their results, for internal clients that post at
+ * volume. A stream is a header followed by any number of frames; results come back in request
+ * order, one per posting, so a client can keep many postings in flight on one request.
+ *
+ * <pre>
+ * stream   := MAGIC:int VERSION:short frame*
+ * frame    := length:int body                                  (length of body, at most MAX_FRAME_BYTES)
+ * request  := idempotencyKey:utf description:utf entryCount:short requestEntry*
+ * requestEntry := accountId:utf debit:long credit:long currency:byte
+ * result   := status:short (posted | error)                    (status as in the JSON API: 201, 400, 409...)
+ * posted   := transactionId:utf ledgerSequence:long idempotencyKey:utf state:utf postedAt:long
+ *             entryCount:short resultEntry*
+ * resultEntry  := accountId:utf accountCode:utf debit:long credit:long currency:byte runningBalance:long
+ * error    := code:utf message:utf
+ * </pre>
+ *
+ * Amounts are minor units (scale 2, as stored), timestamps microseconds since the epoch, and
+ * currency the position in {@link Currency}, which may only be appended to. Absent longs are
+ * {@link #NO_VALUE}.
+ */
+public final class PostingWireFormat {
+
+    public static final String MEDIA_TYPE = "application/x-pezesha-postings";
+    public static final int MAGIC = 0x505a5053; // "PZPS"
+    public static final short VERSION = 1;
+    public static final int MAX_FRAME_BYTES = 64 * 1024;
+    public static final long NO_VALUE = Long.MIN_VALUE;
+    static final int AMOUNT_SCALE = 2;
+
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private PostingWireFormat() {
+    }
+
+    public static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    public static void readHeader(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        short version = in.readShort();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException("Not a version " + VERSION + " posting stream");
+        }
+    }
+
+    public static void writeRequest(DataOutputStream out, TransactionRequest request) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+        DataOutputStream frame = new DataOutputStream(body);
+        frame.writeUTF(request.getIdempotencyKey());
+        frame.writeUTF(request.getDescription());
+        frame.writeShort(request.getEntries().size());
+        for (TransactionEntryRequest entry : request.getEntries()) {
+            frame.writeUTF(entry.getAccountId());
+            frame.writeLong(toMinorUnits(entry.getDebit()));
+            frame.writeLong(toMinorUnits(entry.getCredit()));
+            frame.writeByte(entry.getCurrency().ordinal());
+        }
+        writeFrame(out, body);
+    }
+
+    /**
+     * The next posting, or null once the client has closed the stream between frames.
+     */
+    public static TransactionRequest readRequest(DataInputStream in) throws IOException {
+        DataInputStream frame = readFrame(in);
+        if (frame == null) {
+            return null;
+        }
+        String idempotencyKey = frame.readUTF();
+        String description = frame.readUTF();
+        int count = frame.readUnsignedShort();
+        List<TransactionEntryRequest> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(TransactionEntryRequest.builder()
+                    .accountId(frame.readUTF())
+                    .debit(fromMinorUnits(frame.readLong()))
+                    .credit(fromMinorUnits(frame.readLong()))
+                    .currency(currency(frame.readUnsignedByte()))
+                    .build());
+        }
+        return TransactionRequest.builder()
+                .idempotencyKey(idempotencyKey)
+                .description(description)
+                .entries(entries)
+                .build();
+    }
+
+    public static void writePosted(DataOutputStream out, int status, TransactionResponse response) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(192);
+        DataOutputStream frame = new DataOutputStream(body);
+        frame.writeShort(status);
+        frame.writeUTF(response.getId());
+        frame.writeLong(response.getLedgerSequence() != null ? response.getLedgerSequence() : NO_VALUE);
+        frame.writeUTF(response.getIdempotencyKey());
+        frame.writeUTF(response.getStatus());
+        frame.writeLong(response.getPostedAt() != null ? toMicros(response.getPostedAt()) : NO_VALUE);
+        frame.writeShort(response.getEntries().size());
+        for (TransactionEntryResponse entry : response.getEntries()) {
+            frame.writeUTF(entry.getAccountId());
+            frame.writeUTF(entry.getAccountCode() != null ? entry.getAccountCode() : "");
+            frame.writeLong(toMinorUnits(entry.getDebit()));
+            frame.writeLong(toMinorUnits(entry.getCredit()));
+            frame.writeByte(entry.getCurrency().ordinal());
+            frame.writeLong(entry.getRunningBalance() != null ? toMinorUnits(entry.getRunningBalance()) : NO_VALUE);
+        }
+        writeFrame(out, body);
+    }
+
+    public static void writeError(DataOutputStream out, int status, String code, String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(96);
+        DataOutputStream frame = new DataOutputStream(body);
+        frame.writeShort(status);
+        frame.writeUTF(code);
+        frame.writeUTF(message != null ? message : "");
+        writeFrame(out, body);
+    }
+
+    /**
+     * The next result, or null once the server has closed the stream between frames.
+     */
+    public static PostingResult readResult(DataInputStream in) throws IOException {
+        DataInputStream frame = readFrame(in);
+        if (frame == null) {
+            return null;
+        }
+        int status = frame.readUnsignedShort();
+        if (!PostingResult.isPosted(status)) {
+            return PostingResult.failed(status, frame.readUTF(), frame.readUTF());
+        }
+        String id = frame.readUTF();
+        long ledgerSequence = frame.readLong();
+        String idempotencyKey = frame.readUTF();
+        String state = frame.readUTF();
+        long postedAt = frame.readLong();
+        int count = frame.readUnsignedShort();
+        List<TransactionEntryResponse> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String accountId = frame.readUTF();
+            String accountCode = frame.readUTF();
+            entries.add(TransactionEntryResponse.builder()
+                    .accountId(accountId)
+                    .accountCode(accountCode.isEmpty() ? null : accountCode)
+                    .debit(fromMinorUnits(frame.readLong()))
+                    .credit(fromMinorUnits(frame.readLong()))
+                    .currency(currency(frame.readUnsignedByte()))
+                    .runningBalance(fromMinorUnits(frame.readLong()))
+                    .build());
+        }
+        return PostingResult.posted(status, TransactionResponse.builder()
+                .id(id)
+                .ledgerSequence(ledgerSequence == NO_VALUE ? null : ledgerSequence)
+                .idempotencyKey(idempotencyKey)
+                .status(state)
+                .postedAt(postedAt == NO_VALUE ? null : fromMicros(postedAt))
+                .entries(entries)
+                .build());
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromMinorUnits(long minorUnits) {
+        return minorUnits == NO_VALUE ? null : BigDecimal.valueOf(minorUnits, AMOUNT_SCALE);
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+
+    private static Currency currency(int code) throws IOException {
+        if (code >= CURRENCIES.length) {
+            throw new IOException("Unknown currency code " + code);
+        }
+        return CURRENCIES[code];
+    }
+
+    private static void writeFrame(DataOutputStream out, ByteArrayOutputStream body) throws IOException {
+        out.writeInt(body.size());
+        body.writeTo(out);
+    }
+
+    private static DataInputStream readFrame(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Frame of " + length + " bytes exceeds " + MAX_FRAME_BYTES);
+        }
+        byte[] body = new byte[length];
+        try {
+            in.readFully(body);
+        } catch (EOFException e) {
+            throw new IOException("Stream ended inside a frame", e);
+        }
+        return new DataInputStream(new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,133 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+import com.fintech.pezesha_core_ledger.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Call limit and executor of one workload class. Callers over the limit wait up to the configured
+ * max wait and are then rejected, instead of queueing on the connection pool behind slower work.
+ */
+public class Bulkhead {
+
+    private final WorkloadClass workload;
+    private final Semaphore callSlots;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public Bulkhead(WorkloadClass workload, BulkheadProperties.Limits limits, MeterRegistry meterRegistry) {
+        this.workload = workload;
+        this.maxConcurrentCalls = limits.getMaxConcurrentCalls();
+        this.callSlots = new Semaphore(maxConcurrentCalls);
+        this.maxWaitNanos = limits.getMaxWait().toNanos();
+
+        String name = workload.name().toLowerCase().replace('_', '-');
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(limits.getExecutorThreads(), limits.getExecutorThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(limits.getExecutorQueue()), runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Tags tags = Tags.of("workload", name);
+        Gauge.builder("ledger.bulkhead.active", this, Bulkhead::activeCalls)
+                .tags(tags)
+                .description("Calls currently holding a slot of the bulkhead")
+                .register(meterRegistry);
+        Gauge.builder("ledger.bulkhead.max_concurrent", this, b -> b.maxConcurrentCalls)
+                .tags(tags)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ledger.bulkhead.rejected")
+                .tags(tags)
+                .description("Calls turned away because the bulkhead was full")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("ledger.bulkhead.wait")
+                .tags(tags)
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "bulkhead-" + name, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Takes a call slot; pair with {@link #release()}.
+     *
+     * @throws CapacityExceededException when no slot frees up within the max wait
+     */
+    public void acquire() {
+        acquire(maxWaitNanos);
+    }
+
+    private void acquire(long waitNanos) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = callSlots.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new CapacityExceededException("The " + workload.name().toLowerCase() + " workload is at capacity, retry later");
+        }
+    }
+
+    public void release() {
+        callSlots.release();
+    }
+
+    /**
+     * Runs {@code task} on this bulkhead's executor, holding a call slot and bound to its workload class.
+     * Queued tasks already passed admission, so a worker waits for a slot without the max wait.
+     *
+     * @throws CapacityExceededException when the executor queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                WorkloadClass previous = WorkloadContext.bind(workload);
+                acquire(Long.MAX_VALUE);
+                try {
+                    return task.get();
+                } finally {
+                    release();
+                    WorkloadContext.restore(previous);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new CapacityExceededException("The " + workload.name().toLowerCase() + " executor queue is full, retry later");
+        }
+    }
+
+    public WorkloadClass getWorkload() {
+        return workload;
+    }
+
+    public int activeCalls() {
+        return maxConcurrentCalls - callSlots.availablePermits();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+import com.fintech.pezesha_core_ledger.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    @ConfigurationProperties("ledger.bulkhead")
+    public BulkheadProperties bulkheadProperties() {
+        return new BulkheadProperties();
+    }
+
+    /**
+     * Settings shared by every pool on the primary; sizes come from the workload limits.
+     */
+    public static HikariConfig primaryPoolTemplate(DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        return config;
+    }
+
+    // With a replica, ReplicaRoutingConfig builds the workload pools on both sides instead
+    @Configuration
+    @ConditionalOnExpression("${ledger.bulkhead.enabled:false} and !${ledger.datasource.replica.enabled:false}")
+    static class PrimaryWorkloadPools {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariConfig primaryPoolConfig(DataSourceProperties properties) {
+            return primaryPoolTemplate(properties);
+        }
+
+        @Bean(destroyMethod = "close")
+        public WorkloadRoutingDataSource workloadDataSource(@Qualifier("primaryPoolConfig") HikariConfig template,
+                                                           BulkheadProperties properties,
+                                                           MeterRegistry meterRegistry) {
+            return WorkloadRoutingDataSource.create("primary", template, properties, meterRegistry,
+                    WorkloadClass.POSTING, WorkloadClass.values());
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("workloadDataSource") DataSource workloadDataSource) {
+            // Defer the pool choice until the first statement, after the workload class is bound
+            return new LazyConnectionDataSourceProxy(workloadDataSource);
+        }
+    }
+}
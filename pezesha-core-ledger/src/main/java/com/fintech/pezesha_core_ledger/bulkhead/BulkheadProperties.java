@@ -0,0 +1,30 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+public class BulkheadProperties {
+
+    // Separate connection pools per workload class; call limits and executors apply either way
+    private boolean enabled = true;
+
+    private Map<WorkloadClass, Limits> workloads = new EnumMap<>(WorkloadClass.class);
+
+    public Limits limitsFor(WorkloadClass workload) {
+        return workloads.getOrDefault(workload, new Limits());
+    }
+
+    @Data
+    public static class Limits {
+        private int poolSize = 5;
+        private int maxConcurrentCalls = 20;
+        // How long a caller may wait for a call slot before getting 503
+        private Duration maxWait = Duration.ZERO;
+        private int executorThreads = 2;
+        private int executorQueue = 100;
+    }
+}
@@ -0,0 +1,29 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class Bulkheads {
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            bulkheads.put(workload, new Bulkhead(workload, properties.limitsFor(workload), meterRegistry));
+        }
+    }
+
+    public Bulkhead get(WorkloadClass workload) {
+        return bulkheads.get(workload);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.values().forEach(Bulkhead::shutdown);
+    }
+}
@@ -0,0 +1,16 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the public methods of a bean (or a single method, which takes precedence) in the given
+ * workload class: its call limit applies and its connections come from its pool.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+    WorkloadClass value();
+}
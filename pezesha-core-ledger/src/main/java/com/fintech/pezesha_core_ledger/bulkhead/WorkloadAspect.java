@@ -0,0 +1,57 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Binds {@link Workload} methods to their class and holds one of its call slots for the duration.
+ * Ordered after caching, so cache hits cost no slot, and before the transaction advice, so the
+ * connection is taken from the right pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class WorkloadAspect {
+
+    private final Bulkheads bulkheads;
+
+    @Around("execution(public * *(..)) && (@annotation(com.fintech.pezesha_core_ledger.bulkhead.Workload) "
+            + "|| @within(com.fintech.pezesha_core_ledger.bulkhead.Workload))")
+    public Object runInBulkhead(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (WorkloadContext.current() != null) {
+            return joinPoint.proceed();
+        }
+
+        Bulkhead bulkhead = bulkheads.get(workloadOf(joinPoint));
+        bulkhead.acquire();
+        WorkloadContext.bind(bulkhead.getWorkload());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(null);
+            bulkhead.release();
+        }
+    }
+
+    private static WorkloadClass workloadOf(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(
+                AopUtils.getMostSpecificMethod(method, targetClass), Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+        }
+        return workload != null ? workload.value() : WorkloadClass.POSTING;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+/**
+ * Workload classes that get their own connection pool, call limit and executor, so that one
+ * class saturating cannot starve the others.
+ */
+public enum WorkloadClass {
+    /** Postings, reversals, loan and account mutations. Also the default for unclassified work. */
+    POSTING,
+    /** Single-entity reads: balances, accounts, transactions, the change feed. */
+    POINT_READ,
+    /** Whole-ledger aggregates: trial balance, balance sheet, aging, history scans. */
+    REPORTING,
+    /** Scheduled maintenance: outbox relay, archiving, partition management. */
+    BATCH
+}
@@ -0,0 +1,34 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+/**
+ * Workload class of the current thread, read by the routing data source when a connection is
+ * first needed. The outermost classification wins: nested calls run in the caller's bulkhead.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadClass current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return the previous class, to hand back to {@link #restore}
+     */
+    public static WorkloadClass bind(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(WorkloadClass previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
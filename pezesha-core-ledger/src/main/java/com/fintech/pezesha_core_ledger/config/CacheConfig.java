@@ -1,26 +1,128 @@
 package com.fintech.pezesha_core_ledger.config;
 
+import com.fintech.pezesha_core_ledger.jfr.FlightRecordedCacheManager;
+import com.fintech.pezesha_core_ledger.service.ReportingService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * One Caffeine cache per name, each with its own size or memory bound, expiry and refresh from
+ * ledger.cache (see {@link CachePolicies}). Every cache records statistics, published as
+ * cache.gets, cache.puts, cache.evictions and cache.load tagged by cache. Caches marked compact
+ * hold their values packed by one shared {@link CompactValueCodec}.
+ */
 @Configuration
 public class CacheConfig {
 
+    static final List<String> CACHE_NAMES = List.of(
+            "idempotency", "accountById", "allAccounts", "accountBalance", "trialBalance", "balanceSheet", "accountsByType");
+
+    @Bean
+    @ConfigurationProperties("ledger.cache")
+    public CachePolicies cachePolicies() {
+        return new CachePolicies();
+    }
+
+    @Bean
+    public CacheValueLoader trialBalanceLoader(ObjectProvider<ReportingService> reportingService) {
+        return new ReportLoader("trialBalance", asOf -> reportingService.getObject().computeTrialBalance(asOf));
+    }
+
+    @Bean
+    public CacheValueLoader balanceSheetLoader(ObjectProvider<ReportingService> reportingService) {
+        return new ReportLoader("balanceSheet", asOf -> reportingService.getObject().computeBalanceSheet(asOf));
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager =
-                new CaffeineCacheManager("idempotency", "accountById", "allAccounts", "accountBalance", "trialBalance", "balanceSheet","accountsByType"
-                );
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(24, TimeUnit.HOURS)
-                .maximumSize(10_000));
-        return cacheManager;
+    public CacheManager cacheManager(CachePolicies policies, MeterRegistry meterRegistry,
+                                     ObjectProvider<CacheValueLoader> loaders) {
+        return createCacheManager(policies, meterRegistry, loaders.orderedStream().toList());
+    }
+
+    public static CacheManager createCacheManager(CachePolicies policies, MeterRegistry meterRegistry,
+                                                  List<CacheValueLoader> loaders) {
+        Map<String, CacheValueLoader> loadersByCache = loaders.stream()
+                .collect(Collectors.toMap(CacheValueLoader::cacheName, Function.identity()));
+        CompactValueCodec codec = new CompactValueCodec(policies.getDictionaryCapacity());
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                org.springframework.cache.Cache adapted = super.adaptCaffeineCache(name, cache);
+                return policies.policyFor(name).isCompacted() ? new CompactCache(adapted, codec) : adapted;
+            }
+        };
+        // No names beyond the ones registered below; an unknown name is a typo, not a new cache
+        cacheManager.setCacheNames(List.of());
+        for (String name : CACHE_NAMES) {
+            CachePolicies.Policy policy = policies.policyFor(name);
+            Cache<Object, Object> cache = build(name, policy, loadersByCache.get(name), policy.isCompacted() ? codec : null);
+            cacheManager.registerCustomCache(name, cache);
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "cacheManager", "cacheManager");
+        }
+        return new FlightRecordedCacheManager(cacheManager);
     }
 
+    static Cache<Object, Object> build(String name, CachePolicies.Policy policy, CacheValueLoader loader,
+                                       CompactValueCodec codec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (policy.getMaximumWeight() != null) {
+            builder.maximumWeight(policy.getMaximumWeight().toBytes()).weigher(new EstimatedSizeWeigher());
+        } else if (policy.getMaximumSize() != null) {
+            builder.maximumSize(policy.getMaximumSize());
+        }
+        if (policy.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        if (policy.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.getExpireAfterAccess());
+        }
+        if (policy.getRefreshAfterWrite() == null) {
+            return builder.build();
+        }
+        if (loader == null) {
+            throw new IllegalStateException("Cache '" + name + "' has refresh-after-write but no CacheValueLoader");
+        }
+        builder.refreshAfterWrite(policy.getRefreshAfterWrite());
+        // Spring's CaffeineCache reads a loading cache through get(). Loading nothing there keeps
+        // misses going through the @Cacheable method; the loader only serves background reloads
+        return builder.build(new CacheLoader<Object, Object>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
 
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                Object value = loader.load(key);
+                // Reloads bypass the Spring cache wrapper, so they are packed here
+                return codec != null ? codec.encode(value) : value;
+            }
+        });
+    }
+
+    /**
+     * Reloads a report cached under its as-of timestamp, or 'current' for now.
+     */
+    record ReportLoader(String cacheName, Function<LocalDateTime, Object> report) implements CacheValueLoader {
+
+        @Override
+        public Object load(Object key) {
+            return report.apply("current".equals(key) ? null : LocalDateTime.parse(key.toString()));
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.fintech.pezesha_core_ledger.config;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class CachePolicies {
+
+    // Applies to every cache, field by field, where the cache's own policy leaves a gap
+    private Policy defaults = new Policy(10_000L, null, Duration.ofHours(24), null, null, false);
+
+    private Map<String, Policy> caches = new HashMap<>();
+
+    // Distinct account ids, codes and names that compact caches store as codes rather than text
+    private int dictionaryCapacity = 65_536;
+
+    public Policy policyFor(String cacheName) {
+        Policy own = caches.get(cacheName);
+        if (own == null) {
+            return defaults;
+        }
+        // A weight limit replaces the size limit rather than adding to it; Caffeine allows one
+        boolean weighed = own.maximumWeight != null;
+        return new Policy(
+                weighed ? null : firstNonNull(own.maximumSize, defaults.maximumSize),
+                weighed ? own.maximumWeight : (own.maximumSize != null ? null : defaults.maximumWeight),
+                firstNonNull(own.expireAfterWrite, defaults.expireAfterWrite),
+                firstNonNull(own.expireAfterAccess, defaults.expireAfterAccess),
+                firstNonNull(own.refreshAfterWrite, defaults.refreshAfterWrite),
+                firstNonNull(own.compact, defaults.compact));
+    }
+
+    private static <T> T firstNonNull(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    @Data
+    public static class Policy {
+
+        private Long maximumSize;
+
+        // Bounds the cache by estimated heap use instead of entry count, for large report objects
+        private DataSize maximumWeight;
+
+        private Duration expireAfterWrite;
+
+        private Duration expireAfterAccess;
+
+        // Only for caches with a CacheValueLoader; the stale value is served while it reloads
+        private Duration refreshAfterWrite;
+
+        // Store values packed by CompactValueCodec, decoded on each hit; best with maximum-weight
+        private Boolean compact;
+
+        public Policy() {
+        }
+
+        Policy(Long maximumSize, DataSize maximumWeight, Duration expireAfterWrite, Duration expireAfterAccess,
+               Duration refreshAfterWrite, Boolean compact) {
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+            this.expireAfterWrite = expireAfterWrite;
+            this.expireAfterAccess = expireAfterAccess;
+            this.refreshAfterWrite = refreshAfterWrite;
+            this.compact = compact;
+        }
+
+        public boolean isCompacted() {
+            return Boolean.TRUE.equals(compact);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.fintech.pezesha_core_ledger.config;
+
+/**
+ * Recomputes a cached value from its key, bypassing the cache. A cache with refresh-after-write
+ * needs one, so Caffeine can reload entries in the background.
+ */
+public interface CacheValueLoader {
+
+    String cacheName();
+
+    Object load(Object key);
+}
@@ -0,0 +1,120 @@
+package com.fintech.pezesha_core_ledger.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Stores values through a {@link CompactValueCodec} and unpacks them only when read. A lookup
+ * that just checks for presence, as the idempotency check does, never decodes; every read gets
+ * its own copy, so callers can no longer mutate what is cached.
+ */
+class CompactCache implements Cache {
+
+    private final Cache target;
+    private final CompactValueCodec codec;
+
+    CompactCache(Cache target, CompactValueCodec codec) {
+        this.target = target;
+        this.codec = codec;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        ValueWrapper stored = target.get(key);
+        return stored == null ? null : new LazyValueWrapper(stored.get());
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        Object value = codec.decode(target.get(key, Object.class));
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) codec.decode(target.get(key, () -> codec.encode(valueLoader.call())));
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> stored = target.retrieve(key);
+        return stored == null ? null : stored.thenApply(codec::decode);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return target.retrieve(key, () -> valueLoader.get().thenApply(value -> (T) codec.encode(value)))
+                .thenApply(value -> (T) codec.decode(value));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        target.put(key, codec.encode(value));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = target.putIfAbsent(key, codec.encode(value));
+        return existing == null ? null : new LazyValueWrapper(existing.get());
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return target.invalidate();
+    }
+
+    private final class LazyValueWrapper implements ValueWrapper {
+
+        private final Object stored;
+
+        LazyValueWrapper(Object stored) {
+            this.stored = stored;
+        }
+
+        @Override
+        @Nullable
+        public Object get() {
+            return codec.decode(stored);
+        }
+    }
+}
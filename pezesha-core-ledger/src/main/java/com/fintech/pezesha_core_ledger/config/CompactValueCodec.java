@@ -0,0 +1,463 @@
+package com.fintech.pezesha_core_ledger.config;
+
+import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Packs cached responses into a byte array instead of keeping their object graphs: UUIDs as 16
+ * bytes, amounts as varint unscaled values, timestamps as varint epoch seconds, enums as
+ * ordinals, and account ids, codes and names as codes from a dictionary shared by all values.
+ * A {@link TransactionResponse} with two entries packs into under two hundred bytes, against a
+ * kilobyte and more as objects.
+ *
+ * The bytes only ever live in this process's heap, so the format has no version and may change
+ * freely with the DTOs. Types other than the ones below are stored as they are.
+ */
+public class CompactValueCodec {
+
+    private static final byte TRANSACTION = 1;
+    private static final byte BALANCE_SHEET = 2;
+
+    private static final byte NULL = 0;
+    private static final byte CODED = 1;
+    private static final byte UUID_STRING = 2;
+    private static final byte INLINE = 3;
+    private static final byte SAME_AS_PARENT = 4;
+
+    private static final byte SMALL_DECIMAL = 1;
+    private static final byte LARGE_DECIMAL = 2;
+
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+    private final StringDictionary dictionary;
+
+    public CompactValueCodec(int dictionaryCapacity) {
+        this.dictionary = new StringDictionary(dictionaryCapacity);
+    }
+
+    public Object encode(Object value) {
+        if (value instanceof TransactionResponse transaction) {
+            Writer out = new Writer(128 + 64 * size(transaction.getEntries()));
+            out.writeByte(TRANSACTION);
+            writeTransaction(out, transaction);
+            return new CompactValue(out.toByteArray());
+        }
+        if (value instanceof BalanceSheetResponse balanceSheet) {
+            Writer out = new Writer(256);
+            out.writeByte(BALANCE_SHEET);
+            writeBalanceSheet(out, balanceSheet);
+            return new CompactValue(out.toByteArray());
+        }
+        return value;
+    }
+
+    public Object decode(Object stored) {
+        if (!(stored instanceof CompactValue compact)) {
+            return stored;
+        }
+        Reader in = new Reader(compact.bytes);
+        return switch (in.readByte()) {
+            case TRANSACTION -> readTransaction(in);
+            case BALANCE_SHEET -> readBalanceSheet(in);
+            default -> throw new IllegalStateException("Unknown compact value type " + compact.bytes[0]);
+        };
+    }
+
+    int dictionarySize() {
+        return dictionary.size();
+    }
+
+    private void writeTransaction(Writer out, TransactionResponse transaction) {
+        String id = transaction.getId();
+        LocalDateTime postedAt = transaction.getPostedAt();
+        writeString(out, id, false);
+        out.writeNullableLong(transaction.getLedgerSequence());
+        writeString(out, transaction.getIdempotencyKey(), false);
+        writeString(out, transaction.getDescription(), false);
+        writeString(out, transaction.getStatus(), true);
+        writeDateTime(out, postedAt, null);
+        writeDateTime(out, transaction.getCreatedAt(), postedAt);
+        List<TransactionEntryResponse> entries = transaction.getEntries();
+        out.writeVarint(entries == null ? 0 : entries.size() + 1);
+        if (entries == null) {
+            return;
+        }
+        for (TransactionEntryResponse entry : entries) {
+            writeString(out, entry.getAccountId(), true);
+            writeString(out, entry.getAccountCode(), true);
+            writeDecimal(out, entry.getDebit());
+            writeDecimal(out, entry.getCredit());
+            writeEnum(out, entry.getCurrency());
+            writeDecimal(out, entry.getRunningBalance());
+            if (entry.getTransactionId() != null && entry.getTransactionId().equals(id)) {
+                out.writeByte(SAME_AS_PARENT);
+            } else {
+                writeString(out, entry.getTransactionId(), false);
+            }
+            writeDateTime(out, entry.getPostedAt(), postedAt);
+        }
+    }
+
+    private TransactionResponse readTransaction(Reader in) {
+        String id = readString(in, null);
+        Long ledgerSequence = in.readNullableLong();
+        String idempotencyKey = readString(in, null);
+        String description = readString(in, null);
+        String status = readString(in, null);
+        LocalDateTime postedAt = readDateTime(in, null);
+        LocalDateTime createdAt = readDateTime(in, postedAt);
+        int count = in.readVarint();
+        List<TransactionEntryResponse> entries = null;
+        if (count > 0) {
+            entries = new ArrayList<>(count - 1);
+            for (int i = 0; i < count - 1; i++) {
+                entries.add(TransactionEntryResponse.builder()
+                        .accountId(readString(in, null))
+                        .accountCode(readString(in, null))
+                        .debit(readDecimal(in))
+                        .credit(readDecimal(in))
+                        .currency(readEnum(in, CURRENCIES))
+                        .runningBalance(readDecimal(in))
+                        .transactionId(readString(in, id))
+                        .postedAt(readDateTime(in, postedAt))
+                        .build());
+            }
+        }
+        return TransactionResponse.builder()
+                .id(id)
+                .ledgerSequence(ledgerSequence)
+                .idempotencyKey(idempotencyKey)
+                .description(description)
+                .status(status)
+                .postedAt(postedAt)
+                .entries(entries)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private void writeBalanceSheet(Writer out, BalanceSheetResponse balanceSheet) {
+        writeDateTime(out, balanceSheet.getAsOfDate(), null);
+        writeSummary(out, balanceSheet.getAssets());
+        writeSummary(out, balanceSheet.getLiabilities());
+        writeSummary(out, balanceSheet.getEquity());
+        writeDecimal(out, balanceSheet.getTotalAssets());
+        writeDecimal(out, balanceSheet.getTotalLiabilities());
+        writeDecimal(out, balanceSheet.getTotalEquity());
+        out.writeByte(balanceSheet.isBalanced() ? 1 : 0);
+    }
+
+    private BalanceSheetResponse readBalanceSheet(Reader in) {
+        return BalanceSheetResponse.builder()
+                .asOfDate(readDateTime(in, null))
+                .assets(readSummary(in))
+                .liabilities(readSummary(in))
+                .equity(readSummary(in))
+                .totalAssets(readDecimal(in))
+                .totalLiabilities(readDecimal(in))
+                .totalEquity(readDecimal(in))
+                .isBalanced(in.readByte() == 1)
+                .build();
+    }
+
+    private void writeSummary(Writer out, BalanceSheetResponse.AccountTypeSummary summary) {
+        if (summary == null) {
+            out.writeVarint(0);
+            return;
+        }
+        List<BalanceSheetResponse.AccountBalance> accounts = summary.getAccounts();
+        out.writeVarint(1);
+        out.writeVarint(accounts == null ? 0 : accounts.size() + 1);
+        if (accounts == null) {
+            return;
+        }
+        for (BalanceSheetResponse.AccountBalance account : accounts) {
+            writeString(out, account.getAccountId(), true);
+            writeString(out, account.getAccountCode(), true);
+            writeString(out, account.getAccountName(), true);
+            writeEnum(out, account.getAccountType());
+            writeDecimal(out, account.getBalance());
+        }
+    }
+
+    private BalanceSheetResponse.AccountTypeSummary readSummary(Reader in) {
+        if (in.readVarint() == 0) {
+            return null;
+        }
+        int count = in.readVarint();
+        List<BalanceSheetResponse.AccountBalance> accounts = null;
+        if (count > 0) {
+            accounts = new ArrayList<>(count - 1);
+            for (int i = 0; i < count - 1; i++) {
+                accounts.add(BalanceSheetResponse.AccountBalance.builder()
+                        .accountId(readString(in, null))
+                        .accountCode(readString(in, null))
+                        .accountName(readString(in, null))
+                        .accountType(readEnum(in, ACCOUNT_TYPES))
+                        .balance(readDecimal(in))
+                        .build());
+            }
+        }
+        return BalanceSheetResponse.AccountTypeSummary.builder().accounts(accounts).build();
+    }
+
+    /**
+     * Repeating strings go through the dictionary; one-off ones, such as descriptions and
+     * transaction ids, are written inline so they do not fill it.
+     */
+    private void writeString(Writer out, String value, boolean repeating) {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        int code = repeating ? dictionary.codeFor(value) : StringDictionary.NOT_CODED;
+        if (code != StringDictionary.NOT_CODED) {
+            out.writeByte(CODED);
+            out.writeVarint(code);
+            return;
+        }
+        UUID uuid = asUuid(value);
+        if (uuid != null) {
+            out.writeByte(UUID_STRING);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(INLINE);
+        out.writeVarint(utf8.length);
+        out.writeBytes(utf8);
+    }
+
+    private String readString(Reader in, String parent) {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case CODED -> dictionary.valueOf(in.readVarint());
+            case UUID_STRING -> new UUID(in.readLong(), in.readLong()).toString();
+            case INLINE -> new String(in.readBytes(in.readVarint()), StandardCharsets.UTF_8);
+            case SAME_AS_PARENT -> parent;
+            default -> throw new IllegalStateException("Unknown string tag " + tag);
+        };
+    }
+
+    private static void writeDecimal(Writer out, BigDecimal value) {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            out.writeByte(SMALL_DECIMAL);
+            out.writeSignedVarint(unscaled.longValue());
+        } else {
+            byte[] bytes = unscaled.toByteArray();
+            out.writeByte(LARGE_DECIMAL);
+            out.writeVarint(bytes.length);
+            out.writeBytes(bytes);
+        }
+        out.writeSignedVarint(value.scale());
+    }
+
+    private static BigDecimal readDecimal(Reader in) {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case SMALL_DECIMAL -> BigDecimal.valueOf(in.readSignedVarint(), (int) in.readSignedVarint());
+            case LARGE_DECIMAL -> new BigDecimal(new BigInteger(in.readBytes(in.readVarint())), (int) in.readSignedVarint());
+            default -> throw new IllegalStateException("Unknown decimal tag " + tag);
+        };
+    }
+
+    private static void writeDateTime(Writer out, LocalDateTime value, LocalDateTime parent) {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value.equals(parent)) {
+            out.writeByte(SAME_AS_PARENT);
+        } else {
+            out.writeByte(INLINE);
+            out.writeSignedVarint(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeVarint(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(Reader in, LocalDateTime parent) {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case SAME_AS_PARENT -> parent;
+            case INLINE -> LocalDateTime.ofEpochSecond(in.readSignedVarint(), in.readVarint(), ZoneOffset.UTC);
+            default -> throw new IllegalStateException("Unknown timestamp tag " + tag);
+        };
+    }
+
+    private static void writeEnum(Writer out, Enum<?> value) {
+        out.writeVarint(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E readEnum(Reader in, E[] values) {
+        int ordinal = in.readVarint();
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+
+    /**
+     * Only canonical lowercase UUIDs, the form Hibernate generates, so decoding gives back the
+     * same string.
+     */
+    private static UUID asUuid(String value) {
+        if (value.length() != 36 || value.charAt(8) != '-' || value.charAt(13) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * A value as stored in the cache; it is weighed by its byte count.
+     */
+    static final class CompactValue {
+
+        final byte[] bytes;
+
+        CompactValue(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int size() {
+            return bytes.length;
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeNullableLong(Long value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else {
+                writeByte(INLINE);
+                writeSignedVarint(value);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        byte[] readBytes(int length) {
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        int readVarint() {
+            return (int) readUnsignedVarint();
+        }
+
+        long readSignedVarint() {
+            long value = readUnsignedVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        Long readNullableLong() {
+            return readByte() == NULL ? null : readSignedVarint();
+        }
+
+        private long readUnsignedVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.fintech.pezesha_core_ledger.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weighs a cache entry by its approximate retained heap in bytes, assuming a 64-bit JVM with
+ * compressed references. Values are walked field by field once, when written, so the cost
+ * lands on cache misses and never on hits. Close enough to budget caches by memory, not exact.
+ */
+public class EstimatedSizeWeigher implements Weigher<Object, Object> {
+
+    private static final int HEADER = 16;
+    private static final int REFERENCE = 4;
+    // Classes from the JDK that are not handled explicitly are not walked
+    private static final int OPAQUE = 32;
+
+    private static final ClassValue<List<Field>> REFERENCE_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+
+    private static final ClassValue<Integer> SHALLOW_SIZE = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            int size = HEADER;
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += field.getType() == long.class || field.getType() == double.class ? 8 : REFERENCE;
+                    }
+                }
+            }
+            return align(size);
+        }
+    };
+
+    @Override
+    public int weigh(Object key, Object value) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = estimate(key, visited) + estimate(value, visited);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes));
+    }
+
+    static long estimate(Object value) {
+        return estimate(value, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static long estimate(Object value, Set<Object> visited) {
+        if (value == null || value instanceof Enum<?> || value instanceof Class<?> || !visited.add(value)) {
+            return 0;
+        }
+        if (value instanceof String text) {
+            // Latin-1 compact strings, which is what codes, ids and names are
+            return 24 + align(HEADER + text.length());
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.precision() > 18 ? 40 + 40 : 40;
+        }
+        if (value instanceof BigInteger) {
+            return 56;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return HEADER;
+        }
+        if (value instanceof LocalDateTime) {
+            return 72;
+        }
+        if (value instanceof LocalDate || value instanceof Instant) {
+            return 24;
+        }
+        if (value instanceof CompactValueCodec.CompactValue compact) {
+            return align(HEADER + REFERENCE) + align(HEADER + (long) compact.size());
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 40 + align(HEADER + (long) REFERENCE * collection.size());
+            for (Object element : collection) {
+                bytes += estimate(element, visited);
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            // Table plus one node per entry, as in HashMap
+            long bytes = 48 + align(HEADER + (long) REFERENCE * map.size() * 2) + 32L * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += estimate(entry.getKey(), visited) + estimate(entry.getValue(), visited);
+            }
+            return bytes;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return align(HEADER + (long) length * primitiveSize(component));
+            }
+            long bytes = align(HEADER + (long) length * REFERENCE);
+            for (int i = 0; i < length; i++) {
+                bytes += estimate(Array.get(value, i), visited);
+            }
+            return bytes;
+        }
+        if (type.getName().startsWith("java.")) {
+            return OPAQUE;
+        }
+        long bytes = SHALLOW_SIZE.get(type);
+        for (Field field : REFERENCE_FIELDS.get(type)) {
+            try {
+                bytes += estimate(field.get(value), visited);
+            } catch (IllegalAccessException e) {
+                bytes += OPAQUE;
+            }
+        }
+        return bytes;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        return type == short.class || type == char.class ? 2 : 1;
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
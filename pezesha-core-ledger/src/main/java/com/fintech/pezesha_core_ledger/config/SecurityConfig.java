@@ -19,7 +19,7 @@ public class SecurityConfig {
                                 "/swagger-resources/**", "/webjars/**", "/actuator/**").permitAll()
 
                         .requestMatchers("/api/v1/accounts/**", "/api/v1/loans/**",
-                                "/api/v1/transactions/**", "/api/v1/reports/**").permitAll()
+                                "/api/v1/transactions/**", "/api/v1/reports/**", "/api/v1/ledger/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .csrf(AbstractHttpConfigurer::disable);
@@ -0,0 +1,54 @@
+package com.fintech.pezesha_core_ledger.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Codes for strings that repeat across cached values, such as account ids, account codes and
+ * statuses, so each value stores a small number instead of its own copy. Codes are never reused
+ * or removed; once full, new strings are simply not coded and are written inline.
+ */
+final class StringDictionary {
+
+    static final int NOT_CODED = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> values;
+    private int size;
+
+    StringDictionary(int capacity) {
+        this.values = new AtomicReferenceArray<>(capacity);
+    }
+
+    int codeFor(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    String valueOf(int code) {
+        String value = code < values.length() ? values.get(code) : null;
+        if (value == null) {
+            throw new IllegalStateException("Unknown dictionary code " + code);
+        }
+        return value;
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    private synchronized int add(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length()) {
+            return NOT_CODED;
+        }
+        // Published to the array before the map, so a code handed out always resolves
+        values.set(size, value);
+        codes.put(value, size);
+        return size++;
+    }
+}
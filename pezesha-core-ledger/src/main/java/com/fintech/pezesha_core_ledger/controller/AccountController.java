@@ -4,7 +4,10 @@ import com.fintech.pezesha_core_ledger.dto.AccountBalanceResponse;
 import com.fintech.pezesha_core_ledger.dto.AccountResponse;
 import com.fintech.pezesha_core_ledger.dto.CreateAccountRequest;
 import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.querybudget.QueryBudget;
+import com.fintech.pezesha_core_ledger.sequence.LedgerVersionTracker;
 import com.fintech.pezesha_core_ledger.service.AccountService;
+import com.fintech.pezesha_core_ledger.service.BalanceStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,8 +15,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,6 +31,9 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final LedgerVersionTracker ledgerVersionTracker;
+    private final ConditionalRequestSupport conditionalRequests;
+    private final BalanceStreamService balanceStreamService;
 
     @PostMapping
     @Operation(summary = "Create a new account", description = "Creates a new ledger account with specified parameters")
@@ -34,6 +43,7 @@ public class AccountController {
     }
 
     @GetMapping("/{accountId}")
+    @QueryBudget(2)
     @Operation(summary = "Get account by ID", description = "Retrieves account details by its unique identifier")
     public ResponseEntity<AccountResponse> getAccount(
             @Parameter(description = "Unique identifier of the account", required = true)
@@ -43,6 +53,7 @@ public class AccountController {
     }
 
     @GetMapping("/{accountId}/balance")
+    @QueryBudget(5)
     @Operation(summary = "Get account balance", description = "Retrieves the current balance of an account as of a specific date")
     public ResponseEntity<AccountBalanceResponse> getAccountBalance(
             @Parameter(description = "Unique identifier of the account", required = true)
@@ -50,12 +61,26 @@ public class AccountController {
             @Parameter(description = "Date to retrieve balance as of (defaults to current date if not provided)")
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-            LocalDateTime asOfDate) {
+            LocalDateTime asOfDate,
+            WebRequest webRequest) {
 
+        if (conditionalRequests.notModified(webRequest, "account-balance", ledgerVersionTracker.accountTag(accountId))) {
+            return null;
+        }
         AccountBalanceResponse response = accountService.getAccountBalance(accountId, asOfDate);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/balances/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to account balances",
+            description = "Server-Sent Events stream sending the current balance of each account, then a `balance` event "
+                    + "whenever a posting to it commits. Rapid updates are coalesced; only the latest balance is delivered")
+    public SseEmitter streamBalances(
+            @Parameter(description = "Accounts to watch", required = true)
+            @RequestParam List<String> accountIds) {
+        return balanceStreamService.subscribe(accountIds);
+    }
+
     @GetMapping
     @Operation(summary = "Get all active accounts", description = "Retrieves all active accounts in the ledger system")
     public ResponseEntity<List<AccountResponse>> getAllAccounts() {
@@ -0,0 +1,109 @@
+package com.fintech.pezesha_core_ledger.controller;
+
+import com.fintech.pezesha_core_ledger.binary.PostingWireFormat;
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.exception.LedgerException;
+import com.fintech.pezesha_core_ledger.exception.RateLimitException;
+import com.fintech.pezesha_core_ledger.querybudget.QueryBudget;
+import com.fintech.pezesha_core_ledger.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+@Tag(name = "Transaction Management", description = "APIs for managing financial transactions")
+public class BinaryPostingController {
+
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    private final TransactionService transactionService;
+    private final Validator validator;
+
+    /**
+     * Posts each frame of the request body through {@link TransactionService#postTransaction} as it
+     * arrives and writes its result back in order (see {@link PostingWireFormat}). A failed posting
+     * answers with an error frame and the stream carries on; only a malformed stream ends it.
+     * Results are flushed whenever the client has nothing more buffered, so a pipelining client
+     * gets them in batches and a lockstep one gets each at once.
+     */
+    @PostMapping(value = "/stream", consumes = PostingWireFormat.MEDIA_TYPE, produces = PostingWireFormat.MEDIA_TYPE)
+    // The budget is per request and a stream carries many postings; each posting is the same SQL as the JSON endpoint's
+    @QueryBudget(Integer.MAX_VALUE)
+    @Operation(summary = "Post a stream of transactions",
+            description = "Binary posting protocol for internal clients: length-prefixed postings with minor-unit amounts in, " +
+                    "one result per posting out, in order")
+    public void postStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(request.getInputStream(), BUFFER_BYTES));
+        try {
+            PostingWireFormat.readHeader(in);
+        } catch (IOException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        response.setContentType(PostingWireFormat.MEDIA_TYPE);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(response.getOutputStream(), BUFFER_BYTES));
+        PostingWireFormat.writeHeader(out);
+        int postings = 0;
+        try {
+            TransactionRequest posting;
+            while ((posting = PostingWireFormat.readRequest(in)) != null) {
+                post(posting, out);
+                postings++;
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Binary posting stream ended after {} postings: {}", postings, e.getMessage());
+            PostingWireFormat.writeError(out, HttpStatus.BAD_REQUEST.value(), "MALFORMED_STREAM", e.getMessage());
+        }
+        out.flush();
+    }
+
+    private void post(TransactionRequest request, DataOutputStream out) throws IOException {
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; "));
+            PostingWireFormat.writeError(out, HttpStatus.BAD_REQUEST.value(), "VALIDATION_ERROR", message);
+            return;
+        }
+        try {
+            TransactionResponse response = transactionService.postTransaction(request);
+            PostingWireFormat.writePosted(out, HttpStatus.CREATED.value(), response);
+        } catch (RateLimitException e) {
+            // Shed load is expected under pressure; the client retries the same idempotency key
+            log.warn("Posting shed: {}", e.getMessage());
+            PostingWireFormat.writeError(out, e.getStatus().value(), e.getErrorCode(), e.getMessage());
+        } catch (LedgerException e) {
+            log.error("Ledger exception: {}", e.getMessage(), e);
+            PostingWireFormat.writeError(out, e.getStatus().value(), e.getErrorCode(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Unexpected error posting {}: {}", request.getIdempotencyKey(), e.getMessage(), e);
+            PostingWireFormat.writeError(out, HttpStatus.INTERNAL_SERVER_ERROR.value(), "INTERNAL_ERROR",
+                    "An unexpected error occurred");
+        }
+    }
+}
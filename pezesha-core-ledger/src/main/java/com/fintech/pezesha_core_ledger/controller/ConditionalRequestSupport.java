@@ -0,0 +1,33 @@
+package com.fintech.pezesha_core_ledger.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers If-None-Match before a handler touches the database, and counts 304 versus full
+ * responses per resource as ledger.http.conditional.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalRequestSupport {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Sets the ETag on the response. Returns true when the client's copy is current; the response
+     * is then already a 304 and the handler should return null.
+     */
+    public boolean notModified(WebRequest request, String resource, String etag) {
+        boolean notModified = request.checkNotModified(etag);
+        Counter.builder("ledger.http.conditional")
+                .description("Conditional-GET capable responses by outcome")
+                .tag("resource", resource)
+                .tag("outcome", notModified ? "not_modified" : "modified")
+                .register(meterRegistry)
+                .increment();
+        return notModified;
+    }
+}
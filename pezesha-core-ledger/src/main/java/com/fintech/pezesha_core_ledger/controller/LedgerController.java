@@ -0,0 +1,77 @@
+package com.fintech.pezesha_core_ledger.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.pezesha_core_ledger.dto.LedgerChangeBatch;
+import com.fintech.pezesha_core_ledger.dto.LedgerPositionResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.sequence.LedgerSequence;
+import com.fintech.pezesha_core_ledger.service.LedgerChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/ledger")
+@RequiredArgsConstructor
+@Tag(name = "Ledger", description = "APIs for following the ledger as a sequence of postings")
+public class LedgerController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final String NEXT_CURSOR_HEADER = "X-Ledger-Next-Cursor";
+    static final String HIGH_WATER_MARK_HEADER = "X-Ledger-High-Water-Mark";
+
+    private final LedgerSequence ledgerSequence;
+    private final LedgerChangeFeedService changeFeedService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/position")
+    @Operation(summary = "Get ledger high-water mark", description = "Returns the ledger sequence up to which every posting is settled")
+    public ResponseEntity<LedgerPositionResponse> getPosition() {
+        return ResponseEntity.ok(LedgerPositionResponse.builder()
+                .highWaterMark(ledgerSequence.highWaterMark())
+                .asOf(LocalDateTime.now())
+                .build());
+    }
+
+    @GetMapping(value = "/changes", produces = "application/x-ndjson")
+    @Operation(summary = "Stream ledger changes",
+            description = "Streams postings committed after the cursor as NDJSON, one transaction per line, in ledger sequence order. " +
+                    "Waits for new postings when there are none yet. Use the " + NEXT_CURSOR_HEADER + " response header as the next cursor.")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getChanges(
+            @Parameter(description = "Ledger sequence cursor; 0 to start from the beginning")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Maximum postings in this batch (capped at 1000)")
+            @RequestParam(defaultValue = "500") int limit,
+            @Parameter(description = "Seconds to wait for new postings when there are none (capped by ledger.change-feed.max-wait)")
+            @RequestParam(defaultValue = "25") int waitSeconds) {
+
+        return changeFeedService.changesAfter(after, limit, Duration.ofSeconds(waitSeconds))
+                .thenApply(this::toNdjson);
+    }
+
+    private ResponseEntity<StreamingResponseBody> toNdjson(LedgerChangeBatch batch) {
+        StreamingResponseBody body = out -> {
+            for (TransactionResponse change : batch.getChanges()) {
+                out.write(objectMapper.writeValueAsBytes(change));
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(NEXT_CURSOR_HEADER, Long.toString(batch.getNextCursor()))
+                .header(HIGH_WATER_MARK_HEADER, Long.toString(batch.getHighWaterMark()))
+                .body(body);
+    }
+}
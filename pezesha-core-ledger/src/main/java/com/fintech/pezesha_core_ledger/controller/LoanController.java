@@ -1,6 +1,7 @@
 package com.fintech.pezesha_core_ledger.controller;
 
 import com.fintech.pezesha_core_ledger.dto.*;
+import com.fintech.pezesha_core_ledger.querybudget.QueryBudget;
 import com.fintech.pezesha_core_ledger.service.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,12 +21,14 @@ public class LoanController {
     private final LoanService loanService;
 
     @PostMapping
+    @QueryBudget(5)
     @Operation(summary = "Apply for a new loan",  description = "Apply for a new loan")
     public ResponseEntity<LoanResponse> apply(@Valid @RequestBody LoanApplicationRequest req) {
         return ResponseEntity.ok(loanService.applyForLoan(req));
     }
 
     @PostMapping("/{loanId}/disburse")
+    @QueryBudget(30)
     @Operation(summary = "Disburse a loan",  description = "Disburse a loan")
     public ResponseEntity<LoanResponse> disburse(
             @PathVariable String loanId,
@@ -34,6 +37,7 @@ public class LoanController {
     }
 
     @PostMapping("/{loanId}/repay")
+    @QueryBudget(20)
     @Operation(summary = "Repay a loan",  description = "Repay a loan")
     public ResponseEntity<LoanResponse> repay(
             @PathVariable String loanId,
@@ -42,6 +46,7 @@ public class LoanController {
     }
 
     @PostMapping("/{loanId}/write-off")
+    @QueryBudget(15)
     @Operation(summary = "Write off a loan",  description = "Write off a loan")
     public ResponseEntity<LoanResponse> writeOff(
             @PathVariable String loanId,
@@ -56,6 +61,7 @@ public class LoanController {
     }
 
     @PutMapping("/{loanId}/approve")
+    @QueryBudget(5)
     @Operation(summary = "Approve a loan", description = "Approve a loan for disbursement")
     public ResponseEntity<LoanResponse> approveLoan(@PathVariable String loanId) {
         return ResponseEntity.ok(loanService.approveLoan(loanId));
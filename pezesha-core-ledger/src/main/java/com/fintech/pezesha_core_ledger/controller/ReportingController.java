@@ -2,20 +2,43 @@ package com.fintech.pezesha_core_ledger.controller;
 
 import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
 import com.fintech.pezesha_core_ledger.dto.LoanAgingResponse;
+import com.fintech.pezesha_core_ledger.dto.ReportJobRequest;
+import com.fintech.pezesha_core_ledger.dto.ReportJobResponse;
+import com.fintech.pezesha_core_ledger.dto.StatementRunResponse;
 import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionHistoryPage;
 import com.fintech.pezesha_core_ledger.dto.TrialBalanceResponse;
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import com.fintech.pezesha_core_ledger.export.ExportFormat;
+import com.fintech.pezesha_core_ledger.querybudget.QueryBudget;
+import com.fintech.pezesha_core_ledger.sequence.LedgerVersionTracker;
+import com.fintech.pezesha_core_ledger.service.ReportExportService;
+import com.fintech.pezesha_core_ledger.service.ReportJobService;
 import com.fintech.pezesha_core_ledger.service.ReportingService;
+import com.fintech.pezesha_core_ledger.service.StatementBatchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -23,7 +46,14 @@ import java.time.LocalDateTime;
 @Tag(name = "Reporting", description = "APIs for generating financial reports")
 public class ReportingController {
 
+    private static final int EXPORT_GZIP_BUFFER = 64 * 1024;
+
     private final ReportingService reportingService;
+    private final LedgerVersionTracker ledgerVersionTracker;
+    private final ConditionalRequestSupport conditionalRequests;
+    private final ReportJobService reportJobService;
+    private final ReportExportService reportExportService;
+    private final StatementBatchService statementBatchService;
 
     @GetMapping("/trial-balance")
     @Operation(summary = "Get trial balance report", description = "Retrieves the trial balance report showing all account balances")
@@ -31,8 +61,12 @@ public class ReportingController {
             @Parameter(description = "Date to retrieve trial balance as of (defaults to current date if not provided)")
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-            LocalDateTime asOfDate) {
+            LocalDateTime asOfDate,
+            WebRequest webRequest) {
 
+        if (conditionalRequests.notModified(webRequest, "trial-balance", ledgerVersionTracker.ledgerTag())) {
+            return null;
+        }
         TrialBalanceResponse response = reportingService.getTrialBalance(asOfDate);
         return ResponseEntity.ok(response);
     }
@@ -43,13 +77,18 @@ public class ReportingController {
             @Parameter(description = "Date to retrieve balance sheet as of (defaults to current date if not provided)")
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-            LocalDateTime asOfDate) {
+            LocalDateTime asOfDate,
+            WebRequest webRequest) {
 
+        if (conditionalRequests.notModified(webRequest, "balance-sheet", ledgerVersionTracker.ledgerTag())) {
+            return null;
+        }
         BalanceSheetResponse response = reportingService.getBalanceSheet(asOfDate);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/loan-aging")
+    @QueryBudget(5)
     @Operation(summary = "Get loan aging report", description = "Retrieves the loan aging report categorizing loans by days overdue")
     public ResponseEntity<LoanAgingResponse> getLoanAgingReport() {
         LoanAgingResponse response = reportingService.getLoanAgingReport();
@@ -69,4 +108,157 @@ public class ReportingController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/account/{accountId}/history/cursor")
+    @QueryBudget(5)
+    @Operation(summary = "Get transaction history for account by cursor",
+            description = "Retrieves account history newest first using keyset pagination. Pass nextCursor from the previous page to continue")
+    public ResponseEntity<TransactionHistoryPage> getTransactionHistoryPage(
+            @PathVariable String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        TransactionHistoryPage response = reportingService.getTransactionHistoryPage(
+                accountId, startDate, endDate, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/trial-balance/export")
+    @Operation(summary = "Export account-level trial balance",
+            description = "Streams one row per active account as CSV or NDJSON. Sent gzip-encoded when the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportTrialBalance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate,
+            @Parameter(description = "csv (default) or ndjson")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return streamExport("trial-balance", exportFormat, acceptEncoding,
+                out -> reportExportService.exportTrialBalance(asOfDate, exportFormat, out));
+    }
+
+    @GetMapping("/balance-sheet/export")
+    @Operation(summary = "Export account-level balance sheet",
+            description = "Streams one row per active account, grouped by account type, as CSV or NDJSON. Sent gzip-encoded when the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportBalanceSheet(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate,
+            @Parameter(description = "csv (default) or ndjson")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return streamExport("balance-sheet", exportFormat, acceptEncoding,
+                out -> reportExportService.exportBalanceSheet(asOfDate, exportFormat, out));
+    }
+
+    @GetMapping("/account/{accountId}/statement")
+    @Operation(summary = "Export account statement",
+            description = "Streams the account's posted entries oldest first, with the running balance, as CSV or NDJSON. Sent gzip-encoded when the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @PathVariable String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "csv (default) or ndjson")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        reportExportService.requireAccount(accountId);
+        return streamExport("statement-" + accountId, exportFormat, acceptEncoding,
+                out -> reportExportService.exportStatement(accountId, startDate, endDate, exportFormat, out));
+    }
+
+    @PostMapping("/statements/{period}")
+    @Operation(summary = "Generate month-end statements",
+            description = "Queues statement files for every active account for a closed month (yyyy-MM). "
+                    + "A failed or interrupted run resumes from its last checkpoint")
+    public ResponseEntity<StatementRunResponse> generateStatements(@PathVariable String period) {
+        StatementRunResponse response = statementBatchService.submit(parsePeriod(period));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/reports/statements/" + response.getPeriod()))
+                .body(response);
+    }
+
+    @GetMapping("/statements/{period}")
+    @Operation(summary = "Get statement run progress", description = "Retrieves the status and checkpoint of a month's statement run")
+    public ResponseEntity<StatementRunResponse> getStatementRun(@PathVariable String period) {
+        return ResponseEntity.ok(statementBatchService.getRun(parsePeriod(period)));
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Start a report job",
+            description = "Computes a trial balance, balance sheet or loan aging report in the background and returns the job at once. "
+                    + "An identical request that is running or finished recently returns the existing job")
+    public ResponseEntity<ReportJobResponse> submitReportJob(@Valid @RequestBody ReportJobRequest request) {
+        ReportJobResponse response = reportJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/reports/jobs/" + response.getJobId()))
+                .body(response);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get report job status", description = "Retrieves the status of a report job")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/jobs/{jobId}/result")
+    @Operation(summary = "Get report job result",
+            description = "Returns the report JSON of a completed job; 409 while it is still running. Sent gzip-encoded when the client accepts it")
+    public ResponseEntity<byte[]> getReportJobResult(
+            @PathVariable String jobId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        // Stored compressed: clients that accept gzip get the bytes as they are
+        boolean gzip = acceptsGzip(acceptEncoding);
+        byte[] body = reportJobService.getResult(jobId, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamExport(String name, ExportFormat format, String acceptEncoding,
+                                                               Consumer<OutputStream> export) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_GZIP_BUFFER);
+                export.accept(compressed);
+                compressed.finish();
+            } else {
+                export.accept(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static YearMonth parsePeriod(String period) {
+        try {
+            return YearMonth.parse(period);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Period must be yyyy-MM: " + period);
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
 }
@@ -3,6 +3,7 @@ package com.fintech.pezesha_core_ledger.controller;
 import com.fintech.pezesha_core_ledger.dto.ReverseTransactionRequest;
 import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
 import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.querybudget.QueryBudget;
 import com.fintech.pezesha_core_ledger.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,6 +25,7 @@ public class TransactionController {
     private final TransactionService transactionService;
 
     @PostMapping
+    @QueryBudget(12)
     @Operation(summary = "Post a new transaction", description = "Creates and posts a new financial transaction to the ledger")
     public ResponseEntity<TransactionResponse> postTransaction(
             @Valid @RequestBody TransactionRequest request) {
@@ -32,6 +34,7 @@ public class TransactionController {
     }
 
     @GetMapping("/{transactionId}")
+    @QueryBudget(5)
     @Operation(summary = "Get transaction by ID", description = "Retrieves a specific transaction by its unique identifier")
     public ResponseEntity<TransactionResponse> getTransaction(
             @Parameter(description = "Unique identifier of the transaction", required = true)
@@ -48,6 +51,7 @@ public class TransactionController {
     }
 
     @PostMapping("/{transactionId}/reverse")
+    @QueryBudget(20)
     @Operation(summary = "Reverse a transaction", description = "Creates a reversing transaction for the specified transaction")
     public ResponseEntity<TransactionResponse> reverseTransaction(
             @Parameter(description = "Unique identifier of the transaction to reverse", required = true)
@@ -0,0 +1,8 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+/**
+ * Lookup keys of {@link ReadWriteRoutingDataSource}.
+ */
+public enum DataSourceRole {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,44 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Pins a request to the primary when its session (X-Ledger-Session header) wrote recently,
+ * and records successful mutating requests as writes of that session.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String SESSION_HEADER = "X-Ledger-Session";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String session = request.getHeader(SESSION_HEADER);
+        if (session == null || session.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        tracker.pinToPrimary(tracker.wroteRecently(session));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            tracker.clear();
+            if (!READ_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+                tracker.recordWrite(session);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers sessions that wrote within the last replica lag budget. Reads from such a session
+ * are pinned to the primary, since the replica may not have replayed the write yet.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<Boolean> pinnedToPrimary = ThreadLocal.withInitial(() -> false);
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite(String sessionId) {
+        recentWriters.put(sessionId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(String sessionId) {
+        return recentWriters.getIfPresent(sessionId) != null;
+    }
+
+    public boolean isPinnedToPrimary() {
+        return pinnedToPrimary.get();
+    }
+
+    public void pinToPrimary(boolean pinned) {
+        pinnedToPrimary.set(pinned);
+    }
+
+    public void clear() {
+        pinnedToPrimary.remove();
+    }
+}
@@ -0,0 +1,62 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica's replay lag and takes it out of rotation while the lag exceeds the budget
+ * or the replica cannot be reached.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag
+    private static final String LAG_SQL = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replica;
+    private final double maxLagSeconds;
+    private volatile double lagSeconds;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("ledger.replica.lag.seconds", this, m -> m.lagSeconds)
+                .description("Replay lag of the read replica")
+                .register(meterRegistry);
+        Gauge.builder("ledger.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("1 while read-only work is routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.datasource.replica.lag-check-interval:1000}")
+    public void checkLag() {
+        try {
+            Double lag = replica.queryForObject(LAG_SQL, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            boolean withinBudget = lagSeconds <= maxLagSeconds;
+            if (withinBudget != usable) {
+                log.warn("Replica {} (lag {}s, budget {}s)", withinBudget ? "back in rotation" : "lagging, reads fall back to primary",
+                        lagSeconds, maxLagSeconds);
+            }
+            usable = withinBudget;
+        } catch (Exception e) {
+            if (usable) {
+                log.warn("Replica unreachable, reads fall back to primary: {}", e.getMessage());
+            }
+            usable = false;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+import com.fintech.pezesha_core_ledger.bulkhead.BulkheadConfig;
+import com.fintech.pezesha_core_ledger.bulkhead.BulkheadProperties;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Primary plus read-replica pools behind a routing data source. Only active with
+ * ledger.datasource.replica.enabled=true; otherwise Boot's single auto-configured pool is used,
+ * or BulkheadConfig's per-workload pools. With bulkheads enabled each side is itself split into
+ * per-workload pools.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryPoolConfig(DataSourceProperties properties) {
+        return BulkheadConfig.primaryPoolTemplate(properties);
+    }
+
+    @Bean
+    @ConfigurationProperties("ledger.datasource.replica.pool")
+    public HikariConfig replicaPoolConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setReadOnly(true);
+        return config;
+    }
+
+    @Bean(destroyMethod = "close")
+    public DataSource primaryDataSource(@Qualifier("primaryPoolConfig") HikariConfig config,
+                                        BulkheadProperties bulkheads,
+                                        MeterRegistry meterRegistry) {
+        if (bulkheads.isEnabled()) {
+            return WorkloadRoutingDataSource.create("primary", config, bulkheads, meterRegistry,
+                    WorkloadClass.POSTING, WorkloadClass.values());
+        }
+        return pool("primary", config);
+    }
+
+    @Bean(destroyMethod = "close")
+    public DataSource replicaDataSource(@Qualifier("replicaPoolConfig") HikariConfig config,
+                                        BulkheadProperties bulkheads,
+                                        MeterRegistry meterRegistry) {
+        if (bulkheads.isEnabled()) {
+            // Postings never run read-only; their class falls back to the point-read pool
+            return WorkloadRoutingDataSource.create("replica", config, bulkheads, meterRegistry,
+                    WorkloadClass.POINT_READ, WorkloadClass.POINT_READ, WorkloadClass.REPORTING, WorkloadClass.BATCH);
+        }
+        return pool("replica", config);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${ledger.datasource.replica.max-lag:5s}") Duration maxLag) {
+        // A write older than the lag budget is visible on any replica still in rotation
+        return new ReadYourWritesTracker(maxLag);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${ledger.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(readYourWritesTracker, replicaLagMonitor);
+        routing.setTargetDataSources(Map.of(
+                DataSourceRole.PRIMARY, primaryDataSource,
+                DataSourceRole.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        // Defer the routing decision until the first statement, after the read-only flag is bound
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource pool(String name, HikariConfig config) {
+        HikariDataSource dataSource = new HikariDataSource();
+        config.copyStateTo(dataSource);
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWritesTracker tracker) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(tracker));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
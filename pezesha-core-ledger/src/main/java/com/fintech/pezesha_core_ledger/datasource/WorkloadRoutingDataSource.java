@@ -0,0 +1,64 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+import com.fintech.pezesha_core_ledger.bulkhead.BulkheadProperties;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadContext;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One Hikari pool per workload class against the same database, picked by the thread's
+ * {@link WorkloadContext}. Unclassified work, and classes without a pool here, use the fallback.
+ * Must sit behind a LazyConnectionDataSourceProxy, like {@link ReadWriteRoutingDataSource}.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<WorkloadClass, HikariDataSource> pools;
+
+    private WorkloadRoutingDataSource(Map<WorkloadClass, HikariDataSource> pools, WorkloadClass fallback) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(fallback));
+        afterPropertiesSet();
+    }
+
+    /**
+     * Pools start on first use. They are named {@code <name>-<workload>} and report Hikari metrics
+     * under that pool name.
+     */
+    public static WorkloadRoutingDataSource create(String name, HikariConfig template, BulkheadProperties properties,
+                                                   MeterRegistry meterRegistry, WorkloadClass fallback,
+                                                   WorkloadClass... workloads) {
+        Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workload : workloads) {
+            BulkheadProperties.Limits limits = properties.limitsFor(workload);
+            HikariDataSource pool = new HikariDataSource();
+            template.copyStateTo(pool);
+            pool.setPoolName(name + "-" + workload.name().toLowerCase().replace('_', '-'));
+            pool.setMaximumPoolSize(limits.getPoolSize());
+            if (template.getMinimumIdle() >= 0) {
+                pool.setMinimumIdle(Math.min(template.getMinimumIdle(), limits.getPoolSize()));
+            }
+            pool.setMetricRegistry(meterRegistry);
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools, fallback);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
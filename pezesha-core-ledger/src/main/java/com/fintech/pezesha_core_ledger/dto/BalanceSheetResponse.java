@@ -1,5 +1,6 @@
 package com.fintech.pezesha_core_ledger.dto;
 
+import com.fintech.pezesha_core_ledger.enums.AccountType;
 import lombok.Builder;
 import lombok.Data;
 import java.math.BigDecimal;
@@ -31,6 +32,7 @@ public class BalanceSheetResponse {
         private String accountId;
         private String accountCode;
         private String accountName;
+        private AccountType accountType;
         private BigDecimal balance;
     }
 }
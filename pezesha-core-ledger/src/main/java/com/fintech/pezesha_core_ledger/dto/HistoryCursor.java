@@ -0,0 +1,39 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in an account history ordered by (postedAt DESC, id DESC).
+ */
+@Value
+public class HistoryCursor {
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime postedAt;
+    String entryId;
+
+    public String encode() {
+        String raw = postedAt + SEPARATOR + entryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split <= 0 || split == raw.length() - 1) {
+                throw new ValidationException("Invalid history cursor");
+            }
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, split)), raw.substring(split + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid history cursor");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Postings committed after a change-feed cursor, in ledger sequence order. Pass nextCursor as
+ * the following request's cursor; it moves past sequence gaps even when no posting is returned.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerChangeBatch {
+    private List<TransactionResponse> changes;
+    private long nextCursor;
+    private long highWaterMark;
+}
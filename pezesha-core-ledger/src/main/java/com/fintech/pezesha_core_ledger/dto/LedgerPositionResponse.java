@@ -0,0 +1,20 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current ledger high-water mark: every posting with a ledger sequence at or below it is settled.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerPositionResponse {
+    private long highWaterMark;
+    private LocalDateTime asOf;
+}
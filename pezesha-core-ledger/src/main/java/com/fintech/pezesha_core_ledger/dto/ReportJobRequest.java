@@ -0,0 +1,22 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import com.fintech.pezesha_core_ledger.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    // Ignored for LOAN_AGING; current position when absent
+    private LocalDateTime asOfDate;
+}
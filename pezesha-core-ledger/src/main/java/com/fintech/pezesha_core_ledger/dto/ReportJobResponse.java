@@ -0,0 +1,26 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import com.fintech.pezesha_core_ledger.enums.ReportJobStatus;
+import com.fintech.pezesha_core_ledger.enums.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportJobResponse {
+    private String jobId;
+    private ReportType reportType;
+    private LocalDateTime asOfDate;
+    private ReportJobStatus status;
+    private String error;
+    private Long resultSize;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private String resultUrl;
+}
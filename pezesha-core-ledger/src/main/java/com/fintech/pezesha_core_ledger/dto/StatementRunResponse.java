@@ -0,0 +1,24 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import com.fintech.pezesha_core_ledger.enums.StatementRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatementRunResponse {
+    private YearMonth period;
+    private StatementRunStatus status;
+    private long accountsDone;
+    private String lastAccountId;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
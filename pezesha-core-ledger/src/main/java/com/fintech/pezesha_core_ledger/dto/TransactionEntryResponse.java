@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -18,4 +20,6 @@ public class TransactionEntryResponse {
     private BigDecimal credit;
     private Currency currency;
     private BigDecimal runningBalance;
+    private String transactionId;
+    private LocalDateTime postedAt;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.fintech.pezesha_core_ledger.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of account history. Pass nextCursor back to fetch the following page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionHistoryPage {
+    private List<TransactionEntryResponse> entries;
+    private String nextCursor;
+    private boolean hasMore;
+}
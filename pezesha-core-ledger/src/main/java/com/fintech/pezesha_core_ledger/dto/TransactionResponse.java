@@ -10,6 +10,7 @@ import java.util.List;
 @Builder
 public class TransactionResponse {
     private String id;
+    private Long ledgerSequence;
     private String idempotencyKey;
     private String description;
     private String status;
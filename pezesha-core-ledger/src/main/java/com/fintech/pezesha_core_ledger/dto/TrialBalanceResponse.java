@@ -1,6 +1,7 @@
 package com.fintech.pezesha_core_ledger.dto;
 
 import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,9 +36,13 @@ public class TrialBalanceResponse {
     @AllArgsConstructor
     @NoArgsConstructor
     public static class AccountBalanceDetail {
-        private Long accountId;
+        private String accountId;
         private String accountCode;
         private String accountName;
+        private AccountType accountType;
+        private Currency currency;
+        private BigDecimal debit;
+        private BigDecimal credit;
         private BigDecimal balance;
     }
 }
@@ -0,0 +1,21 @@
+package com.fintech.pezesha_core_ledger.enums;
+
+public enum LedgerEventType {
+    TRANSACTION_POSTED("transaction"),
+    TRANSACTION_REVERSED("transaction"),
+    LOAN_APPLIED("loan"),
+    LOAN_APPROVED("loan"),
+    LOAN_DISBURSED("loan"),
+    LOAN_REPAID("loan"),
+    LOAN_WRITTEN_OFF("loan");
+
+    private final String aggregateType;
+
+    LedgerEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
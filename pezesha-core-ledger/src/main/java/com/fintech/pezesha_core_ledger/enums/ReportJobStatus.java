@@ -0,0 +1,8 @@
+package com.fintech.pezesha_core_ledger.enums;
+
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
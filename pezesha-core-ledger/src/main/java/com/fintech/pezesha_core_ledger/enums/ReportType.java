@@ -0,0 +1,7 @@
+package com.fintech.pezesha_core_ledger.enums;
+
+public enum ReportType {
+    TRIAL_BALANCE,
+    BALANCE_SHEET,
+    LOAN_AGING
+}
@@ -0,0 +1,9 @@
+package com.fintech.pezesha_core_ledger.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class CapacityExceededException extends LedgerException {
+    public CapacityExceededException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "CAPACITY_EXCEEDED");
+    }
+}
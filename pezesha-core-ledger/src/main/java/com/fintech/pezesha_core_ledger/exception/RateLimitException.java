@@ -0,0 +1,14 @@
+package com.fintech.pezesha_core_ledger.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class RateLimitException extends LedgerException {
+    private final long retryAfterSeconds;
+
+    public RateLimitException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package com.fintech.pezesha_core_ledger.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ReportNotReadyException extends LedgerException {
+    public ReportNotReadyException(String message) {
+        super(message, HttpStatus.CONFLICT, "REPORT_NOT_READY");
+    }
+}
@@ -0,0 +1,9 @@
+package com.fintech.pezesha_core_ledger.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TransactionArchivedException extends LedgerException {
+    public TransactionArchivedException(String message) {
+        super(message, HttpStatus.GONE, "TRANSACTION_ARCHIVED");
+    }
+}
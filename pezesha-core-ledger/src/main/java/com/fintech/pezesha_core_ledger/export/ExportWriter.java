@@ -0,0 +1,115 @@
+package com.fintech.pezesha_core_ledger.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes export rows one at a time as CSV (header plus one line per row) or NDJSON (one JSON
+ * object per line). Nothing beyond the current row is buffered past the writer's own buffer.
+ *
+ * I/O failures, usually a client that went away, surface as {@link UncheckedIOException} so they
+ * can escape JDBC row callbacks and end the query.
+ */
+public final class ExportWriter<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+    private final List<String> names = new ArrayList<>();
+    private final List<Function<T, ?>> values = new ArrayList<>();
+    private long rows;
+
+    public ExportWriter(ExportFormat format, OutputStream out, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Adds a CSV column. NDJSON rows are the serialised row object and ignore the columns.
+     */
+    public ExportWriter<T> column(String name, Function<T, ?> value) {
+        names.add(name);
+        values.add(value);
+        return this;
+    }
+
+    public void write(T row) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            } else {
+                if (rows == 0) {
+                    writeCsvLine(names);
+                }
+                List<Object> line = new ArrayList<>(values.size());
+                for (Function<T, ?> value : values) {
+                    line.add(value.apply(row));
+                }
+                writeCsvLine(line);
+            }
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the CSV header if there were no rows and flushes; the stream itself is left open.
+     *
+     * @return the number of rows written
+     */
+    public long finish() {
+        try {
+            if (rows == 0 && format == ExportFormat.CSV) {
+                writeCsvLine(names);
+            }
+            writer.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvLine(List<?> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(fields.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        String text = value.toString();
+        if (!(value instanceof Number) && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            // Spreadsheets would evaluate it as a formula
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,25 @@
+package com.fintech.pezesha_core_ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A wait for an account lock another posting held. The event's duration is the wait; uncontended
+ * acquisitions are not recorded.
+ */
+@Name(AccountLockEvent.NAME)
+@Label("Account Lock Wait")
+@Category({"Pezesha Ledger", "Posting"})
+@StackTrace(false)
+public class AccountLockEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.fintech.ledger.AccountLock";
+
+    @Label("Account Id")
+    public String accountId;
+
+    @Label("Acquired")
+    public boolean acquired;
+}
@@ -0,0 +1,32 @@
+package com.fintech.pezesha_core_ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup that found nothing in a Spring cache. When the cache loads the value itself the event
+ * lasts as long as the load; otherwise it is instant and the caller computes the value afterwards.
+ */
+@Name(CacheMissEvent.NAME)
+@Label("Cache Miss")
+@Category({"Pezesha Ledger", "Cache"})
+@StackTrace(false)
+public class CacheMissEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.fintech.ledger.CacheMiss";
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    @Description("The cache key, truncated to 64 characters")
+    public String key;
+
+    static String describe(Object key) {
+        String text = String.valueOf(key);
+        return text.length() > 64 ? text.substring(0, 64) : text;
+    }
+}
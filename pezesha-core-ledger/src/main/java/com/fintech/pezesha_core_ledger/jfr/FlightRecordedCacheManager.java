@@ -0,0 +1,155 @@
+package com.fintech.pezesha_core_ledger.jfr;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every cache of another manager so misses are recorded as {@link CacheMissEvent}s. Hits go
+ * straight through; with the event disabled a miss costs one flag check.
+ */
+public class FlightRecordedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public FlightRecordedCacheManager(CacheManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            Cache target = delegate.getCache(name);
+            if (target == null) {
+                return null;
+            }
+            cache = caches.computeIfAbsent(name, n -> new FlightRecordedCache(target));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private static final class FlightRecordedCache implements Cache {
+
+        private final Cache target;
+
+        FlightRecordedCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        @Nullable
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = target.get(key);
+            if (value == null) {
+                missed(key);
+            }
+            return value;
+        }
+
+        @Override
+        @Nullable
+        public <T> T get(Object key, @Nullable Class<T> type) {
+            T value = target.get(key, type);
+            // A cached null also lands here; the caches here never hold nulls worth telling apart
+            if (value == null) {
+                missed(key);
+            }
+            return value;
+        }
+
+        @Override
+        @Nullable
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, () -> {
+                CacheMissEvent event = new CacheMissEvent();
+                if (!event.isEnabled()) {
+                    return valueLoader.call();
+                }
+                event.begin();
+                try {
+                    return valueLoader.call();
+                } finally {
+                    event.cache = getName();
+                    event.key = CacheMissEvent.describe(key);
+                    event.commit();
+                }
+            });
+        }
+
+        @Override
+        @Nullable
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, @Nullable Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        @Nullable
+        public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return target.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return target.invalidate();
+        }
+
+        private void missed(Object key) {
+            CacheMissEvent event = new CacheMissEvent();
+            if (event.isEnabled()) {
+                event.cache = getName();
+                event.key = CacheMissEvent.describe(key);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.fintech.pezesha_core_ledger.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps a JFR recording running for the life of the application: the JDK's "default" settings
+ * (the ones meant for production, around 1% overhead) plus the ledger events, on disk and trimmed
+ * to max-age and max-size. The recording is dumped to the directory on shutdown; in between,
+ * {@code jcmd <pid> JFR.dump name=ledger} takes a snapshot. Summarize a dump with JfrSummaryMain
+ * from the loadtest profile.
+ */
+@Component
+@Slf4j
+public class LedgerFlightRecording {
+
+    static final String RECORDING_NAME = "ledger";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private Recording recording;
+
+    public LedgerFlightRecording(@Value("${ledger.jfr.enabled:false}") boolean enabled,
+                                 @Value("${ledger.jfr.directory:./recordings}") String directory,
+                                 @Value("${ledger.jfr.max-age:6h}") Duration maxAge,
+                                 @Value("${ledger.jfr.max-size-mb:256}") long maxSizeMb) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.maxAge = maxAge;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || recording != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            started.setName(RECORDING_NAME);
+            started.enable(PostingEvent.class);
+            started.enable(AccountLockEvent.class);
+            started.enable(ReportEvent.class);
+            started.enable(CacheMissEvent.class);
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSizeBytes);
+            started.setDumpOnExit(true);
+            started.setDestination(directory.resolve(
+                    "ledger-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr"));
+            started.start();
+            recording = started;
+            log.info("Flight recording '{}' started, dumping to {}", RECORDING_NAME, started.getDestination());
+        } catch (IOException | ParseException | RuntimeException e) {
+            // Profiling is optional; the ledger runs the same without it
+            log.warn("Could not start flight recording: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording != null) {
+            // Stopping writes the destination file
+            recording.stop();
+            recording.close();
+            recording = null;
+        }
+    }
+}
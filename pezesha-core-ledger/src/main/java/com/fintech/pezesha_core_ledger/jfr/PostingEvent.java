@@ -0,0 +1,55 @@
+package com.fintech.pezesha_core_ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One call to {@code TransactionService.postTransaction}, from entry to return. Commit happens
+ * after the event ends, in the transaction proxy. Stages that were not reached stay zero.
+ */
+@Name(PostingEvent.NAME)
+@Label("Ledger Posting")
+@Category({"Pezesha Ledger", "Posting"})
+@StackTrace(false)
+public class PostingEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.fintech.ledger.Posting";
+
+    public static final String POSTED = "posted";
+    public static final String CACHE_REPLAY = "cache_replay";
+    public static final String DATABASE_REPLAY = "database_replay";
+    public static final String REJECTED = "rejected";
+
+    @Label("Idempotency Key")
+    public String idempotencyKey;
+
+    @Label("Outcome")
+    @Description("posted, cache_replay, database_replay or rejected")
+    public String outcome = REJECTED;
+
+    @Label("Account Count")
+    public int accountCount;
+
+    @Label("Entry Count")
+    public int entryCount;
+
+    @Label("Idempotency Check")
+    @Timespan
+    public long idempotency;
+
+    @Label("Validation")
+    @Timespan
+    public long validation;
+
+    @Label("Lock Wait")
+    @Timespan
+    public long lockWait;
+
+    @Label("Insert")
+    @Timespan
+    public long insert;
+}
@@ -0,0 +1,45 @@
+package com.fintech.pezesha_core_ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.time.LocalDateTime;
+
+/**
+ * One report computed from the database, i.e. a report cache miss. Reports that fail are not
+ * recorded.
+ */
+@Name(ReportEvent.NAME)
+@Label("Report Generation")
+@Category({"Pezesha Ledger", "Reporting"})
+@StackTrace(false)
+public class ReportEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.fintech.ledger.Report";
+
+    @Label("Report")
+    public String report;
+
+    @Label("As Of")
+    public String asOf;
+
+    @Label("Rows")
+    @Description("Accounts or loans the report covers")
+    public int rows;
+
+    public static ReportEvent start(String report, LocalDateTime asOf) {
+        ReportEvent event = new ReportEvent();
+        event.report = report;
+        event.asOf = asOf != null ? asOf.toString() : null;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int rows) {
+        this.rows = rows;
+        commit();
+    }
+}
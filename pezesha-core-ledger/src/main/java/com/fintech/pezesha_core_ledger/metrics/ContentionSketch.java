@@ -0,0 +1,124 @@
+package com.fintech.pezesha_core_ledger.metrics;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Approximate heaviest keys by accumulated weight, fed from any number of threads without
+ * locking. A count-min sketch estimates each key's weight (never under, sometimes over); a fixed
+ * table of candidate slots remembers which keys to report, an incoming key taking over a slot
+ * whose holder it outweighs. {@link #decay()} halves every count, so the ranking follows recent
+ * activity rather than all-time totals.
+ */
+final class ContentionSketch {
+
+    private static final int DEPTH = 4;
+    // Each key may take one of this many neighbouring candidate slots
+    private static final int PROBES = 2;
+
+    private final int widthMask;
+    private final AtomicLongArray counts;
+    private final AtomicReferenceArray<String> candidates;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param candidateSlots keys tracked for {@link #top(int)}
+     */
+    ContentionSketch(int width, int candidateSlots) {
+        int rowWidth = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+        this.widthMask = rowWidth - 1;
+        this.counts = new AtomicLongArray(DEPTH * rowWidth);
+        this.candidates = new AtomicReferenceArray<>(candidateSlots);
+    }
+
+    void add(String key, long weight) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts.addAndGet(counter(row, hash), weight));
+        }
+        offer(key, hash, estimate);
+    }
+
+    long estimate(String key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts.get(counter(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * The {@code limit} heaviest tracked keys with their estimated weights, heaviest first.
+     */
+    List<Map.Entry<String, Long>> top(int limit) {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < candidates.length(); i++) {
+            String key = candidates.get(i);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        return keys.stream()
+                .map(key -> Map.entry(key, estimate(key)))
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Halves every count. Concurrent adds may land before or after the halving of their counter;
+     * either is fine for a ranking.
+     */
+    void decay() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.getAndUpdate(i, count -> count >> 1);
+        }
+    }
+
+    private void offer(String key, int hash, long estimate) {
+        int first = Math.floorMod(mix(hash, DEPTH), candidates.length());
+        int lightest = -1;
+        String lightestHolder = null;
+        long lightestWeight = Long.MAX_VALUE;
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = (first + probe) % candidates.length();
+            String holder = candidates.get(slot);
+            if (holder == null && candidates.compareAndSet(slot, null, key)) {
+                return;
+            }
+            holder = candidates.get(slot);
+            if (key.equals(holder)) {
+                return;
+            }
+            long holderWeight = holder != null ? estimate(holder) : 0;
+            if (holderWeight < lightestWeight) {
+                lightest = slot;
+                lightestHolder = holder;
+                lightestWeight = holderWeight;
+            }
+        }
+        if (estimate > lightestWeight) {
+            // Losing this race only means another thread's key got the slot first
+            candidates.compareAndSet(lightest, lightestHolder, key);
+        }
+    }
+
+    private int counter(int row, int hash) {
+        return row * (widthMask + 1) + (mix(hash, row) & widthMask);
+    }
+
+    private static int mix(int hash, int seed) {
+        int h = hash * 0x9E3779B9 + seed * 0x85EBCA6B;
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        return h ^ (h >>> 15);
+    }
+}
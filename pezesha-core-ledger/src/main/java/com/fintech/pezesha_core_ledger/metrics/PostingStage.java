@@ -0,0 +1,21 @@
+package com.fintech.pezesha_core_ledger.metrics;
+
+/**
+ * Steps of TransactionService.postTransaction, timed separately as ledger.posting.stage.
+ */
+public enum PostingStage {
+    // Idempotency cache, then the idempotency key lookup in the database
+    IDEMPOTENCY,
+    // Balance check and the account lookups for each entry
+    VALIDATION,
+    // Waiting for the in-process account locks
+    LOCK_WAIT,
+    // Building the transaction and flushing its inserts and outbox event
+    INSERT,
+    // Database commit, measured from the transaction's before-commit callback
+    COMMIT;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
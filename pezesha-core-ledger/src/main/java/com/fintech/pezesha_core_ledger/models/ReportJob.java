@@ -0,0 +1,55 @@
+package com.fintech.pezesha_core_ledger.models;
+
+import com.fintech.pezesha_core_ledger.enums.ReportJobStatus;
+import com.fintech.pezesha_core_ledger.enums.ReportType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 30)
+    private ReportType reportType;
+
+    @Column(name = "as_of_date")
+    private LocalDateTime asOfDate;
+
+    @Column(name = "request_key", nullable = false, length = 100)
+    private String requestKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    @Column(length = 1000)
+    private String error;
+
+    // Uncompressed JSON bytes
+    @Column(name = "result_size")
+    private Long resultSize;
+
+    @Column(name = "compressed_size")
+    private Long compressedSize;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
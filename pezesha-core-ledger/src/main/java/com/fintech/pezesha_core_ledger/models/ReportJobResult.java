@@ -0,0 +1,24 @@
+package com.fintech.pezesha_core_ledger.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Gzip-compressed JSON of a completed {@link ReportJob}.
+ */
+@Entity
+@Table(name = "report_job_results")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResult {
+
+    @Id
+    @Column(name = "job_id")
+    private String jobId;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+}
@@ -17,7 +17,8 @@ import java.util.List;
 @Entity
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_transaction_idempotency", columnList = "idempotency_key"),
-        @Index(name = "idx_transaction_posted_at", columnList = "posted_at")
+        @Index(name = "idx_transaction_posted_at", columnList = "posted_at"),
+        @Index(name = "idx_transaction_ledger_seq", columnList = "ledger_seq")
 })
 @Getter
 @Setter
@@ -39,9 +40,14 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionStatus status;
 
-    @Column(name = "posted_at")
+    // Partition key of the transactions table
+    @Column(name = "posted_at", nullable = false)
     private LocalDateTime postedAt;
 
+    // Global ledger sequence, see LedgerSequence
+    @Column(name = "ledger_seq", nullable = false)
+    private Long ledgerSequence;
+
     @Column(name = "reversal_of")
     private String reversalOf;
 
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "transaction_entries", indexes = {
-        @Index(name = "idx_entry_account_date", columnList = "account_id, posted_at"),
+        @Index(name = "idx_entry_account_posted_id", columnList = "account_id, posted_at, id"),
         @Index(name = "idx_entry_transaction", columnList = "transaction_id")
 })
 @Getter
@@ -47,6 +47,7 @@ public class TransactionEntry {
     @Column(name = "running_balance")
     private BigDecimal runningBalance;
 
-    @Column(name = "posted_at")
+    // Partition key of the transaction_entries table, always equal to the parent transaction's
+    @Column(name = "posted_at", nullable = false)
     private LocalDateTime postedAt;
 }
\ No newline at end of file
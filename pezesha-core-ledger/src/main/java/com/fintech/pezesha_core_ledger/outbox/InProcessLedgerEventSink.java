@@ -0,0 +1,24 @@
+package com.fintech.pezesha_core_ledger.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Publishes each event as a Spring application event, for consumers running in the same JVM
+ * ({@code @EventListener void on(LedgerEventMessage event)}). Listeners run on the relay thread,
+ * and one that throws fails the batch, which is then redelivered.
+ */
+public class InProcessLedgerEventSink implements LedgerEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InProcessLedgerEventSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<LedgerEventMessage> batch) {
+        batch.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,36 @@
+package com.fintech.pezesha_core_ledger.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fintech.pezesha_core_ledger.enums.LedgerEventType;
+import com.fintech.pezesha_core_ledger.models.OutboxEvent;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A relayed ledger event as handed to a {@link LedgerEventSink}. {@code id} is the outbox row id;
+ * delivery is at-least-once, so consumers de-duplicate on it.
+ */
+@Value
+@Builder
+public class LedgerEventMessage {
+    Long id;
+    LedgerEventType eventType;
+    String aggregateType;
+    String aggregateId;
+    LocalDateTime occurredAt;
+    @JsonRawValue
+    String payload;
+
+    public static LedgerEventMessage from(OutboxEvent event) {
+        return LedgerEventMessage.builder()
+                .id(event.getId())
+                .eventType(event.getEventType())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .occurredAt(event.getOccurredAt())
+                .payload(event.getPayload())
+                .build();
+    }
+}
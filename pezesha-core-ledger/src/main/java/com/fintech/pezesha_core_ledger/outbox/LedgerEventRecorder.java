@@ -0,0 +1,92 @@
+package com.fintech.pezesha_core_ledger.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.pezesha_core_ledger.enums.LedgerEventType;
+import com.fintech.pezesha_core_ledger.models.Loan;
+import com.fintech.pezesha_core_ledger.models.OutboxEvent;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import com.fintech.pezesha_core_ledger.models.TransactionEntry;
+import com.fintech.pezesha_core_ledger.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes ledger events into the outbox. Must join the caller's transaction, so an event exists
+ * exactly when the change it describes committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class LedgerEventRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void transactionPosted(Transaction transaction) {
+        List<Map<String, Object>> entries = transaction.getEntries().stream()
+                .map(this::entryPayload)
+                .toList();
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", transaction.getId());
+        payload.put("ledgerSequence", transaction.getLedgerSequence());
+        payload.put("idempotencyKey", transaction.getIdempotencyKey());
+        payload.put("description", transaction.getDescription());
+        payload.put("postedAt", transaction.getPostedAt());
+        payload.put("entries", entries);
+        record(LedgerEventType.TRANSACTION_POSTED, transaction.getId(), payload);
+    }
+
+    public void transactionReversed(Transaction original, String reversalTransactionId, String reason) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", original.getId());
+        payload.put("reversalTransactionId", reversalTransactionId);
+        payload.put("reason", reason);
+        record(LedgerEventType.TRANSACTION_REVERSED, original.getId(), payload);
+    }
+
+    public void loanChanged(LedgerEventType eventType, Loan loan) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("loanId", loan.getId());
+        payload.put("accountId", loan.getAccountId());
+        payload.put("status", loan.getStatus());
+        payload.put("principalAmount", loan.getPrincipalAmount());
+        payload.put("outstandingBalance", loan.getOutstandingBalance());
+        payload.put("currency", loan.getCurrency());
+        record(eventType, loan.getId(), payload);
+    }
+
+    private Map<String, Object> entryPayload(TransactionEntry entry) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("accountId", entry.getAccount().getId());
+        payload.put("debit", entry.getDebit());
+        payload.put("credit", entry.getCredit());
+        payload.put("currency", entry.getCurrency());
+        return payload;
+    }
+
+    private void record(LedgerEventType eventType, String aggregateId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + eventType + " event for " + aggregateId, e);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateType(eventType.getAggregateType())
+                .aggregateId(aggregateId)
+                .payload(json)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+}
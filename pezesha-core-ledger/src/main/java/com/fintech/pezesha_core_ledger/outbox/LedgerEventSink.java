@@ -0,0 +1,13 @@
+package com.fintech.pezesha_core_ledger.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for relayed ledger events. A batch is delivered in order and only marked published
+ * once {@link #publish} returns; throwing leaves the whole batch in the outbox for the next run.
+ */
+public interface LedgerEventSink {
+
+    void publish(List<LedgerEventMessage> batch) throws IOException;
+}
@@ -0,0 +1,31 @@
+package com.fintech.pezesha_core_ledger.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the outbox sink with ledger.outbox.sink. For a broker-backed sink, set the property to
+ * any other value and declare that {@link LedgerEventSink} as a bean.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "ledger.outbox.sink", havingValue = "file", matchIfMissing = true)
+    public LedgerEventSink fileLedgerEventSink(@Value("${ledger.outbox.file:./outbox/ledger-events.ndjson}") String file,
+                                               ObjectMapper objectMapper) {
+        return new FileLedgerEventSink(Path.of(file), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ledger.outbox.sink", havingValue = "in-process")
+    public LedgerEventSink inProcessLedgerEventSink(ApplicationEventPublisher eventPublisher) {
+        return new InProcessLedgerEventSink(eventPublisher);
+    }
+}
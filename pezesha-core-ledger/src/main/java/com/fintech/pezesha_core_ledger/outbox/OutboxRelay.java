@@ -0,0 +1,159 @@
+package com.fintech.pezesha_core_ledger.outbox;
+
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.models.OutboxEvent;
+import com.fintech.pezesha_core_ledger.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox into the configured {@link LedgerEventSink} in batches. Events come out
+ * grouped by writing transaction, in txid order, and a batch is only marked published after the
+ * sink accepted it, so delivery is at-least-once and never skips an event.
+ */
+@Component
+@Slf4j
+@Workload(WorkloadClass.BATCH)
+public class OutboxRelay {
+
+    static final long RELAY_LOCK_KEY = 0x4C45444745524F42L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final LedgerEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer batchTimer;
+    private volatile long backlog;
+    private volatile double lagSeconds;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       LedgerEventSink sink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${ledger.outbox.enabled:true}") boolean enabled,
+                       @Value("${ledger.outbox.batch-size:500}") int batchSize,
+                       @Value("${ledger.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${ledger.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+
+        this.publishedCounter = Counter.builder("ledger.outbox.published")
+                .description("Ledger events accepted by the sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("ledger.outbox.publish.failures")
+                .description("Relay batches rejected by the sink")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("ledger.outbox.publish.batch")
+                .description("Time to fetch, publish and mark one relay batch")
+                .register(meterRegistry);
+        Gauge.builder("ledger.outbox.backlog", this, r -> r.backlog)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder("ledger.outbox.lag.seconds", this, r -> r.lagSeconds)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.outbox.poll-interval:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        relayPending();
+        refreshBacklog();
+    }
+
+    /**
+     * Publishes until the outbox is drained, a batch fails, or the per-run cap is reached.
+     *
+     * @return number of events published
+     */
+    public int relayPending() {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer published;
+            try {
+                published = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            } catch (RuntimeException e) {
+                failureCounter.increment();
+                log.warn("Outbox relay batch failed, will retry: {}", e.getMessage());
+                break;
+            }
+            if (published == null) {
+                break;
+            }
+            total += published;
+            if (published < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int relayBatch() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            log.debug("Outbox relay lock held elsewhere, skipping run");
+            return 0;
+        }
+
+        List<OutboxEvent> events = outboxEventRepository.findPublishable(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.publish(events.stream().map(LedgerEventMessage::from).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+        publishedCounter.increment(events.size());
+        return events.size();
+    }
+
+    private void refreshBacklog() {
+        try {
+            backlog = outboxEventRepository.countUnpublished();
+            LocalDateTime oldest = outboxEventRepository.findOldestUnpublished();
+            lagSeconds = oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh outbox backlog: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${ledger.outbox.cleanup-cron:0 30 1 * * *}")
+    public void purgePublished() {
+        if (!enabled) {
+            return;
+        }
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Purged {} published outbox events older than {}", deleted, retention);
+    }
+}
@@ -0,0 +1,19 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts each statement Hibernate prepares against the thread's {@link QueryCounter}, if one is
+ * running. The SQL is passed through unchanged.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter counter = QueryCounter.current();
+        if (counter != null) {
+            counter.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time Hibernate spends in JDBC execute calls, single statements and batches, to the
+ * thread's {@link QueryCounter}. Hibernate creates one per session, so the start time needs no
+ * synchronization.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        QueryCounter counter = QueryCounter.current();
+        if (counter != null && startedAt != 0) {
+            counter.jdbcExecuted(System.nanoTime() - startedAt);
+        }
+        startedAt = 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements one request to this handler (or every handler of a controller; the
+ * method takes precedence) should issue. Handlers without one get ledger.query-budget.default-budget.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
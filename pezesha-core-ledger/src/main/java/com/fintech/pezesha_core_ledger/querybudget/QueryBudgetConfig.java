@@ -0,0 +1,42 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks statement counting and JDBC timing into Hibernate and scopes them to each API request.
+ * The hooks cost a thread-local read per statement when no request is being counted.
+ */
+@Configuration
+public class QueryBudgetConfig {
+
+    @Bean
+    @ConfigurationProperties("ledger.query-budget")
+    public QueryBudgetProperties queryBudgetProperties() {
+        return new QueryBudgetProperties();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ledger.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
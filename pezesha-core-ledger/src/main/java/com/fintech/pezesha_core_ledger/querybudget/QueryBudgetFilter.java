@@ -0,0 +1,112 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements and JDBC time of each request and records them per endpoint as
+ * ledger.sql.statements and ledger.sql.jdbc.time. A request over its {@link QueryBudget}
+ * increments ledger.sql.budget.exceeded and logs its most repeated statements. The counter and
+ * budget are left on the request for {@code QueryBudgetAssertions} in tests.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNTER_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".counter";
+    public static final String BUDGET_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".budget";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> lastWarnedAt = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop();
+            record(request, counter);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounter counter) {
+        // Set by the handler mapping; absent for requests no handler matched
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int budget = budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        request.setAttribute(BUDGET_ATTRIBUTE, budget);
+
+        DistributionSummary.builder("ledger.sql.statements")
+                .description("SQL statements issued per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counter.getStatements());
+        Timer.builder("ledger.sql.jdbc.time")
+                .description("Time spent executing SQL per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counter.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (counter.getStatements() > budget) {
+            Counter.builder("ledger.sql.budget.exceeded")
+                    .description("Requests that issued more SQL statements than their budget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            warn(request.getMethod() + " " + uri, counter, budget);
+        }
+    }
+
+    private int budgetOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget declared = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), QueryBudget.class);
+            if (declared == null) {
+                declared = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+            }
+            if (declared != null) {
+                return declared.value();
+            }
+        }
+        return properties.getDefaultBudget();
+    }
+
+    private void warn(String endpoint, QueryCounter counter, int budget) {
+        long now = System.nanoTime();
+        long interval = properties.getWarnInterval().toNanos();
+        Long previous = lastWarnedAt.get(endpoint);
+        if (previous != null && now - previous < interval) {
+            return;
+        }
+        lastWarnedAt.put(endpoint, now);
+        log.warn("{} issued {} SQL statements (budget {}, {} ms in JDBC); most repeated: {}",
+                endpoint, counter.getStatements(), budget, TimeUnit.NANOSECONDS.toMillis(counter.getJdbcNanos()),
+                counter.mostRepeated(properties.getLoggedStatements()).stream()
+                        .map(e -> e.getValue() + "x " + e.getKey())
+                        .collect(Collectors.joining(" | ")));
+    }
+}
@@ -0,0 +1,20 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class QueryBudgetProperties {
+
+    private boolean enabled = true;
+
+    // For handlers without @QueryBudget
+    private int defaultBudget = 50;
+
+    // At most one over-budget warning per endpoint in this interval
+    private Duration warnInterval = Duration.ofMinutes(1);
+
+    // Distinct statements listed in the warning, most repeated first
+    private int loggedStatements = 5;
+}
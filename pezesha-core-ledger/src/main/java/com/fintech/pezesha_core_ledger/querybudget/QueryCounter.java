@@ -0,0 +1,73 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tally of the SQL statements Hibernate prepares on one thread, and the JDBC time they take to
+ * execute, from {@link #start()} to {@link #stop()}. A batch counts once however many rows it
+ * carries. Statements issued through JdbcTemplate, or on other threads, are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+    // Enough to show what repeats without letting one request's distinct SQL grow without bound
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Starts counting on this thread, replacing any tally already running.
+     */
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        if (countsBySql.size() < MAX_DISTINCT_STATEMENTS || countsBySql.containsKey(sql)) {
+            countsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void jdbcExecuted(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * The statements issued most often, with their counts; an N+1 shows as one statement with a
+     * count near N.
+     */
+    public List<Map.Entry<String, Integer>> mostRepeated(int limit) {
+        return countsBySql.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(e -> Map.entry(e.getKey(), e.getValue()))
+                .toList();
+    }
+}
@@ -3,9 +3,10 @@ package com.fintech.pezesha_core_ledger.repository;
 import com.fintech.pezesha_core_ledger.enums.AccountType;
 import com.fintech.pezesha_core_ledger.enums.Currency;
 import com.fintech.pezesha_core_ledger.models.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,8 +17,14 @@ public interface AccountRepository extends JpaRepository<Account, String> {
 
     Optional<Account> findByCode(String code);
 
+    // Report and listing finders: load entities without dirty-checking snapshots, even outside a read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Account> findByTypeAndCurrency(AccountType type, Currency currency);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+    })
     List<Account> findByIsActiveTrue();
 
 }
\ No newline at end of file
@@ -2,12 +2,17 @@ package com.fintech.pezesha_core_ledger.repository;
 
 import com.fintech.pezesha_core_ledger.enums.LoanStatus;
 import com.fintech.pezesha_core_ledger.models.Loan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, String> {
+    // Only feeds reports and listings
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Loan> findByStatusIn(List<LoanStatus> list);
 }
@@ -0,0 +1,41 @@
+package com.fintech.pezesha_core_ledger.repository;
+
+import com.fintech.pezesha_core_ledger.enums.ReportJobStatus;
+import com.fintech.pezesha_core_ledger.models.ReportJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    // Newest job for the same request that is still running or finished recently enough to reuse
+    @Query("SELECT j FROM ReportJob j WHERE j.requestKey = :requestKey " +
+            "AND (j.status IN :active OR (j.status = :completed AND j.completedAt >= :completedSince)) " +
+            "ORDER BY j.createdAt DESC")
+    List<ReportJob> findReusable(@Param("requestKey") String requestKey,
+                                 @Param("active") Collection<ReportJobStatus> active,
+                                 @Param("completed") ReportJobStatus completed,
+                                 @Param("completedSince") LocalDateTime completedSince,
+                                 Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :failed, j.error = :error, j.completedAt = :now " +
+            "WHERE j.status IN :active")
+    int failAll(@Param("active") Collection<ReportJobStatus> active,
+                @Param("failed") ReportJobStatus failed,
+                @Param("error") String error,
+                @Param("now") LocalDateTime now);
+
+    // Results go with their job through ON DELETE CASCADE
+    @Modifying
+    @Query(value = "DELETE FROM report_jobs WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,9 @@
+package com.fintech.pezesha_core_ledger.repository;
+
+import com.fintech.pezesha_core_ledger.models.ReportJobResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReportJobResultRepository extends JpaRepository<ReportJobResult, String> {
+}
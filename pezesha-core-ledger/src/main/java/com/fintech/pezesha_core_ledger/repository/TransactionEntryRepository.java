@@ -2,10 +2,13 @@ package com.fintech.pezesha_core_ledger.repository;
 
 import com.fintech.pezesha_core_ledger.enums.Currency;
 import com.fintech.pezesha_core_ledger.models.TransactionEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,7 +19,10 @@ import java.util.List;
 @Repository
 public interface TransactionEntryRepository extends JpaRepository<TransactionEntry, String> {
 
-    @Query("SELECT COALESCE(SUM(te.debit - te.credit), 0) FROM TransactionEntry te WHERE te.account.id = :accountId AND te.transaction.status = 'POSTED' AND te.postedAt <= :asOfDate")
+    // The redundant t.postedAt bounds let Postgres prune transactions partitions as well as entry partitions
+    @Query("SELECT COALESCE(SUM(te.debit - te.credit), 0) FROM TransactionEntry te JOIN te.transaction t " +
+            "WHERE te.account.id = :accountId AND t.status = 'POSTED' AND te.postedAt <= :asOfDate " +
+            "AND t.postedAt = te.postedAt AND t.postedAt <= :asOfDate")
     BigDecimal getAccountBalanceAsOf(@Param("accountId") String accountId, @Param("asOfDate") LocalDateTime asOfDate);
 
     @Query("SELECT te FROM TransactionEntry te WHERE te.account.id = :accountId AND te.postedAt BETWEEN :startDate AND :endDate ORDER BY te.postedAt DESC, te.id DESC")
@@ -26,6 +32,26 @@ public interface TransactionEntryRepository extends JpaRepository<TransactionEnt
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable);
 
+    // Keyset history: first page, newest first. Returns a plain List so no count query is issued.
+    @Query("SELECT te FROM TransactionEntry te JOIN FETCH te.account WHERE te.account.id = :accountId AND te.postedAt BETWEEN :startDate AND :endDate ORDER BY te.postedAt DESC, te.id DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TransactionEntry> findHistoryFirstPage(
+            @Param("accountId") String accountId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+
+    // Keyset history: rows strictly after the (postedAt, id) cursor in (postedAt DESC, id DESC) order
+    @Query("SELECT te FROM TransactionEntry te JOIN FETCH te.account WHERE te.account.id = :accountId AND te.postedAt BETWEEN :startDate AND :endDate " +
+            "AND (te.postedAt < :cursorPostedAt OR (te.postedAt = :cursorPostedAt AND te.id < :cursorId)) ORDER BY te.postedAt DESC, te.id DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TransactionEntry> findHistoryPageAfter(
+            @Param("accountId") String accountId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorPostedAt") LocalDateTime cursorPostedAt,
+            @Param("cursorId") String cursorId,
+            Pageable pageable);
 
 }
 
@@ -1,13 +1,38 @@
 package com.fintech.pezesha_core_ledger.repository;
 
 import com.fintech.pezesha_core_ledger.models.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
 
-    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+    // Resolves the key through the unpartitioned lookup table so only one transactions partition is probed
+    @Query(value = "SELECT t.* FROM transaction_idempotency_keys k " +
+            "JOIN transactions t ON t.id = k.transaction_id AND t.posted_at = k.posted_at " +
+            "WHERE k.idempotency_key = :idempotencyKey", nativeQuery = true)
+    Optional<Transaction> findByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query("SELECT t FROM Transaction t WHERE t.ledgerSequence > :after AND t.ledgerSequence <= :upTo ORDER BY t.ledgerSequence")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Transaction> findSequencedBetween(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    // Loads the entries of already-fetched transactions in one query; the postedAt bounds prune entry partitions
+    @Query("SELECT DISTINCT t FROM Transaction t JOIN FETCH t.entries e JOIN FETCH e.account " +
+            "WHERE t.id IN :ids AND e.postedAt BETWEEN :from AND :to")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Transaction> fetchEntries(@Param("ids") Collection<String> ids,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,19 @@
+package com.fintech.pezesha_core_ledger.sequence;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Published on the committing thread right after a posting commits, once the high-water mark
+ * reflects it. Listeners must hand off anything slow.
+ */
+@Value
+public class LedgerCommittedEvent {
+    long sequence;
+    long highWaterMark;
+    String transactionId;
+    Set<String> accountIds;
+    LocalDateTime postedAt;
+}
@@ -0,0 +1,138 @@
+package com.fintech.pezesha_core_ledger.sequence;
+
+import com.fintech.pezesha_core_ledger.models.Account;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import com.fintech.pezesha_core_ledger.models.TransactionEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Hands out the global ledger sequence number and tracks the high-water mark: the largest number
+ * N such that every posting numbered at or below N has either committed or rolled back. Reading
+ * {@code ledger_seq > cursor AND ledger_seq <= highWaterMark()} therefore never misses a posting
+ * that commits later.
+ *
+ * Numbers are reserved from ledger_seq_blocks one block at a time. Rollbacks and the unused tail
+ * of a block on restart leave gaps, which consumers must tolerate. Like the account locks in
+ * TransactionService, the in-flight bookkeeping assumes a single application instance.
+ */
+@Component
+@Slf4j
+public class LedgerSequence {
+
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('ledger_seq_blocks')";
+    private static final String BLOCK_SIZE_SQL = "SELECT increment_by FROM pg_sequences WHERE sequencename = 'ledger_seq_blocks'";
+    private static final String LAST_COMMITTED_SQL = "SELECT COALESCE(MAX(ledger_seq), 0) FROM transactions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private volatile boolean initialized;
+    private long next;
+    private long blockEnd;
+    private long blockSize;
+    private long highestAllocated;
+    private volatile long highWaterMark;
+
+    public LedgerSequence(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("ledger.sequence.high_water_mark", this, s -> s.highWaterMark)
+                .description("Highest ledger sequence below which every posting is settled")
+                .register(meterRegistry);
+        Gauge.builder("ledger.sequence.in_flight", this, LedgerSequence::inFlightCount)
+                .description("Sequence numbers handed to postings that have not committed yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Numbers the transaction and settles the number when the surrounding DB transaction
+     * completes. Must be called inside a transaction.
+     */
+    public long assign(Transaction transaction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Ledger sequence numbers can only be assigned inside a transaction");
+        }
+
+        long sequence = allocate();
+        transaction.setLedgerSequence(sequence);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                long mark = settle(sequence);
+                if (status == STATUS_COMMITTED) {
+                    eventPublisher.publishEvent(committedEvent(transaction, mark));
+                }
+            }
+        });
+        return sequence;
+    }
+
+    public long highWaterMark() {
+        if (!initialized) {
+            ensureInitialized();
+        }
+        return highWaterMark;
+    }
+
+    synchronized long allocate() {
+        ensureInitialized();
+        if (next >= blockEnd) {
+            Long start = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+            next = start;
+            blockEnd = start + blockSize;
+            log.debug("Reserved ledger sequence block [{}, {})", next, blockEnd);
+        }
+        long sequence = next++;
+        inFlight.add(sequence);
+        highestAllocated = sequence;
+        return sequence;
+    }
+
+    synchronized long settle(long sequence) {
+        inFlight.remove(sequence);
+        long mark = inFlight.isEmpty() ? highestAllocated : inFlight.first() - 1;
+        if (mark > highWaterMark) {
+            highWaterMark = mark;
+        }
+        return highWaterMark;
+    }
+
+    // Deferred to first use: Flyway has not necessarily migrated the schema when this bean is created
+    private synchronized void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        Long increment = jdbcTemplate.queryForObject(BLOCK_SIZE_SQL, Long.class);
+        Long lastCommitted = jdbcTemplate.queryForObject(LAST_COMMITTED_SQL, Long.class);
+        blockSize = increment != null ? increment : 1;
+        highWaterMark = lastCommitted != null ? lastCommitted : 0;
+        highestAllocated = highWaterMark;
+        initialized = true;
+        log.info("Ledger sequence starting at high-water mark {} (block size {})", highWaterMark, blockSize);
+    }
+
+    private synchronized int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private LedgerCommittedEvent committedEvent(Transaction transaction, long mark) {
+        Set<String> accountIds = transaction.getEntries() == null ? Set.of() : transaction.getEntries().stream()
+                .map(TransactionEntry::getAccount)
+                .map(Account::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new LedgerCommittedEvent(transaction.getLedgerSequence(), mark, transaction.getId(),
+                accountIds, transaction.getPostedAt());
+    }
+}
@@ -0,0 +1,55 @@
+package com.fintech.pezesha_core_ledger.sequence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version stamps for HTTP validators, bumped after every committed posting. Answering a
+ * conditional request needs no database access.
+ *
+ * Stamps count commits in arrival order rather than reusing the high-water mark, which does not
+ * move while an earlier-numbered posting is still in flight. The process start time is part of
+ * every tag, so validators from a previous run never match.
+ */
+@Component
+public class LedgerVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong ledgerVersion = new AtomicLong();
+    // Evicted accounts fall back to the highest evicted stamp: may cost a 200, never a stale 304
+    private final AtomicLong evictedFloor = new AtomicLong();
+    private final Cache<String, Long> accountVersions;
+
+    public LedgerVersionTracker(@Value("${ledger.etag.max-tracked-accounts:200000}") long maxTrackedAccounts) {
+        this.accountVersions = Caffeine.newBuilder()
+                .maximumSize(maxTrackedAccounts)
+                .evictionListener((String accountId, Long version, RemovalCause cause) ->
+                        evictedFloor.accumulateAndGet(version, Math::max))
+                .build();
+    }
+
+    @EventListener
+    public void onCommitted(LedgerCommittedEvent event) {
+        long version = ledgerVersion.incrementAndGet();
+        for (String accountId : event.getAccountIds()) {
+            accountVersions.put(accountId, version);
+        }
+    }
+
+    /** Validator for ledger-wide resources such as the trial balance. */
+    public String ledgerTag() {
+        return "\"L" + epoch + "-" + ledgerVersion.get() + "\"";
+    }
+
+    /** Validator for resources derived from one account's postings. */
+    public String accountTag(String accountId) {
+        Long version = accountVersions.getIfPresent(accountId);
+        return "\"A" + epoch + "-" + (version != null ? version : evictedFloor.get()) + "\"";
+    }
+}
@@ -1,5 +1,8 @@
 package com.fintech.pezesha_core_ledger.service;
 
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
 import com.fintech.pezesha_core_ledger.dto.AccountBalanceResponse;
 import com.fintech.pezesha_core_ledger.dto.AccountResponse;
 import com.fintech.pezesha_core_ledger.dto.CreateAccountRequest;
@@ -25,13 +28,16 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Workload(WorkloadClass.POINT_READ)
 public class AccountService {
 
     private final AccountRepository accountRepository;
     private final TransactionEntryRepository transactionEntryRepository;
+    private final LedgerArchiveStore archiveStore;
 
     /* CREATE ACCOUNT */
 
+    @Workload(WorkloadClass.POSTING)
     @Transactional
     @CacheEvict(
             value = {"accountById", "allAccounts"},
@@ -76,14 +82,23 @@ public class AccountService {
             key = "#accountId + '_' + (#asOfDate != null ? #asOfDate.toString() : 'current')",
             unless = "#result.balance == null"
     )
+    @Transactional(readOnly = true)
     public AccountBalanceResponse getAccountBalance(String accountId, LocalDateTime asOfDate) {
         log.debug("Getting balance for account: {} as of: {}", accountId, asOfDate);
+        return buildBalance(accountId, asOfDate != null ? asOfDate : LocalDateTime.now());
+    }
+
+    // Bypasses the balance cache, whose eviction trails the posting commit; for push subscribers
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getCurrentBalance(String accountId) {
+        return buildBalance(accountId, LocalDateTime.now());
+    }
 
+    private AccountBalanceResponse buildBalance(String accountId, LocalDateTime queryDate) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
 
-        LocalDateTime queryDate = asOfDate != null ? asOfDate : LocalDateTime.now();
-        BigDecimal balance = transactionEntryRepository.getAccountBalanceAsOf(accountId, queryDate);
+        BigDecimal balance = balanceAsOf(accountId, queryDate);
 
         return AccountBalanceResponse.builder()
                 .accountId(accountId)
@@ -99,6 +114,7 @@ public class AccountService {
     /* GET ACCOUNT */
 
     @Cacheable(value = "accountById", key = "#accountId")
+    @Transactional(readOnly = true)
     public AccountResponse getAccount(String accountId) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
@@ -108,6 +124,7 @@ public class AccountService {
     /* GET ALL ACCOUNTS */
 
     @Cacheable(value = "allAccounts", key = "'ALL'")
+    @Transactional(readOnly = true)
     public List<AccountResponse> getAllAccounts() {
         return accountRepository.findByIsActiveTrue().stream()
                 .map(this::mapToResponse)
@@ -117,6 +134,7 @@ public class AccountService {
     /* GET BY TYPE */
 
     @Cacheable(value = "accountsByType", key = "#type")
+    @Transactional(readOnly = true)
     public List<AccountResponse> getAccountsByType(AccountType type) {
         return accountRepository.findByTypeAndCurrency(type, Currency.KES).stream()
                 .map(this::mapToResponse)
@@ -125,6 +143,7 @@ public class AccountService {
 
     /* DEACTIVATE */
 
+    @Workload(WorkloadClass.POSTING)
     @Transactional
     @CacheEvict(
             value = {"accountById", "allAccounts", "accountBalance"},
@@ -135,8 +154,7 @@ public class AccountService {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
 
-        BigDecimal balance = transactionEntryRepository
-                .getAccountBalanceAsOf(accountId, LocalDateTime.now());
+        BigDecimal balance = balanceAsOf(accountId, LocalDateTime.now());
 
         if (balance.compareTo(BigDecimal.ZERO) != 0) {
             throw new ValidationException("Cannot deactivate account with non-zero balance");
@@ -149,6 +167,12 @@ public class AccountService {
         return mapToResponse(updatedAccount);
     }
 
+    // Database balance plus whatever part of the history has moved to cold storage
+    private BigDecimal balanceAsOf(String accountId, LocalDateTime asOfDate) {
+        return transactionEntryRepository.getAccountBalanceAsOf(accountId, asOfDate)
+                .add(archiveStore.balanceAsOf(accountId, asOfDate));
+    }
+
     /**
      * Mapper
      **/
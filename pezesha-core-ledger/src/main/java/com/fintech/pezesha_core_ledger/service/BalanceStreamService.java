@@ -0,0 +1,256 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.dto.AccountBalanceResponse;
+import com.fintech.pezesha_core_ledger.exception.CapacityExceededException;
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import com.fintech.pezesha_core_ledger.sequence.LedgerCommittedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes account balances to Server-Sent Event subscribers after postings commit.
+ *
+ * A commit only marks its accounts dirty. Every coalesce interval each dirty account's balance is
+ * computed once and offered to its subscribers, however many postings touched it. Each subscriber
+ * keeps only the latest undelivered balance per account and has at most one write in flight, so a
+ * slow client skips intermediate values instead of queueing them. Idle subscribers hold no thread.
+ */
+@Service
+@Slf4j
+public class BalanceStreamService {
+
+    private final AccountService accountService;
+    private final TransactionTemplate primaryTransaction;
+    private final ExecutorService writers;
+    private final int maxSubscribers;
+    private final int maxAccountsPerSubscription;
+    private final Duration streamTimeout;
+
+    private final Map<String, Set<BalanceSubscription>> subscriptionsByAccount = new ConcurrentHashMap<>();
+    private final Set<String> dirtyAccounts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final Counter sentCounter;
+    private final Counter coalescedCounter;
+
+    public BalanceStreamService(AccountService accountService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${ledger.balance-stream.writer-threads:8}") int writerThreads,
+                                @Value("${ledger.balance-stream.max-subscribers:50000}") int maxSubscribers,
+                                @Value("${ledger.balance-stream.max-accounts-per-subscription:50}") int maxAccountsPerSubscription,
+                                @Value("${ledger.balance-stream.timeout:30m}") Duration streamTimeout) {
+        this.accountService = accountService;
+        // Not read-only: a lagging replica would push a balance that misses the commit that triggered it
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.maxSubscribers = maxSubscribers;
+        this.maxAccountsPerSubscription = maxAccountsPerSubscription;
+        this.streamTimeout = streamTimeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "balance-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("ledger.balance_stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open balance SSE subscriptions")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("ledger.balance_stream.updates.sent")
+                .description("Balance events written to subscribers")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("ledger.balance_stream.updates.coalesced")
+                .description("Undelivered balance events replaced by a newer balance")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Collection<String> accountIds) {
+        Set<String> accounts = new LinkedHashSet<>(accountIds);
+        if (accounts.isEmpty()) {
+            throw new ValidationException("At least one account id is required");
+        }
+        if (accounts.size() > maxAccountsPerSubscription) {
+            throw new ValidationException("At most " + maxAccountsPerSubscription + " accounts per subscription");
+        }
+        // Fails with ResourceNotFoundException before any state is registered
+        accounts.forEach(accountService::getAccount);
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new CapacityExceededException("Balance stream subscriber limit reached, retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        BalanceSubscription subscription = new BalanceSubscription(emitter, accounts);
+        for (String accountId : accounts) {
+            subscriptionsByAccount.computeIfAbsent(accountId, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(() -> unregister(subscription));
+        emitter.onError(e -> unregister(subscription));
+
+        // Current balances first, so the client never has to poll for the starting value
+        writers.execute(() -> {
+            for (String accountId : accounts) {
+                AccountBalanceResponse balance = currentBalance(accountId);
+                if (balance != null) {
+                    offer(subscription, balance);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    @EventListener
+    public void onCommitted(LedgerCommittedEvent event) {
+        // Runs on the committing thread: bookkeeping only
+        for (String accountId : event.getAccountIds()) {
+            if (subscriptionsByAccount.containsKey(accountId)) {
+                dirtyAccounts.add(accountId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.balance-stream.coalesce-interval:250}")
+    public void flushDirtyAccounts() {
+        if (dirtyAccounts.isEmpty()) {
+            return;
+        }
+        List<String> accounts = new ArrayList<>(dirtyAccounts);
+        dirtyAccounts.removeAll(accounts);
+
+        for (String accountId : accounts) {
+            writers.execute(() -> {
+                Set<BalanceSubscription> subscribers = subscriptionsByAccount.get(accountId);
+                if (subscribers == null || subscribers.isEmpty()) {
+                    return;
+                }
+                AccountBalanceResponse balance = currentBalance(accountId);
+                if (balance != null) {
+                    subscribers.forEach(subscription -> offer(subscription, balance));
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.balance-stream.heartbeat-interval:25000}")
+    public void sendHeartbeats() {
+        // Keeps proxies from closing idle streams and detects clients that went away
+        subscriptionsByAccount.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .forEach(subscription -> {
+                    subscription.heartbeatDue.set(true);
+                    scheduleDrain(subscription);
+                });
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private AccountBalanceResponse currentBalance(String accountId) {
+        try {
+            return primaryTransaction.execute(status -> accountService.getCurrentBalance(accountId));
+        } catch (RuntimeException e) {
+            log.warn("Could not compute balance of {} for subscribers: {}", accountId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void offer(BalanceSubscription subscription, AccountBalanceResponse balance) {
+        if (subscription.pending.put(balance.getAccountId(), balance) != null) {
+            coalescedCounter.increment();
+        }
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(BalanceSubscription subscription) {
+        if (!subscription.closed.get() && subscription.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(BalanceSubscription subscription) {
+        try {
+            if (subscription.heartbeatDue.getAndSet(false)) {
+                subscription.emitter.send(SseEmitter.event().comment("keepalive"));
+            }
+            for (String accountId : subscription.pending.keySet()) {
+                AccountBalanceResponse balance = subscription.pending.remove(accountId);
+                if (balance != null) {
+                    subscription.emitter.send(SseEmitter.event()
+                            .name("balance")
+                            .data(balance, MediaType.APPLICATION_JSON));
+                    sentCounter.increment();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Balance subscriber went away: {}", e.getMessage());
+            unregister(subscription);
+            return;
+        } finally {
+            subscription.draining.set(false);
+        }
+        // Values offered while the last write was in flight
+        if (!subscription.pending.isEmpty() || subscription.heartbeatDue.get()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void unregister(BalanceSubscription subscription) {
+        // The drainer and the emitter callbacks can both get here; only the first one cleans up
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        for (String accountId : subscription.accountIds) {
+            subscriptionsByAccount.computeIfPresent(accountId, (k, subscribers) -> {
+                subscribers.remove(subscription);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        subscriberCount.decrementAndGet();
+        subscription.pending.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private static final class BalanceSubscription {
+        private final SseEmitter emitter;
+        private final Set<String> accountIds;
+        // Latest undelivered balance per account; a newer balance replaces an older one
+        private final Map<String, AccountBalanceResponse> pending = new ConcurrentHashMap<>(4);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private BalanceSubscription(SseEmitter emitter, Set<String> accountIds) {
+            this.emitter = emitter;
+            this.accountIds = accountIds;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.archive.ArchiveSegment;
+import com.fintech.pezesha_core_ledger.archive.ArchiveSegmentWriter;
+import com.fintech.pezesha_core_ledger.archive.ArchivedEntry;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.enums.TransactionStatus;
+import com.fintech.pezesha_core_ledger.exception.LedgerException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Moves closed periods out of Postgres: exports a month's entry partition into compressed
+ * columnar segments, verifies them against the source, drops the partition and registers the
+ * segments with {@link LedgerArchiveStore}.
+ *
+ * Only transaction_entries partitions are archived; the much narrower transactions partitions
+ * stay so reversals and lookups by id keep working.
+ */
+@Service
+@Slf4j
+@Workload(WorkloadClass.BATCH)
+public class LedgerArchiveService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("transaction_entries_(\\d{4})_(\\d{2})");
+    private static final Pattern SEGMENT_NAME = Pattern.compile("entries_(\\d{4})_(\\d{2})\\.part\\d+\\.seg");
+    private static final int EXPORT_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LedgerArchiveStore archiveStore;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final long maxSegmentBytes;
+
+    public LedgerArchiveService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                LedgerArchiveStore archiveStore,
+                                @Value("${ledger.archive.enabled:false}") boolean enabled,
+                                @Value("${ledger.archive.retention-months:18}") int retentionMonths,
+                                @Value("${ledger.archive.max-segment-bytes:1073741824}") long maxSegmentBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveStore = archiveStore;
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    @Scheduled(cron = "${ledger.archive.cron:0 0 3 1 * *}")
+    public void archiveClosedPeriods() {
+        if (!enabled) {
+            return;
+        }
+
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (YearMonth month : listEntryPartitions()) {
+            if (month.isBefore(cutoff) && !archiveStore.contains(month)) {
+                archiveMonth(month);
+            }
+        }
+    }
+
+    public void archiveMonth(YearMonth month) {
+        String partition = "transaction_entries_" + month.format(PARTITION_SUFFIX);
+        log.info("Archiving partition {}", partition);
+
+        List<Path> files = export(month, partition);
+        List<ArchiveSegment> segments = verify(partition, files);
+
+        jdbcTemplate.execute("ALTER TABLE transaction_entries DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+
+        archiveStore.register(month, segments);
+        log.info("Archived {} rows of {} into {} segment(s)",
+                segments.stream().mapToLong(ArchiveSegment::getRowCount).sum(), partition, segments.size());
+    }
+
+    /**
+     * Registers segments whose partition was dropped but which never reached the manifest,
+     * e.g. after a crash between the drop and the manifest write.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverUnregisteredSegments() {
+        Path directory = archiveStore.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        Map<YearMonth, List<Path>> byMonth = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "entries_*.seg")) {
+            for (Path file : files) {
+                Matcher m = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    YearMonth month = YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+                    byMonth.computeIfAbsent(month, k -> new ArrayList<>()).add(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to scan archive directory {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        byMonth.forEach((month, files) -> {
+            String partition = "transaction_entries_" + month.format(PARTITION_SUFFIX);
+            Boolean partitionExists = jdbcTemplate.queryForObject(
+                    "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+            if (!archiveStore.contains(month) && Boolean.FALSE.equals(partitionExists)) {
+                files.sort(Comparator.naturalOrder());
+                archiveStore.register(month, files.stream().map(ArchiveSegment::open).toList());
+            }
+        });
+    }
+
+    private List<YearMonth> listEntryPartitions() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = 'transaction_entries' ORDER BY c.relname",
+                String.class);
+
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            Matcher m = PARTITION_NAME.matcher(name);
+            if (m.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+            }
+        }
+        return months;
+    }
+
+    private List<Path> export(YearMonth month, String partition) {
+        Path directory = archiveStore.getDirectory();
+        String prefix = "entries_" + month.format(PARTITION_SUFFIX);
+        List<Path> tmpFiles = new ArrayList<>();
+
+        // Byte-order collation keeps the database ordering identical to String.compareTo in the segment index
+        String sql = "SELECT te.id, te.transaction_id, te.account_id, te.posted_at, te.debit, te.credit, " +
+                "te.currency, te.running_balance, t.status " +
+                "FROM " + partition + " te " +
+                "JOIN transactions t ON t.id = te.transaction_id AND t.posted_at = te.posted_at " +
+                "ORDER BY te.account_id COLLATE \"C\", te.posted_at, te.id";
+
+        try {
+            Files.createDirectories(directory);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                SegmentRoller roller = new SegmentRoller(directory, prefix, month, tmpFiles);
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setFetchSize(EXPORT_FETCH_SIZE);
+                    return ps;
+                }, (RowCallbackHandler) rs -> roller.append(ArchivedEntry.builder()
+                        .entryId(rs.getString(1))
+                        .transactionId(rs.getString(2))
+                        .accountId(rs.getString(3))
+                        .postedAt(rs.getTimestamp(4).toLocalDateTime())
+                        .debit(rs.getBigDecimal(5))
+                        .credit(rs.getBigDecimal(6))
+                        .currency(Currency.valueOf(rs.getString(7)))
+                        .runningBalance(rs.getBigDecimal(8))
+                        .posted(TransactionStatus.POSTED.name().equals(rs.getString(9)))
+                        .build()));
+                roller.close();
+            });
+
+            List<Path> files = new ArrayList<>();
+            for (Path tmp : tmpFiles) {
+                Path target = directory.resolve(tmp.getFileName().toString().replace(".tmp", ""));
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                files.add(target);
+            }
+            return files;
+        } catch (IOException | UncheckedIOException e) {
+            throw new LedgerException("Failed to export " + partition + ": " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR, "ARCHIVE_ERROR");
+        }
+    }
+
+    private List<ArchiveSegment> verify(String partition, List<Path> files) {
+        Map<String, long[]> expectedCounts = new HashMap<>();
+        Map<String, BigDecimal[]> expectedTotals = new HashMap<>();
+        jdbcTemplate.query("SELECT account_id, COUNT(*), SUM(debit), SUM(credit) FROM " + partition + " GROUP BY account_id",
+                (RowCallbackHandler) rs -> {
+                    expectedCounts.put(rs.getString(1), new long[]{rs.getLong(2)});
+                    expectedTotals.put(rs.getString(1), new BigDecimal[]{rs.getBigDecimal(3), rs.getBigDecimal(4)});
+                });
+
+        List<ArchiveSegment> segments = new ArrayList<>();
+        int accounts = 0;
+        for (Path file : files) {
+            ArchiveSegment segment = ArchiveSegment.open(file);
+            if (!segment.verifyChecksum()) {
+                throw archiveMismatch(partition, "checksum mismatch in " + file.getFileName());
+            }
+            for (ArchiveSegment.AccountSummary summary : segment.summaries()) {
+                long[] count = expectedCounts.get(summary.getAccountId());
+                BigDecimal[] totals = expectedTotals.get(summary.getAccountId());
+                if (count == null || count[0] != summary.getRowCount()
+                        || totals[0].compareTo(summary.getDebitTotal()) != 0
+                        || totals[1].compareTo(summary.getCreditTotal()) != 0) {
+                    throw archiveMismatch(partition, "totals differ for account " + summary.getAccountId());
+                }
+                // Inflate every block once so a corrupt block fails here rather than in a later audit
+                List<ArchivedEntry> rows = segment.read(summary);
+                BigDecimal debits = rows.stream().map(ArchivedEntry::getDebit).reduce(BigDecimal.ZERO, BigDecimal::add);
+                if (rows.size() != summary.getRowCount() || debits.compareTo(summary.getDebitTotal()) != 0) {
+                    throw archiveMismatch(partition, "block does not match index for account " + summary.getAccountId());
+                }
+                accounts++;
+            }
+            segments.add(segment);
+        }
+
+        if (accounts != expectedCounts.size()) {
+            throw archiveMismatch(partition, "expected " + expectedCounts.size() + " accounts, found " + accounts);
+        }
+        return segments;
+    }
+
+    private static LedgerException archiveMismatch(String partition, String detail) {
+        return new LedgerException("Archive verification failed for " + partition + ": " + detail,
+                HttpStatus.INTERNAL_SERVER_ERROR, "ARCHIVE_ERROR");
+    }
+
+    /**
+     * Starts a new part file at an account boundary once the current one passes maxSegmentBytes,
+     * keeping each file within what a single mapped buffer can address.
+     */
+    private final class SegmentRoller {
+        private final Path directory;
+        private final String prefix;
+        private final YearMonth month;
+        private final List<Path> files;
+        private ArchiveSegmentWriter writer;
+        private String lastAccount;
+
+        SegmentRoller(Path directory, String prefix, YearMonth month, List<Path> files) {
+            this.directory = directory;
+            this.prefix = prefix;
+            this.month = month;
+            this.files = files;
+        }
+
+        void append(ArchivedEntry entry) {
+            try {
+                boolean newAccount = !entry.getAccountId().equals(lastAccount);
+                if (writer == null || (newAccount && writer.size() >= maxSegmentBytes)) {
+                    close();
+                    Path file = directory.resolve(prefix + ".part" + files.size() + ".seg.tmp");
+                    files.add(file);
+                    writer = new ArchiveSegmentWriter(file, month);
+                }
+                writer.append(entry);
+                lastAccount = entry.getAccountId();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
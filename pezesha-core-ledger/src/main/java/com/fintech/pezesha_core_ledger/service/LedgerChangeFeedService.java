@@ -0,0 +1,188 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadContext;
+import com.fintech.pezesha_core_ledger.dto.LedgerChangeBatch;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import com.fintech.pezesha_core_ledger.repository.TransactionRepository;
+import com.fintech.pezesha_core_ledger.sequence.LedgerCommittedEvent;
+import com.fintech.pezesha_core_ledger.sequence.LedgerSequence;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves the ledger change feed: postings with a ledger sequence above the caller's cursor, in
+ * sequence order and bounded batches. When the cursor is already at the high-water mark the
+ * request parks without touching the database until a commit moves the mark or the wait expires.
+ */
+@Service
+public class LedgerChangeFeedService {
+
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionService transactionService;
+    private final LedgerSequence ledgerSequence;
+    private final TransactionTemplate primaryTransaction;
+    private final ExecutorService readers;
+    private final Duration maxWait;
+
+    private final ConcurrentSkipListSet<Waiter> waiters = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Waiter::getAfter).thenComparingLong(Waiter::getId));
+    private final AtomicLong waiterIds = new AtomicLong();
+
+    public LedgerChangeFeedService(TransactionRepository transactionRepository,
+                                   TransactionService transactionService,
+                                   LedgerSequence ledgerSequence,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${ledger.change-feed.reader-threads:4}") int readerThreads,
+                                   @Value("${ledger.change-feed.max-wait:30s}") Duration maxWait) {
+        this.transactionRepository = transactionRepository;
+        this.transactionService = transactionService;
+        this.ledgerSequence = ledgerSequence;
+        // Deliberately not read-only: the high-water mark describes the primary, and a lagging replica
+        // would let the cursor move past postings it has not replayed yet
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.maxWait = maxWait;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.readers = Executors.newFixedThreadPool(readerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ledger-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("ledger.change_feed.waiting", waiters, ConcurrentSkipListSet::size)
+                .description("Change-feed requests parked until the next commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Completes with the postings after {@code after}, waiting up to {@code wait} for one to
+     * commit if there are none yet. An expired wait completes with an empty batch.
+     */
+    public CompletableFuture<LedgerChangeBatch> changesAfter(long after, int limit, Duration wait) {
+        int batchSize = Math.max(1, Math.min(limit, MAX_BATCH_SIZE));
+        Duration boundedWait = wait.isNegative() ? Duration.ZERO : (wait.compareTo(maxWait) > 0 ? maxWait : wait);
+
+        return awaitHighWaterMark(after, boundedWait)
+                .thenApplyAsync(mark -> readChanges(after, mark, batchSize), readers);
+    }
+
+    @EventListener
+    public void onCommitted(LedgerCommittedEvent event) {
+        long mark = event.getHighWaterMark();
+        // Runs on the committing thread: only completes futures, the reads happen on the feed readers
+        for (Waiter waiter : waiters.headSet(new Waiter(mark, Long.MIN_VALUE, null))) {
+            waiter.getFuture().complete(mark);
+        }
+    }
+
+    private CompletableFuture<Long> awaitHighWaterMark(long after, Duration wait) {
+        long mark = ledgerSequence.highWaterMark();
+        if (mark > after || wait.isZero()) {
+            return CompletableFuture.completedFuture(mark);
+        }
+
+        Waiter waiter = new Waiter(after, waiterIds.incrementAndGet(), new CompletableFuture<>());
+        waiters.add(waiter);
+        waiter.getFuture().whenComplete((m, e) -> waiters.remove(waiter));
+
+        // A commit may have landed between the first read and registering
+        mark = ledgerSequence.highWaterMark();
+        if (mark > after) {
+            waiter.getFuture().complete(mark);
+        }
+        // Nothing to read on expiry: completing with the cursor itself yields an empty batch
+        return waiter.getFuture().completeOnTimeout(after, wait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    LedgerChangeBatch readChanges(long after, long upTo, int batchSize) {
+        if (upTo <= after) {
+            return LedgerChangeBatch.builder()
+                    .changes(List.of())
+                    .nextCursor(after)
+                    .highWaterMark(Math.max(upTo, ledgerSequence.highWaterMark()))
+                    .build();
+        }
+
+        // Feed readers are not proxied service calls, so bind the workload class by hand
+        WorkloadClass previous = WorkloadContext.bind(WorkloadClass.POINT_READ);
+        List<TransactionResponse> changes;
+        try {
+            changes = primaryTransaction.execute(status -> {
+                List<Transaction> page = transactionRepository.findSequencedBetween(after, upTo, PageRequest.of(0, batchSize));
+                if (page.isEmpty()) {
+                    return List.<TransactionResponse>of();
+                }
+
+                LocalDateTime from = page.stream().map(Transaction::getPostedAt).min(LocalDateTime::compareTo).orElseThrow();
+                LocalDateTime to = page.stream().map(Transaction::getPostedAt).max(LocalDateTime::compareTo).orElseThrow();
+                transactionRepository.fetchEntries(page.stream().map(Transaction::getId).toList(), from, to);
+
+                // Transactions whose entry partition has been archived come back with no entries
+                return page.stream().map(transactionService::mapToResponse).toList();
+            });
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+
+        // A short batch means everything up to the mark has been returned, gaps included
+        long nextCursor = changes.size() == batchSize ? changes.get(changes.size() - 1).getLedgerSequence() : upTo;
+        return LedgerChangeBatch.builder()
+                .changes(changes)
+                .nextCursor(nextCursor)
+                .highWaterMark(upTo)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readers.shutdownNow();
+    }
+
+    private static final class Waiter {
+        private final long after;
+        private final long id;
+        private final CompletableFuture<Long> future;
+
+        private Waiter(long after, long id, CompletableFuture<Long> future) {
+            this.after = after;
+            this.id = id;
+            this.future = future;
+        }
+
+        long getAfter() {
+            return after;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        CompletableFuture<Long> getFuture() {
+            return future;
+        }
+    }
+}
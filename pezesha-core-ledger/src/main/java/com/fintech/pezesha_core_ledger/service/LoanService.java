@@ -1,11 +1,16 @@
 package com.fintech.pezesha_core_ledger.service;
 
+import com.fintech.pezesha_core_ledger.admission.AdmissionControlled;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
 import com.fintech.pezesha_core_ledger.dto.*;
+import com.fintech.pezesha_core_ledger.enums.LedgerEventType;
 import com.fintech.pezesha_core_ledger.enums.LoanStatus;
 import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
 import com.fintech.pezesha_core_ledger.exception.ValidationException;
 import com.fintech.pezesha_core_ledger.models.Account;
 import com.fintech.pezesha_core_ledger.models.Loan;
+import com.fintech.pezesha_core_ledger.outbox.LedgerEventRecorder;
 import com.fintech.pezesha_core_ledger.repository.AccountRepository;
 import com.fintech.pezesha_core_ledger.repository.LoanRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,13 +24,17 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Workload(WorkloadClass.POINT_READ)
 public class LoanService {
 
     private final LoanRepository loanRepository;
     private final TransactionService transactionService;
     private final AccountRepository accountRepository;
+    private final LedgerEventRecorder ledgerEventRecorder;
 
     // Apply for a loan
+    @Workload(WorkloadClass.POSTING)
+    @AdmissionControlled
     @Transactional
     public LoanResponse applyForLoan(LoanApplicationRequest req) {
         Account account = accountRepository.findById(req.getAccountId())
@@ -41,18 +50,23 @@ public class LoanService {
                 .status(LoanStatus.PENDING)
                 .build();
 
-        return toResponse(loanRepository.save(loan));
+        return toResponse(saveAndRecord(LedgerEventType.LOAN_APPLIED, loan));
     }
 
+    @Workload(WorkloadClass.POSTING)
+    @AdmissionControlled
+    @Transactional
     public LoanResponse approveLoan(String loanId) {
         Loan loan = getLoan(loanId);
         assertStatus(loan, LoanStatus.PENDING);
 
         loan.setStatus(LoanStatus.APPROVED);
-        return toResponse(loanRepository.save(loan));
+        return toResponse(saveAndRecord(LedgerEventType.LOAN_APPROVED, loan));
     }
 
     // Disburse loan
+    @Workload(WorkloadClass.POSTING)
+    @AdmissionControlled
     @Transactional
     public LoanResponse disburseLoan(String loanId, DisbursementRequest req) {
         Loan loan = getLoan(loanId);
@@ -133,10 +147,12 @@ public class LoanService {
         loan.setDisbursementDate(LocalDateTime.now());
         loan.setStatus(LoanStatus.DISBURSED);
 
-        return toResponse(loanRepository.save(loan));
+        return toResponse(saveAndRecord(LedgerEventType.LOAN_DISBURSED, loan));
     }
 
     // repay loan
+    @Workload(WorkloadClass.POSTING)
+    @AdmissionControlled
     @Transactional
     public LoanResponse repayLoan(String loanId, RepaymentRequest req) {
         Loan loan = getLoan(loanId);
@@ -196,10 +212,12 @@ public class LoanService {
             loan.setStatus(LoanStatus.CLOSED);
         }
 
-        return toResponse(loanRepository.save(loan));
+        return toResponse(saveAndRecord(LedgerEventType.LOAN_REPAID, loan));
     }
 
     // Write off loan
+    @Workload(WorkloadClass.POSTING)
+    @AdmissionControlled
     @Transactional
     public LoanResponse writeOffLoan(String loanId, WriteOffRequest req) {
         Loan loan = getLoan(loanId);
@@ -239,9 +257,10 @@ public class LoanService {
         loan.setOutstandingBalance(BigDecimal.ZERO);
         loan.setStatus(LoanStatus.WRITTEN_OFF);
 
-        return toResponse(loanRepository.save(loan));
+        return toResponse(saveAndRecord(LedgerEventType.LOAN_WRITTEN_OFF, loan));
     }
 
+    @Transactional(readOnly = true)
     public List<LoanResponse> getAllLoans() {
         return loanRepository.findByStatusIn(Arrays.asList(LoanStatus.APPROVED, LoanStatus.DISBURSED))
                 .stream()
@@ -256,6 +275,12 @@ public class LoanService {
                 .orElseThrow(() -> new ResourceNotFoundException("Loan not found"));
     }
 
+    private Loan saveAndRecord(LedgerEventType eventType, Loan loan) {
+        Loan saved = loanRepository.save(loan);
+        ledgerEventRecorder.loanChanged(eventType, saved);
+        return saved;
+    }
+
     private void assertStatus(Loan loan, LoanStatus expected) {
         if (loan.getStatus() != expected) {
             throw new ValidationException(
@@ -0,0 +1,80 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps monthly partitions of the ledger tables created ahead of time, so postings never
+ * fall into the default partition. Rows that did fall in are moved to their month's partition
+ * when it is created; months that still fail are counted in ledger.partitions.failed_months.
+ */
+@Service
+@Slf4j
+@Workload(WorkloadClass.BATCH)
+public class PartitionMaintenanceService {
+
+    // Both tables at once, moving in any of the month's rows from the default partitions
+    private static final String CREATE_PARTITIONS_SQL = "SELECT ledger_create_month_partitions(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final AtomicInteger failedMonths = new AtomicInteger();
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${ledger.partitioning.enabled:true}") boolean enabled,
+                                       @Value("${ledger.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        Gauge.builder("ledger.partitions.failed_months", failedMonths, AtomicInteger::get)
+                .description("Months whose ledger partitions the last maintenance run could not create")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureFuturePartitions();
+    }
+
+    @Scheduled(cron = "${ledger.partitioning.maintenance-cron:0 0 2 * * *}")
+    public void ensureFuturePartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        // Month boundaries follow the JVM clock, the same clock that stamps postedAt
+        YearMonth current = YearMonth.from(LocalDate.now());
+        int failed = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                Integer moved = jdbcTemplate.queryForObject(CREATE_PARTITIONS_SQL, Integer.class, Date.valueOf(month.atDay(1)));
+                if (moved != null && moved > 0) {
+                    log.warn("Moved {} transactions of {} out of the default partitions", moved, month);
+                }
+            } catch (DataAccessException e) {
+                failed++;
+                log.error("Failed to create ledger partitions for {}: {}", month, e.getMessage());
+            }
+        }
+        failedMonths.set(failed);
+        log.debug("Ledger partitions ensured through {}", current.plusMonths(monthsAhead));
+    }
+}
@@ -0,0 +1,240 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TrialBalanceResponse.AccountBalanceDetail;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.export.ExportFormat;
+import com.fintech.pezesha_core_ledger.export.ExportWriter;
+import com.fintech.pezesha_core_ledger.models.Account;
+import com.fintech.pezesha_core_ledger.repository.AccountRepository;
+import com.fintech.pezesha_core_ledger.repository.TransactionEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Account-level trial balance, balance sheet and statement exports. Rows are read through a
+ * server-side cursor and written to the output stream as they arrive, so memory use does not
+ * grow with the number of accounts or entries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+@Workload(WorkloadClass.REPORTING)
+public class ReportExportService {
+
+    static final int FETCH_SIZE = 1000;
+    private static final LocalDateTime STATEMENT_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // One aggregate pass over the entries instead of a balance query per account
+    private static final String ACCOUNT_BALANCES_SQL =
+            "SELECT a.id, a.code, a.name, a.type, a.currency, COALESCE(b.balance, 0) " +
+            "FROM accounts a LEFT JOIN (" +
+            "  SELECT te.account_id, SUM(te.debit - te.credit) AS balance " +
+            "  FROM transaction_entries te " +
+            "  JOIN transactions t ON t.id = te.transaction_id AND t.posted_at = te.posted_at " +
+            "  WHERE t.status = 'POSTED' AND te.posted_at <= ? AND t.posted_at <= ? " +
+            "  GROUP BY te.account_id) b ON b.account_id = a.id " +
+            "WHERE a.is_active = true ";
+
+    private static final String STATEMENT_SQL =
+            "SELECT te.id, te.transaction_id, te.posted_at, te.debit, te.credit, te.currency " +
+            "FROM transaction_entries te " +
+            "JOIN transactions t ON t.id = te.transaction_id AND t.posted_at = te.posted_at " +
+            "WHERE te.account_id = ? AND t.status = 'POSTED' " +
+            "AND te.posted_at BETWEEN ? AND ? AND t.posted_at BETWEEN ? AND ? " +
+            "ORDER BY te.posted_at, te.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+    private final TransactionEntryRepository transactionEntryRepository;
+    private final LedgerArchiveStore archiveStore;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Checked before the response starts, so an unknown account is still a plain 404.
+     */
+    public void requireAccount(String accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+    }
+
+    /**
+     * One row per active account, ordered by account code, with the balance split into its
+     * debit or credit column the same way {@link ReportingService#getTrialBalance} totals it.
+     */
+    public long exportTrialBalance(LocalDateTime asOfDate, ExportFormat format, OutputStream out) {
+        LocalDateTime queryDate = asOfDate != null ? asOfDate : LocalDateTime.now();
+        ExportWriter<AccountBalanceDetail> writer = new ExportWriter<AccountBalanceDetail>(format, out, objectMapper)
+                .column("accountId", AccountBalanceDetail::getAccountId)
+                .column("accountCode", AccountBalanceDetail::getAccountCode)
+                .column("accountName", AccountBalanceDetail::getAccountName)
+                .column("accountType", AccountBalanceDetail::getAccountType)
+                .column("currency", AccountBalanceDetail::getCurrency)
+                .column("debit", AccountBalanceDetail::getDebit)
+                .column("credit", AccountBalanceDetail::getCredit)
+                .column("balance", AccountBalanceDetail::getBalance);
+
+        streamAccountBalances(queryDate, "ORDER BY a.code", rs -> {
+            AccountType type = AccountType.valueOf(rs.getString(4));
+            BigDecimal balance = rs.getBigDecimal(6).add(archiveStore.balanceAsOf(rs.getString(1), queryDate));
+            writer.write(AccountBalanceDetail.builder()
+                    .accountId(rs.getString(1))
+                    .accountCode(rs.getString(2))
+                    .accountName(rs.getString(3))
+                    .accountType(type)
+                    .currency(Currency.valueOf(rs.getString(5)))
+                    .debit(balance.signum() > 0 ? balance : BigDecimal.ZERO)
+                    .credit(balance.signum() < 0 ? balance.negate() : BigDecimal.ZERO)
+                    .balance(balance)
+                    .build());
+        });
+
+        long rows = writer.finish();
+        log.info("Exported trial balance as of {}: {} accounts as {}", queryDate, rows, format);
+        return rows;
+    }
+
+    /**
+     * One row per active account, grouped by account type, with the signed balance used by
+     * {@link ReportingService#getBalanceSheet}.
+     */
+    public long exportBalanceSheet(LocalDateTime asOfDate, ExportFormat format, OutputStream out) {
+        LocalDateTime queryDate = asOfDate != null ? asOfDate : LocalDateTime.now();
+        ExportWriter<BalanceSheetResponse.AccountBalance> writer = new ExportWriter<BalanceSheetResponse.AccountBalance>(format, out, objectMapper)
+                .column("accountType", BalanceSheetResponse.AccountBalance::getAccountType)
+                .column("accountId", BalanceSheetResponse.AccountBalance::getAccountId)
+                .column("accountCode", BalanceSheetResponse.AccountBalance::getAccountCode)
+                .column("accountName", BalanceSheetResponse.AccountBalance::getAccountName)
+                .column("balance", BalanceSheetResponse.AccountBalance::getBalance);
+
+        streamAccountBalances(queryDate, "ORDER BY a.type, a.code", rs -> writer.write(BalanceSheetResponse.AccountBalance.builder()
+                .accountType(AccountType.valueOf(rs.getString(4)))
+                .accountId(rs.getString(1))
+                .accountCode(rs.getString(2))
+                .accountName(rs.getString(3))
+                .balance(rs.getBigDecimal(6).add(archiveStore.balanceAsOf(rs.getString(1), queryDate)))
+                .build()));
+
+        long rows = writer.finish();
+        log.info("Exported balance sheet as of {}: {} accounts as {}", queryDate, rows, format);
+        return rows;
+    }
+
+    /**
+     * Posted entries of one account in [startDate, endDate], oldest first, each with the account
+     * balance after it. Archived months are read from cold storage ahead of the database rows.
+     */
+    public long exportStatement(String accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                ExportFormat format, OutputStream out) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+        LocalDateTime from = startDate != null ? startDate : STATEMENT_START;
+        LocalDateTime to = endDate != null ? endDate : LocalDateTime.now();
+
+        // Timestamps are stored to the microsecond
+        LocalDateTime beforeStart = from.minus(1, ChronoUnit.MICROS);
+        BigDecimal[] balance = {transactionEntryRepository.getAccountBalanceAsOf(accountId, beforeStart)
+                .add(archiveStore.balanceAsOf(accountId, beforeStart))};
+
+        ExportWriter<TransactionEntryResponse> writer = statementWriter(format, out, objectMapper);
+
+        LocalDateTime horizon = archiveStore.horizon();
+        if (horizon != null && from.isBefore(horizon)) {
+            LocalDateTime archivedTo = to.isBefore(horizon) ? to : horizon.minusNanos(1);
+            archiveStore.forEachEntry(accountId, from, archivedTo, entry -> {
+                if (!entry.isPosted()) {
+                    return;
+                }
+                balance[0] = balance[0].add(entry.getDebit()).subtract(entry.getCredit());
+                writer.write(statementRow(account, entry.getTransactionId(), entry.getPostedAt(),
+                        entry.getDebit(), entry.getCredit(), entry.getCurrency(), balance[0]));
+            });
+        }
+
+        LocalDateTime databaseFrom = horizon != null && from.isBefore(horizon) ? horizon : from;
+        if (!databaseFrom.isAfter(to)) {
+            Timestamp lower = Timestamp.valueOf(databaseFrom);
+            Timestamp upper = Timestamp.valueOf(to);
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(STATEMENT_SQL);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setString(1, accountId);
+                ps.setTimestamp(2, lower);
+                ps.setTimestamp(3, upper);
+                ps.setTimestamp(4, lower);
+                ps.setTimestamp(5, upper);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                BigDecimal debit = rs.getBigDecimal(4);
+                BigDecimal credit = rs.getBigDecimal(5);
+                balance[0] = balance[0].add(debit).subtract(credit);
+                writer.write(statementRow(account, rs.getString(2), rs.getTimestamp(3).toLocalDateTime(),
+                        debit, credit, Currency.valueOf(rs.getString(6)), balance[0]));
+            });
+        }
+
+        long rows = writer.finish();
+        log.info("Exported statement of {} from {} to {}: {} entries as {}", accountId, from, to, rows, format);
+        return rows;
+    }
+
+    // Shared with the month-end statement files
+    static ExportWriter<TransactionEntryResponse> statementWriter(ExportFormat format, OutputStream out, ObjectMapper objectMapper) {
+        return new ExportWriter<TransactionEntryResponse>(format, out, objectMapper)
+                .column("postedAt", TransactionEntryResponse::getPostedAt)
+                .column("transactionId", TransactionEntryResponse::getTransactionId)
+                .column("accountId", TransactionEntryResponse::getAccountId)
+                .column("accountCode", TransactionEntryResponse::getAccountCode)
+                .column("currency", TransactionEntryResponse::getCurrency)
+                .column("debit", TransactionEntryResponse::getDebit)
+                .column("credit", TransactionEntryResponse::getCredit)
+                .column("runningBalance", TransactionEntryResponse::getRunningBalance);
+    }
+
+    private void streamAccountBalances(LocalDateTime asOfDate, String orderBy, RowCallbackHandler handler) {
+        Timestamp asOf = Timestamp.valueOf(asOfDate);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ACCOUNT_BALANCES_SQL + orderBy);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setTimestamp(1, asOf);
+            ps.setTimestamp(2, asOf);
+            return ps;
+        }, handler);
+    }
+
+    private static TransactionEntryResponse statementRow(Account account, String transactionId, LocalDateTime postedAt,
+                                                         BigDecimal debit, BigDecimal credit, Currency currency,
+                                                         BigDecimal runningBalance) {
+        return TransactionEntryResponse.builder()
+                .postedAt(postedAt)
+                .transactionId(transactionId)
+                .accountId(account.getId())
+                .accountCode(account.getCode())
+                .currency(currency)
+                .debit(debit)
+                .credit(credit)
+                .runningBalance(runningBalance)
+                .build();
+    }
+}
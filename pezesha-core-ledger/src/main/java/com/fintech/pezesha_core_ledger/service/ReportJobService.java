@@ -0,0 +1,275 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.pezesha_core_ledger.bulkhead.Bulkheads;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.dto.ReportJobRequest;
+import com.fintech.pezesha_core_ledger.dto.ReportJobResponse;
+import com.fintech.pezesha_core_ledger.enums.ReportJobStatus;
+import com.fintech.pezesha_core_ledger.enums.ReportType;
+import com.fintech.pezesha_core_ledger.exception.CapacityExceededException;
+import com.fintech.pezesha_core_ledger.exception.LedgerException;
+import com.fintech.pezesha_core_ledger.exception.ReportNotReadyException;
+import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.models.ReportJob;
+import com.fintech.pezesha_core_ledger.models.ReportJobResult;
+import com.fintech.pezesha_core_ledger.repository.ReportJobRepository;
+import com.fintech.pezesha_core_ledger.repository.ReportJobResultRepository;
+import com.google.common.util.concurrent.Striped;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs trial balances, balance sheets and aging reports in the background on the reporting
+ * bulkhead and keeps their JSON gzip-compressed in the database.
+ *
+ * Identical requests (same report type and as-of date) share one job while it is pending or
+ * running, and reuse its result for {@code reuse-window} after it completes.
+ */
+@Service
+@Slf4j
+@Workload(WorkloadClass.POINT_READ)
+public class ReportJobService {
+
+    private static final Set<ReportJobStatus> ACTIVE = EnumSet.of(ReportJobStatus.PENDING, ReportJobStatus.RUNNING);
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJobResultRepository reportJobResultRepository;
+    private final ReportingService reportingService;
+    private final Bulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reuseWindow;
+    private final Duration retention;
+
+    // Serialises the find-or-create of one request key; jobs run outside the lock
+    private final Striped<Lock> submitLocks = Striped.lock(64);
+
+    private final Counter deduplicated;
+    private final Timer duration;
+
+    public ReportJobService(ReportJobRepository reportJobRepository,
+                            ReportJobResultRepository reportJobResultRepository,
+                            ReportingService reportingService,
+                            Bulkheads bulkheads,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${ledger.report-jobs.reuse-window:10m}") Duration reuseWindow,
+                            @Value("${ledger.report-jobs.retention:24h}") Duration retention) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportJobResultRepository = reportJobResultRepository;
+        this.reportingService = reportingService;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reuseWindow = reuseWindow;
+        this.retention = retention;
+
+        this.deduplicated = Counter.builder("ledger.report_jobs.deduplicated")
+                .description("Report job requests answered by an existing job")
+                .register(meterRegistry);
+        this.duration = Timer.builder("ledger.report_jobs.duration")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the existing job for an identical request, or creates one and queues it on the
+     * reporting bulkhead.
+     *
+     * @throws CapacityExceededException when the reporting queue is full
+     */
+    public ReportJobResponse submit(ReportJobRequest request) {
+        ReportType type = request.getReportType();
+        LocalDateTime asOfDate = type == ReportType.LOAN_AGING || request.getAsOfDate() == null
+                ? null
+                : request.getAsOfDate().truncatedTo(ChronoUnit.SECONDS);
+        String requestKey = type.name() + ":" + (asOfDate != null ? asOfDate.toString() : "current");
+
+        Lock lock = submitLocks.get(requestKey);
+        lock.lock();
+        try {
+            ReportJob existing = reportJobRepository.findReusable(requestKey, ACTIVE, ReportJobStatus.COMPLETED,
+                            LocalDateTime.now().minus(reuseWindow), PageRequest.of(0, 1))
+                    .stream().findFirst().orElse(null);
+            if (existing != null) {
+                deduplicated.increment();
+                log.debug("Report request {} joins job {}", requestKey, existing.getId());
+                return toResponse(existing);
+            }
+
+            ReportJob job = reportJobRepository.save(ReportJob.builder()
+                    .reportType(type)
+                    .asOfDate(asOfDate)
+                    .requestKey(requestKey)
+                    .status(ReportJobStatus.PENDING)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            try {
+                bulkheads.get(WorkloadClass.REPORTING).submit(() -> run(job.getId()));
+            } catch (CapacityExceededException e) {
+                markFailed(job.getId(), "Rejected: " + e.getMessage());
+                throw e;
+            }
+            log.info("Queued report job {} for {}", job.getId(), requestKey);
+            return toResponse(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ReportJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /**
+     * @param gzip whether to return the stored gzip bytes as they are, instead of inflating them
+     * @throws ReportNotReadyException while the job is pending or running
+     */
+    public byte[] getResult(String jobId, boolean gzip) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() == ReportJobStatus.FAILED) {
+            throw new LedgerException("Report job failed: " + job.getError(), HttpStatus.UNPROCESSABLE_ENTITY, "REPORT_FAILED");
+        }
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ReportNotReadyException("Report job " + jobId + " is " + job.getStatus());
+        }
+        byte[] content = reportJobResultRepository.findById(jobId)
+                .map(ReportJobResult::getContent)
+                .orElseThrow(() -> new ResourceNotFoundException("Report result not found: " + jobId));
+        return gzip ? content : gunzip(content);
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        // Workers do not survive a restart; identical requests will start a fresh job
+        Integer failed = transactionTemplate.execute(status ->
+                reportJobRepository.failAll(ACTIVE, ReportJobStatus.FAILED, "Interrupted by restart", LocalDateTime.now()));
+        if (failed != null && failed > 0) {
+            log.warn("Marked {} report jobs interrupted by restart as failed", failed);
+        }
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @Scheduled(cron = "${ledger.report-jobs.cleanup-cron:0 15 * * * *}")
+    public void purgeExpiredJobs() {
+        Integer deleted = transactionTemplate.execute(status ->
+                reportJobRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} report jobs older than {}", deleted, retention);
+        }
+    }
+
+    // Runs on a reporting bulkhead worker
+    boolean run(String jobId) {
+        ReportJob job = findJob(jobId);
+        job.setStatus(ReportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+
+        long start = System.nanoTime();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(compute(job));
+            byte[] compressed = gzip(json);
+
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setResultSize((long) json.length);
+            job.setCompressedSize((long) compressed.length);
+            job.setCompletedAt(LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> {
+                reportJobResultRepository.save(new ReportJobResult(jobId, compressed));
+                reportJobRepository.save(job);
+            });
+            log.info("Report job {} completed: {} bytes, {} compressed", jobId, json.length, compressed.length);
+            return true;
+        } catch (Exception e) {
+            log.error("Report job {} failed", jobId, e);
+            markFailed(jobId, Objects.toString(e.getMessage(), e.getClass().getName()));
+            return false;
+        } finally {
+            duration.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private Object compute(ReportJob job) {
+        return switch (job.getReportType()) {
+            case TRIAL_BALANCE -> reportingService.getTrialBalance(job.getAsOfDate());
+            case BALANCE_SHEET -> reportingService.getBalanceSheet(job.getAsOfDate());
+            case LOAN_AGING -> reportingService.getLoanAgingReport();
+        };
+    }
+
+    private void markFailed(String jobId, String error) {
+        reportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setError(StringUtils.abbreviate(error, 1000));
+            job.setCompletedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+        });
+    }
+
+    private ReportJob findJob(String jobId) {
+        return reportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found: " + jobId));
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.getId())
+                .reportType(job.getReportType())
+                .asOfDate(job.getAsOfDate())
+                .status(job.getStatus())
+                .error(job.getError())
+                .resultSize(job.getResultSize())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .resultUrl("/api/v1/reports/jobs/" + job.getId() + "/result")
+                .build();
+    }
+
+    static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 8));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] gunzip(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.fintech.pezesha_core_ledger.service;
 
+import com.fintech.pezesha_core_ledger.archive.ArchivedEntry;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
 import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
+import com.fintech.pezesha_core_ledger.dto.HistoryCursor;
 import com.fintech.pezesha_core_ledger.dto.LoanAgingResponse;
 import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionHistoryPage;
 import com.fintech.pezesha_core_ledger.dto.TrialBalanceResponse;
 import com.fintech.pezesha_core_ledger.enums.AccountType;
 import com.fintech.pezesha_core_ledger.enums.LoanStatus;
 import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.jfr.ReportEvent;
 import com.fintech.pezesha_core_ledger.models.Account;
 import com.fintech.pezesha_core_ledger.models.Loan;
 import com.fintech.pezesha_core_ledger.models.TransactionEntry;
@@ -17,8 +24,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,15 +39,30 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
+@Workload(WorkloadClass.REPORTING)
 public class ReportingService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final AccountRepository accountRepository;
     private final LoanRepository loanRepository;
     private final TransactionEntryRepository transactionEntryRepository;
+    private final LedgerArchiveStore archiveStore;
 
+    // One snapshot for the whole report, so postings committed mid-report cannot tear the totals
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     @Cacheable(value = "trialBalance", key = "#asOfDate?.toString() ?: 'current'")
     public TrialBalanceResponse getTrialBalance(LocalDateTime asOfDate) {
+        return computeTrialBalance(asOfDate);
+    }
+
+    // Uncached; the trialBalance cache also reloads entries with it
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public TrialBalanceResponse computeTrialBalance(LocalDateTime asOfDate) {
         LocalDateTime queryDate = asOfDate != null ? asOfDate : LocalDateTime.now();
+        ReportEvent event = ReportEvent.start("trial_balance", asOfDate);
 
         // Fetch all accounts in a single query
         List<Account> accounts = accountRepository.findByIsActiveTrue();
@@ -55,37 +80,11 @@ public class ReportingService {
 
         // Calculate balances for each account
         for (Account account : accounts) {
-            BigDecimal balance = transactionEntryRepository.getAccountBalanceAsOf(account.getId(), queryDate);
-
-            // Determine if balance is debit or credit based on account type
-            BigDecimal debitAmount = BigDecimal.ZERO;
-            BigDecimal creditAmount = BigDecimal.ZERO;
-
-            if (balance.compareTo(BigDecimal.ZERO) >= 0) {
-                switch (account.getType()) {
-                    case ASSET:
-                    case EXPENSE:
-                        debitAmount = balance;
-                        break;
-                    case LIABILITY:
-                    case EQUITY:
-                    case INCOME:
-                        creditAmount = balance.abs();
-                        break;
-                }
-            } else {
-                switch (account.getType()) {
-                    case ASSET:
-                    case EXPENSE:
-                        creditAmount = balance.abs();
-                        break;
-                    case LIABILITY:
-                    case EQUITY:
-                    case INCOME:
-                        debitAmount = balance.abs();
-                        break;
-                }
-            }
+            BigDecimal balance = balanceAsOf(account.getId(), queryDate);
+
+            // Balances are debit minus credit for every account type, so the sign alone gives the side
+            BigDecimal debitAmount = balance.signum() > 0 ? balance : BigDecimal.ZERO;
+            BigDecimal creditAmount = balance.signum() < 0 ? balance.negate() : BigDecimal.ZERO;
 
             // Add to respective totals
             debitsByType.put(account.getType(),
@@ -105,6 +104,7 @@ public class ReportingService {
                     .build());
         }
 
+        event.finish(accounts.size());
         return TrialBalanceResponse.builder()
                 .asOfDate(queryDate)
                 .accountTypeSummaries(summaries)
@@ -115,9 +115,17 @@ public class ReportingService {
     }
 
   // Enhanced getBalanceSheet
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
 @Cacheable(value = "balanceSheet", key = "#asOfDate?.toString() ?: 'current'")
 public BalanceSheetResponse getBalanceSheet(LocalDateTime asOfDate) {
+    return computeBalanceSheet(asOfDate);
+}
+
+// Uncached; the balanceSheet cache also reloads entries with it
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+public BalanceSheetResponse computeBalanceSheet(LocalDateTime asOfDate) {
     LocalDateTime queryDate = asOfDate != null ? asOfDate : LocalDateTime.now();
+    ReportEvent event = ReportEvent.start("balance_sheet", asOfDate);
 
     List<Account> accounts = accountRepository.findByIsActiveTrue();
 
@@ -134,12 +142,13 @@ public BalanceSheetResponse getBalanceSheet(LocalDateTime asOfDate) {
     BigDecimal totalExpenses = BigDecimal.ZERO;
 
     for (Account account : accounts) {
-        BigDecimal balance = transactionEntryRepository.getAccountBalanceAsOf(account.getId(), queryDate);
+        BigDecimal balance = balanceAsOf(account.getId(), queryDate);
 
         BalanceSheetResponse.AccountBalance ab = BalanceSheetResponse.AccountBalance.builder()
                 .accountId(account.getId())
                 .accountCode(account.getCode())
                 .accountName(account.getName())
+                .accountType(account.getType())
                 .balance(balance)
                 .build();
 
@@ -186,6 +195,7 @@ public BalanceSheetResponse getBalanceSheet(LocalDateTime asOfDate) {
     BigDecimal totalLiabilitiesAndEquity = totalLiabilities.add(totalEquity);
     boolean isBalanced = totalAssets.compareTo(totalLiabilitiesAndEquity) == 0;
 
+    event.finish(accounts.size());
     return BalanceSheetResponse.builder()
             .asOfDate(queryDate)
             .assets(assetsSummary)
@@ -213,9 +223,85 @@ public Page<TransactionEntryResponse> getTransactionHistory(
     return entries.map(this::mapToTransactionEntryResponse);
 }
 
+/**
+ * Keyset variant of {@link #getTransactionHistory}: seeks straight to the cursor position on
+ * (postedAt DESC, id DESC), fetches the account in the same query and never runs a count query,
+ * so page N costs the same as page one.
+ */
+public TransactionHistoryPage getTransactionHistoryPage(
+        String accountId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String cursor,
+        int size) {
+
+    if (!accountRepository.existsById(accountId)) {
+        throw new ResourceNotFoundException("Account not found");
+    }
+
+    LocalDateTime from = startDate != null ? startDate : HISTORY_START;
+    LocalDateTime to = endDate != null ? endDate : LocalDateTime.now();
+    int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+    // One extra row tells us whether another page exists without counting
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<TransactionEntry> rows;
+    if (cursor == null || cursor.isBlank()) {
+        rows = transactionEntryRepository.findHistoryFirstPage(accountId, from, to, limit);
+    } else {
+        HistoryCursor position = HistoryCursor.decode(cursor);
+        rows = transactionEntryRepository.findHistoryPageAfter(
+                accountId, from, to, position.getPostedAt(), position.getEntryId(), limit);
+    }
+
+    List<TransactionEntryResponse> page = new ArrayList<>();
+    HistoryCursor last = null;
+    boolean hasMore = false;
+    for (TransactionEntry entry : rows) {
+        if (page.size() == pageSize) {
+            hasMore = true;
+            break;
+        }
+        page.add(mapToTransactionEntryResponse(entry));
+        last = new HistoryCursor(entry.getPostedAt(), entry.getId());
+    }
+
+    // Continue into cold storage when the database rows run out before the page is full.
+    // Archived months are all older than the database ones, so the cursor applies unchanged.
+    LocalDateTime horizon = archiveStore.horizon();
+    if (!hasMore && horizon != null && from.isBefore(horizon)) {
+        HistoryCursor position = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+        LocalDateTime archivedTo = to.isBefore(horizon) ? to : horizon.minusNanos(1);
+        List<ArchivedEntry> archived = archiveStore.history(accountId, from, archivedTo,
+                position != null ? position.getPostedAt() : null,
+                position != null ? position.getEntryId() : null,
+                pageSize + 1 - page.size());
+
+        String accountCode = archived.isEmpty() ? null : accountRepository.findById(accountId)
+                .map(Account::getCode)
+                .orElse(null);
+        for (ArchivedEntry entry : archived) {
+            if (page.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            page.add(mapToTransactionEntryResponse(entry, accountCode));
+            last = new HistoryCursor(entry.getPostedAt(), entry.getEntryId());
+        }
+    }
+
+    return TransactionHistoryPage.builder()
+            .entries(page)
+            .nextCursor(hasMore ? last.encode() : null)
+            .hasMore(hasMore)
+            .build();
+}
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public LoanAgingResponse getLoanAgingReport() {
         List<Loan> loans = loanRepository.findByStatusIn(Arrays.asList(LoanStatus.ACTIVE, LoanStatus.DISBURSED));
         LocalDateTime currentDate = LocalDateTime.now();
+        ReportEvent event = ReportEvent.start("loan_aging", null);
 
         Map<String, LoanAgingResponse.LoanAgingBucket> buckets = new LinkedHashMap<>();
         buckets.put("CURRENT", new LoanAgingResponse.LoanAgingBucket(0L, BigDecimal.ZERO));
@@ -244,11 +330,30 @@ public Page<TransactionEntryResponse> getTransactionHistory(
             bucket.setTotalAmount(bucket.getTotalAmount().add(loan.getOutstandingBalance()));
         }
 
+        event.finish(loans.size());
         return LoanAgingResponse.builder()
                 .buckets(buckets)
                 .build();
     }
 
+private BigDecimal balanceAsOf(String accountId, LocalDateTime asOfDate) {
+    return transactionEntryRepository.getAccountBalanceAsOf(accountId, asOfDate)
+            .add(archiveStore.balanceAsOf(accountId, asOfDate));
+}
+
+private TransactionEntryResponse mapToTransactionEntryResponse(ArchivedEntry entry, String accountCode) {
+    return TransactionEntryResponse.builder()
+            .accountId(entry.getAccountId())
+            .accountCode(accountCode)
+            .debit(entry.getDebit())
+            .credit(entry.getCredit())
+            .currency(entry.getCurrency())
+            .runningBalance(entry.getRunningBalance())
+            .transactionId(entry.getTransactionId())
+            .postedAt(entry.getPostedAt())
+            .build();
+}
+
 private TransactionEntryResponse mapToTransactionEntryResponse(TransactionEntry entry) {
     return TransactionEntryResponse.builder()
             .accountId(entry.getAccount().getId())
@@ -257,6 +362,8 @@ private TransactionEntryResponse mapToTransactionEntryResponse(TransactionEntry
             .credit(entry.getCredit())
             .currency(entry.getCurrency())
             .runningBalance(entry.getRunningBalance())
+            .transactionId(entry.getTransaction() != null ? entry.getTransaction().getId() : null)
+            .postedAt(entry.getPostedAt())
             .build();
 }
 
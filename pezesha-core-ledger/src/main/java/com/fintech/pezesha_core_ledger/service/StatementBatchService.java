@@ -0,0 +1,482 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.bulkhead.Bulkheads;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.dto.StatementRunResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.enums.StatementRunStatus;
+import com.fintech.pezesha_core_ledger.exception.CapacityExceededException;
+import com.fintech.pezesha_core_ledger.exception.LedgerException;
+import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import com.fintech.pezesha_core_ledger.export.ExportFormat;
+import com.fintech.pezesha_core_ledger.export.ExportWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a month-end statement file for every active account.
+ *
+ * The month's posted entries are read in one ordered scan joined to the accounts, so each
+ * account's rows arrive together. Opening balances come from the previous month's closing
+ * snapshots, or from a single aggregate over older entries when there are none. Each account's
+ * rows are streamed to its file by a writer thread as the scan reads them, several accounts at a
+ * time; once a chunk of accounts' files are on disk their closing balances and the last account
+ * id are committed, so a rerun resumes after them.
+ */
+@Service
+@Slf4j
+@Workload(WorkloadClass.BATCH)
+public class StatementBatchService {
+
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    // Rows of one account buffered between the scan and its writer
+    private static final int ROWS_IN_FLIGHT = 1_000;
+
+    private static final TransactionEntryResponse END_OF_ACCOUNT = TransactionEntryResponse.builder().build();
+
+    private static final String POSTED_ENTRIES =
+            "FROM transaction_entries te " +
+            "JOIN transactions t ON t.id = te.transaction_id AND t.posted_at = te.posted_at " +
+            "WHERE t.status = 'POSTED' ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate scanTransaction;
+    private final TransactionTemplate checkpointTransaction;
+    private final LedgerArchiveStore archiveStore;
+    private final Bulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final boolean enabled;
+    private final int writerThreads;
+    private final int checkpointInterval;
+
+    private final Set<YearMonth> inProgress = ConcurrentHashMap.newKeySet();
+
+    public StatementBatchService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 LedgerArchiveStore archiveStore,
+                                 Bulkheads bulkheads,
+                                 ObjectMapper objectMapper,
+                                 @Value("${ledger.statements.directory:./statements}") String directory,
+                                 @Value("${ledger.statements.enabled:false}") boolean enabled,
+                                 @Value("${ledger.statements.writer-threads:4}") int writerThreads,
+                                 @Value("${ledger.statements.checkpoint-interval:1000}") int checkpointInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        // One snapshot for the whole scan
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.scanTransaction.setReadOnly(true);
+        this.scanTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        // Checkpoints commit on their own connection while the scan's cursor stays open
+        this.checkpointTransaction = new TransactionTemplate(transactionManager);
+        this.checkpointTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.archiveStore = archiveStore;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.enabled = enabled;
+        this.writerThreads = writerThreads;
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+    }
+
+    @Scheduled(cron = "${ledger.statements.cron:0 0 4 1 * *}")
+    public void generatePreviousMonth() {
+        if (!enabled) {
+            return;
+        }
+        generate(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Queues a run for {@code period} on the batch bulkhead. A completed period is returned as it
+     * is; an interrupted or failed one resumes from its checkpoint.
+     *
+     * @throws CapacityExceededException when the batch queue is full
+     */
+    public StatementRunResponse submit(YearMonth period) {
+        validatePeriod(period);
+        StatementRunResponse run = findRun(period);
+        if (run != null && (run.getStatus() == StatementRunStatus.COMPLETED || inProgress.contains(period))) {
+            return run;
+        }
+
+        jdbcTemplate.update("INSERT INTO statement_runs (period, status, started_at) VALUES (?, ?, ?) " +
+                        "ON CONFLICT (period) DO UPDATE SET status = EXCLUDED.status, error = NULL",
+                period.atDay(1), StatementRunStatus.QUEUED.name(), LocalDateTime.now());
+        bulkheads.get(WorkloadClass.BATCH).submit(() -> generate(period));
+        log.info("Queued statement run for {}", period);
+        return findRun(period);
+    }
+
+    public StatementRunResponse getRun(YearMonth period) {
+        StatementRunResponse run = findRun(period);
+        if (run == null) {
+            throw new ResourceNotFoundException("No statement run for " + period);
+        }
+        return run;
+    }
+
+    public StatementRunResponse generate(YearMonth period) {
+        validatePeriod(period);
+        if (!inProgress.add(period)) {
+            log.info("Statement run for {} is already in progress", period);
+            return findRun(period);
+        }
+
+        ExecutorService writers = new ForkJoinPool(writerThreads);
+        try {
+            StatementRunResponse previous = findRun(period);
+            if (previous != null && previous.getStatus() == StatementRunStatus.COMPLETED) {
+                return previous;
+            }
+            String checkpoint = previous != null ? previous.getLastAccountId() : null;
+
+            jdbcTemplate.update("INSERT INTO statement_runs (period, status, started_at) VALUES (?, ?, ?) " +
+                            "ON CONFLICT (period) DO UPDATE SET status = EXCLUDED.status, error = NULL, completed_at = NULL",
+                    period.atDay(1), StatementRunStatus.RUNNING.name(), LocalDateTime.now());
+            log.info("Generating statements for {}{}", period, checkpoint != null ? " after account " + checkpoint : "");
+
+            Path target = directory.resolve(period.toString());
+            Files.createDirectories(target);
+
+            // A failed or running previous month may have checkpointed only some accounts
+            StatementRunResponse previousMonth = findRun(period.minusMonths(1));
+            boolean fromSnapshots = previousMonth != null && previousMonth.getStatus() == StatementRunStatus.COMPLETED;
+            StatementScan scan = new StatementScan(period, target, writers, fromSnapshots);
+
+            scanTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.query(con -> scan.prepare(con.prepareStatement(scanSql(scan.fromSnapshots)), checkpoint), scan);
+                scan.finish();
+            });
+
+            jdbcTemplate.update("UPDATE statement_runs SET status = ?, completed_at = ? WHERE period = ?",
+                    StatementRunStatus.COMPLETED.name(), LocalDateTime.now(), period.atDay(1));
+            log.info("Statements for {} complete: {} accounts in this run", period, scan.accounts);
+            return findRun(period);
+        } catch (IOException | RuntimeException e) {
+            log.error("Statement run for {} failed; a rerun resumes from the last checkpoint", period, e);
+            jdbcTemplate.update("UPDATE statement_runs SET status = ?, error = ? WHERE period = ?",
+                    StatementRunStatus.FAILED.name(),
+                    StringUtils.abbreviate(Objects.toString(e.getMessage(), e.getClass().getName()), 1000),
+                    period.atDay(1));
+            if (e instanceof LedgerException ledgerException) {
+                throw ledgerException;
+            }
+            throw new LedgerException("Statement run for " + period + " failed: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR, "STATEMENT_RUN_FAILED");
+        } finally {
+            writers.shutdownNow();
+            inProgress.remove(period);
+        }
+    }
+
+    private void validatePeriod(YearMonth period) {
+        if (!period.isBefore(YearMonth.now())) {
+            throw new ValidationException("Statements can only be generated for closed months: " + period);
+        }
+        if (archiveStore.contains(period)) {
+            throw new ValidationException("Entries for " + period + " have been archived");
+        }
+    }
+
+    private StatementRunResponse findRun(YearMonth period) {
+        return jdbcTemplate.query(
+                "SELECT status, last_account_id, accounts_done, error, started_at, completed_at " +
+                        "FROM statement_runs WHERE period = ?",
+                (rs, rowNum) -> StatementRunResponse.builder()
+                        .period(period)
+                        .status(StatementRunStatus.valueOf(rs.getString(1)))
+                        .lastAccountId(rs.getString(2))
+                        .accountsDone(rs.getLong(3))
+                        .error(rs.getString(4))
+                        .startedAt(toLocalDateTime(rs.getTimestamp(5)))
+                        .completedAt(toLocalDateTime(rs.getTimestamp(6)))
+                        .build(),
+                period.atDay(1)).stream().findFirst().orElse(null);
+    }
+
+    /**
+     * Every active account after the checkpoint with its opening balance, left-joined to its
+     * posted entries of the month, ordered so that each account's rows are adjacent.
+     */
+    static String scanSql(boolean fromSnapshots) {
+        String opening = fromSnapshots
+                ? "LEFT JOIN account_balance_snapshots o ON o.account_id = a.id AND o.period = ? "
+                : "LEFT JOIN (SELECT te.account_id, SUM(te.debit - te.credit) AS closing_balance " + POSTED_ENTRIES +
+                  "AND te.posted_at < ? AND t.posted_at < ? GROUP BY te.account_id) o ON o.account_id = a.id ";
+        return "SELECT a.id, a.code, a.currency, COALESCE(o.closing_balance, 0), " +
+                "e.id, e.transaction_id, e.posted_at, e.debit, e.credit, e.currency " +
+                "FROM accounts a " + opening +
+                "LEFT JOIN (SELECT te.id, te.account_id, te.transaction_id, te.posted_at, te.debit, te.credit, te.currency " +
+                POSTED_ENTRIES + "AND te.posted_at >= ? AND te.posted_at < ? AND t.posted_at >= ? AND t.posted_at < ?) e " +
+                "ON e.account_id = a.id " +
+                "WHERE a.is_active = true AND a.id > ? " +
+                "ORDER BY a.id, e.posted_at, e.id";
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Groups scanned rows by account. Each account's rows are handed to a writer thread as they are
+     * read, at most {@code writerThreads} accounts are open at a time, and finished accounts are
+     * checkpointed in chunks: the one being read and the one whose files are being completed.
+     */
+    private final class StatementScan implements RowCallbackHandler {
+
+        private final YearMonth period;
+        private final Path target;
+        private final ExecutorService writers;
+        private final Semaphore openAccounts;
+        private final boolean fromSnapshots;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private AccountStatement current;
+        private List<AccountStatement> chunk = new ArrayList<>();
+        private List<AccountStatement> writing;
+        private CompletableFuture<Void> written;
+        private long accounts;
+
+        private StatementScan(YearMonth period, Path target, ExecutorService writers, boolean fromSnapshots) {
+            this.period = period;
+            this.target = target;
+            this.writers = writers;
+            this.openAccounts = new Semaphore(Math.max(1, writerThreads));
+            this.fromSnapshots = fromSnapshots;
+            this.start = period.atDay(1).atStartOfDay();
+            this.end = period.plusMonths(1).atDay(1).atStartOfDay();
+        }
+
+        private PreparedStatement prepare(PreparedStatement ps, String checkpoint) throws SQLException {
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            int i = 1;
+            if (fromSnapshots) {
+                ps.setObject(i++, period.minusMonths(1).atDay(1));
+            } else {
+                ps.setTimestamp(i++, Timestamp.valueOf(start));
+                ps.setTimestamp(i++, Timestamp.valueOf(start));
+            }
+            ps.setTimestamp(i++, Timestamp.valueOf(start));
+            ps.setTimestamp(i++, Timestamp.valueOf(end));
+            ps.setTimestamp(i++, Timestamp.valueOf(start));
+            ps.setTimestamp(i++, Timestamp.valueOf(end));
+            ps.setString(i, checkpoint != null ? checkpoint : "");
+            return ps;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String accountId = rs.getString(1);
+            if (current == null || !current.accountId.equals(accountId)) {
+                if (current != null) {
+                    add(current);
+                }
+                BigDecimal opening = rs.getBigDecimal(4);
+                if (!fromSnapshots) {
+                    // Timestamps are stored to the microsecond
+                    opening = opening.add(archiveStore.balanceAsOf(accountId, start.minus(1, ChronoUnit.MICROS)));
+                }
+                current = open(accountId, rs.getString(2), Currency.valueOf(rs.getString(3)), opening);
+            }
+            if (rs.getString(5) != null) {
+                current.add(rs.getString(6), rs.getTimestamp(7).toLocalDateTime(),
+                        rs.getBigDecimal(8), rs.getBigDecimal(9), Currency.valueOf(rs.getString(10)));
+            }
+        }
+
+        private AccountStatement open(String accountId, String accountCode, Currency currency, BigDecimal opening) {
+            try {
+                openAccounts.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while opening the statement of account " + accountId, e);
+            }
+            AccountStatement statement = new AccountStatement(accountId, accountCode, currency, start, opening);
+            try {
+                statement.written = CompletableFuture.runAsync(() -> write(statement), writers);
+            } catch (RuntimeException e) {
+                openAccounts.release();
+                throw e;
+            }
+            return statement;
+        }
+
+        private void add(AccountStatement statement) {
+            statement.end();
+            chunk.add(statement);
+            if (chunk.size() >= checkpointInterval) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<AccountStatement> batch = chunk;
+            chunk = new ArrayList<>();
+            CompletableFuture<Void> files = CompletableFuture.allOf(batch.stream()
+                    .map(statement -> statement.written)
+                    .toArray(CompletableFuture[]::new));
+            awaitWriting();
+            writing = batch;
+            written = files;
+        }
+
+        private void finish() {
+            if (current != null) {
+                add(current);
+                current = null;
+            }
+            flush();
+            awaitWriting();
+        }
+
+        // Checkpoints strictly in scan order, so the saved account id never runs ahead of a missing file
+        private void awaitWriting() {
+            if (writing == null) {
+                return;
+            }
+            written.join();
+            List<Object[]> closing = writing.stream()
+                    .map(statement -> new Object[]{period.atDay(1), statement.accountId, statement.balance})
+                    .toList();
+            String lastAccountId = writing.get(writing.size() - 1).accountId;
+            checkpointTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("INSERT INTO account_balance_snapshots (period, account_id, closing_balance) " +
+                        "VALUES (?, ?, ?) ON CONFLICT (period, account_id) DO UPDATE SET closing_balance = EXCLUDED.closing_balance",
+                        closing);
+                jdbcTemplate.update("UPDATE statement_runs SET last_account_id = ?, accounts_done = accounts_done + ? WHERE period = ?",
+                        lastAccountId, closing.size(), period.atDay(1));
+            });
+            accounts += closing.size();
+            writing = null;
+            written = null;
+        }
+
+        private void write(AccountStatement statement) {
+            Path file = target.resolve(statement.accountId + ".csv");
+            Path tmp = target.resolve(statement.accountId + ".csv.tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    ExportWriter<TransactionEntryResponse> writer = ReportExportService.statementWriter(ExportFormat.CSV, out, objectMapper);
+                    for (TransactionEntryResponse row = statement.rows.take(); row != END_OF_ACCOUNT; row = statement.rows.take()) {
+                        writer.write(row);
+                    }
+                    writer.finish();
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while writing the statement of account " + statement.accountId, e);
+            } finally {
+                openAccounts.release();
+            }
+        }
+    }
+
+    /**
+     * One account's month: an opening row followed by its entries, each with the balance after it.
+     * Rows wait in a small bounded queue until the account's writer takes them.
+     */
+    private static final class AccountStatement {
+
+        private final String accountId;
+        private final String accountCode;
+        private final BlockingQueue<TransactionEntryResponse> rows = new ArrayBlockingQueue<>(ROWS_IN_FLIGHT);
+        private CompletableFuture<Void> written;
+        private BigDecimal balance;
+
+        private AccountStatement(String accountId, String accountCode, Currency currency, LocalDateTime start, BigDecimal opening) {
+            this.accountId = accountId;
+            this.accountCode = accountCode;
+            this.balance = opening;
+            rows.add(TransactionEntryResponse.builder()
+                    .postedAt(start)
+                    .accountId(accountId)
+                    .accountCode(accountCode)
+                    .currency(currency)
+                    .runningBalance(opening)
+                    .build());
+        }
+
+        private void add(String transactionId, LocalDateTime postedAt, BigDecimal debit, BigDecimal credit, Currency currency) {
+            balance = balance.add(debit).subtract(credit);
+            put(TransactionEntryResponse.builder()
+                    .postedAt(postedAt)
+                    .transactionId(transactionId)
+                    .accountId(accountId)
+                    .accountCode(accountCode)
+                    .currency(currency)
+                    .debit(debit)
+                    .credit(credit)
+                    .runningBalance(balance)
+                    .build());
+        }
+
+        private void end() {
+            put(END_OF_ACCOUNT);
+        }
+
+        private void put(TransactionEntryResponse row) {
+            try {
+                // A writer that failed stops taking rows; rethrow its error rather than wait forever
+                while (!rows.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                    if (written.isCompletedExceptionally()) {
+                        written.join();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading the statement of account " + accountId, e);
+            }
+        }
+    }
+}
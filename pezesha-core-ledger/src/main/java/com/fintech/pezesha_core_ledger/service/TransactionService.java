@@ -1,5 +1,10 @@
 package com.fintech.pezesha_core_ledger.service;
 
+import com.fintech.pezesha_core_ledger.admission.AdmissionControlled;
+import com.fintech.pezesha_core_ledger.archive.ArchivedEntry;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.bulkhead.Workload;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
 import com.fintech.pezesha_core_ledger.dto.TransactionEntryRequest;
 import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
 import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
@@ -8,12 +13,19 @@ import com.fintech.pezesha_core_ledger.enums.TransactionStatus;
 import com.fintech.pezesha_core_ledger.exception.AccountingException;
 import com.fintech.pezesha_core_ledger.exception.ConcurrencyException;
 import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.exception.TransactionArchivedException;
 import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import com.fintech.pezesha_core_ledger.jfr.AccountLockEvent;
+import com.fintech.pezesha_core_ledger.jfr.PostingEvent;
+import com.fintech.pezesha_core_ledger.metrics.PostingMetrics;
+import com.fintech.pezesha_core_ledger.metrics.PostingStage;
 import com.fintech.pezesha_core_ledger.models.Account;
 import com.fintech.pezesha_core_ledger.models.Transaction;
 import com.fintech.pezesha_core_ledger.models.TransactionEntry;
+import com.fintech.pezesha_core_ledger.outbox.LedgerEventRecorder;
 import com.fintech.pezesha_core_ledger.repository.AccountRepository;
 import com.fintech.pezesha_core_ledger.repository.TransactionRepository;
+import com.fintech.pezesha_core_ledger.sequence.LedgerSequence;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -22,6 +34,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -31,17 +44,37 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Workload(WorkloadClass.POINT_READ)
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final Map<String, ReentrantLock> accountLocks = new ConcurrentHashMap<>();
     private final IdempotencyService idempotencyService;
+    private final LedgerEventRecorder ledgerEventRecorder;
+    private final LedgerSequence ledgerSequence;
+    private final PostingMetrics postingMetrics;
+    private final LedgerArchiveStore archiveStore;
 
+    @Workload(WorkloadClass.POSTING)
+    @AdmissionControlled
     @Transactional
     @CacheEvict(value = {"accountBalance", "trialBalance", "balanceSheet"}, allEntries = true)
     public TransactionResponse postTransaction(TransactionRequest request) {
+        PostingEvent event = new PostingEvent();
+        event.begin();
+        try {
+            return post(request, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private TransactionResponse post(TransactionRequest request, PostingEvent event) {
         log.info("Processing transaction with idempotency key: {}", request.getIdempotencyKey());
+        long stageStart = System.nanoTime();
+        event.idempotencyKey = request.getIdempotencyKey();
+        event.entryCount = request.getEntries() != null ? request.getEntries().size() : 0;
 
         // Idempotency check
         String idempotencyKey = request.getIdempotencyKey();
@@ -51,13 +84,18 @@ public class TransactionService {
             TransactionResponse cached = idempotencyService.getIdempotentResult(idempotencyKey, TransactionResponse.class);
             if (cached != null) {
                 log.info("Returning cached transaction for idempotency key: {}", idempotencyKey);
+                event.idempotency = postingMetrics.stage(PostingStage.IDEMPOTENCY, stageStart) - stageStart;
+                event.outcome = PostingEvent.CACHE_REPLAY;
+                postingMetrics.idempotentReplayFromCache();
                 return cached;
             }
         }
 
         Optional<Transaction> existingTransaction = transactionRepository.findByIdempotencyKey(idempotencyKey);
         if (existingTransaction.isPresent()) {
-            TransactionResponse resp = mapToResponse(existingTransaction.get());
+            TransactionResponse resp = isArchived(existingTransaction.get())
+                    ? mapArchivedReplay(existingTransaction.get(), request)
+                    : mapToResponse(existingTransaction.get());
             // store into idempotency cache for faster subsequent lookups
             try {
                 idempotencyService.storeIdempotencyKey(idempotencyKey, resp);
@@ -65,23 +103,43 @@ public class TransactionService {
                 log.warn("Failed to store idempotency key in cache: {}", e.getMessage());
             }
             log.info("Returning existing transaction for idempotency key: {}", idempotencyKey);
+            event.idempotency = postingMetrics.stage(PostingStage.IDEMPOTENCY, stageStart) - stageStart;
+            event.outcome = PostingEvent.DATABASE_REPLAY;
+            postingMetrics.idempotentReplayFromDatabase();
             return resp;
         }
+        long stageEnd = postingMetrics.stage(PostingStage.IDEMPOTENCY, stageStart);
+        event.idempotency = stageEnd - stageStart;
+        stageStart = stageEnd;
 
         // Validate transaction
         validateTransaction(request);
+        stageEnd = postingMetrics.stage(PostingStage.VALIDATION, stageStart);
+        event.validation = stageEnd - stageStart;
+        stageStart = stageEnd;
 
         // Get all affected account IDs
         Set<String> accountIds = request.getEntries().stream()
                 .map(TransactionEntryRequest::getAccountId)
                 .collect(Collectors.toSet());
+        event.accountCount = accountIds.size();
 
         // Acquire local locks for all affected accounts (ordered to avoid deadlocks)
         List<ReentrantLock> locks = acquireAccountLocks(accountIds);
+        stageEnd = postingMetrics.stage(PostingStage.LOCK_WAIT, stageStart);
+        event.lockWait = stageEnd - stageStart;
+        stageStart = stageEnd;
         try {
             // Create and save transaction while holding locks
             Transaction transaction = createTransaction(request);
+            ledgerSequence.assign(transaction);
             Transaction savedTransaction = transactionRepository.save(transaction);
+            ledgerEventRecorder.transactionPosted(savedTransaction);
+            // Flush here so the inserts are timed on their own rather than inside the commit
+            transactionRepository.flush();
+            event.insert = postingMetrics.stage(PostingStage.INSERT, stageStart) - stageStart;
+            event.outcome = PostingEvent.POSTED;
+            postingMetrics.timeCommit();
 
             log.info("Transaction posted successfully: {}", savedTransaction.getId());
             TransactionResponse response = mapToResponse(savedTransaction);
@@ -100,7 +158,12 @@ public class TransactionService {
         }
     }
 
-    private void validateTransaction(TransactionRequest request) {
+    void validateTransaction(TransactionRequest request) {
+        // Bean validation covers API requests; reversals and other internal postings come through here only
+        if (request.getEntries() == null || request.getEntries().size() < 2) {
+            throw new ValidationException("Transaction must have at least 2 entries");
+        }
+
         // Validate debits equal credits
         BigDecimal totalDebits = request.getEntries().stream()
                 .map(TransactionEntryRequest::getDebit)
@@ -178,7 +241,7 @@ public class TransactionService {
         return transaction;
     }
 
-    private List<ReentrantLock> acquireAccountLocks(Set<String> accountIds) {
+    List<ReentrantLock> acquireAccountLocks(Set<String> accountIds) {
         List<ReentrantLock> acquired = new ArrayList<>();
 
         // Acquire locks in deterministic order to avoid deadlocks
@@ -188,15 +251,25 @@ public class TransactionService {
         for (String accountId : sorted) {
             // if lock already exists re-use it
             ReentrantLock lock = accountLocks.computeIfAbsent(accountId, k -> new ReentrantLock());
-            boolean locked = false;
-            try {
-                // create a new lock  if not
-                locked = lock.tryLock(30, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            boolean locked = lock.tryLock();
+            if (!locked) {
+                // Someone else is posting to this account: wait, and record how long
+                AccountLockEvent lockEvent = new AccountLockEvent();
+                lockEvent.begin();
+                long waitStart = System.nanoTime();
+                try {
+                    locked = lock.tryLock(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                postingMetrics.lockContended(accountId, System.nanoTime() - waitStart);
+                lockEvent.accountId = accountId;
+                lockEvent.acquired = locked;
+                lockEvent.commit();
             }
 
             if (!locked) {
+                postingMetrics.lockTimedOut();
                 // release already acquired locks
                 releaseLocks(acquired);
                 throw new ConcurrencyException("Failed to acquire lock for account: " + accountId);
@@ -209,7 +282,7 @@ public class TransactionService {
         return acquired;
     }
 
-    private void releaseLocks(List<ReentrantLock> locks) {
+    void releaseLocks(List<ReentrantLock> locks) {
         for (ReentrantLock lock : locks) {
             try {
                 if (lock.isHeldByCurrentThread()) {
@@ -222,6 +295,8 @@ public class TransactionService {
         }
     }
 
+    @Workload(WorkloadClass.POSTING)
+    @AdmissionControlled
     @Transactional
     @CacheEvict(value = {"accountBalance", "trialBalance", "balanceSheet"}, allEntries = true)
     public TransactionResponse reverseTransaction(String transactionId, String reason) {
@@ -234,6 +309,14 @@ public class TransactionService {
             throw new ValidationException("Transaction already reversed");
         }
 
+        // Archiving drops the period's entry partitions and keeps only the header row, so there
+        // are no legs left here to swap
+        YearMonth period = YearMonth.from(original.getPostedAt());
+        if (archiveStore.contains(period)) {
+            throw new ValidationException("Transaction " + transactionId + " is in archived period " + period
+                    + " and cannot be reversed; post a correcting transaction instead");
+        }
+
         // Create reversal transaction
         TransactionRequest reversalRequest = createReversalRequest(original, reason);
         TransactionResponse reversal = postTransaction(reversalRequest);
@@ -241,6 +324,7 @@ public class TransactionService {
         // Update original transaction status
         original.setStatus(TransactionStatus.REVERSED);
         transactionRepository.save(original);
+        ledgerEventRecorder.transactionReversed(original, reversal.getId(), reason);
 
         log.info("Transaction reversed successfully: {}", transactionId);
         return reversal;
@@ -263,19 +347,62 @@ public class TransactionService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public TransactionResponse getTransaction(String transactionId) {
         Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
+        if (isArchived(transaction)) {
+            // The archive is indexed by account, so without the accounts the legs cannot be found
+            throw new TransactionArchivedException("Transaction " + transactionId + " is in archived period "
+                    + YearMonth.from(transaction.getPostedAt()) + "; its entries are in the account history");
+        }
         return mapToResponse(transaction);
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getAllTransactions() {
         return transactionRepository.findAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
-    private TransactionResponse mapToResponse(Transaction transaction) {
+    // Archiving drops the period's entry partitions and keeps only the header row
+    private boolean isArchived(Transaction transaction) {
+        return (transaction.getEntries() == null || transaction.getEntries().isEmpty())
+                && archiveStore.contains(YearMonth.from(transaction.getPostedAt()));
+    }
+
+    /**
+     * Replays an archived transaction with its legs read back from the archive, looked up
+     * through the accounts named in the retried request.
+     */
+    private TransactionResponse mapArchivedReplay(Transaction transaction, TransactionRequest request) {
+        Set<String> accountIds = request.getEntries().stream()
+                .map(TransactionEntryRequest::getAccountId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<ArchivedEntry> archived = archiveStore.transactionEntries(
+                transaction.getId(), transaction.getPostedAt(), accountIds);
+        if (archived.isEmpty()) {
+            throw new TransactionArchivedException("Idempotency key " + transaction.getIdempotencyKey()
+                    + " was used by transaction " + transaction.getId() + " in archived period "
+                    + YearMonth.from(transaction.getPostedAt()) + " on other accounts");
+        }
+
+        Map<String, String> codes = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Account::getCode));
+        return mapToResponse(transaction, archived.stream()
+                .map(entry -> TransactionEntryResponse.builder()
+                        .accountId(entry.getAccountId())
+                        .accountCode(codes.get(entry.getAccountId()))
+                        .debit(entry.getDebit())
+                        .credit(entry.getCredit())
+                        .currency(entry.getCurrency())
+                        .runningBalance(entry.getRunningBalance())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    TransactionResponse mapToResponse(Transaction transaction) {
         List<TransactionEntryResponse> entryResponses = transaction.getEntries().stream()
                 .map(entry -> TransactionEntryResponse.builder()
                         .accountId(entry.getAccount().getId())
@@ -286,9 +413,13 @@ public class TransactionService {
                         .runningBalance(entry.getRunningBalance())
                         .build())
                 .collect(Collectors.toList());
+        return mapToResponse(transaction, entryResponses);
+    }
 
+    private TransactionResponse mapToResponse(Transaction transaction, List<TransactionEntryResponse> entryResponses) {
         return TransactionResponse.builder()
                 .id(transaction.getId())
+                .ledgerSequence(transaction.getLedgerSequence())
                 .idempotencyKey(transaction.getIdempotencyKey())
                 .description(transaction.getDescription())
                 .status(transaction.getStatus().name())
@@ -0,0 +1,113 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code EXPLAIN (ANALYZE, BUFFERS)} for sampled slow reads on one background thread, with
+ * the original bind values replayed through the same setters. Each normalized statement is
+ * explained at most once per interval, and plans that cannot be queued are skipped, so a burst
+ * of slow queries never turns into a burst of extra load.
+ */
+@Slf4j
+class PlanSampler {
+
+    private final DataSource dataSource;
+    private final SlowQueryProperties.Explain settings;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    /**
+     * @param dataSource the unwrapped data source, so plans are not captured as slow queries
+     */
+    PlanSampler(DataSource dataSource, SlowQueryProperties.Explain settings) {
+        this.dataSource = dataSource;
+        this.settings = settings;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueSize())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    void offer(SlowQuery query, String sql, List<ParameterSetOperation> parameters) {
+        if (!settings.isEnabled()) {
+            query.planSkipped("explain disabled");
+            return;
+        }
+        if (!SqlNormalizer.isExplainable(sql)) {
+            query.planSkipped("not a plain read");
+            return;
+        }
+        if (!claim(query.getSql())) {
+            query.planSkipped("explained recently");
+            return;
+        }
+        query.planQueued();
+        try {
+            executor.execute(() -> explain(query, sql, parameters));
+        } catch (RejectedExecutionException e) {
+            lastExplained.remove(query.getSql());
+            query.planSkipped("explain queue full");
+        }
+    }
+
+    private boolean claim(String normalizedSql) {
+        long now = System.nanoTime();
+        long interval = settings.getInterval().toNanos();
+        Long previous = lastExplained.get(normalizedSql);
+        if (previous == null) {
+            return lastExplained.putIfAbsent(normalizedSql, now) == null;
+        }
+        return now - previous >= interval && lastExplained.replace(normalizedSql, previous, now);
+    }
+
+    private void explain(SlowQuery query, String sql, List<ParameterSetOperation> parameters) {
+        // Read-only work goes to the replica where one is configured, same as the reports themselves
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try {
+                try (Statement timeout = connection.createStatement()) {
+                    timeout.execute("SET LOCAL statement_timeout = " + settings.getStatementTimeout().toMillis());
+                }
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                    for (ParameterSetOperation parameter : parameters) {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    query.planned(plan.toString().stripTrailing());
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (Exception e) {
+            log.debug("Could not explain slow query {}", query.getSql(), e);
+            query.planFailed(e.getClass().getSimpleName() + ": " + e.getMessage());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One statement that ran over the threshold. Bind values are not kept, only their shapes
+ * ({@code setString(36)}, {@code setTimestamp}, ...); the plan arrives later, off the request
+ * thread, if this statement was sampled.
+ */
+@Getter
+public class SlowQuery {
+
+    private final Instant capturedAt;
+    private final long elapsedMillis;
+    private final String sql;
+    private final List<String> parameters;
+    private final String caller;
+    private final boolean success;
+    private volatile String plan;
+    private volatile String planStatus;
+
+    SlowQuery(Instant capturedAt, long elapsedMillis, String sql, List<String> parameters, String caller,
+              boolean success) {
+        this.capturedAt = capturedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.caller = caller;
+        this.success = success;
+    }
+
+    void planSkipped(String reason) {
+        this.planStatus = "skipped: " + reason;
+    }
+
+    void planQueued() {
+        this.planStatus = "queued";
+    }
+
+    void planned(String plan) {
+        this.plan = plan;
+        this.planStatus = "explained";
+    }
+
+    void planFailed(String reason) {
+        this.planStatus = "failed: " + reason;
+    }
+}
@@ -0,0 +1,64 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data source (the bean named dataSource, whichever configuration built
+ * it) so every statement is timed, and exposes the slow ones at /actuator/slowqueries.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    @ConfigurationProperties("ledger.slow-query")
+    public SlowQueryProperties slowQueryProperties() {
+        return new SlowQueryProperties();
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+        return new SlowQueryLog(properties.getCapacity());
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+
+    // Static, and resolving its dependencies only when the data source appears, so registering it
+    // does not initialize the rest of the context early
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceWrapper(ObjectProvider<SlowQueryProperties> properties,
+                                                               ObjectProvider<SlowQueryLog> slowQueryLog,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SlowQueryProperties settings = properties.getObject();
+                PlanSampler planSampler = new PlanSampler(dataSource, settings.getExplain());
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(DATA_SOURCE_BEAN)
+                        .listener(new SlowQueryListener(settings, slowQueryLog.getObject(), planSampler,
+                                meterRegistry.getObject()))
+                        .build();
+            }
+        };
+    }
+}
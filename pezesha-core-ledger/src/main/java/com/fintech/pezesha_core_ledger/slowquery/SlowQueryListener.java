@@ -0,0 +1,102 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures statements that ran over the threshold into the {@link SlowQueryLog} and offers them
+ * to the {@link PlanSampler}. Everything beyond one comparison happens only for slow statements.
+ */
+class SlowQueryListener implements QueryExecutionListener {
+
+    private static final String APPLICATION_PACKAGE = "com.fintech.pezesha_core_ledger.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final long thresholdMillis;
+    private final SlowQueryLog slowQueryLog;
+    private final PlanSampler planSampler;
+    private final Counter slowQueries;
+
+    SlowQueryListener(SlowQueryProperties properties, SlowQueryLog slowQueryLog, PlanSampler planSampler,
+                      MeterRegistry meterRegistry) {
+        this.thresholdMillis = properties.getThreshold().toMillis();
+        this.slowQueryLog = slowQueryLog;
+        this.planSampler = planSampler;
+        this.slowQueries = Counter.builder("ledger.sql.slow")
+                .description("Statements that ran longer than ledger.slow-query.threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || queryInfoList.isEmpty()) {
+            return;
+        }
+        slowQueries.increment();
+        // A statement batch carries several queries; the first stands for the batch
+        QueryInfo queryInfo = queryInfoList.get(0);
+        List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                ? List.of()
+                : queryInfo.getParametersList().get(0);
+        SlowQuery query = new SlowQuery(Instant.now(), execInfo.getElapsedTime(),
+                SqlNormalizer.normalize(queryInfo.getQuery()), shapes(parameters), caller(), execInfo.isSuccess());
+        slowQueryLog.add(query);
+        planSampler.offer(query, queryInfo.getQuery(), parameters);
+    }
+
+    /**
+     * The setter and the size or type of each bind value, never the value itself.
+     */
+    static List<String> shapes(List<ParameterSetOperation> parameters) {
+        List<String> shapes = new ArrayList<>(parameters.size());
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            String setter = parameter.getMethod().getName();
+            if (args == null || args.length < 2) {
+                shapes.add(setter);
+                continue;
+            }
+            Object value = args[1];
+            String shape;
+            if (value == null || setter.equals("setNull")) {
+                shape = "null";
+            } else if (value instanceof CharSequence text) {
+                shape = "length " + text.length();
+            } else if (value instanceof BigDecimal decimal) {
+                shape = "scale " + decimal.scale();
+            } else {
+                shape = value.getClass().getSimpleName();
+            }
+            shapes.add(args[0] + ": " + setter + "(" + shape + ")");
+        }
+        return shapes;
+    }
+
+    /**
+     * The innermost application frame outside this package and Spring's generated proxies, such as
+     * {@code ReportingService.balanceAsOf:352}.
+     */
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(SlowQueryListener.class.getPackageName())
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent slow queries in a fixed ring; a new capture overwrites the oldest. Writers
+ * never block each other or readers.
+ */
+public class SlowQueryLog {
+
+    private final AtomicReferenceArray<SlowQuery> ring;
+    private final AtomicLong written = new AtomicLong();
+
+    public SlowQueryLog(int capacity) {
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    void add(SlowQuery query) {
+        long slot = written.getAndIncrement();
+        ring.set((int) (slot % ring.length()), query);
+    }
+
+    /**
+     * Captured queries, newest first.
+     */
+    public List<SlowQuery> recent() {
+        long end = written.get();
+        List<SlowQuery> recent = new ArrayList<>();
+        for (long i = end - 1; i >= 0 && i >= end - ring.length(); i--) {
+            SlowQuery query = ring.get((int) (i % ring.length()));
+            if (query != null) {
+                recent.add(query);
+            }
+        }
+        return recent;
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+    }
+}
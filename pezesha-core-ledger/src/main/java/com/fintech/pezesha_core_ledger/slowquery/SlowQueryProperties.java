@@ -0,0 +1,34 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    // Statements at least this slow are captured
+    private Duration threshold = Duration.ofMillis(500);
+
+    // Captured statements kept for the actuator endpoint, oldest dropped first
+    private int capacity = 100;
+
+    private Explain explain = new Explain();
+
+    @Data
+    public static class Explain {
+
+        private boolean enabled = true;
+
+        // At most one plan per normalized statement in this interval
+        private Duration interval = Duration.ofMinutes(10);
+
+        // Waiting plans beyond this are dropped rather than queued
+        private int queueSize = 16;
+
+        // EXPLAIN ANALYZE runs the query again, so it gets a hard limit
+        private Duration statementTimeout = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,71 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL to a shape that is the same for every execution of a query: literals become
+ * {@code ?}, IN lists of any length become {@code (?...)} and whitespace collapses to single spaces.
+ */
+final class SqlNormalizer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    // Digits that are not part of an identifier such as te1_0
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w$])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Data-modifying CTEs and row-locking clauses (FOR UPDATE, FOR NO KEY UPDATE, FOR SHARE)
+    private static final Pattern WRITES_OR_LOCKS = Pattern.compile(
+            "\\b(insert|update|delete|merge|for\\s+(key\\s+)?share)\\b", Pattern.CASE_INSENSITIVE);
+    // Sequence calls advance the sequence even under EXPLAIN ANALYZE
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("\\b(nextval|setval)\\s*\\(");
+    private static final Pattern FROM = Pattern.compile("\\bfrom\\b");
+    // A set-returning function such as FROM ledger_create_monthly_partition(?, ?)
+    private static final Pattern FROM_FUNCTION = Pattern.compile("\\bfrom\\s+[\\w.]+\\s*\\(");
+
+    private SqlNormalizer() {
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Whether EXPLAIN ANALYZE may run the statement again: plain reads of tables only, never
+     * anything that writes, takes row locks, advances a sequence or only calls a function, since
+     * a function such as {@code ledger_create_monthly_partition} may write.
+     */
+    static boolean isExplainable(String sql) {
+        String lower = sql.stripLeading().toLowerCase();
+        if (!(lower.startsWith("select") || lower.startsWith("with"))
+                || WRITES_OR_LOCKS.matcher(lower).find()
+                || SEQUENCE_CALL.matcher(lower).find()) {
+            return false;
+        }
+        String outer = outermost(lower);
+        return FROM.matcher(outer).find() && !FROM_FUNCTION.matcher(outer).find();
+    }
+
+    // The statement with every parenthesised part emptied, so FROM inside EXTRACT or a subquery does not count
+    private static String outermost(String sql) {
+        StringBuilder outer = new StringBuilder(sql.length());
+        int depth = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                if (depth++ == 0) {
+                    outer.append(c);
+                }
+            } else if (c == ')') {
+                if (depth > 0 && --depth == 0) {
+                    outer.append(c);
+                }
+            } else if (depth == 0) {
+                outer.append(c);
+            }
+        }
+        return outer.toString();
+    }
+}
@@ -0,0 +1,77 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE accounts (
+    id         VARCHAR(255) NOT NULL,
+    code       VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    type       VARCHAR(255) NOT NULL,
+    currency   VARCHAR(255) NOT NULL,
+    parent_id  VARCHAR(255),
+    is_active  BOOLEAN      NOT NULL,
+    version    BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT accounts_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_account_code UNIQUE (code),
+    CONSTRAINT fk_account_parent FOREIGN KEY (parent_id) REFERENCES accounts (id)
+);
+
+CREATE INDEX idx_account_code ON accounts (code);
+CREATE INDEX idx_account_type ON accounts (type);
+CREATE INDEX idx_account_parent ON accounts (parent_id);
+
+CREATE TABLE loans (
+    id                  VARCHAR(255)   NOT NULL,
+    account_id          VARCHAR(255)   NOT NULL,
+    principal_amount    NUMERIC(38, 2) NOT NULL,
+    currency            VARCHAR(255)   NOT NULL,
+    interest_rate       NUMERIC(38, 2) NOT NULL,
+    disbursement_date   TIMESTAMP(6),
+    due_date            TIMESTAMP(6),
+    status              VARCHAR(255)   NOT NULL,
+    outstanding_balance NUMERIC(38, 2),
+    last_payment_date   TIMESTAMP(6),
+    version             BIGINT,
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    CONSTRAINT loans_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_loan_account ON loans (account_id);
+CREATE INDEX idx_loan_status ON loans (status);
+CREATE INDEX idx_loan_due_date ON loans (due_date);
+
+CREATE TABLE transactions (
+    id              VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    description     VARCHAR(255) NOT NULL,
+    status          VARCHAR(255) NOT NULL,
+    posted_at       TIMESTAMP(6),
+    reversal_of     VARCHAR(255),
+    version         BIGINT,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT transactions_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_transaction_idempotency_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX idx_transaction_idempotency ON transactions (idempotency_key);
+CREATE INDEX idx_transaction_posted_at ON transactions (posted_at);
+
+CREATE TABLE transaction_entries (
+    id              VARCHAR(255)   NOT NULL,
+    transaction_id  VARCHAR(255)   NOT NULL,
+    account_id      VARCHAR(255)   NOT NULL,
+    debit           NUMERIC(38, 2) NOT NULL,
+    credit          NUMERIC(38, 2) NOT NULL,
+    currency        VARCHAR(255)   NOT NULL,
+    running_balance NUMERIC(38, 2),
+    posted_at       TIMESTAMP(6),
+    CONSTRAINT transaction_entries_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_entry_transaction FOREIGN KEY (transaction_id) REFERENCES transactions (id),
+    CONSTRAINT fk_entry_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+CREATE INDEX idx_entry_account_posted_id ON transaction_entries (account_id, posted_at, id);
+CREATE INDEX idx_entry_transaction ON transaction_entries (transaction_id);
@@ -0,0 +1,123 @@
+-- Range-partition transactions and transaction_entries by posted_at month.
+--
+-- Postgres requires the partition key in every unique constraint, so the primary keys become
+-- (id, posted_at) and the entry -> transaction foreign key carries posted_at as well. Global
+-- idempotency-key uniqueness moves to the unpartitioned transaction_idempotency_keys table,
+-- filled by trigger, which also lets findByIdempotencyKey prune to a single partition.
+
+CREATE OR REPLACE FUNCTION ledger_create_monthly_partition(parent_table TEXT, month_start DATE)
+    RETURNS VOID
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition_name TEXT := parent_table || '_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent_table, month_start, (month_start + INTERVAL '1 month')::DATE);
+END;
+$$;
+
+-- Move the unpartitioned tables aside, freeing their index names
+ALTER TABLE transaction_entries RENAME TO transaction_entries_legacy;
+ALTER TABLE transactions RENAME TO transactions_legacy;
+
+ALTER INDEX IF EXISTS idx_entry_account_date RENAME TO idx_entry_account_date_legacy;
+ALTER INDEX IF EXISTS idx_entry_account_posted_id RENAME TO idx_entry_account_posted_id_legacy;
+ALTER INDEX IF EXISTS idx_entry_transaction RENAME TO idx_entry_transaction_legacy;
+ALTER INDEX IF EXISTS idx_transaction_idempotency RENAME TO idx_transaction_idempotency_legacy;
+ALTER INDEX IF EXISTS idx_transaction_posted_at RENAME TO idx_transaction_posted_at_legacy;
+
+CREATE TABLE transactions (
+    id              VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    description     VARCHAR(255) NOT NULL,
+    status          VARCHAR(255) NOT NULL,
+    posted_at       TIMESTAMP(6) NOT NULL,
+    reversal_of     VARCHAR(255),
+    version         BIGINT,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT pk_transactions PRIMARY KEY (id, posted_at)
+) PARTITION BY RANGE (posted_at);
+
+CREATE INDEX idx_transaction_idempotency ON transactions (idempotency_key);
+CREATE INDEX idx_transaction_posted_at ON transactions (posted_at);
+
+CREATE TABLE transaction_entries (
+    id              VARCHAR(255)   NOT NULL,
+    transaction_id  VARCHAR(255)   NOT NULL,
+    account_id      VARCHAR(255)   NOT NULL,
+    debit           NUMERIC(38, 2) NOT NULL,
+    credit          NUMERIC(38, 2) NOT NULL,
+    currency        VARCHAR(255)   NOT NULL,
+    running_balance NUMERIC(38, 2),
+    posted_at       TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_transaction_entries PRIMARY KEY (id, posted_at),
+    CONSTRAINT fk_entry_transaction_posted FOREIGN KEY (transaction_id, posted_at) REFERENCES transactions (id, posted_at),
+    CONSTRAINT fk_entry_account_partitioned FOREIGN KEY (account_id) REFERENCES accounts (id)
+) PARTITION BY RANGE (posted_at);
+
+CREATE INDEX idx_entry_account_posted_id ON transaction_entries (account_id, posted_at, id);
+CREATE INDEX idx_entry_transaction ON transaction_entries (transaction_id);
+
+-- Rows outside every monthly range land here instead of failing the posting
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+CREATE TABLE transaction_entries_default PARTITION OF transaction_entries DEFAULT;
+
+CREATE TABLE transaction_idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL,
+    transaction_id  VARCHAR(255) NOT NULL,
+    posted_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_transaction_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+CREATE OR REPLACE FUNCTION ledger_register_idempotency_key()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO transaction_idempotency_keys (idempotency_key, transaction_id, posted_at)
+    VALUES (NEW.idempotency_key, NEW.id, NEW.posted_at);
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_transactions_idempotency_key
+    AFTER INSERT ON transactions
+    FOR EACH ROW
+EXECUTE FUNCTION ledger_register_idempotency_key();
+
+-- Monthly partitions from the oldest existing posting through three months ahead.
+-- PartitionMaintenanceService keeps the future window topped up from here on.
+DO
+$$
+DECLARE
+    current_month DATE := date_trunc('month', LOCALTIMESTAMP)::DATE;
+    month_start   DATE;
+BEGIN
+    SELECT LEAST(date_trunc('month', MIN(COALESCE(posted_at, created_at)))::DATE, current_month)
+    INTO month_start
+    FROM transactions_legacy;
+
+    month_start := COALESCE(month_start, current_month);
+    WHILE month_start <= current_month + INTERVAL '3 months' LOOP
+        PERFORM ledger_create_monthly_partition('transactions', month_start);
+        PERFORM ledger_create_monthly_partition('transaction_entries', month_start);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO transactions (id, idempotency_key, description, status, posted_at, reversal_of, version, created_at, updated_at)
+SELECT id, idempotency_key, description, status, COALESCE(posted_at, created_at, LOCALTIMESTAMP),
+       reversal_of, version, created_at, updated_at
+FROM transactions_legacy;
+
+-- Entries take their parent's posted_at so the composite foreign key always matches
+INSERT INTO transaction_entries (id, transaction_id, account_id, debit, credit, currency, running_balance, posted_at)
+SELECT e.id, e.transaction_id, e.account_id, e.debit, e.credit, e.currency, e.running_balance, t.posted_at
+FROM transaction_entries_legacy e
+         JOIN transactions t ON t.id = e.transaction_id;
+
+DROP TABLE transaction_entries_legacy;
+DROP TABLE transactions_legacy;
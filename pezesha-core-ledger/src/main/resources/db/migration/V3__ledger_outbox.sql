@@ -0,0 +1,19 @@
+-- Transactional outbox: ledger events are written in the same transaction as the postings
+-- they describe and relayed to downstream consumers by OutboxRelay.
+
+CREATE TABLE ledger_outbox (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    -- Writing transaction; the relay releases rows only once every older transaction has finished
+    txid           XID8         NOT NULL DEFAULT pg_current_xact_id(),
+    event_type     VARCHAR(40)  NOT NULL,
+    aggregate_type VARCHAR(20)  NOT NULL,
+    aggregate_id   VARCHAR(255) NOT NULL,
+    payload        TEXT         NOT NULL,
+    occurred_at    TIMESTAMP(6) NOT NULL,
+    published_at   TIMESTAMP(6),
+    CONSTRAINT ledger_outbox_pkey PRIMARY KEY (id)
+);
+
+-- Relay scan and backlog gauge only ever touch the unpublished tail
+CREATE INDEX idx_outbox_unpublished ON ledger_outbox (txid, id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_published_at ON ledger_outbox (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,21 @@
+-- Global ledger sequence: every posted transaction gets a monotonic 64-bit number.
+-- The application reserves numbers in blocks of the sequence increment, so nextval
+-- is hit once per block rather than once per posting.
+
+CREATE SEQUENCE ledger_seq_blocks START WITH 1 INCREMENT BY 100;
+
+ALTER TABLE transactions ADD COLUMN ledger_seq BIGINT;
+
+-- Existing postings are numbered in the order they were posted
+UPDATE transactions t
+SET ledger_seq = numbered.seq
+FROM (SELECT id, posted_at, row_number() OVER (ORDER BY posted_at, created_at, id) AS seq
+      FROM transactions) numbered
+WHERE t.id = numbered.id
+  AND t.posted_at = numbered.posted_at;
+
+ALTER TABLE transactions ALTER COLUMN ledger_seq SET NOT NULL;
+
+CREATE INDEX idx_transaction_ledger_seq ON transactions (ledger_seq);
+
+SELECT setval('ledger_seq_blocks', (SELECT COALESCE(MAX(ledger_seq), 0) + 1 FROM transactions), false);
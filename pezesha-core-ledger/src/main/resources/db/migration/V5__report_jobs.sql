@@ -0,0 +1,28 @@
+-- Background report computations (POST /api/v1/reports/jobs) and their gzip-compressed JSON results.
+
+CREATE TABLE report_jobs (
+    id              VARCHAR(255) NOT NULL,
+    report_type     VARCHAR(30)  NOT NULL,
+    as_of_date      TIMESTAMP(6),
+    -- Report type plus normalised parameters; identical requests share a job
+    request_key     VARCHAR(100) NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    error           VARCHAR(1000),
+    result_size     BIGINT,
+    compressed_size BIGINT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    started_at      TIMESTAMP(6),
+    completed_at    TIMESTAMP(6),
+    CONSTRAINT report_jobs_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_report_jobs_request_key ON report_jobs (request_key, created_at DESC);
+CREATE INDEX idx_report_jobs_created_at ON report_jobs (created_at);
+
+-- Kept apart so status polling never reads the payload
+CREATE TABLE report_job_results (
+    job_id  VARCHAR(255) NOT NULL,
+    content BYTEA        NOT NULL,
+    CONSTRAINT report_job_results_pkey PRIMARY KEY (job_id),
+    CONSTRAINT fk_report_job_result_job FOREIGN KEY (job_id) REFERENCES report_jobs (id) ON DELETE CASCADE
+);
@@ -0,0 +1,21 @@
+-- Month-end statement batch: per-period progress and the closing balances it produces.
+
+CREATE TABLE statement_runs (
+    period          DATE         NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    -- Every account up to and including this id has its statement written and its snapshot saved
+    last_account_id VARCHAR(255),
+    accounts_done   BIGINT       NOT NULL DEFAULT 0,
+    error           VARCHAR(1000),
+    started_at      TIMESTAMP(6) NOT NULL,
+    completed_at    TIMESTAMP(6),
+    CONSTRAINT statement_runs_pkey PRIMARY KEY (period)
+);
+
+-- Closing balance of each account for a month; the next month's run opens from it
+CREATE TABLE account_balance_snapshots (
+    period          DATE           NOT NULL,
+    account_id      VARCHAR(255)   NOT NULL,
+    closing_balance NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT account_balance_snapshots_pkey PRIMARY KEY (period, account_id)
+);
@@ -0,0 +1,54 @@
+-- Create a month's partitions of both ledger tables, moving in any rows already in the defaults.
+--
+-- A posting dated in a month that has no partition yet lands in the default partition, and from
+-- then on CREATE TABLE ... PARTITION OF for that month fails because the default would hold rows
+-- of the new range. Entries reference their transaction, and the idempotency trigger fires on
+-- every insert, so the two tables move together: take the month's rows out of the defaults,
+-- drop their idempotency keys, create both partitions, then insert the rows back through the
+-- parents. Returns the number of transactions moved.
+
+CREATE OR REPLACE FUNCTION ledger_create_month_partitions(month_start DATE)
+    RETURNS INTEGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    month_end DATE := (month_start + INTERVAL '1 month')::DATE;
+    moved     INTEGER;
+BEGIN
+    IF to_regclass('transactions_' || to_char(month_start, 'YYYY_MM')) IS NOT NULL
+        AND to_regclass('transaction_entries_' || to_char(month_start, 'YYYY_MM')) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+
+    CREATE TEMPORARY TABLE stranded_entries (LIKE transaction_entries) ON COMMIT DROP;
+    CREATE TEMPORARY TABLE stranded_transactions (LIKE transactions) ON COMMIT DROP;
+
+    WITH stranded AS (
+        DELETE FROM transaction_entries_default
+        WHERE posted_at >= month_start AND posted_at < month_end
+        RETURNING *)
+    INSERT INTO stranded_entries SELECT * FROM stranded;
+
+    WITH stranded AS (
+        DELETE FROM transactions_default
+        WHERE posted_at >= month_start AND posted_at < month_end
+        RETURNING *)
+    INSERT INTO stranded_transactions SELECT * FROM stranded;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+
+    -- Registered again by trg_transactions_idempotency_key on the way back in
+    DELETE FROM transaction_idempotency_keys k
+    USING stranded_transactions t
+    WHERE k.transaction_id = t.id AND k.posted_at = t.posted_at;
+
+    PERFORM ledger_create_monthly_partition('transactions', month_start);
+    PERFORM ledger_create_monthly_partition('transaction_entries', month_start);
+
+    INSERT INTO transactions SELECT * FROM stranded_transactions;
+    INSERT INTO transaction_entries SELECT * FROM stranded_entries;
+
+    DROP TABLE stranded_entries;
+    DROP TABLE stranded_transactions;
+    RETURN moved;
+END;
+$$;
@@ -0,0 +1,142 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import com.fintech.pezesha_core_ledger.admission.AdaptiveConcurrencyLimiter.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TEN_MS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void release_steadyLatencyWhileSaturated_growsLimit() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100, 1.5, 0, 0);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            fillAndRelease(limiter, TEN_MS, Outcome.SUCCESS);
+        }
+
+        // Assert
+        assertTrue(limiter.currentLimit() > 4, "limit was " + limiter.currentLimit());
+    }
+
+    @Test
+    void release_latencyRisesAboveTolerance_shrinksLimit() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 1, 100, 1.5, 0, 0);
+        fillAndRelease(limiter, TEN_MS, Outcome.SUCCESS);
+        int before = limiter.currentLimit();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            fillAndRelease(limiter, TEN_MS * 10, Outcome.SUCCESS);
+        }
+
+        // Assert
+        assertTrue(limiter.currentLimit() < before, before + " -> " + limiter.currentLimit());
+    }
+
+    @Test
+    void release_dropped_backsOffButNotBelowMinimum() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 100, 1.5, 0, 0);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.acquire());
+            limiter.release(TEN_MS, Outcome.DROPPED);
+        }
+
+        // Assert
+        assertEquals(5, limiter.currentLimit());
+    }
+
+    @Test
+    void release_underUsedLimit_doesNotGrow() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 1.5, 0, 0);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.acquire());
+            limiter.release(TEN_MS, Outcome.SUCCESS);
+        }
+
+        // Assert
+        assertEquals(20, limiter.currentLimit());
+    }
+
+    @Test
+    void acquire_atLimitWithFullQueue_rejectsImmediately() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5, 0, TimeUnit.SECONDS.toNanos(5));
+        assertTrue(limiter.acquire());
+
+        // Act
+        long start = System.nanoTime();
+        boolean admitted = limiter.acquire();
+
+        // Assert
+        assertFalse(admitted);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void acquire_queuedCaller_admittedWhenPermitReleased() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5, 1, TimeUnit.SECONDS.toNanos(5));
+        assertTrue(limiter.acquire());
+        Thread releaser = new Thread(() -> {
+            sleepQuietly(100);
+            limiter.release(TEN_MS, Outcome.IGNORED);
+        });
+
+        // Act
+        releaser.start();
+        boolean admitted = limiter.acquire();
+        releaser.join();
+
+        // Assert
+        assertTrue(admitted);
+        assertEquals(1, limiter.inFlight());
+        assertEquals(0, limiter.waiting());
+    }
+
+    @Test
+    void acquire_queuedCallerTimesOut_rejected() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5, 1, TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(limiter.acquire());
+
+        // Act
+        boolean admitted = limiter.acquire();
+
+        // Assert
+        assertFalse(admitted);
+        assertEquals(0, limiter.waiting());
+    }
+
+    private static void fillAndRelease(AdaptiveConcurrencyLimiter limiter, long latencyNanos, Outcome outcome)
+            throws InterruptedException {
+        int permits = limiter.currentLimit();
+        for (int i = 0; i < permits; i++) {
+            assertTrue(limiter.acquire());
+        }
+        for (int i = 0; i < permits; i++) {
+            limiter.release(latencyNanos, outcome);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
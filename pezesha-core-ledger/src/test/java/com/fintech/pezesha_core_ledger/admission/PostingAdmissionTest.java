@@ -0,0 +1,109 @@
+package com.fintech.pezesha_core_ledger.admission;
+
+import com.fintech.pezesha_core_ledger.admission.AdaptiveConcurrencyLimiter.Outcome;
+import com.fintech.pezesha_core_ledger.exception.RateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingAdmissionTest {
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(1);
+        properties.setMaxQueue(0);
+        properties.setMaxWait(Duration.ZERO);
+        properties.setDefaultClientShare(0.5);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void admit_clientOverItsShare_rejectedWithRetryAfter() {
+        // Arrange
+        PostingAdmission admission = new PostingAdmission(properties, meterRegistry);
+        admission.admit("client-a");
+        admission.admit("client-a");
+
+        // Act
+        RateLimitException exception = assertThrows(RateLimitException.class, () -> admission.admit("client-a"));
+
+        // Assert
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, meterRegistry.get("ledger.admission.rejected").tag("reason", "client_quota").counter().count());
+    }
+
+    @Test
+    void admit_otherClientStillWithinShare_admitted() {
+        // Arrange
+        PostingAdmission admission = new PostingAdmission(properties, meterRegistry);
+        admission.admit("client-a");
+        admission.admit("client-a");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> admission.admit("client-b"));
+    }
+
+    @Test
+    void admit_configuredShare_overridesDefault() {
+        // Arrange
+        properties.getClientShares().put("batch-job", 0.25);
+        PostingAdmission admission = new PostingAdmission(properties, meterRegistry);
+        admission.admit("batch-job");
+
+        // Act & Assert
+        assertThrows(RateLimitException.class, () -> admission.admit("batch-job"));
+    }
+
+    @Test
+    void admit_sharedLimitExhausted_rejectedAsOverloaded() {
+        // Arrange
+        properties.setDefaultClientShare(1.0);
+        PostingAdmission admission = new PostingAdmission(properties, meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            admission.admit("client-" + i);
+        }
+
+        // Act
+        assertThrows(RateLimitException.class, () -> admission.admit("client-late"));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("ledger.admission.rejected").tag("reason", "overloaded").counter().count());
+    }
+
+    @Test
+    void release_returnsClientQuota() {
+        // Arrange
+        PostingAdmission admission = new PostingAdmission(properties, meterRegistry);
+        admission.admit("client-a");
+        PostingAdmission.Permit permit = admission.admit("client-a");
+
+        // Act
+        permit.release(Outcome.IGNORED);
+        permit.release(Outcome.IGNORED);
+
+        // Assert
+        assertDoesNotThrow(() -> admission.admit("client-a"));
+        assertThrows(RateLimitException.class, () -> admission.admit("client-a"));
+    }
+
+    @Test
+    void admit_disabled_neverRejects() {
+        // Arrange
+        properties.setEnabled(false);
+        PostingAdmission admission = new PostingAdmission(properties, meterRegistry);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> admission.admit("client-a"));
+        }
+    }
+}
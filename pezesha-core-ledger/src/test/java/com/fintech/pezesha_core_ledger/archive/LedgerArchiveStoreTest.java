@@ -0,0 +1,116 @@
+package com.fintech.pezesha_core_ledger.archive;
+
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerArchiveStoreTest {
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void writtenSegment_roundTripsThroughMappedReader() throws Exception {
+        // Arrange
+        ArchiveSegment segment = writeJanuary();
+
+        // Act
+        ArchiveSegment.AccountSummary summary = segment.summary("acc-a");
+        List<ArchivedEntry> rows = segment.read(summary);
+
+        // Assert
+        assertTrue(segment.verifyChecksum());
+        assertEquals(YearMonth.of(2024, 1), segment.getMonth());
+        assertEquals(4, segment.getRowCount());
+        assertEquals(2, segment.getAccountCount());
+        assertNull(segment.summary("acc-missing"));
+        assertEquals(3, rows.size());
+        assertEquals("e1", rows.get(0).getEntryId());
+        assertEquals(new BigDecimal("100.00"), rows.get(0).getDebit());
+        assertEquals(LocalDateTime.of(2024, 1, 5, 10, 0, 0, 123_456_000), rows.get(0).getPostedAt());
+        assertNull(rows.get(0).getRunningBalance());
+        // The reversed transaction's row is excluded from the posted net
+        assertEquals(new BigDecimal("70.00"), summary.getPostedNet());
+    }
+
+    @Test
+    void balanceAsOf_usesIndexTotalsAndPartialBlocks() throws Exception {
+        // Arrange
+        LedgerArchiveStore store = new LedgerArchiveStore(archiveDir.toString());
+        store.register(YearMonth.of(2024, 1), List.of(writeJanuary()));
+
+        // Act & Assert
+        assertEquals(new BigDecimal("70.00"), store.balanceAsOf("acc-a", LocalDateTime.of(2024, 3, 1, 0, 0)));
+        assertEquals(new BigDecimal("100.00"), store.balanceAsOf("acc-a", LocalDateTime.of(2024, 1, 10, 0, 0)));
+        assertEquals(BigDecimal.ZERO, store.balanceAsOf("acc-a", LocalDateTime.of(2023, 12, 31, 0, 0)));
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), store.horizon());
+    }
+
+    @Test
+    void history_returnsNewestFirstAfterCursor_andSurvivesReload() throws Exception {
+        // Arrange
+        LedgerArchiveStore store = new LedgerArchiveStore(archiveDir.toString());
+        store.register(YearMonth.of(2024, 1), List.of(writeJanuary()));
+        LedgerArchiveStore reloaded = new LedgerArchiveStore(archiveDir.toString());
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 31, 23, 59);
+
+        // Act
+        List<ArchivedEntry> first = reloaded.history("acc-a", from, to, null, null, 2);
+        ArchivedEntry last = first.get(first.size() - 1);
+        List<ArchivedEntry> next = reloaded.history("acc-a", from, to, last.getPostedAt(), last.getEntryId(), 2);
+
+        // Assert
+        assertEquals(List.of("e3", "e2"), first.stream().map(ArchivedEntry::getEntryId).toList());
+        assertEquals(List.of("e1"), next.stream().map(ArchivedEntry::getEntryId).toList());
+    }
+
+    @Test
+    void transactionEntries_readsOnlyTheNamedAccounts() throws Exception {
+        // Arrange
+        LedgerArchiveStore store = new LedgerArchiveStore(archiveDir.toString());
+        store.register(YearMonth.of(2024, 1), List.of(writeJanuary()));
+        LocalDateTime postedAt = LocalDateTime.of(2024, 1, 20, 9, 0);
+
+        // Act
+        List<ArchivedEntry> found = store.transactionEntries("tx-e2", postedAt, List.of("acc-a", "acc-b"));
+        List<ArchivedEntry> otherAccount = store.transactionEntries("tx-e2", postedAt, List.of("acc-b"));
+
+        // Assert
+        assertEquals(List.of("e2"), found.stream().map(ArchivedEntry::getEntryId).toList());
+        assertTrue(otherAccount.isEmpty());
+    }
+
+    private ArchiveSegment writeJanuary() throws Exception {
+        Path file = archiveDir.resolve("entries_2024_01.part0.seg");
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file, YearMonth.of(2024, 1))) {
+            writer.append(entry("e1", "acc-a", LocalDateTime.of(2024, 1, 5, 10, 0, 0, 123_456_000), "100", "0", true));
+            writer.append(entry("e2", "acc-a", LocalDateTime.of(2024, 1, 20, 9, 0), "0", "30", true));
+            writer.append(entry("e3", "acc-a", LocalDateTime.of(2024, 1, 25, 9, 0), "500", "0", false));
+            writer.append(entry("e4", "acc-b", LocalDateTime.of(2024, 1, 6, 9, 0), "0", "100", true));
+        }
+        return ArchiveSegment.open(file);
+    }
+
+    private static ArchivedEntry entry(String id, String accountId, LocalDateTime postedAt,
+                                       String debit, String credit, boolean posted) {
+        return ArchivedEntry.builder()
+                .entryId(id)
+                .transactionId("tx-" + id)
+                .accountId(accountId)
+                .postedAt(postedAt)
+                .debit(new BigDecimal(debit))
+                .credit(new BigDecimal(credit))
+                .currency(Currency.KES)
+                .posted(posted)
+                .build();
+    }
+}
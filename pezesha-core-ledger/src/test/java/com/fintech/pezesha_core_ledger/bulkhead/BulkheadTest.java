@@ -0,0 +1,106 @@
+package com.fintech.pezesha_core_ledger.bulkhead;
+
+import com.fintech.pezesha_core_ledger.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadProperties.Limits limits;
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limits = new BulkheadProperties.Limits();
+        limits.setMaxConcurrentCalls(2);
+        limits.setMaxWait(Duration.ofMillis(20));
+        limits.setExecutorThreads(1);
+        limits.setExecutorQueue(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bulkhead != null) {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void acquire_overLimit_rejectedAfterMaxWait() {
+        // Arrange
+        bulkhead = new Bulkhead(WorkloadClass.REPORTING, limits, meterRegistry);
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        // Act & Assert
+        assertThrows(CapacityExceededException.class, bulkhead::acquire);
+        assertEquals(2, bulkhead.activeCalls());
+        assertEquals(1.0, meterRegistry.get("ledger.bulkhead.rejected").tag("workload", "reporting").counter().count());
+    }
+
+    @Test
+    void release_freesSlotForNextCaller() {
+        // Arrange
+        bulkhead = new Bulkhead(WorkloadClass.REPORTING, limits, meterRegistry);
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        // Act
+        bulkhead.release();
+
+        // Assert
+        assertDoesNotThrow(bulkhead::acquire);
+        assertEquals(2.0, meterRegistry.get("ledger.bulkhead.active").tag("workload", "reporting").gauge().value());
+    }
+
+    @Test
+    void submit_runsTaskBoundToWorkloadClass() throws Exception {
+        // Arrange
+        bulkhead = new Bulkhead(WorkloadClass.BATCH, limits, meterRegistry);
+
+        // Act
+        WorkloadClass seen = bulkhead.submit(WorkloadContext::current).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(WorkloadClass.BATCH, seen);
+        assertEquals(0, bulkhead.activeCalls());
+    }
+
+    @Test
+    void submit_executorQueueFull_rejected() throws Exception {
+        // Arrange
+        bulkhead = new Bulkhead(WorkloadClass.REPORTING, limits, meterRegistry);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = bulkhead.submit(() -> await(blocker));
+        CompletableFuture<Boolean> queued = bulkhead.submit(() -> true);
+
+        // Act & Assert
+        try {
+            assertThrows(CapacityExceededException.class, () -> bulkhead.submit(() -> true));
+        } finally {
+            blocker.countDown();
+        }
+        assertTrue(running.get(1, TimeUnit.SECONDS));
+        assertTrue(queued.get(1, TimeUnit.SECONDS));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.fintech.pezesha_core_ledger.config;
+
+import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    @Test
+    void policyFor_cacheOverridesDefaultsFieldByField() {
+        // Arrange
+        CachePolicies policies = new CachePolicies();
+        CachePolicies.Policy balanceSheet = new CachePolicies.Policy();
+        balanceSheet.setMaximumWeight(DataSize.ofMegabytes(64));
+        balanceSheet.setRefreshAfterWrite(Duration.ofMinutes(10));
+        policies.getCaches().put("balanceSheet", balanceSheet);
+
+        // Act
+        CachePolicies.Policy resolved = policies.policyFor("balanceSheet");
+
+        // Assert
+        assertNull(resolved.getMaximumSize());
+        assertEquals(DataSize.ofMegabytes(64), resolved.getMaximumWeight());
+        assertEquals(Duration.ofHours(24), resolved.getExpireAfterWrite());
+        assertEquals(Duration.ofMinutes(10), resolved.getRefreshAfterWrite());
+        assertEquals(10_000L, policies.policyFor("idempotency").getMaximumSize());
+    }
+
+    @Test
+    void createCacheManager_recordsStatisticsPerCache() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CacheManager cacheManager = CacheConfig.createCacheManager(new CachePolicies(), meterRegistry, List.of());
+        org.springframework.cache.Cache idempotency = cacheManager.getCache("idempotency");
+
+        // Act
+        idempotency.get("missing");
+        idempotency.put("key", "response");
+        idempotency.get("key");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "idempotency").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "idempotency").tag("result", "miss")
+                .functionCounter().count());
+        assertNull(cacheManager.getCache("unknown"));
+    }
+
+    @Test
+    void build_refreshWithoutLoader_failsFast() {
+        // Arrange
+        CachePolicies.Policy policy = new CachePolicies.Policy();
+        policy.setRefreshAfterWrite(Duration.ofMinutes(5));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> CacheConfig.build("accountById", policy, null, null));
+        assertTrue(exception.getMessage().contains("accountById"));
+    }
+
+    @Test
+    void build_weightBound_evictsLargeReportsByEstimatedSize() {
+        // Arrange
+        CachePolicies.Policy policy = new CachePolicies.Policy();
+        policy.setMaximumWeight(DataSize.ofKilobytes(200));
+        Cache<Object, Object> cache = CacheConfig.build("balanceSheet", policy, null, null);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            cache.put("2026-0" + i, balanceSheet(500));
+        }
+        cache.cleanUp();
+
+        // Assert
+        assertTrue(cache.estimatedSize() < 10);
+        assertTrue(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= DataSize.ofKilobytes(200).toBytes());
+    }
+
+    @Test
+    void estimate_growsWithReportSize() {
+        // Act
+        long small = EstimatedSizeWeigher.estimate(balanceSheet(10));
+        long large = EstimatedSizeWeigher.estimate(balanceSheet(1000));
+
+        // Assert
+        assertTrue(small > 1_000, "small " + small);
+        assertTrue(large > 50 * small, "large " + large + " small " + small);
+    }
+
+    @Test
+    void reportLoader_parsesAsOfKey() {
+        // Arrange
+        List<LocalDateTime> requested = new ArrayList<>();
+        CacheValueLoader loader = new CacheConfig.ReportLoader("trialBalance", asOf -> {
+            requested.add(asOf);
+            return "report";
+        });
+
+        // Act
+        loader.load("current");
+        loader.load("2026-09-30T23:59:59");
+
+        // Assert
+        assertEquals(2, requested.size());
+        assertNull(requested.get(0));
+        assertEquals(LocalDateTime.of(2026, 9, 30, 23, 59, 59), requested.get(1));
+    }
+
+    private static BalanceSheetResponse balanceSheet(int accounts) {
+        List<BalanceSheetResponse.AccountBalance> balances = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            balances.add(BalanceSheetResponse.AccountBalance.builder()
+                    .accountId("8f14e45f-ceea-467f-a0e6-" + String.format("%012d", i))
+                    .accountCode("WALLET_" + i)
+                    .accountName("Customer wallet " + i)
+                    .accountType(AccountType.LIABILITY)
+                    .balance(new BigDecimal("1250.00"))
+                    .build());
+        }
+        return BalanceSheetResponse.builder()
+                .asOfDate(LocalDateTime.of(2026, 9, 30, 23, 59, 59))
+                .liabilities(BalanceSheetResponse.AccountTypeSummary.builder().accounts(balances).build())
+                .totalLiabilities(new BigDecimal("1250.00").multiply(BigDecimal.valueOf(accounts)))
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.fintech.pezesha_core_ledger.config;
+
+import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactValueCodecTest {
+
+    @Test
+    void encode_transaction_roundTripsAndWeighsAFractionOfTheObjects() {
+        // Arrange
+        CompactValueCodec codec = new CompactValueCodec(1024);
+        TransactionResponse transaction = transaction("disb-2026-10-19-000123");
+
+        // Act
+        Object encoded = codec.encode(transaction);
+
+        // Assert
+        assertInstanceOf(CompactValueCodec.CompactValue.class, encoded);
+        assertEquals(transaction, codec.decode(encoded));
+        assertTrue(EstimatedSizeWeigher.estimate(encoded) * 4 < EstimatedSizeWeigher.estimate(transaction),
+                "encoded " + EstimatedSizeWeigher.estimate(encoded) + " objects " + EstimatedSizeWeigher.estimate(transaction));
+    }
+
+    @Test
+    void encode_fullDictionary_writesStringsInline() {
+        // Arrange
+        CompactValueCodec codec = new CompactValueCodec(2);
+        TransactionResponse first = transaction("key-1");
+        TransactionResponse second = transaction("key-2");
+
+        // Act
+        Object firstEncoded = codec.encode(first);
+        Object secondEncoded = codec.encode(second);
+
+        // Assert
+        assertEquals(2, codec.dictionarySize());
+        assertEquals(first, codec.decode(firstEncoded));
+        assertEquals(second, codec.decode(secondEncoded));
+    }
+
+    @Test
+    void encode_balanceSheetWithNullsAndLargeAmounts_roundTrips() {
+        // Arrange
+        CompactValueCodec codec = new CompactValueCodec(1024);
+        BalanceSheetResponse balanceSheet = BalanceSheetResponse.builder()
+                .asOfDate(LocalDateTime.of(2026, 9, 30, 23, 59, 59, 999_000_000))
+                .assets(BalanceSheetResponse.AccountTypeSummary.builder()
+                        .accounts(List.of(BalanceSheetResponse.AccountBalance.builder()
+                                .accountId("CASH-001")
+                                .accountCode("CASH")
+                                .accountType(AccountType.ASSET)
+                                .balance(new BigDecimal("123456789012345678901234.5678"))
+                                .build()))
+                        .build())
+                .liabilities(BalanceSheetResponse.AccountTypeSummary.builder().build())
+                .totalAssets(new BigDecimal("-0.01"))
+                .isBalanced(true)
+                .build();
+
+        // Act
+        Object decoded = codec.decode(codec.encode(balanceSheet));
+
+        // Assert
+        assertEquals(balanceSheet, decoded);
+    }
+
+    @Test
+    void encode_otherTypes_storedAsTheyAre() {
+        // Arrange
+        CompactValueCodec codec = new CompactValueCodec(1024);
+        List<String> accounts = List.of("CASH", "FEES");
+
+        // Act & Assert
+        assertSame(accounts, codec.encode(accounts));
+        assertSame(accounts, codec.decode(accounts));
+        assertNull(codec.encode(null));
+    }
+
+    @Test
+    void compactCache_storesBytesAndHandsOutCopies() {
+        // Arrange
+        ConcurrentMapCache target = new ConcurrentMapCache("idempotency");
+        org.springframework.cache.Cache cache = new CompactCache(target, new CompactValueCodec(1024));
+        TransactionResponse transaction = transaction("key-1");
+
+        // Act
+        cache.put("key-1", transaction);
+        TransactionResponse first = cache.get("key-1", TransactionResponse.class);
+        first.setStatus("REVERSED");
+
+        // Assert
+        assertInstanceOf(CompactValueCodec.CompactValue.class, target.get("key-1").get());
+        assertEquals("POSTED", cache.get("key-1", TransactionResponse.class).getStatus());
+        assertEquals(transaction.getId(), ((TransactionResponse) cache.get("key-1").get()).getId());
+        assertNull(cache.get("missing"));
+    }
+
+    @Test
+    void createCacheManager_compactPolicy_wrapsCache() {
+        // Arrange
+        CachePolicies policies = new CachePolicies();
+        CachePolicies.Policy idempotency = new CachePolicies.Policy();
+        idempotency.setCompact(true);
+        policies.getCaches().put("idempotency", idempotency);
+        CacheManager cacheManager = CacheConfig.createCacheManager(policies, new SimpleMeterRegistry(), List.of());
+
+        // Act
+        cacheManager.getCache("idempotency").put("key-1", transaction("key-1"));
+        cacheManager.getCache("accountById").put("acc-1", transaction("key-2"));
+
+        // Assert
+        Cache<Object, Object> compact = nativeCache(cacheManager, "idempotency");
+        Cache<Object, Object> plain = nativeCache(cacheManager, "accountById");
+        assertInstanceOf(CompactValueCodec.CompactValue.class, compact.getIfPresent("key-1"));
+        assertInstanceOf(TransactionResponse.class, plain.getIfPresent("acc-1"));
+        assertEquals("key-1", cacheManager.getCache("idempotency").get("key-1", TransactionResponse.class).getIdempotencyKey());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+
+    private static TransactionResponse transaction(String idempotencyKey) {
+        LocalDateTime postedAt = LocalDateTime.of(2026, 10, 19, 8, 30, 1, 123_456_789);
+        return TransactionResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .ledgerSequence(1_204_331L)
+                .idempotencyKey(idempotencyKey)
+                .description("Loan disbursement")
+                .status("POSTED")
+                .postedAt(postedAt)
+                .createdAt(postedAt)
+                .entries(List.of(
+                        entry("WALLET_42", new BigDecimal("1500.00"), BigDecimal.ZERO),
+                        entry("LOANS_RECEIVABLE", BigDecimal.ZERO, new BigDecimal("1500.00"))))
+                .build();
+    }
+
+    private static TransactionEntryResponse entry(String accountCode, BigDecimal debit, BigDecimal credit) {
+        return TransactionEntryResponse.builder()
+                .accountId(UUID.randomUUID().toString())
+                .accountCode(accountCode)
+                .debit(debit)
+                .credit(credit)
+                .currency(Currency.KES)
+                .runningBalance(new BigDecimal("98500.00"))
+                .build();
+    }
+}
@@ -5,18 +5,24 @@ import com.fintech.pezesha_core_ledger.dto.AccountBalanceResponse;
 import com.fintech.pezesha_core_ledger.dto.AccountResponse;
 import com.fintech.pezesha_core_ledger.dto.CreateAccountRequest;
 import com.fintech.pezesha_core_ledger.service.AccountService;
+import com.fintech.pezesha_core_ledger.service.BalanceStreamService;
+import com.fintech.pezesha_core_ledger.sequence.LedgerCommittedEvent;
+import com.fintech.pezesha_core_ledger.sequence.LedgerVersionTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -26,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(AccountController.class)
 @WithMockUser(username = "test-user", roles = {"USER"})
+@Import({ConditionalRequestSupport.class, LedgerVersionTracker.class, SimpleMeterRegistry.class})
 class AccountControllerTest {
 
     @Autowired
@@ -37,6 +44,12 @@ class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private BalanceStreamService balanceStreamService;
+
+    @Autowired
+    private LedgerVersionTracker ledgerVersionTracker;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -113,6 +126,22 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.balance").value(5000));
     }
 
+    @Test
+    void getAccountBalance_postingToOtherAccount_keepsETag() throws Exception {
+
+        when(accountService.getAccountBalance("acc-123", null)).thenReturn(AccountBalanceResponse.builder()
+                .accountId("acc-123")
+                .balance(new BigDecimal("5000"))
+                .build());
+        String etag = mockMvc.perform(get("/api/v1/accounts/acc-123/balance"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        ledgerVersionTracker.onCommitted(new LedgerCommittedEvent(8, 8, "trans-8", Set.of("acc-999"), LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/v1/accounts/acc-123/balance").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void getAllAccounts_returnsOk() throws Exception {
         mockMvc.perform(get("/api/v1/accounts"))
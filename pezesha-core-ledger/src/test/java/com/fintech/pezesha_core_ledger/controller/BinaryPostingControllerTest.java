@@ -0,0 +1,164 @@
+package com.fintech.pezesha_core_ledger.controller;
+
+import com.fintech.pezesha_core_ledger.binary.PostingResult;
+import com.fintech.pezesha_core_ledger.binary.PostingWireFormat;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryResponse;
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import com.fintech.pezesha_core_ledger.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BinaryPostingController.class)
+@WithMockUser(username = "test-user", roles = {"USER"})
+class BinaryPostingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @Test
+    void postStream_postsEachFrameAndAnswersInOrder() throws Exception {
+        // Arrange
+        LocalDateTime postedAt = LocalDateTime.of(2026, 10, 19, 8, 30, 1, 123_456_000);
+        when(transactionService.postTransaction(argThat(r -> r != null && "key-1".equals(r.getIdempotencyKey()))))
+                .thenReturn(TransactionResponse.builder()
+                        .id("trans-1")
+                        .ledgerSequence(42L)
+                        .idempotencyKey("key-1")
+                        .status("POSTED")
+                        .postedAt(postedAt)
+                        .entries(List.of(TransactionEntryResponse.builder()
+                                .accountId("acc-123")
+                                .accountCode("CASH")
+                                .debit(new BigDecimal("1000.50"))
+                                .credit(BigDecimal.ZERO)
+                                .currency(Currency.KES)
+                                .runningBalance(new BigDecimal("-250.25"))
+                                .build()))
+                        .build());
+        when(transactionService.postTransaction(argThat(r -> r != null && "key-2".equals(r.getIdempotencyKey()))))
+                .thenThrow(new ValidationException("Account not found: acc-999"));
+
+        // Act
+        List<PostingResult> results = postStream(request("key-1", "acc-123"), request("key-2", "acc-999"));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(201, results.get(0).status());
+        TransactionResponse posted = results.get(0).posting();
+        assertEquals("trans-1", posted.getId());
+        assertEquals(42L, posted.getLedgerSequence());
+        assertEquals(postedAt, posted.getPostedAt());
+        assertEquals(new BigDecimal("1000.50"), posted.getEntries().get(0).getDebit());
+        assertEquals(new BigDecimal("-250.25"), posted.getEntries().get(0).getRunningBalance());
+        assertEquals(400, results.get(1).status());
+        assertEquals("VALIDATION_ERROR", results.get(1).errorCode());
+        assertEquals("Account not found: acc-999", results.get(1).message());
+
+        ArgumentCaptor<TransactionRequest> captor = ArgumentCaptor.forClass(TransactionRequest.class);
+        verify(transactionService, times(2)).postTransaction(captor.capture());
+        assertEquals(new BigDecimal("1000.50"), captor.getAllValues().get(0).getEntries().get(0).getDebit());
+    }
+
+    @Test
+    void postStream_invalidPosting_answersWithoutPosting() throws Exception {
+        // Arrange
+        TransactionRequest oneLeg = request("key-1", "acc-123");
+        oneLeg.setEntries(oneLeg.getEntries().subList(0, 1));
+
+        // Act
+        List<PostingResult> results = postStream(oneLeg);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("VALIDATION_ERROR", results.get(0).errorCode());
+        assertTrue(results.get(0).message().contains("entries"));
+        verify(transactionService, never()).postTransaction(any());
+    }
+
+    @Test
+    void postStream_notAPostingStream_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/transactions/stream")
+                        .with(csrf())
+                        .contentType(PostingWireFormat.MEDIA_TYPE)
+                        .content("{\"idempotencyKey\":\"key-1\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<PostingResult> postStream(TransactionRequest... requests) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        PostingWireFormat.writeHeader(out);
+        for (TransactionRequest request : requests) {
+            PostingWireFormat.writeRequest(out, request);
+        }
+
+        byte[] response = mockMvc.perform(post("/api/v1/transactions/stream")
+                        .with(csrf())
+                        .contentType(PostingWireFormat.MEDIA_TYPE)
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return readResults(response);
+    }
+
+    private static List<PostingResult> readResults(byte[] response) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(response));
+        PostingWireFormat.readHeader(in);
+        List<PostingResult> results = new ArrayList<>();
+        PostingResult result;
+        while ((result = PostingWireFormat.readResult(in)) != null) {
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static TransactionRequest request(String idempotencyKey, String creditAccount) {
+        return TransactionRequest.builder()
+                .idempotencyKey(idempotencyKey)
+                .description("Test transaction")
+                .entries(new ArrayList<>(List.of(
+                        TransactionEntryRequest.builder()
+                                .accountId("acc-123")
+                                .debit(new BigDecimal("1000.50"))
+                                .credit(BigDecimal.ZERO)
+                                .currency(Currency.KES)
+                                .build(),
+                        TransactionEntryRequest.builder()
+                                .accountId(creditAccount)
+                                .debit(BigDecimal.ZERO)
+                                .credit(new BigDecimal("1000.50"))
+                                .currency(Currency.KES)
+                                .build())))
+                .build();
+    }
+}
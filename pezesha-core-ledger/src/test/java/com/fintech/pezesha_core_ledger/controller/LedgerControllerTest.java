@@ -0,0 +1,76 @@
+package com.fintech.pezesha_core_ledger.controller;
+
+import com.fintech.pezesha_core_ledger.dto.LedgerChangeBatch;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.sequence.LedgerSequence;
+import com.fintech.pezesha_core_ledger.service.LedgerChangeFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LedgerController.class)
+@WithMockUser(username = "test-user", roles = {"USER"})
+class LedgerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LedgerSequence ledgerSequence;
+
+    @MockBean
+    private LedgerChangeFeedService changeFeedService;
+
+    @Test
+    void getPosition_returnsHighWaterMark() throws Exception {
+        when(ledgerSequence.highWaterMark()).thenReturn(42L);
+
+        mockMvc.perform(get("/api/v1/ledger/position"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.highWaterMark").value(42));
+    }
+
+    @Test
+    void getChanges_streamsOneLinePerPostingWithNextCursor() throws Exception {
+        LedgerChangeBatch batch = LedgerChangeBatch.builder()
+                .changes(List.of(
+                        TransactionResponse.builder().id("trans-11").ledgerSequence(11L).build(),
+                        TransactionResponse.builder().id("trans-12").ledgerSequence(12L).build()))
+                .nextCursor(15)
+                .highWaterMark(15)
+                .build();
+        when(changeFeedService.changesAfter(10, 500, Duration.ofSeconds(25)))
+                .thenReturn(CompletableFuture.completedFuture(batch));
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/ledger/changes").param("after", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The body is written by a second async step; wait for it before asserting on the content
+        MvcResult streamed = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streamed.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(streamed))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Ledger-Next-Cursor", "15"))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(matchesPattern(
+                        "(?s)\\{\"id\":\"trans-11\",\"ledgerSequence\":11.*}\\n\\{\"id\":\"trans-12\".*}\\n")));
+    }
+}
@@ -3,28 +3,65 @@ package com.fintech.pezesha_core_ledger.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
 import com.fintech.pezesha_core_ledger.dto.LoanAgingResponse;
+import com.fintech.pezesha_core_ledger.dto.ReportJobRequest;
+import com.fintech.pezesha_core_ledger.dto.ReportJobResponse;
+import com.fintech.pezesha_core_ledger.dto.StatementRunResponse;
 import com.fintech.pezesha_core_ledger.dto.TrialBalanceResponse;
+import com.fintech.pezesha_core_ledger.enums.ReportJobStatus;
+import com.fintech.pezesha_core_ledger.enums.ReportType;
+import com.fintech.pezesha_core_ledger.enums.StatementRunStatus;
+import com.fintech.pezesha_core_ledger.exception.ReportNotReadyException;
+import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.export.ExportFormat;
+import com.fintech.pezesha_core_ledger.service.ReportExportService;
+import com.fintech.pezesha_core_ledger.service.ReportJobService;
 import com.fintech.pezesha_core_ledger.service.ReportingService;
+import com.fintech.pezesha_core_ledger.service.StatementBatchService;
+import com.fintech.pezesha_core_ledger.sequence.LedgerCommittedEvent;
+import com.fintech.pezesha_core_ledger.sequence.LedgerVersionTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ReportingController.class)
 @WithMockUser(username = "test-user", roles = {"USER"})
+@Import({ConditionalRequestSupport.class, LedgerVersionTracker.class, SimpleMeterRegistry.class})
 class ReportingControllerTest {
 
     @Autowired
@@ -36,6 +73,18 @@ class ReportingControllerTest {
     @MockBean
     private ReportingService reportingService;
 
+    @MockBean
+    private ReportJobService reportJobService;
+
+    @MockBean
+    private ReportExportService reportExportService;
+
+    @MockBean
+    private StatementBatchService statementBatchService;
+
+    @Autowired
+    private LedgerVersionTracker ledgerVersionTracker;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -60,6 +109,34 @@ class ReportingControllerTest {
                 .andExpect(jsonPath("$.isBalanced").value(true));
     }
 
+    @Test
+    void getTrialBalance_matchingETag_returnsNotModifiedWithoutBuildingReport() throws Exception {
+
+        when(reportingService.getTrialBalance(null)).thenReturn(TrialBalanceResponse.builder().build());
+        String etag = mockMvc.perform(get("/api/v1/reports/trial-balance"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/reports/trial-balance").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(reportingService, times(1)).getTrialBalance(null);
+    }
+
+    @Test
+    void getTrialBalance_postingCommittedSinceETag_returnsOk() throws Exception {
+
+        when(reportingService.getTrialBalance(null)).thenReturn(TrialBalanceResponse.builder().build());
+        String etag = mockMvc.perform(get("/api/v1/reports/trial-balance"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        ledgerVersionTracker.onCommitted(new LedgerCommittedEvent(7, 7, "trans-7", Set.of("acc-123"), LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/v1/reports/trial-balance").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+    }
+
     @Test
     void getBalanceSheet_returnsOk() throws Exception {
 
@@ -105,4 +182,133 @@ class ReportingControllerTest {
         mockMvc.perform(get("/api/v1/reports/account/acc-123/history"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void submitReportJob_returnsAcceptedWithLocation() throws Exception {
+
+        ReportJobRequest request = ReportJobRequest.builder()
+                .reportType(ReportType.BALANCE_SHEET)
+                .asOfDate(LocalDateTime.of(2026, 9, 30, 23, 59, 59))
+                .build();
+        when(reportJobService.submit(any())).thenReturn(ReportJobResponse.builder()
+                .jobId("job-1")
+                .reportType(ReportType.BALANCE_SHEET)
+                .status(ReportJobStatus.PENDING)
+                .resultUrl("/api/v1/reports/jobs/job-1/result")
+                .build());
+
+        mockMvc.perform(post("/api/v1/reports/jobs")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/reports/jobs/job-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void getReportJobResult_acceptsGzip_returnsStoredBytesEncoded() throws Exception {
+
+        byte[] stored = {0x1f, (byte) 0x8b, 1, 2, 3};
+        when(reportJobService.getResult("job-1", true)).thenReturn(stored);
+
+        mockMvc.perform(get("/api/v1/reports/jobs/job-1/result").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(content().bytes(stored));
+    }
+
+    @Test
+    void getReportJobResult_withoutGzip_returnsPlainJson() throws Exception {
+
+        when(reportJobService.getResult("job-1", false)).thenReturn("{\"isBalanced\":true}".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/api/v1/reports/jobs/job-1/result"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.isBalanced").value(true));
+    }
+
+    @Test
+    void getReportJobResult_stillRunning_returnsConflict() throws Exception {
+
+        when(reportJobService.getResult("job-1", false)).thenThrow(new ReportNotReadyException("Report job job-1 is RUNNING"));
+
+        mockMvc.perform(get("/api/v1/reports/jobs/job-1/result"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("REPORT_NOT_READY"));
+    }
+
+    @Test
+    void exportTrialBalance_acceptsGzip_streamsCompressedCsv() throws Exception {
+
+        when(reportExportService.exportTrialBalance(isNull(), eq(ExportFormat.CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("accountId,balance\r\nacc-1,100.00\r\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/reports/trial-balance/export").header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.getAsyncResult();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"trial-balance.csv\""))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("accountId,balance\r\nacc-1,100.00\r\n", new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportStatement_unknownFormat_returnsBadRequest() throws Exception {
+
+        mockMvc.perform(get("/api/v1/reports/account/acc-1/statement").param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+
+        verifyNoInteractions(reportExportService);
+    }
+
+    @Test
+    void exportStatement_unknownAccount_returnsNotFoundBeforeStreaming() throws Exception {
+
+        doThrow(new ResourceNotFoundException("Account not found")).when(reportExportService).requireAccount("missing");
+
+        mockMvc.perform(get("/api/v1/reports/account/missing/statement").param("format", "ndjson"))
+                .andExpect(status().isNotFound());
+
+        verify(reportExportService, never()).exportStatement(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void generateStatements_returnsAcceptedWithLocation() throws Exception {
+
+        when(statementBatchService.submit(YearMonth.of(2026, 9))).thenReturn(StatementRunResponse.builder()
+                .period(YearMonth.of(2026, 9))
+                .status(StatementRunStatus.QUEUED)
+                .build());
+
+        mockMvc.perform(post("/api/v1/reports/statements/2026-09").with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/reports/statements/2026-09"))
+                .andExpect(jsonPath("$.period").value("2026-09"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void generateStatements_malformedPeriod_returnsBadRequest() throws Exception {
+
+        mockMvc.perform(post("/api/v1/reports/statements/september").with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(statementBatchService);
+    }
 }
@@ -0,0 +1,71 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        routing = new ReadWriteRoutingDataSource(tracker, replicaLagMonitor);
+        lenient().when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        tracker.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_routesToReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceRole.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readWriteTransaction_routesToPrimary() {
+        assertEquals(DataSourceRole.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void sessionThatWroteRecently_readsFromPrimary() {
+        // Arrange
+        tracker.recordWrite("session-1");
+        tracker.pinToPrimary(tracker.wroteRecently("session-1"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals(DataSourceRole.PRIMARY, routing.determineCurrentLookupKey());
+        assertFalse(tracker.wroteRecently("session-2"));
+    }
+
+    @Test
+    void laggingReplica_fallsBackToPrimary() {
+        // Arrange
+        lenient().when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals(DataSourceRole.PRIMARY, routing.determineCurrentLookupKey());
+    }
+}
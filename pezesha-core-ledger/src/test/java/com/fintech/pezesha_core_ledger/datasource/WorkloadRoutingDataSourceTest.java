@@ -0,0 +1,69 @@
+package com.fintech.pezesha_core_ledger.datasource;
+
+import com.fintech.pezesha_core_ledger.bulkhead.BulkheadProperties;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadClass;
+import com.fintech.pezesha_core_ledger.bulkhead.WorkloadContext;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadRoutingDataSourceTest {
+
+    private WorkloadRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig template = new HikariConfig();
+        template.setJdbcUrl("jdbc:postgresql://localhost:5432/ledger_db");
+        template.setMinimumIdle(5);
+
+        BulkheadProperties properties = new BulkheadProperties();
+        BulkheadProperties.Limits reporting = new BulkheadProperties.Limits();
+        reporting.setPoolSize(3);
+        properties.getWorkloads().put(WorkloadClass.REPORTING, reporting);
+
+        routing = WorkloadRoutingDataSource.create("replica", template, properties, new SimpleMeterRegistry(),
+                WorkloadClass.POINT_READ, WorkloadClass.POINT_READ, WorkloadClass.REPORTING);
+    }
+
+    @AfterEach
+    void tearDown() {
+        WorkloadContext.restore(null);
+        routing.close();
+    }
+
+    @Test
+    void boundWorkload_routesToItsPool() {
+        // Arrange
+        WorkloadContext.bind(WorkloadClass.REPORTING);
+
+        // Act
+        HikariDataSource pool = (HikariDataSource) routing.getResolvedDataSources().get(routing.determineCurrentLookupKey());
+
+        // Assert
+        assertEquals("replica-reporting", pool.getPoolName());
+        assertEquals(3, pool.getMaximumPoolSize());
+        assertEquals(3, pool.getMinimumIdle());
+    }
+
+    @Test
+    void unclassifiedWork_usesFallbackPool() {
+        assertNull(routing.determineCurrentLookupKey());
+        assertEquals("replica-point-read", ((HikariDataSource) routing.getResolvedDefaultDataSource()).getPoolName());
+    }
+
+    @Test
+    void workloadWithoutPool_usesFallbackPool() {
+        // Arrange
+        WorkloadContext.bind(WorkloadClass.POSTING);
+
+        // Act & Assert
+        assertFalse(routing.getResolvedDataSources().containsKey(routing.determineCurrentLookupKey()));
+        assertEquals(2, routing.getResolvedDataSources().size());
+    }
+}
@@ -0,0 +1,85 @@
+package com.fintech.pezesha_core_ledger.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.pezesha_core_ledger.dto.TrialBalanceResponse.AccountBalanceDetail;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_writesHeaderAndQuotesSpecialCharacters() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<AccountBalanceDetail> writer = writer(ExportFormat.CSV, out);
+
+        // Act
+        writer.write(AccountBalanceDetail.builder()
+                .accountCode("CASH")
+                .accountName("Cash, \"main\" till")
+                .accountType(AccountType.ASSET)
+                .balance(new BigDecimal("1E+3"))
+                .build());
+        long rows = writer.finish();
+
+        // Assert
+        assertEquals(1, rows);
+        assertEquals("accountCode,accountName,accountType,balance\r\n"
+                + "CASH,\"Cash, \"\"main\"\" till\",ASSET,1000\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void csv_noRows_stillWritesHeader() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = writer(ExportFormat.CSV, out).finish();
+
+        // Assert
+        assertEquals(0, rows);
+        assertEquals("accountCode,accountName,accountType,balance\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void csvField_textThatLooksLikeAFormula_isEscaped() {
+        // Act & Assert
+        assertEquals("'=SUM(A1:A9)", ExportWriter.csvField("=SUM(A1:A9)"));
+        assertEquals("-5.00", ExportWriter.csvField(new BigDecimal("-5.00")));
+        assertEquals("", ExportWriter.csvField(null));
+    }
+
+    @Test
+    void ndjson_writesOneObjectPerLine() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<AccountBalanceDetail> writer = writer(ExportFormat.NDJSON, out);
+
+        // Act
+        writer.write(AccountBalanceDetail.builder().accountId("acc-1").build());
+        writer.write(AccountBalanceDetail.builder().accountId("acc-2").build());
+        writer.finish();
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"accountId\":\"acc-1\""), lines[0]);
+        assertTrue(lines[1].startsWith("{\"accountId\":\"acc-2\""), lines[1]);
+    }
+
+    private ExportWriter<AccountBalanceDetail> writer(ExportFormat format, ByteArrayOutputStream out) {
+        return new ExportWriter<AccountBalanceDetail>(format, out, objectMapper)
+                .column("accountCode", AccountBalanceDetail::getAccountCode)
+                .column("accountName", AccountBalanceDetail::getAccountName)
+                .column("accountType", AccountBalanceDetail::getAccountType)
+                .column("balance", AccountBalanceDetail::getBalance);
+    }
+}
@@ -0,0 +1,87 @@
+package com.fintech.pezesha_core_ledger.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordedCacheManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private Recording recording;
+    private FlightRecordedCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        recording.enable(CacheMissEvent.class);
+        recording.start();
+        cacheManager = new FlightRecordedCacheManager(new ConcurrentMapCacheManager("idempotency", "trialBalance"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void get_missAndHit_recordsOnlyTheMiss() throws IOException {
+        // Arrange
+        Cache cache = cacheManager.getCache("idempotency");
+
+        // Act
+        assertNull(cache.get("key-1"));
+        cache.put("key-1", "response");
+        assertEquals("response", cache.get("key-1", String.class));
+
+        // Assert
+        List<RecordedEvent> misses = misses();
+        assertEquals(1, misses.size());
+        assertEquals("idempotency", misses.get(0).getString("cache"));
+        assertEquals("key-1", misses.get(0).getString("key"));
+    }
+
+    @Test
+    void get_withLoader_recordsMissForTheLoadOnly() throws IOException {
+        // Arrange
+        Cache cache = cacheManager.getCache("trialBalance");
+
+        // Act
+        assertEquals("report", cache.get("current", () -> "report"));
+        assertEquals("report", cache.get("current", () -> "recomputed"));
+
+        // Assert
+        List<RecordedEvent> misses = misses();
+        assertEquals(1, misses.size());
+        assertEquals("trialBalance", misses.get(0).getString("cache"));
+    }
+
+    @Test
+    void getCache_returnsSameWrapperAndNullForUnknownCache() {
+        // Act & Assert
+        assertSame(cacheManager.getCache("idempotency"), cacheManager.getCache("idempotency"));
+        assertNull(cacheManager.getCache("unknown"));
+    }
+
+    private List<RecordedEvent> misses() throws IOException {
+        recording.stop();
+        Path file = directory.resolve("cache.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(CacheMissEvent.NAME))
+                .toList();
+    }
+}
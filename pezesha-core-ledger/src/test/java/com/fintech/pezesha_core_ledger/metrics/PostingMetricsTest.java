@@ -0,0 +1,96 @@
+package com.fintech.pezesha_core_ledger.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostingMetrics postingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        postingMetrics = new PostingMetrics(meterRegistry, 3, 1.0);
+    }
+
+    @Test
+    void mostContendedAccounts_ranksAccountsByTotalWait() {
+        // Arrange
+        for (int i = 0; i < 200; i++) {
+            postingMetrics.lockContended("acc-quiet-" + i, TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 50; i++) {
+            postingMetrics.lockContended("acc-float", TimeUnit.MILLISECONDS.toNanos(4));
+            postingMetrics.lockContended("acc-fees", TimeUnit.MILLISECONDS.toNanos(2));
+            postingMetrics.lockContended("acc-cash", TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        // Act
+        List<Map.Entry<String, Long>> top = postingMetrics.mostContendedAccounts();
+
+        // Assert
+        assertEquals(List.of("acc-float", "acc-fees", "acc-cash"), top.stream().map(Map.Entry::getKey).toList());
+        assertTrue(top.get(0).getValue() >= 200_000);
+        assertEquals(350, meterRegistry.get("ledger.posting.lock.contended").counter().count());
+    }
+
+    @Test
+    void mostContendedAccounts_concurrentWaits_keepsHeaviestAccount() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    postingMetrics.lockContended("acc-hot", 1_000_000);
+                    postingMetrics.lockContended("acc-" + thread + "-" + i, 1_000);
+                }
+            });
+        }
+
+        // Act
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        Map.Entry<String, Long> hottest = postingMetrics.mostContendedAccounts().get(0);
+        assertEquals("acc-hot", hottest.getKey());
+        assertTrue(hottest.getValue() >= 20_000_000);
+    }
+
+    @Test
+    void refreshContendedAccounts_publishesRankedGaugesAndDecays() {
+        // Arrange
+        postingMetrics.lockContended("acc-float", TimeUnit.MILLISECONDS.toNanos(800));
+        postingMetrics.lockContended("acc-fees", TimeUnit.MILLISECONDS.toNanos(200));
+
+        // Act
+        postingMetrics.refreshContendedAccounts();
+
+        // Assert
+        assertEquals(0.8, meterRegistry.get("ledger.posting.lock.contended_accounts")
+                .tag("rank", "1").tag("account", "acc-float").gauge().value(), 1e-9);
+        assertEquals(0.2, meterRegistry.get("ledger.posting.lock.contended_accounts")
+                .tag("rank", "2").tag("account", "acc-fees").gauge().value(), 1e-9);
+        assertEquals(400_000, postingMetrics.mostContendedAccounts().get(0).getValue());
+    }
+
+    @Test
+    void lockTimedOut_countsTimeouts() {
+        // Act
+        postingMetrics.lockTimedOut();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("ledger.posting.lock.timeouts").counter().count());
+    }
+}
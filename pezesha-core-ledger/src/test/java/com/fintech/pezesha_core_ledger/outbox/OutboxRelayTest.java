@@ -0,0 +1,111 @@
+package com.fintech.pezesha_core_ledger.outbox;
+
+import com.fintech.pezesha_core_ledger.enums.LedgerEventType;
+import com.fintech.pezesha_core_ledger.models.OutboxEvent;
+import com.fintech.pezesha_core_ledger.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private LedgerEventSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, sink, transactionManager, meterRegistry,
+                true, 2, 5, Duration.ofDays(7));
+    }
+
+    @Test
+    void relayPending_publishesBatchesInOrderThenMarksThemPublished() throws IOException {
+        // Arrange
+        when(outboxEventRepository.tryRelayLock(OutboxRelay.RELAY_LOCK_KEY)).thenReturn(true);
+        when(outboxEventRepository.findPublishable(2))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+
+        // Act
+        int published = relay.relayPending();
+
+        // Assert
+        assertEquals(3, published);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerEventMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(sink, times(2)).publish(batches.capture());
+        assertEquals(List.of(1L, 2L), batches.getAllValues().get(0).stream().map(LedgerEventMessage::getId).toList());
+        assertEquals(List.of(3L), batches.getAllValues().get(1).stream().map(LedgerEventMessage::getId).toList());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+        assertEquals(3.0, meterRegistry.get("ledger.outbox.published").counter().count());
+    }
+
+    @Test
+    void relayPending_sinkFails_leavesBatchUnpublished() throws IOException {
+        // Arrange
+        when(outboxEventRepository.tryRelayLock(OutboxRelay.RELAY_LOCK_KEY)).thenReturn(true);
+        when(outboxEventRepository.findPublishable(2)).thenReturn(List.of(event(1L), event(2L)));
+        doThrow(new IOException("disk full")).when(sink).publish(anyList());
+
+        // Act
+        int published = relay.relayPending();
+
+        // Assert
+        assertEquals(0, published);
+        verify(outboxEventRepository, never()).markPublished(anyList(), any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.get("ledger.outbox.publish.failures").counter().count());
+    }
+
+    @Test
+    void relayPending_lockHeldByAnotherRelay_publishesNothing() throws IOException {
+        // Arrange
+        when(outboxEventRepository.tryRelayLock(OutboxRelay.RELAY_LOCK_KEY)).thenReturn(false);
+
+        // Act
+        int published = relay.relayPending();
+
+        // Assert
+        assertEquals(0, published);
+        verify(outboxEventRepository, never()).findPublishable(anyInt());
+        verifyNoInteractions(sink);
+    }
+
+    private OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(LedgerEventType.TRANSACTION_POSTED)
+                .aggregateType("transaction")
+                .aggregateId("trans-" + id)
+                .payload("{\"transactionId\":\"trans-" + id + "\"}")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.pezesha_core_ledger.dto.CreateAccountRequest;
+import com.fintech.pezesha_core_ledger.dto.DisbursementRequest;
+import com.fintech.pezesha_core_ledger.dto.LoanApplicationRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionEntryRequest;
+import com.fintech.pezesha_core_ledger.dto.TransactionRequest;
+import com.fintech.pezesha_core_ledger.enums.AccountType;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.service.AccountService;
+import com.fintech.pezesha_core_ledger.service.LoanService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.fintech.pezesha_core_ledger.querybudget.QueryBudgetAssertions.withinDeclaredBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The whole application on an embedded PostgreSQL, checking that endpoints issue no more SQL
+ * statements than their {@link QueryBudget} declares.
+ */
+@SpringBootTest(properties = {
+        "ledger.outbox.sink=in-process",
+        "ledger.jfr.enabled=false",
+        "ledger.slow-query.explain.enabled=false",
+        "spring.datasource.hikari.minimum-idle=1"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+class DeclaredQueryBudgetsTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @TestConfiguration
+    static class EmbeddedDatabase {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() {
+            return postgres;
+        }
+
+        // The pools are built from these, so the context closes them before the database
+        @Bean
+        @Primary
+        @ConfigurationProperties("spring.datasource")
+        DataSourceProperties embeddedDataSourceProperties(EmbeddedPostgres embeddedPostgres) {
+            return new DataSourceProperties();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Test
+    void postTransaction_staysWithinDeclaredBudget() throws Exception {
+        // Arrange
+        String cash = account(AccountType.ASSET);
+        String deposits = account(AccountType.LIABILITY);
+        TransactionRequest request = TransactionRequest.builder()
+                .idempotencyKey(UUID.randomUUID().toString())
+                .description("Customer deposit")
+                .entries(List.of(entry(cash, new BigDecimal("500.00"), BigDecimal.ZERO),
+                        entry(deposits, BigDecimal.ZERO, new BigDecimal("500.00"))))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(withinDeclaredBudget());
+    }
+
+    @Test
+    void disburse_staysWithinDeclaredBudget() throws Exception {
+        // Arrange
+        String borrower = account(AccountType.ASSET);
+        String loanId = loanService.applyForLoan(LoanApplicationRequest.builder()
+                .accountId(borrower)
+                .principalAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("0.10"))
+                .termInDays(30)
+                .currency(Currency.KES)
+                .dueDate(LocalDateTime.now().plusDays(30))
+                .build()).getLoanId();
+        loanService.approveLoan(loanId);
+        DisbursementRequest request = DisbursementRequest.builder()
+                .idempotencyKey(UUID.randomUUID().toString())
+                .amount(new BigDecimal("1000.00"))
+                .originationFee(new BigDecimal("20.00"))
+                .currency(Currency.KES)
+                .loansReceivableAccountId(account(AccountType.ASSET))
+                .cashAccountId(account(AccountType.ASSET))
+                .origFeeReceivableAccountId(account(AccountType.ASSET))
+                .feeIncomeAccountId(account(AccountType.INCOME))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/loans/{loanId}/disburse", loanId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(withinDeclaredBudget());
+    }
+
+    @Test
+    void loanAging_staysWithinDeclaredBudget() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/reports/loan-aging"))
+                .andExpect(status().isOk())
+                .andExpect(withinDeclaredBudget());
+    }
+
+    private String account(AccountType type) {
+        String code = type.name() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return accountService.createAccount(CreateAccountRequest.builder()
+                .code(code)
+                .name("Account " + code)
+                .type(type)
+                .currency(Currency.KES)
+                .build()).getId();
+    }
+
+    private static TransactionEntryRequest entry(String accountId, BigDecimal debit, BigDecimal credit) {
+        return TransactionEntryRequest.builder()
+                .accountId(accountId)
+                .debit(debit)
+                .credit(credit)
+                .currency(Currency.KES)
+                .build();
+    }
+}
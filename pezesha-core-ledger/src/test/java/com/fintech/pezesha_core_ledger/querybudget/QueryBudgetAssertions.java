@@ -0,0 +1,73 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Fails a test when SQL statements exceed a budget. Through MockMvc with the filters applied
+ * ({@code @SpringBootTest @AutoConfigureMockMvc}):
+ * <pre>
+ * mockMvc.perform(post("/api/v1/transactions")...).andExpect(withinDeclaredBudget());
+ * </pre>
+ * or around a direct call: {@code assertStatementsAtMost(3, () -> accountService.getAccountBalance(id, null))}.
+ */
+public final class QueryBudgetAssertions {
+
+    private static final int LISTED_STATEMENTS = 5;
+
+    private QueryBudgetAssertions() {
+    }
+
+    /**
+     * The request stayed within its handler's {@link QueryBudget}, or the default budget.
+     */
+    public static ResultMatcher withinDeclaredBudget() {
+        return result -> assertWithinDeclaredBudget(result.getRequest());
+    }
+
+    public static ResultMatcher statementsAtMost(int budget) {
+        return result -> assertWithin(counterOf(result.getRequest()), budget, describe(result.getRequest()));
+    }
+
+    public static void assertWithinDeclaredBudget(HttpServletRequest request) {
+        Object budget = request.getAttribute(QueryBudgetFilter.BUDGET_ATTRIBUTE);
+        assertWithin(counterOf(request), (Integer) budget, describe(request));
+    }
+
+    public static <T> T assertStatementsAtMost(int budget, Callable<T> work) throws Exception {
+        QueryCounter counter = QueryCounter.start();
+        T result;
+        try {
+            result = work.call();
+        } finally {
+            QueryCounter.stop();
+        }
+        assertWithin(counter, budget, "Call");
+        return result;
+    }
+
+    private static QueryCounter counterOf(HttpServletRequest request) {
+        Object counter = request.getAttribute(QueryBudgetFilter.COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            throw new AssertionError("No statement count on " + describe(request)
+                    + "; is QueryBudgetFilter applied (ledger.query-budget.enabled)?");
+        }
+        return (QueryCounter) counter;
+    }
+
+    private static void assertWithin(QueryCounter counter, int budget, String what) {
+        if (counter.getStatements() > budget) {
+            throw new AssertionError(what + " issued " + counter.getStatements() + " SQL statements, budget " + budget
+                    + ". Most repeated:\n" + counter.mostRepeated(LISTED_STATEMENTS).stream()
+                    .map(e -> "  " + e.getValue() + "x " + e.getKey())
+                    .collect(Collectors.joining("\n")));
+        }
+    }
+
+    private static String describe(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+}
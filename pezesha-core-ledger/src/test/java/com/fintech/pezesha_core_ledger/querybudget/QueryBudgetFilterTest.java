@@ -0,0 +1,126 @@
+package com.fintech.pezesha_core_ledger.querybudget;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryBudgetFilter filter;
+    private CountingStatementInspector inspector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryBudgetFilter(new QueryBudgetProperties(), meterRegistry);
+        inspector = new CountingStatementInspector();
+    }
+
+    @Test
+    void doFilter_recordsStatementsAndJdbcTimePerEndpoint() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/acc-1/balance");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            handledBy(request, "/api/v1/accounts/{accountId}/balance", "budgetOfTwo");
+            inspector.inspect("select a from accounts a where a.id=?");
+            inspector.inspect("select sum(e.debit-e.credit) from transaction_entries e where e.account_id=?");
+            QueryCounter.current().jdbcExecuted(TimeUnit.MILLISECONDS.toNanos(3));
+        });
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("ledger.sql.statements")
+                .tag("method", "GET").tag("uri", "/api/v1/accounts/{accountId}/balance").summary().totalAmount());
+        assertEquals(3.0, meterRegistry.get("ledger.sql.jdbc.time")
+                .tag("uri", "/api/v1/accounts/{accountId}/balance").timer().totalTime(TimeUnit.MILLISECONDS), 0.01);
+        assertTrue(meterRegistry.find("ledger.sql.budget.exceeded").counters().isEmpty());
+        assertDoesNotThrow(() -> QueryBudgetAssertions.assertWithinDeclaredBudget(request));
+        assertNull(QueryCounter.current());
+    }
+
+    @Test
+    void doFilter_overDeclaredBudget_countsAndFailsAssertion() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reports/trial-balance");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            handledBy(request, "/api/v1/reports/trial-balance", "budgetOfTwo");
+            inspector.inspect("select a from accounts a");
+            for (int i = 0; i < 3; i++) {
+                inspector.inspect("select sum(e.debit-e.credit) from transaction_entries e where e.account_id=?");
+            }
+        });
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("ledger.sql.budget.exceeded")
+                .tag("uri", "/api/v1/reports/trial-balance").counter().count());
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> QueryBudgetAssertions.assertWithinDeclaredBudget(request));
+        assertTrue(error.getMessage().contains("4 SQL statements, budget 2"));
+        assertTrue(error.getMessage().contains("3x select sum"));
+    }
+
+    @Test
+    void doFilter_handlerWithoutAnnotation_usesDefaultBudget() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/loans");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            handledBy(request, "/api/v1/loans", "undeclared");
+            inspector.inspect("select l from loans l");
+        });
+
+        // Assert
+        assertEquals(new QueryBudgetProperties().getDefaultBudget(), request.getAttribute(QueryBudgetFilter.BUDGET_ATTRIBUTE));
+    }
+
+    @Test
+    void inspect_outsideCountedRequest_passesSqlThrough() {
+        // Act & Assert
+        assertEquals("select 1", inspector.inspect("select 1"));
+        assertNull(QueryCounter.current());
+    }
+
+    @Test
+    void assertStatementsAtMost_overBudget_fails() {
+        // Act & Assert
+        assertThrows(AssertionError.class, () -> QueryBudgetAssertions.assertStatementsAtMost(1, () -> {
+            inspector.inspect("select a from accounts a where a.id=?");
+            inspector.inspect("select a from accounts a where a.id=?");
+            return null;
+        }));
+        assertNull(QueryCounter.current());
+    }
+
+    private static void handledBy(MockHttpServletRequest request, String pattern, String method) {
+        try {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                    new HandlerMethod(new SampleController(), SampleController.class.getMethod(method)));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class SampleController {
+
+        @QueryBudget(2)
+        public void budgetOfTwo() {
+        }
+
+        public void undeclared() {
+        }
+    }
+}
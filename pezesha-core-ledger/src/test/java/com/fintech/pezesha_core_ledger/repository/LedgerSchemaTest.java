@@ -0,0 +1,135 @@
+package com.fintech.pezesha_core_ledger.repository;
+
+import com.fintech.pezesha_core_ledger.enums.TransactionStatus;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Flyway migrations on an embedded PostgreSQL, with Hibernate validating every entity
+ * against the schema they leave (the context does not start otherwise).
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LedgerSchemaTest {
+
+    @TestConfiguration
+    static class EmbeddedDatabase {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_appliesEveryMigration() {
+        // Assert
+        assertEquals(0, flyway.info().pending().length);
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied.length > 0);
+        for (MigrationInfo migration : applied) {
+            assertTrue(migration.getState().isApplied() && !migration.getState().isFailed(),
+                    migration.getVersion() + " " + migration.getState());
+        }
+    }
+
+    @Test
+    void save_sameIdempotencyKeyInAnotherPartition_isRejected() {
+        // Arrange
+        YearMonth month = YearMonth.now();
+        transactionRepository.saveAndFlush(transaction("key-1", month.atDay(15).atTime(10, 0), 1L));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> transactionRepository.saveAndFlush(
+                transaction("key-1", month.plusMonths(1).atDay(15).atTime(10, 0), 2L)));
+    }
+
+    @Test
+    void save_differentMonths_landInTheirOwnPartitions() {
+        // Arrange
+        YearMonth month = YearMonth.now();
+
+        // Act
+        transactionRepository.saveAndFlush(transaction("key-1", month.atDay(15).atTime(10, 0), 1L));
+        transactionRepository.saveAndFlush(transaction("key-2", month.plusMonths(1).atDay(15).atTime(10, 0), 2L));
+
+        // Assert
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT tableoid::regclass::text FROM transactions ORDER BY posted_at", String.class);
+        DateTimeFormatter suffix = DateTimeFormatter.ofPattern("yyyy_MM");
+        assertEquals(List.of("transactions_" + month.format(suffix), "transactions_" + month.plusMonths(1).format(suffix)),
+                partitions);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_idempotency_keys", Integer.class));
+    }
+
+    @Test
+    void createMonthPartitions_rowsInDefaultPartition_movesThemIntoTheNewPartition() {
+        // Arrange
+        YearMonth month = YearMonth.now().plusMonths(6);
+        LocalDateTime postedAt = month.atDay(15).atTime(10, 0);
+        Transaction stranded = transactionRepository.saveAndFlush(transaction("key-1", postedAt, 1L));
+        jdbcTemplate.update("INSERT INTO accounts (id, code, name, type, currency, is_active) " +
+                "VALUES ('acc-1', 'CASH', 'Cash', 'ASSET', 'KES', true)");
+        jdbcTemplate.update("INSERT INTO transaction_entries (id, transaction_id, account_id, debit, credit, currency, posted_at) " +
+                "VALUES ('entry-1', ?, 'acc-1', 10, 0, 'KES', ?)", stranded.getId(), Timestamp.valueOf(postedAt));
+
+        // Act
+        Integer moved = jdbcTemplate.queryForObject("SELECT ledger_create_month_partitions(?)", Integer.class,
+                Date.valueOf(month.atDay(1)));
+
+        // Assert
+        assertEquals(1, moved);
+        String suffix = month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        assertEquals("transactions_" + suffix,
+                jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM transactions", String.class));
+        assertEquals("transaction_entries_" + suffix,
+                jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM transaction_entries", String.class));
+        assertEquals(stranded.getId(), jdbcTemplate.queryForObject(
+                "SELECT transaction_id FROM transaction_idempotency_keys WHERE idempotency_key = 'key-1'", String.class));
+    }
+
+    private static Transaction transaction(String idempotencyKey, LocalDateTime postedAt, long ledgerSequence) {
+        return Transaction.builder()
+                .idempotencyKey(idempotencyKey)
+                .description("Test transaction")
+                .status(TransactionStatus.POSTED)
+                .postedAt(postedAt)
+                .ledgerSequence(ledgerSequence)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.fintech.pezesha_core_ledger.sequence;
+
+import com.fintech.pezesha_core_ledger.models.Account;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import com.fintech.pezesha_core_ledger.models.TransactionEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerSequenceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LedgerSequence ledgerSequence;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.queryForObject(contains("increment_by"), eq(Long.class))).thenReturn(3L);
+        lenient().when(jdbcTemplate.queryForObject(contains("MAX(ledger_seq)"), eq(Long.class))).thenReturn(10L);
+        ledgerSequence = new LedgerSequence(jdbcTemplate, eventPublisher, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void allocate_reservesOneBlockPerBlockSizeNumbers() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("nextval"), eq(Long.class))).thenReturn(11L, 14L);
+
+        // Act
+        long first = ledgerSequence.allocate();
+        long second = ledgerSequence.allocate();
+        long third = ledgerSequence.allocate();
+        long fourth = ledgerSequence.allocate();
+
+        // Assert
+        assertEquals(11, first);
+        assertEquals(12, second);
+        assertEquals(13, third);
+        assertEquals(14, fourth);
+        verify(jdbcTemplate, times(2)).queryForObject(contains("nextval"), eq(Long.class));
+    }
+
+    @Test
+    void settle_laterNumberFirst_holdsHighWaterMarkBelowEarlierInFlightNumber() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("nextval"), eq(Long.class))).thenReturn(11L);
+        long earlier = ledgerSequence.allocate();
+        long later = ledgerSequence.allocate();
+
+        // Act
+        long afterLater = ledgerSequence.settle(later);
+        long afterEarlier = ledgerSequence.settle(earlier);
+
+        // Assert
+        assertEquals(10, afterLater);
+        assertEquals(12, afterEarlier);
+        assertEquals(12, ledgerSequence.highWaterMark());
+    }
+
+    @Test
+    void assign_onCommit_advancesHighWaterMarkAndPublishesEvent() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("nextval"), eq(Long.class))).thenReturn(11L);
+        TransactionSynchronizationManager.initSynchronization();
+        Transaction transaction = Transaction.builder()
+                .id("trans-123")
+                .postedAt(LocalDateTime.now())
+                .build();
+        transaction.addEntry(TransactionEntry.builder()
+                .account(Account.builder().id("acc-123").build())
+                .debit(new BigDecimal("100"))
+                .credit(BigDecimal.ZERO)
+                .build());
+
+        // Act
+        long sequence = ledgerSequence.assign(transaction);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertEquals(11, sequence);
+        assertEquals(11L, transaction.getLedgerSequence());
+        assertEquals(11, ledgerSequence.highWaterMark());
+        ArgumentCaptor<LedgerCommittedEvent> event = ArgumentCaptor.forClass(LedgerCommittedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("trans-123", event.getValue().getTransactionId());
+        assertEquals(Set.of("acc-123"), event.getValue().getAccountIds());
+    }
+
+    @Test
+    void assign_outsideTransaction_throwsIllegalStateException() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> ledgerSequence.assign(new Transaction()));
+    }
+}
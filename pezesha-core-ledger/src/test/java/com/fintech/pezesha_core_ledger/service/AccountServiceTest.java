@@ -1,5 +1,6 @@
 package com.fintech.pezesha_core_ledger.service;
 
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
 import com.fintech.pezesha_core_ledger.dto.AccountBalanceResponse;
 import com.fintech.pezesha_core_ledger.dto.AccountResponse;
 import com.fintech.pezesha_core_ledger.dto.CreateAccountRequest;
@@ -13,10 +14,12 @@ import com.fintech.pezesha_core_ledger.repository.TransactionEntryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -35,9 +38,13 @@ class AccountServiceTest {
 
     private AccountService accountService;
 
+    @TempDir
+    Path archiveDir;
+
     @BeforeEach
     void setUp() {
-        accountService = new AccountService(accountRepository, transactionEntryRepository);
+        accountService = new AccountService(accountRepository, transactionEntryRepository,
+                new LedgerArchiveStore(archiveDir.toString()));
     }
 
     @Test
@@ -0,0 +1,160 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.dto.AccountBalanceResponse;
+import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.exception.CapacityExceededException;
+import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import com.fintech.pezesha_core_ledger.sequence.LedgerCommittedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceStreamServiceTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BalanceStreamService balanceStreamService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(accountService.getCurrentBalance(any())).thenAnswer(invocation -> balance(invocation.getArgument(0)));
+        balanceStreamService = new BalanceStreamService(accountService, transactionManager, meterRegistry,
+                2, 2, 3, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        balanceStreamService.shutdown();
+    }
+
+    @Test
+    void subscribe_sendsCurrentBalanceOfEachAccount() {
+        // Act
+        balanceStreamService.subscribe(List.of("acc-1", "acc-2"));
+
+        // Assert
+        verify(accountService, timeout(1000)).getCurrentBalance("acc-1");
+        verify(accountService, timeout(1000)).getCurrentBalance("acc-2");
+        assertEquals(1, balanceStreamService.subscriberCount());
+    }
+
+    @Test
+    void flushDirtyAccounts_manyCommitsToOneAccount_computeBalanceOnce() {
+        // Arrange
+        balanceStreamService.subscribe(List.of("acc-1"));
+        verify(accountService, timeout(1000)).getCurrentBalance("acc-1");
+
+        // Act
+        for (long seq = 1; seq <= 5; seq++) {
+            balanceStreamService.onCommitted(committed(seq, "acc-1", "acc-unwatched"));
+        }
+        balanceStreamService.flushDirtyAccounts();
+
+        // Assert
+        verify(accountService, timeout(1000).times(2)).getCurrentBalance("acc-1");
+        verify(accountService, after(200).never()).getCurrentBalance("acc-unwatched");
+    }
+
+    @Test
+    void flushDirtyAccounts_noCommits_readsNothing() {
+        // Arrange
+        balanceStreamService.subscribe(List.of("acc-1"));
+        verify(accountService, timeout(1000)).getCurrentBalance("acc-1");
+
+        // Act
+        balanceStreamService.flushDirtyAccounts();
+
+        // Assert
+        verify(accountService, after(200).times(1)).getCurrentBalance("acc-1");
+    }
+
+    @Test
+    void subscribe_tooManyAccounts_throwsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class,
+                () -> balanceStreamService.subscribe(List.of("a", "b", "c", "d")));
+        assertEquals(0, balanceStreamService.subscriberCount());
+    }
+
+    @Test
+    void subscribe_unknownAccount_throwsBeforeRegistering() {
+        // Arrange
+        when(accountService.getAccount("missing")).thenThrow(new ResourceNotFoundException("Account not found"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> balanceStreamService.subscribe(List.of("missing")));
+        assertEquals(0, balanceStreamService.subscriberCount());
+    }
+
+    @Test
+    void subscribe_subscriberLimitReached_throwsCapacityExceeded() {
+        // Arrange
+        balanceStreamService.subscribe(List.of("acc-1"));
+        balanceStreamService.subscribe(List.of("acc-2"));
+
+        // Act & Assert
+        assertThrows(CapacityExceededException.class,
+                () -> balanceStreamService.subscribe(List.of("acc-3")));
+        assertEquals(2, balanceStreamService.subscriberCount());
+    }
+
+    @Test
+    void flushDirtyAccounts_subscriberGone_releasesItsSlotOnce() {
+        // Arrange
+        SseEmitter emitter = balanceStreamService.subscribe(List.of("acc-1"));
+        balanceStreamService.subscribe(List.of("acc-2"));
+        emitter.complete();
+
+        // Act
+        for (long seq = 1; seq <= 3; seq++) {
+            balanceStreamService.onCommitted(committed(seq, "acc-1"));
+            balanceStreamService.flushDirtyAccounts();
+        }
+
+        // Assert
+        verify(accountService, timeout(1000).atLeast(2)).getCurrentBalance("acc-1");
+        verify(accountService, after(200).atLeast(1)).getCurrentBalance("acc-2");
+        assertEquals(1, balanceStreamService.subscriberCount());
+    }
+
+    private static LedgerCommittedEvent committed(long sequence, String... accountIds) {
+        return new LedgerCommittedEvent(sequence, sequence, "tx-" + sequence, Set.of(accountIds), LocalDateTime.now());
+    }
+
+    private static AccountBalanceResponse balance(String accountId) {
+        return AccountBalanceResponse.builder()
+                .accountId(accountId)
+                .currency(Currency.KES)
+                .balance(new BigDecimal("100.00"))
+                .asOfDate(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fintech.pezesha_core_ledger.dto.LedgerChangeBatch;
+import com.fintech.pezesha_core_ledger.dto.TransactionResponse;
+import com.fintech.pezesha_core_ledger.enums.TransactionStatus;
+import com.fintech.pezesha_core_ledger.models.Transaction;
+import com.fintech.pezesha_core_ledger.repository.TransactionRepository;
+import com.fintech.pezesha_core_ledger.sequence.LedgerCommittedEvent;
+import com.fintech.pezesha_core_ledger.sequence.LedgerSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerChangeFeedServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LedgerSequence ledgerSequence;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new LedgerChangeFeedService(transactionRepository, transactionService, ledgerSequence,
+                transactionManager, new SimpleMeterRegistry(), 1, Duration.ofSeconds(5));
+        lenient().when(transactionService.mapToResponse(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            return TransactionResponse.builder()
+                    .id(transaction.getId())
+                    .ledgerSequence(transaction.getLedgerSequence())
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.shutdown();
+    }
+
+    @Test
+    void changesAfter_fullBatch_cursorPointsAtLastReturnedPosting() throws Exception {
+        // Arrange
+        when(ledgerSequence.highWaterMark()).thenReturn(20L);
+        when(transactionRepository.findSequencedBetween(eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(List.of(transaction(11), transaction(13)));
+
+        // Act
+        LedgerChangeBatch batch = changeFeedService.changesAfter(10, 2, Duration.ofSeconds(1)).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(List.of(11L, 13L), batch.getChanges().stream().map(TransactionResponse::getLedgerSequence).toList());
+        assertEquals(13, batch.getNextCursor());
+        assertEquals(20, batch.getHighWaterMark());
+        verify(transactionRepository).fetchEntries(eq(List.of("trans-11", "trans-13")), any(), any());
+    }
+
+    @Test
+    void changesAfter_shortBatch_cursorSkipsToHighWaterMark() throws Exception {
+        // Arrange
+        when(ledgerSequence.highWaterMark()).thenReturn(20L);
+        when(transactionRepository.findSequencedBetween(eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(List.of(transaction(11)));
+
+        // Act
+        LedgerChangeBatch batch = changeFeedService.changesAfter(10, 500, Duration.ofSeconds(1)).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, batch.getChanges().size());
+        assertEquals(20, batch.getNextCursor());
+    }
+
+    @Test
+    void changesAfter_caughtUp_waitsForCommitWithoutQuerying() throws Exception {
+        // Arrange
+        when(ledgerSequence.highWaterMark()).thenReturn(20L);
+        when(transactionRepository.findSequencedBetween(eq(20L), eq(21L), any(Pageable.class)))
+                .thenReturn(List.of(transaction(21)));
+
+        // Act
+        CompletableFuture<LedgerChangeBatch> pending = changeFeedService.changesAfter(20, 500, Duration.ofSeconds(5));
+        boolean doneBeforeCommit = pending.isDone();
+        verify(transactionRepository, never()).findSequencedBetween(anyLong(), anyLong(), any());
+        changeFeedService.onCommitted(new LedgerCommittedEvent(21, 21, "trans-21", Set.of("acc-1"), LocalDateTime.now()));
+        LedgerChangeBatch batch = pending.get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(doneBeforeCommit);
+        assertEquals(List.of(21L), batch.getChanges().stream().map(TransactionResponse::getLedgerSequence).toList());
+        assertEquals(21, batch.getNextCursor());
+    }
+
+    @Test
+    void changesAfter_waitExpires_returnsEmptyBatchAtSameCursor() throws Exception {
+        // Arrange
+        when(ledgerSequence.highWaterMark()).thenReturn(20L);
+
+        // Act
+        LedgerChangeBatch batch = changeFeedService.changesAfter(20, 500, Duration.ofMillis(50)).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(batch.getChanges().isEmpty());
+        assertEquals(20, batch.getNextCursor());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private Transaction transaction(long sequence) {
+        return Transaction.builder()
+                .id("trans-" + sequence)
+                .ledgerSequence(sequence)
+                .status(TransactionStatus.POSTED)
+                .postedAt(LocalDateTime.now())
+                .build();
+    }
+}
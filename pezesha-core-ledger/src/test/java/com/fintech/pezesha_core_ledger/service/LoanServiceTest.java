@@ -2,11 +2,13 @@ package com.fintech.pezesha_core_ledger.service;
 
 import com.fintech.pezesha_core_ledger.dto.*;
 import com.fintech.pezesha_core_ledger.enums.Currency;
+import com.fintech.pezesha_core_ledger.enums.LedgerEventType;
 import com.fintech.pezesha_core_ledger.enums.LoanStatus;
 import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
 import com.fintech.pezesha_core_ledger.exception.ValidationException;
 import com.fintech.pezesha_core_ledger.models.Account;
 import com.fintech.pezesha_core_ledger.models.Loan;
+import com.fintech.pezesha_core_ledger.outbox.LedgerEventRecorder;
 import com.fintech.pezesha_core_ledger.repository.AccountRepository;
 import com.fintech.pezesha_core_ledger.repository.LoanRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,11 +38,14 @@ class LoanServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private LedgerEventRecorder ledgerEventRecorder;
+
     private LoanService loanService;
 
     @BeforeEach
     void setUp() {
-        loanService = new LoanService(loanRepository, transactionService, accountRepository);
+        loanService = new LoanService(loanRepository, transactionService, accountRepository, ledgerEventRecorder);
     }
 
     @Test
@@ -74,6 +79,7 @@ class LoanServiceTest {
         assertEquals(LoanStatus.PENDING, response.getStatus());
         assertEquals(new BigDecimal("10000"), response.getPrincipalAmount());
         assertEquals("acc-123", response.getAccountId());
+        verify(ledgerEventRecorder).loanChanged(eq(LedgerEventType.LOAN_APPLIED), any(Loan.class));
     }
 
     @Test
@@ -127,6 +133,7 @@ class LoanServiceTest {
         assertEquals(new BigDecimal("5000"), response.getOutstandingBalance());
 
         verify(transactionService, times(2)).postTransaction(any(TransactionRequest.class));
+        verify(ledgerEventRecorder).loanChanged(LedgerEventType.LOAN_DISBURSED, loan);
     }
 
     @Test
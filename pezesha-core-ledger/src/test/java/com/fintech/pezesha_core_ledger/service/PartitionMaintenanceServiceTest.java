@@ -0,0 +1,73 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void ensureFuturePartitions_createsCurrentAndUpcomingMonths() {
+        // Arrange
+        PartitionMaintenanceService service = new PartitionMaintenanceService(jdbcTemplate, meterRegistry, true, 2);
+        Date currentMonth = Date.valueOf(YearMonth.from(LocalDate.now()).atDay(1));
+        Date lastMonth = Date.valueOf(YearMonth.from(LocalDate.now()).plusMonths(2).atDay(1));
+
+        // Act
+        service.ensureFuturePartitions();
+
+        // Assert
+        verify(jdbcTemplate, times(3)).queryForObject(anyString(), eq(Integer.class), any(Date.class));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Integer.class), eq(currentMonth));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Integer.class), eq(lastMonth));
+        assertEquals(0, meterRegistry.get("ledger.partitions.failed_months").gauge().value());
+    }
+
+    @Test
+    void ensureFuturePartitions_failureForOneMonth_continuesAndCountsIt() {
+        // Arrange
+        PartitionMaintenanceService service = new PartitionMaintenanceService(jdbcTemplate, meterRegistry, true, 2);
+        Date currentMonth = Date.valueOf(YearMonth.from(LocalDate.now()).atDay(1));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Date.class))).thenReturn(0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(currentMonth)))
+                .thenThrow(new DataAccessResourceFailureException("lock timeout"));
+
+        // Act
+        service.ensureFuturePartitions();
+
+        // Assert
+        verify(jdbcTemplate, times(3)).queryForObject(anyString(), eq(Integer.class), any(Date.class));
+        assertEquals(1, meterRegistry.get("ledger.partitions.failed_months").gauge().value());
+    }
+
+    @Test
+    void ensureFuturePartitions_disabled_doesNothing() {
+        new PartitionMaintenanceService(jdbcTemplate, meterRegistry, false, 3).ensureFuturePartitions();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
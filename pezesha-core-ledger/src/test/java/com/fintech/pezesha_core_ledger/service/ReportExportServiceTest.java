@@ -0,0 +1,119 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.export.ExportFormat;
+import com.fintech.pezesha_core_ledger.models.Account;
+import com.fintech.pezesha_core_ledger.repository.AccountRepository;
+import com.fintech.pezesha_core_ledger.repository.TransactionEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionEntryRepository transactionEntryRepository;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @TempDir
+    Path archiveDir;
+
+    private ReportExportService reportExportService;
+
+    @BeforeEach
+    void setUp() {
+        reportExportService = new ReportExportService(jdbcTemplate, accountRepository, transactionEntryRepository,
+                new LedgerArchiveStore(archiveDir.toString()), new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void exportTrialBalance_splitsBalancesLikeTheTrialBalanceTotals() throws Exception {
+        // Arrange
+        when(resultSet.getString(1)).thenReturn("acc-1", "acc-1", "acc-2", "acc-2");
+        when(resultSet.getString(2)).thenReturn("CASH", "DEPOSITS");
+        when(resultSet.getString(3)).thenReturn("Cash", "Customer deposits");
+        when(resultSet.getString(4)).thenReturn("ASSET", "LIABILITY");
+        when(resultSet.getString(5)).thenReturn("KES", "KES");
+        when(resultSet.getBigDecimal(6)).thenReturn(new BigDecimal("500.00"), new BigDecimal("-500.00"));
+        streamRows(2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = reportExportService.exportTrialBalance(LocalDateTime.of(2026, 9, 30, 23, 59), ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals(2, rows);
+        assertEquals("accountId,accountCode,accountName,accountType,currency,debit,credit,balance\r\n"
+                + "acc-1,CASH,Cash,ASSET,KES,500.00,0,500.00\r\n"
+                + "acc-2,DEPOSITS,Customer deposits,LIABILITY,KES,0,500.00,-500.00\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportStatement_runningBalanceStartsFromOpeningBalance() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2026, 9, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 9, 30, 23, 59);
+        when(accountRepository.findById("acc-1")).thenReturn(Optional.of(Account.builder().id("acc-1").code("CASH").build()));
+        when(transactionEntryRepository.getAccountBalanceAsOf(eq("acc-1"), any(LocalDateTime.class)))
+                .thenReturn(new BigDecimal("100.00"));
+        when(resultSet.getString(2)).thenReturn("trans-1", "trans-2");
+        when(resultSet.getTimestamp(3)).thenReturn(Timestamp.valueOf(start.plusDays(1)), Timestamp.valueOf(start.plusDays(2)));
+        when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal("50.00"), BigDecimal.ZERO);
+        when(resultSet.getBigDecimal(5)).thenReturn(BigDecimal.ZERO, new BigDecimal("30.00"));
+        when(resultSet.getString(6)).thenReturn("KES");
+        streamRows(2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = reportExportService.exportStatement("acc-1", start, end, ExportFormat.NDJSON, out);
+
+        // Assert
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[0].contains("\"transactionId\":\"trans-1\""), lines[0]);
+        assertTrue(lines[0].contains("\"runningBalance\":150.00"), lines[0]);
+        assertTrue(lines[1].contains("\"runningBalance\":120.00"), lines[1]);
+        verify(transactionEntryRepository).getAccountBalanceAsOf("acc-1", start.minusNanos(1000));
+    }
+
+    private void streamRows(int count) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < count; i++) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
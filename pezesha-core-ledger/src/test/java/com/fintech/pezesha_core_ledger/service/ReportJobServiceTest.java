@@ -0,0 +1,186 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.pezesha_core_ledger.bulkhead.BulkheadProperties;
+import com.fintech.pezesha_core_ledger.bulkhead.Bulkheads;
+import com.fintech.pezesha_core_ledger.dto.ReportJobRequest;
+import com.fintech.pezesha_core_ledger.dto.ReportJobResponse;
+import com.fintech.pezesha_core_ledger.dto.TrialBalanceResponse;
+import com.fintech.pezesha_core_ledger.enums.ReportJobStatus;
+import com.fintech.pezesha_core_ledger.enums.ReportType;
+import com.fintech.pezesha_core_ledger.exception.ReportNotReadyException;
+import com.fintech.pezesha_core_ledger.models.ReportJob;
+import com.fintech.pezesha_core_ledger.models.ReportJobResult;
+import com.fintech.pezesha_core_ledger.repository.ReportJobRepository;
+import com.fintech.pezesha_core_ledger.repository.ReportJobResultRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private ReportJobResultRepository reportJobResultRepository;
+
+    @Mock
+    private ReportingService reportingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Bulkheads bulkheads;
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bulkheads = new Bulkheads(new BulkheadProperties(), meterRegistry);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        reportJobService = new ReportJobService(reportJobRepository, reportJobResultRepository, reportingService,
+                bulkheads, new ObjectMapper().registerModule(new JavaTimeModule()), transactionManager, meterRegistry,
+                Duration.ofMinutes(10), Duration.ofHours(24));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkheads.shutdown();
+    }
+
+    @Test
+    void submit_identicalJobInFlight_returnsExistingJobWithoutQueueing() {
+        // Arrange
+        ReportJob running = ReportJob.builder()
+                .id("job-1")
+                .reportType(ReportType.TRIAL_BALANCE)
+                .status(ReportJobStatus.RUNNING)
+                .build();
+        when(reportJobRepository.findReusable(eq("TRIAL_BALANCE:2026-09-30T23:59:59"), any(), any(), any(), any()))
+                .thenReturn(List.of(running));
+
+        // Act
+        ReportJobResponse response = reportJobService.submit(ReportJobRequest.builder()
+                .reportType(ReportType.TRIAL_BALANCE)
+                .asOfDate(LocalDateTime.of(2026, 9, 30, 23, 59, 59, 500_000_000))
+                .build());
+
+        // Assert
+        assertEquals("job-1", response.getJobId());
+        verify(reportJobRepository, never()).save(any());
+        verifyNoInteractions(reportingService);
+    }
+
+    @Test
+    void submit_newRequest_computesAndStoresCompressedResult() throws Exception {
+        // Arrange
+        when(reportJobRepository.findReusable(eq("TRIAL_BALANCE:current"), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(reportJobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            ReportJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId("job-2");
+            }
+            return job;
+        });
+        when(reportJobRepository.findById("job-2")).thenAnswer(invocation -> Optional.of(ReportJob.builder()
+                .id("job-2")
+                .reportType(ReportType.TRIAL_BALANCE)
+                .status(ReportJobStatus.PENDING)
+                .build()));
+        when(reportingService.getTrialBalance(null)).thenReturn(TrialBalanceResponse.builder()
+                .totalDebits(new BigDecimal("100.00"))
+                .totalCredits(new BigDecimal("100.00"))
+                .isBalanced(true)
+                .build());
+        ArgumentCaptor<ReportJob> saved = ArgumentCaptor.forClass(ReportJob.class);
+
+        // Act
+        ReportJobResponse response = reportJobService.submit(ReportJobRequest.builder()
+                .reportType(ReportType.TRIAL_BALANCE)
+                .build());
+
+        // Assert
+        assertEquals("job-2", response.getJobId());
+        ArgumentCaptor<ReportJobResult> result = ArgumentCaptor.forClass(ReportJobResult.class);
+        verify(reportJobResultRepository, timeout(2000)).save(result.capture());
+        verify(reportJobRepository, timeout(2000).atLeast(3)).save(saved.capture());
+        ReportJob completed = saved.getValue();
+        assertEquals(ReportJobStatus.COMPLETED, completed.getStatus());
+
+        String json = new String(ReportJobService.gunzip(result.getValue().getContent()), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"isBalanced\":true"), json);
+        assertEquals(json.length(), completed.getResultSize());
+    }
+
+    @Test
+    void run_reportFails_marksJobFailed() {
+        // Arrange
+        ReportJob job = ReportJob.builder()
+                .id("job-3")
+                .reportType(ReportType.BALANCE_SHEET)
+                .status(ReportJobStatus.PENDING)
+                .build();
+        when(reportJobRepository.findById("job-3")).thenReturn(Optional.of(job));
+        when(reportingService.getBalanceSheet(null)).thenThrow(new IllegalStateException("statement timeout"));
+
+        // Act
+        boolean completed = reportJobService.run("job-3");
+
+        // Assert
+        assertFalse(completed);
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertEquals("statement timeout", job.getError());
+        verifyNoInteractions(reportJobResultRepository);
+    }
+
+    @Test
+    void getResult_jobStillRunning_throwsReportNotReady() {
+        // Arrange
+        when(reportJobRepository.findById("job-4")).thenReturn(Optional.of(ReportJob.builder()
+                .id("job-4")
+                .status(ReportJobStatus.RUNNING)
+                .build()));
+
+        // Act & Assert
+        assertThrows(ReportNotReadyException.class, () -> reportJobService.getResult("job-4", true));
+    }
+
+    @Test
+    void getResult_completed_inflatesUnlessGzipAccepted() {
+        // Arrange
+        byte[] json = "{\"total\":1}".getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = ReportJobService.gzip(json);
+        when(reportJobRepository.findById("job-5")).thenReturn(Optional.of(ReportJob.builder()
+                .id("job-5")
+                .status(ReportJobStatus.COMPLETED)
+                .build()));
+        when(reportJobResultRepository.findById("job-5")).thenReturn(Optional.of(new ReportJobResult("job-5", compressed)));
+
+        // Act & Assert
+        assertArrayEquals(compressed, reportJobService.getResult("job-5", true));
+        assertArrayEquals(json, reportJobService.getResult("job-5", false));
+    }
+}
@@ -1,27 +1,35 @@
 package com.fintech.pezesha_core_ledger.service;
 
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
 import com.fintech.pezesha_core_ledger.dto.BalanceSheetResponse;
+import com.fintech.pezesha_core_ledger.dto.HistoryCursor;
+import com.fintech.pezesha_core_ledger.dto.TransactionHistoryPage;
 import com.fintech.pezesha_core_ledger.dto.TrialBalanceResponse;
 import com.fintech.pezesha_core_ledger.enums.AccountType;
 import com.fintech.pezesha_core_ledger.enums.Currency;
 import com.fintech.pezesha_core_ledger.enums.LoanStatus;
 import com.fintech.pezesha_core_ledger.models.Account;
 import com.fintech.pezesha_core_ledger.models.Loan;
+import com.fintech.pezesha_core_ledger.models.TransactionEntry;
 import com.fintech.pezesha_core_ledger.repository.AccountRepository;
 import com.fintech.pezesha_core_ledger.repository.LoanRepository;
 import com.fintech.pezesha_core_ledger.repository.TransactionEntryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +46,13 @@ class ReportingServiceTest {
 
     private ReportingService reportingService;
 
+    @TempDir
+    Path archiveDir;
+
     @BeforeEach
     void setUp() {
-        reportingService = new ReportingService(accountRepository, loanRepository, transactionEntryRepository);
+        reportingService = new ReportingService(accountRepository, loanRepository, transactionEntryRepository,
+                new LedgerArchiveStore(archiveDir.toString()));
     }
 
     @Test
@@ -89,6 +101,33 @@ class ReportingServiceTest {
         assertNotNull(liabilitySummary);
     }
 
+    @Test
+    void getTrialBalance_creditNormalAccounts_balances() {
+        // Arrange
+        LocalDateTime asOfDate = LocalDateTime.now();
+        List<Account> accounts = Arrays.asList(
+                account("cash", AccountType.ASSET),
+                account("wallet", AccountType.LIABILITY),
+                account("fees", AccountType.INCOME),
+                account("bad-debt", AccountType.EXPENSE));
+
+        when(accountRepository.findByIsActiveTrue()).thenReturn(accounts);
+        when(transactionEntryRepository.getAccountBalanceAsOf("cash", asOfDate)).thenReturn(new BigDecimal("1000"));
+        when(transactionEntryRepository.getAccountBalanceAsOf("wallet", asOfDate)).thenReturn(new BigDecimal("-900"));
+        when(transactionEntryRepository.getAccountBalanceAsOf("fees", asOfDate)).thenReturn(new BigDecimal("-150"));
+        when(transactionEntryRepository.getAccountBalanceAsOf("bad-debt", asOfDate)).thenReturn(new BigDecimal("50"));
+
+        // Act
+        TrialBalanceResponse response = reportingService.getTrialBalance(asOfDate);
+
+        // Assert
+        assertTrue(response.getIsBalanced());
+        assertEquals(new BigDecimal("1050"), response.getTotalDebits());
+        assertEquals(new BigDecimal("1050"), response.getTotalCredits());
+        assertEquals(new BigDecimal("900"), response.getAccountTypeSummaries().get(AccountType.LIABILITY).getTotalCredits());
+        assertEquals(BigDecimal.ZERO, response.getAccountTypeSummaries().get(AccountType.LIABILITY).getTotalDebits());
+    }
+
     @Test
     void getBalanceSheet_validRequest_returnsBalanceSheet() {
         // Arrange
@@ -181,4 +220,63 @@ class ReportingServiceTest {
         // Assert
         assertNotNull(response);
     }
+
+    @Test
+    void getTransactionHistoryPage_moreRowsThanPage_returnsCursorOfLastRow() {
+        // Arrange
+        Account account = Account.builder()
+                .id("acc-123")
+                .code("ACC123")
+                .currency(Currency.KES)
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionEntry> rows = Arrays.asList(
+                TransactionEntry.builder().id("e3").account(account).debit(BigDecimal.ONE).credit(BigDecimal.ZERO).postedAt(now).build(),
+                TransactionEntry.builder().id("e2").account(account).debit(BigDecimal.ONE).credit(BigDecimal.ZERO).postedAt(now.minusMinutes(1)).build(),
+                TransactionEntry.builder().id("e1").account(account).debit(BigDecimal.ONE).credit(BigDecimal.ZERO).postedAt(now.minusMinutes(2)).build());
+
+        when(accountRepository.existsById("acc-123")).thenReturn(true);
+        when(transactionEntryRepository.findHistoryFirstPage(eq("acc-123"), any(), any(), any()))
+                .thenReturn(rows);
+
+        // Act
+        TransactionHistoryPage page = reportingService.getTransactionHistoryPage("acc-123", null, null, null, 2);
+
+        // Assert
+        assertTrue(page.isHasMore());
+        assertEquals(2, page.getEntries().size());
+        HistoryCursor next = HistoryCursor.decode(page.getNextCursor());
+        assertEquals("e2", next.getEntryId());
+        assertEquals(now.minusMinutes(1), next.getPostedAt());
+    }
+
+    @Test
+    void getTransactionHistoryPage_withCursor_seeksPastCursor() {
+        // Arrange
+        LocalDateTime postedAt = LocalDateTime.now();
+        String cursor = new HistoryCursor(postedAt, "e2").encode();
+
+        when(accountRepository.existsById("acc-123")).thenReturn(true);
+        when(transactionEntryRepository.findHistoryPageAfter(eq("acc-123"), any(), any(), eq(postedAt), eq("e2"), any()))
+                .thenReturn(List.of());
+
+        // Act
+        TransactionHistoryPage page = reportingService.getTransactionHistoryPage("acc-123", null, null, cursor, 50);
+
+        // Assert
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getEntries().isEmpty());
+    }
+
+    private static Account account(String id, AccountType type) {
+        return Account.builder()
+                .id(id)
+                .code(id.toUpperCase())
+                .name(id)
+                .type(type)
+                .currency(Currency.KES)
+                .isActive(true)
+                .build();
+    }
 }
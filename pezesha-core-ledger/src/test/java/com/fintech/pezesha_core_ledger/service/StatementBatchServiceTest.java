@@ -0,0 +1,210 @@
+package com.fintech.pezesha_core_ledger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
+import com.fintech.pezesha_core_ledger.bulkhead.Bulkheads;
+import com.fintech.pezesha_core_ledger.dto.StatementRunResponse;
+import com.fintech.pezesha_core_ledger.enums.StatementRunStatus;
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementBatchServiceTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2026, 9);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Bulkheads bulkheads;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> closing;
+
+    @TempDir
+    Path tempDir;
+
+    private StatementBatchService statementBatchService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        statementBatchService = new StatementBatchService(jdbcTemplate, transactionManager,
+                new LedgerArchiveStore(tempDir.resolve("archive").toString()), bulkheads,
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                tempDir.resolve("statements").toString(), true, 2, 1);
+    }
+
+    @Test
+    void generate_writesOneFilePerAccountAndCheckpointsClosingBalances() throws Exception {
+        // Arrange
+        LocalDateTime posted = LocalDateTime.of(2026, 9, 10, 12, 0);
+        scanRows(
+                new Object[]{"acc-1", "CASH", "KES", new BigDecimal("100.00"), "e-1", "trans-1", Timestamp.valueOf(posted),
+                        new BigDecimal("50.00"), BigDecimal.ZERO, "KES"},
+                new Object[]{"acc-1", "CASH", "KES", new BigDecimal("100.00"), "e-2", "trans-2", Timestamp.valueOf(posted.plusDays(1)),
+                        BigDecimal.ZERO, new BigDecimal("30.00"), "KES"},
+                new Object[]{"acc-2", "LOANS", "KES", new BigDecimal("7.00"), null, null, null, null, null, null});
+
+        // Act
+        statementBatchService.generate(PERIOD);
+
+        // Assert
+        List<String> cash = Files.readAllLines(tempDir.resolve("statements/2026-09/acc-1.csv"));
+        assertEquals(4, cash.size());
+        assertEquals("2026-09-01T00:00,,acc-1,CASH,KES,,,100.00", cash.get(1));
+        assertTrue(cash.get(3).endsWith(",120.00"), cash.get(3));
+        List<String> loans = Files.readAllLines(tempDir.resolve("statements/2026-09/acc-2.csv"));
+        assertEquals(2, loans.size());
+
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO account_balance_snapshots"), closing.capture());
+        assertEquals(new BigDecimal("120.00"), closing.getAllValues().get(0).get(0)[2]);
+        assertEquals(new BigDecimal("7.00"), closing.getAllValues().get(1).get(0)[2]);
+        verify(jdbcTemplate).update(startsWith("UPDATE statement_runs SET status"),
+                eq(StatementRunStatus.COMPLETED.name()), any(LocalDateTime.class), eq(PERIOD.atDay(1)));
+    }
+
+    @Test
+    void generate_accountLongerThanItsRowBuffer_streamsEveryRow() throws Exception {
+        // Arrange
+        LocalDateTime posted = LocalDateTime.of(2026, 9, 10, 12, 0);
+        Object[][] rows = new Object[2_501][];
+        for (int i = 0; i < 2_500; i++) {
+            rows[i] = new Object[]{"acc-1", "CASH", "KES", BigDecimal.ZERO, "e-" + i, "trans-" + i,
+                    Timestamp.valueOf(posted.plusSeconds(i)), BigDecimal.ONE, BigDecimal.ZERO, "KES"};
+        }
+        rows[2_500] = new Object[]{"acc-2", "LOANS", "KES", new BigDecimal("7.00"), null, null, null, null, null, null};
+        scanRows(rows);
+
+        // Act
+        statementBatchService.generate(PERIOD);
+
+        // Assert
+        List<String> cash = Files.readAllLines(tempDir.resolve("statements/2026-09/acc-1.csv"));
+        assertEquals(2_502, cash.size());
+        assertTrue(cash.get(2_501).endsWith(",2500"), cash.get(2_501));
+        assertEquals(2, Files.readAllLines(tempDir.resolve("statements/2026-09/acc-2.csv")).size());
+    }
+
+    @Test
+    void generate_previousRunFailed_resumesAfterCheckpoint() throws Exception {
+        // Arrange
+        when(jdbcTemplate.query(startsWith("SELECT status"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(StatementRunResponse.builder()
+                        .period(PERIOD)
+                        .status(StatementRunStatus.FAILED)
+                        .lastAccountId("acc-1")
+                        .build()));
+        ArgumentCaptor<PreparedStatementCreator> scan = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        // Act
+        statementBatchService.generate(PERIOD);
+
+        // Assert
+        verify(jdbcTemplate).query(scan.capture(), any(RowCallbackHandler.class));
+        scan.getValue().createPreparedStatement(connection);
+        verify(statement).setString(7, "acc-1");
+    }
+
+    @Test
+    void generate_previousMonthFailed_readsOpeningBalancesFromEntries() throws Exception {
+        // Arrange
+        previousMonthRun(StatementRunStatus.FAILED);
+
+        // Act & Assert
+        assertEquals(StatementBatchService.scanSql(false), scannedSql());
+    }
+
+    @Test
+    void generate_previousMonthCompleted_readsOpeningBalancesFromSnapshots() throws Exception {
+        // Arrange
+        previousMonthRun(StatementRunStatus.COMPLETED);
+
+        // Act & Assert
+        assertEquals(StatementBatchService.scanSql(true), scannedSql());
+    }
+
+    @Test
+    void submit_openMonth_throwsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> statementBatchService.submit(YearMonth.now()));
+        verifyNoInteractions(bulkheads);
+    }
+
+    private void previousMonthRun(StatementRunStatus status) {
+        // lenient: generate also looks up this month's run, which is left unstubbed
+        lenient().when(jdbcTemplate.query(startsWith("SELECT status"), any(RowMapper.class), eq(PERIOD.minusMonths(1).atDay(1))))
+                .thenAnswer(invocation -> List.of(StatementRunResponse.builder()
+                        .period(PERIOD.minusMonths(1))
+                        .status(status)
+                        .lastAccountId("acc-1")
+                        .build()));
+    }
+
+    private String scannedSql() throws Exception {
+        statementBatchService.generate(PERIOD);
+        ArgumentCaptor<PreparedStatementCreator> scan = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(scan.capture(), any(RowCallbackHandler.class));
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        scan.getValue().createPreparedStatement(connection);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        return sql.getValue();
+    }
+
+    private void scanRows(Object[]... rows) throws Exception {
+        Object[][] current = new Object[1][];
+        when(resultSet.getString(anyInt())).thenAnswer(invocation -> current[0][(int) invocation.getArgument(0) - 1]);
+        when(resultSet.getBigDecimal(anyInt())).thenAnswer(invocation -> current[0][(int) invocation.getArgument(0) - 1]);
+        lenient().when(resultSet.getTimestamp(anyInt())).thenAnswer(invocation -> current[0][(int) invocation.getArgument(0) - 1]);
+        // lenient: findRun calls another query overload on the same mock
+        lenient().doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                current[0] = row;
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
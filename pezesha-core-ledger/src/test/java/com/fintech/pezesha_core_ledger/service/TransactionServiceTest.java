@@ -1,15 +1,23 @@
 package com.fintech.pezesha_core_ledger.service;
 
+import com.fintech.pezesha_core_ledger.archive.ArchivedEntry;
+import com.fintech.pezesha_core_ledger.archive.LedgerArchiveStore;
 import com.fintech.pezesha_core_ledger.dto.*;
 import com.fintech.pezesha_core_ledger.enums.Currency;
 import com.fintech.pezesha_core_ledger.enums.TransactionStatus;
 import com.fintech.pezesha_core_ledger.exception.AccountingException;
 import com.fintech.pezesha_core_ledger.exception.ResourceNotFoundException;
+import com.fintech.pezesha_core_ledger.exception.TransactionArchivedException;
+import com.fintech.pezesha_core_ledger.exception.ValidationException;
+import com.fintech.pezesha_core_ledger.metrics.PostingMetrics;
 import com.fintech.pezesha_core_ledger.models.Account;
 import com.fintech.pezesha_core_ledger.models.Transaction;
 import com.fintech.pezesha_core_ledger.models.TransactionEntry;
+import com.fintech.pezesha_core_ledger.outbox.LedgerEventRecorder;
 import com.fintech.pezesha_core_ledger.repository.AccountRepository;
 import com.fintech.pezesha_core_ledger.repository.TransactionRepository;
+import com.fintech.pezesha_core_ledger.sequence.LedgerSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,8 +26,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,12 +48,25 @@ class TransactionServiceTest {
     @Mock
     private IdempotencyService idempotencyService;
 
+    @Mock
+    private LedgerEventRecorder ledgerEventRecorder;
+
+    @Mock
+    private LedgerSequence ledgerSequence;
+
+    @Mock
+    private LedgerArchiveStore archiveStore;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private TransactionService transactionService;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         transactionService = new TransactionService(transactionRepository,
-                accountRepository, idempotencyService);
+                accountRepository, idempotencyService, ledgerEventRecorder, ledgerSequence,
+                new PostingMetrics(meterRegistry, 10, 1.0), archiveStore);
     }
 
     @Test
@@ -106,6 +130,34 @@ class TransactionServiceTest {
 
         verify(transactionRepository).save(any(Transaction.class));
         verify(idempotencyService).storeIdempotencyKey(eq(idempotencyKey), any(TransactionResponse.class));
+        verify(ledgerSequence).assign(any(Transaction.class));
+        verify(ledgerEventRecorder).transactionPosted(argThat(trans -> "trans-123".equals(trans.getId())));
+        verify(transactionRepository).flush();
+        for (String stage : new String[]{"idempotency", "validation", "lock_wait", "insert"}) {
+            assertEquals(1, meterRegistry.get("ledger.posting.stage").tag("stage", stage).timer().count(), stage);
+        }
+    }
+
+    @Test
+    void postTransaction_cachedIdempotencyKey_countsReplayWithoutPosting() {
+        // Arrange
+        TransactionRequest request = TransactionRequest.builder()
+                .idempotencyKey("replayed-key")
+                .description("Replayed transaction")
+                .build();
+        TransactionResponse cached = TransactionResponse.builder().id("trans-123").build();
+        when(idempotencyService.isDuplicate("replayed-key")).thenReturn(true);
+        when(idempotencyService.getIdempotentResult("replayed-key", TransactionResponse.class)).thenReturn(cached);
+
+        // Act
+        TransactionResponse response = transactionService.postTransaction(request);
+
+        // Assert
+        assertSame(cached, response);
+        assertEquals(1, meterRegistry.get("ledger.posting.idempotent_replays").tag("source", "cache").counter().count());
+        assertEquals(0, meterRegistry.get("ledger.posting.idempotent_replays").tag("source", "database").counter().count());
+        assertEquals(0, meterRegistry.get("ledger.posting.stage").tag("stage", "validation").timer().count());
+        verifyNoInteractions(transactionRepository, ledgerEventRecorder);
     }
 
     @Test
@@ -134,6 +186,99 @@ class TransactionServiceTest {
         AccountingException exception = assertThrows(AccountingException.class,
                 () -> transactionService.postTransaction(request));
         assertTrue(exception.getMessage().contains("Transaction unbalanced"));
+        verifyNoInteractions(ledgerEventRecorder);
+    }
+
+    @Test
+    void postTransaction_singleEntry_throwsValidationException() {
+        // Arrange
+        TransactionRequest request = TransactionRequest.builder()
+                .idempotencyKey("test-key")
+                .description("One-legged transaction")
+                .entries(List.of(TransactionEntryRequest.builder()
+                        .accountId("acc-123")
+                        .debit(BigDecimal.ZERO)
+                        .credit(BigDecimal.ZERO)
+                        .currency(Currency.KES)
+                        .build()))
+                .build();
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> transactionService.postTransaction(request));
+        assertTrue(exception.getMessage().contains("at least 2 entries"));
+        verifyNoInteractions(ledgerEventRecorder);
+    }
+
+    @Test
+    void reverseTransaction_archivedPeriod_throwsWithoutReversing() {
+        // Arrange
+        Transaction archived = Transaction.builder()
+                .id("trans-2025")
+                .idempotencyKey("orig-key")
+                .description("Archived transaction")
+                .status(TransactionStatus.POSTED)
+                .postedAt(LocalDateTime.of(2025, 1, 15, 10, 0))
+                .build();
+        when(transactionRepository.findById("trans-2025")).thenReturn(Optional.of(archived));
+        when(archiveStore.contains(YearMonth.of(2025, 1))).thenReturn(true);
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> transactionService.reverseTransaction("trans-2025", "Incorrect transaction"));
+        assertTrue(exception.getMessage().contains("archived period 2025-01"));
+        assertEquals(TransactionStatus.POSTED, archived.getStatus());
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(ledgerEventRecorder);
+    }
+
+    @Test
+    void getTransaction_archivedPeriod_throwsTransactionArchived() {
+        // Arrange
+        when(transactionRepository.findById("trans-2025")).thenReturn(Optional.of(archivedTransaction()));
+        when(archiveStore.contains(YearMonth.of(2025, 1))).thenReturn(true);
+
+        // Act & Assert
+        TransactionArchivedException exception = assertThrows(TransactionArchivedException.class,
+                () -> transactionService.getTransaction("trans-2025"));
+        assertTrue(exception.getMessage().contains("archived period 2025-01"));
+    }
+
+    @Test
+    void postTransaction_replayOfArchivedTransaction_readsEntriesFromArchive() {
+        // Arrange
+        Transaction archived = archivedTransaction();
+        LocalDateTime postedAt = archived.getPostedAt();
+        when(transactionRepository.findByIdempotencyKey("orig-key")).thenReturn(Optional.of(archived));
+        when(archiveStore.contains(YearMonth.of(2025, 1))).thenReturn(true);
+        when(archiveStore.transactionEntries("trans-2025", postedAt, Set.of("acc-123", "acc-456"))).thenReturn(List.of(
+                archivedEntry("acc-123", new BigDecimal("100.00"), BigDecimal.ZERO, postedAt),
+                archivedEntry("acc-456", BigDecimal.ZERO, new BigDecimal("100.00"), postedAt)));
+        when(accountRepository.findAllById(Set.of("acc-123", "acc-456"))).thenReturn(List.of(
+                Account.builder().id("acc-123").code("ACC123").build(),
+                Account.builder().id("acc-456").code("ACC456").build()));
+
+        // Act
+        TransactionResponse response = transactionService.postTransaction(replayRequest());
+
+        // Assert
+        assertEquals("trans-2025", response.getId());
+        assertEquals(2, response.getEntries().size());
+        assertEquals("ACC123", response.getEntries().get(0).getAccountCode());
+        assertEquals(new BigDecimal("100.00"), response.getEntries().get(1).getCredit());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void postTransaction_replayOfArchivedTransactionOnOtherAccounts_throwsTransactionArchived() {
+        // Arrange
+        when(transactionRepository.findByIdempotencyKey("orig-key")).thenReturn(Optional.of(archivedTransaction()));
+        when(archiveStore.contains(YearMonth.of(2025, 1))).thenReturn(true);
+        when(archiveStore.transactionEntries(any(), any(), any())).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(TransactionArchivedException.class, () -> transactionService.postTransaction(replayRequest()));
+        verify(transactionRepository, never()).save(any());
     }
 
     @Test
@@ -198,6 +343,7 @@ class TransactionServiceTest {
         assertTrue(response.getDescription().contains("Reason: " + reason));
 
         verify(transactionRepository).save(argThat(trans -> trans.getStatus() == TransactionStatus.REVERSED));
+        verify(ledgerEventRecorder).transactionReversed(eq(originalTransaction), any(), eq(reason));
     }
 
     @Test
@@ -247,4 +393,40 @@ class TransactionServiceTest {
         assertThrows(ResourceNotFoundException.class,
                 () -> transactionService.getTransaction(transactionId));
     }
+
+    private static Transaction archivedTransaction() {
+        return Transaction.builder()
+                .id("trans-2025")
+                .idempotencyKey("orig-key")
+                .description("Archived transaction")
+                .status(TransactionStatus.POSTED)
+                .postedAt(LocalDateTime.of(2025, 1, 15, 10, 0))
+                .build();
+    }
+
+    private static TransactionRequest replayRequest() {
+        return TransactionRequest.builder()
+                .idempotencyKey("orig-key")
+                .description("Archived transaction")
+                .entries(List.of(
+                        TransactionEntryRequest.builder().accountId("acc-123").debit(new BigDecimal("100.00"))
+                                .credit(BigDecimal.ZERO).currency(Currency.KES).build(),
+                        TransactionEntryRequest.builder().accountId("acc-456").debit(BigDecimal.ZERO)
+                                .credit(new BigDecimal("100.00")).currency(Currency.KES).build()))
+                .build();
+    }
+
+    private static ArchivedEntry archivedEntry(String accountId, BigDecimal debit, BigDecimal credit, LocalDateTime postedAt) {
+        return ArchivedEntry.builder()
+                .entryId("entry-" + accountId)
+                .transactionId("trans-2025")
+                .accountId(accountId)
+                .postedAt(postedAt)
+                .debit(debit)
+                .credit(credit)
+                .currency(Currency.KES)
+                .runningBalance(debit.subtract(credit))
+                .posted(true)
+                .build();
+    }
 }
@@ -0,0 +1,111 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class SlowQueryListenerTest {
+
+    private static final String BALANCE_SQL =
+            "select coalesce(sum(te1_0.debit-te1_0.credit),0) from transaction_entries te1_0 "
+                    + "where te1_0.account_id=? and te1_0.posted_at<=?";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowQueryLog slowQueryLog;
+    private DataSource dataSource;
+    private SlowQueryListener listener;
+
+    @BeforeEach
+    void setUp() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ofMillis(200));
+        properties.getExplain().setEnabled(false);
+        meterRegistry = new SimpleMeterRegistry();
+        slowQueryLog = new SlowQueryLog(2);
+        dataSource = mock(DataSource.class);
+        listener = new SlowQueryListener(properties, slowQueryLog,
+                new PlanSampler(dataSource, properties.getExplain()), meterRegistry);
+    }
+
+    @Test
+    void afterQuery_belowThreshold_capturesNothing() throws Exception {
+        // Act
+        listener.afterQuery(execution(199), List.of(query(BALANCE_SQL)));
+
+        // Assert
+        assertTrue(slowQueryLog.recent().isEmpty());
+        assertEquals(0, meterRegistry.get("ledger.sql.slow").counter().count());
+    }
+
+    @Test
+    void afterQuery_overThreshold_capturesShapesButNotValues() throws Exception {
+        // Act
+        listener.afterQuery(execution(850), List.of(query(BALANCE_SQL)));
+
+        // Assert
+        List<SlowQuery> recent = slowQueryLog.recent();
+        assertEquals(1, recent.size());
+        SlowQuery captured = recent.get(0);
+        assertEquals(850, captured.getElapsedMillis());
+        assertEquals(BALANCE_SQL.replace(",0)", ",?)"), captured.getSql());
+        assertEquals(List.of("1: setString(length 13)", "2: setTimestamp(Timestamp)"), captured.getParameters());
+        assertFalse(captured.getParameters().toString().contains("acc-float-kes"));
+        assertEquals("skipped: explain disabled", captured.getPlanStatus());
+        assertEquals(1, meterRegistry.get("ledger.sql.slow").counter().count());
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void shapes_describesNullsAndDecimals() throws Exception {
+        // Arrange
+        List<ParameterSetOperation> parameters = List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class), new Object[]{1, 12}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setBigDecimal", int.class, BigDecimal.class),
+                        new Object[]{2, new BigDecimal("1250.00")}));
+
+        // Act & Assert
+        assertEquals(List.of("1: setNull(null)", "2: setBigDecimal(scale 2)"), SlowQueryListener.shapes(parameters));
+    }
+
+    @Test
+    void recent_keepsNewestWithinCapacity() throws Exception {
+        // Act
+        listener.afterQuery(execution(300), List.of(query("select 1")));
+        listener.afterQuery(execution(400), List.of(query("select 2")));
+        listener.afterQuery(execution(500), List.of(query("select 3")));
+
+        // Assert
+        assertEquals(List.of(500L, 400L), slowQueryLog.recent().stream().map(SlowQuery::getElapsedMillis).toList());
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setSuccess(true);
+        return execution;
+    }
+
+    private static QueryInfo query(String sql) throws NoSuchMethodException {
+        QueryInfo query = new QueryInfo(sql);
+        query.getParametersList().add(List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{1, "acc-float-kes"}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setTimestamp", int.class, Timestamp.class),
+                        new Object[]{2, Timestamp.valueOf("2026-09-30 23:59:59")})));
+        return query;
+    }
+}
@@ -0,0 +1,54 @@
+package com.fintech.pezesha_core_ledger.slowquery;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlNormalizerTest {
+
+    @Test
+    void normalize_replacesLiteralsAndCollapsesInLists() {
+        // Arrange
+        String sql = "select te1_0.id from transaction_entries te1_0\n   where te1_0.account_id in (?, ?, ?)"
+                + " and te1_0.currency = 'KES' and te1_0.debit > 100.50 limit 25";
+
+        // Act
+        String normalized = SqlNormalizer.normalize(sql);
+
+        // Assert
+        assertEquals("select te1_0.id from transaction_entries te1_0 where te1_0.account_id in (?...)"
+                + " and te1_0.currency = ? and te1_0.debit > ? limit ?", normalized);
+    }
+
+    @Test
+    void normalize_sameQueryWithDifferentListLengths_givesSameShape() {
+        // Act & Assert
+        assertEquals(SqlNormalizer.normalize("select * from accounts where id in (?, ?)"),
+                SqlNormalizer.normalize("select * from accounts where id in (?,?,?,?)"));
+    }
+
+    @Test
+    void isExplainable_onlyPlainReads() {
+        // Act & Assert
+        assertTrue(SqlNormalizer.isExplainable("  select coalesce(sum(te1_0.debit), 0) from transaction_entries te1_0"));
+        assertTrue(SqlNormalizer.isExplainable("WITH recent AS (select * from transactions) select * from recent"));
+        assertTrue(SqlNormalizer.isExplainable("select a1_0.updated_at from accounts a1_0"));
+        assertFalse(SqlNormalizer.isExplainable("select * from accounts where id = ? for update"));
+        assertFalse(SqlNormalizer.isExplainable("select * from accounts where id = ? for no key update"));
+        assertFalse(SqlNormalizer.isExplainable("with moved as (delete from outbox returning *) select * from moved"));
+        assertFalse(SqlNormalizer.isExplainable("insert into transactions (id) values (?)"));
+        assertFalse(SqlNormalizer.isExplainable("update accounts set is_active = false"));
+    }
+
+    @Test
+    void isExplainable_sequenceAndFunctionCalls_areNot() {
+        // Act & Assert
+        assertFalse(SqlNormalizer.isExplainable("SELECT nextval('ledger_seq_blocks')"));
+        assertFalse(SqlNormalizer.isExplainable("SELECT ledger_create_monthly_partition(?, ?)"));
+        assertFalse(SqlNormalizer.isExplainable("select * from ledger_create_monthly_partition(?, ?)"));
+        assertFalse(SqlNormalizer.isExplainable("select nextval('ledger_seq_blocks') from generate_series(1, ?)"));
+        assertFalse(SqlNormalizer.isExplainable("select setval('ledger_seq_blocks', ?) from accounts"));
+        assertFalse(SqlNormalizer.isExplainable("select extract(epoch from now())"));
+        assertTrue(SqlNormalizer.isExplainable("select * from accounts a where a.id in (select account_id from transaction_entries)"));
+    }
+}